@@ -0,0 +1,85 @@
+package com.project.alfa.security.route;
+
+import com.project.alfa.config.SecurityConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RegexRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 URL 접근 권한 판정 비용 측정
+ * legacy: regexMatchers(전체 URL + 쿼리 문자열 정규식), mvcMatchers(AntPathRequestMatcher로 대체)를 선언 순서대로 검사
+ * routes: 컴파일된 세그먼트 트라이로 1회 탐색
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteMatcherBenchmark {
+    
+    @Param({"GET /api/posts?page=1&size=10&condition=title&keyword=hello",
+            "GET /api/posts/1/comments?page=0&size=20",
+            "PUT /api/posts/1",
+            "POST /api/members/forgot-password",
+            "POST /login"})
+    private String route;
+    
+    private List<RequestMatcher>   legacyPermitAll;
+    private List<RequestMatcher>   legacyAuthenticated;
+    private RouteMatcher           routeMatcher;
+    private MockHttpServletRequest request;
+    
+    @Setup
+    public void setup() {
+        legacyPermitAll = Arrays.asList(
+                new RegexRequestMatcher("/api/posts/(?:\\d+)?$", "GET"),
+                new RegexRequestMatcher("/api/posts/\\d+/attachments$", "GET"),
+                new RegexRequestMatcher("/api/posts/\\d+/attachments/\\d+/download$", "GET"),
+                new RegexRequestMatcher("/api/posts\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)(&?(?:condition=(title|content|titleOrContent|writer)?)?)(&?(?:keyword=.*)?)$", "GET"),
+                new RegexRequestMatcher("/api/posts/\\d+/comments\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)$", "GET"),
+                new AntPathRequestMatcher("/api/members"),
+                new AntPathRequestMatcher("/api/members/forgot-password"));
+        legacyAuthenticated = Arrays.asList(
+                new AntPathRequestMatcher("/api/members/**"),
+                new AntPathRequestMatcher("/logout"),
+                new AntPathRequestMatcher("/api/posts/**"),
+                new AntPathRequestMatcher("/api/posts/*/comments/**"),
+                new AntPathRequestMatcher("/api/comments/**"),
+                new AntPathRequestMatcher("/api/auth/refresh"));
+        routeMatcher = SecurityConfig.authorizationRoutes();
+        
+        String[] methodAndUrl = route.split(" ", 2);
+        String[] pathAndQuery = methodAndUrl[1].split("\\?", 2);
+        request = new MockHttpServletRequest(methodAndUrl[0], pathAndQuery[0]);
+        request.setServletPath(pathAndQuery[0]);
+        request.setQueryString(pathAndQuery.length > 1 ? pathAndQuery[1] : null);
+    }
+    
+    @Benchmark
+    public RouteMatcher.Access legacy() {
+        for (RequestMatcher matcher : legacyPermitAll)
+            if (matcher.matches(request))
+                return RouteMatcher.Access.PERMIT_ALL;
+        for (RequestMatcher matcher : legacyAuthenticated)
+            if (matcher.matches(request))
+                return RouteMatcher.Access.AUTHENTICATED;
+        return RouteMatcher.Access.PERMIT_ALL;
+    }
+    
+    @Benchmark
+    public RouteMatcher.Access routes() {
+        return routeMatcher.access(request);
+    }
+    
+}
@@ -1,23 +1,46 @@
 package com.project.alfa.aop;
 
-import com.project.alfa.aop.lock.LockManager;
+import com.project.alfa.aop.annotation.LockAop;
+import com.project.alfa.aop.annotation.OptimisticLockAop;
+import com.project.alfa.aop.lock.LockContext;
+import com.project.alfa.aop.lock.LockHandle;
+import com.project.alfa.aop.lock.LockMetrics;
+import com.project.alfa.aop.lock.LockProvider;
 import com.project.alfa.aop.trace.TraceStatus;
 import com.project.alfa.aop.trace.logtrace.LogTrace;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.LockAcquisitionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 public class ProjectAspects {
     
-    private static final int MAX_RETIRES = 5;
-    
     @Aspect
     @Order(2)
     @RequiredArgsConstructor
@@ -27,16 +50,14 @@ public class ProjectAspects {
         
         @Around("com.project.alfa.aop.Pointcuts.allMvc() || com.project.alfa.aop.Pointcuts.allUtils()")
         public Object execute(ProceedingJoinPoint joinPoint) throws Throwable {
-            TraceStatus status = null;
+            TraceStatus status = logTrace.begin(joinPoint);
             try {
-                String message = joinPoint.getSignature().toShortString();
-                status = logTrace.begin(message);
-                
                 Object result = joinPoint.proceed();
                 
                 logTrace.end(status);
                 return result;
-            } catch (Exception e) {
+            } catch (Throwable e) {
+                //Error도 호출 깊이를 되돌리도록 종료 처리
                 logTrace.exception(status, e);
                 throw e;
             }
@@ -49,49 +70,137 @@ public class ProjectAspects {
     @RequiredArgsConstructor
     public static class LockAspect {
         
-        private final LockManager lockManager;
+        private static final ExpressionParser        PARSER          = new SpelExpressionParser();
+        private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
         
-        @Around("@annotation(com.project.alfa.aop.annotation.LockAop)")
-        public Object execute(ProceedingJoinPoint joinPoint) throws Throwable {
-            String key = extractKeyFromArguments(joinPoint.getArgs());
-
-            if (key == null)
+        private final LockProvider            lockProvider;
+        private final LockMetrics             lockMetrics;
+        private final BeanFactory             beanFactory;
+        private final long                    waitTime;
+        private final Map<Method, Expression> expressions = new ConcurrentHashMap<>();
+        
+        @Around("@annotation(lockAop)")
+        public Object execute(ProceedingJoinPoint joinPoint, LockAop lockAop) throws Throwable {
+            Set<String> keys = resolveKeys(joinPoint, lockAop);
+            
+            //현재 스레드가 이미 보유한 락 제외(재진입)
+            keys.removeIf(LockContext::isHeld);
+            if (keys.isEmpty())
                 return joinPoint.proceed();
-
-            ReentrantLock lock = lockManager.getLock(key);
-            int     attempts = 0;
-            boolean isLocked = false;
             
+            //대기 시간은 호출 시점 기준 단일 데드라인, 즉시 실패 모드는 대기 없이 한 번만 시도
+            long timeout = lockAop.failFast() ? 0 : lockAop.waitTime() < 0 ? waitTime : lockAop.waitTime();
+            
+            List<LockHandle> locks = null;
+            long             start = System.nanoTime();
+            lockMetrics.onWaitStart(keys);
+            try {
+                locks = lockProvider.tryLockAll(keys, timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lockMetrics.onWaitEnd(keys, System.nanoTime() - start, locks != null);
+            }
+            
+            if (locks == null) {
+                if (lockAop.failFast())
+                    throw new LockAcquisitionException("Lock is held by another request: " + keys,
+                                                       ErrorCode.LOCK_REJECTED);
+                throw new LockAcquisitionException("Failed to acquire lock within " + timeout + "ms: " + keys,
+                                                   ErrorCode.LOCK_WAIT_TIMEOUT);
+            }
+            
+            long acquired = System.nanoTime();
+            LockContext.hold(locks);
             try {
-                while (attempts < MAX_RETIRES) {
-                    attempts++;
-                    try {
-                        if (lock.tryLock(100, TimeUnit.MILLISECONDS)) {
-                            isLocked = true;
-                            break;
-                        } else
-                            Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-                
-                if (!isLocked)
-                    throw new RuntimeException("Failed to acquire lock after " + MAX_RETIRES + " attempts");
-                
                 return joinPoint.proceed();
             } finally {
-                if (isLocked) {
-                    lock.unlock();
-                    lockManager.releaseLock(key, lock);
+                LockContext.release(locks);
+                LockProvider.unlockAll(locks);
+                lockMetrics.onRelease(keys, System.nanoTime() - acquired);
+            }
+        }
+        
+        /**
+         * '@LockAop' 키 표현식 평가, 미지정 시 메서드 단위 키
+         *
+         * @param joinPoint
+         * @param lockAop
+         * @return 정렬된 락 키 목록
+         */
+        private Set<String> resolveKeys(final ProceedingJoinPoint joinPoint, final LockAop lockAop) {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            Method          method    = signature.getMethod();
+            Set<String>     keys      = new TreeSet<>();
+            
+            if (lockAop.key().isEmpty()) {
+                keys.add(signature.getDeclaringTypeName() + "." + method.getName());
+                return keys;
+            }
+            
+            //'@빈이름'으로 빈 참조 가능, 파라미터로 키를 만들 수 없을 때 조회해 정규 키로 변환
+            MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(null, method, joinPoint.getArgs(),
+                                                                                    NAME_DISCOVERER);
+            context.setBeanResolver(new BeanFactoryResolver(beanFactory));
+            
+            Expression expression = expressions.computeIfAbsent(method, m -> PARSER.parseExpression(lockAop.key()));
+            Object     value      = expression.getValue(context);
+            
+            if (value instanceof Collection)
+                for (Object element : (Collection<?>) value)
+                    addKey(keys, element);
+            else if (value instanceof Object[])
+                for (Object element : (Object[]) value)
+                    addKey(keys, element);
+            else
+                addKey(keys, value);
+            return keys;
+        }
+        
+        private void addKey(final Set<String> keys, final Object value) {
+            if (value != null)
+                keys.add(String.valueOf(value));
+        }
+        
+    }
+    
+    @Aspect
+    @Order(0)
+    public static class OptimisticLockAspect {
+        
+        @Around("@annotation(optimisticLockAop)")
+        public Object execute(ProceedingJoinPoint joinPoint, OptimisticLockAop optimisticLockAop) throws Throwable {
+            //이미 트랜잭션 안이면 재시도해도 같은 트랜잭션을 재사용하므로 바로 전파
+            if (TransactionSynchronizationManager.isActualTransactionActive())
+                return joinPoint.proceed();
+            
+            int attempt = 0;
+            while (true) {
+                try {
+                    return joinPoint.proceed();
+                } catch (OptimisticLockingFailureException e) {
+                    if (++attempt >= optimisticLockAop.maxAttempts())
+                        throw e;
+                    log.debug("[{}] Optimistic lock conflict, retry {}/{}",
+                              joinPoint.getSignature().toShortString(), attempt, optimisticLockAop.maxAttempts() - 1);
+                    Thread.sleep(backoff(optimisticLockAop, attempt));
                 }
             }
         }
-
-        private String extractKeyFromArguments(final Object[] args) {
-            return args.length > 0 ? String.valueOf(args[0]) : null;
+        
+        /**
+         * 지수 백오프 + 전체 지터(Full Jitter), 충돌한 스레드들의 재시도 시점 분산
+         *
+         * @param optimisticLockAop
+         * @param attempt           - 실패 횟수
+         * @return 대기 시간(ms)
+         */
+        private long backoff(final OptimisticLockAop optimisticLockAop, final int attempt) {
+            long ceiling = Math.min(optimisticLockAop.maxBackoff(),
+                                    optimisticLockAop.backoff() << Math.min(attempt - 1, 20));
+            return ThreadLocalRandom.current().nextLong(ceiling + 1);
         }
-
+        
     }
     
 }
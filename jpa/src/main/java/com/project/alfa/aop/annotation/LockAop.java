@@ -8,4 +8,28 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface LockAop {
+    
+    /**
+     * 락 키 SpEL 표현식, 메서드 파라미터는 '#파라미터명', 빈은 '@빈이름'으로 참조
+     * 결과가 컬렉션/배열이면 각 원소를 키로 사용해 정렬 순서대로 모두 획득
+     * 미지정 시 메서드 단위 키 사용
+     * <pre>
+     * &#64;LockAop(key = "'post:' + #dto.id")
+     * &#64;LockAop(key = "#ids.!['post:' + #this]")
+     * &#64;LockAop(key = "'member:' + #username.toLowerCase()")
+     * </pre>
+     */
+    String key() default "";
+    
+    /**
+     * 락 획득 최대 대기 시간(ms), 음수면 'lock.wait-time' 설정값 사용
+     * 대기 시간 내 획득 실패 시 409(Conflict)
+     */
+    long waitTime() default -1;
+    
+    /**
+     * 즉시 실패 모드, 락이 점유 중이면 대기하지 않고 429(Too Many Requests) 반환
+     */
+    boolean failFast() default false;
+    
 }
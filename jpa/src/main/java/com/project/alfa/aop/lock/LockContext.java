@@ -0,0 +1,70 @@
+package com.project.alfa.aop.lock;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 스레드가 보유한 락 정보, 재진입 판단 및 보호 구간 내부에서 펜싱 토큰 확인 용도
+ */
+public final class LockContext {
+    
+    private static final ThreadLocal<Map<String, LockHandle>> HELD = new ThreadLocal<>();
+    
+    private LockContext() {
+    }
+    
+    /**
+     * 현재 스레드의 락 보유 여부 확인
+     *
+     * @param key - 락 키
+     * @return 보유 여부
+     */
+    public static boolean isHeld(final String key) {
+        Map<String, LockHandle> held = HELD.get();
+        return held != null && held.containsKey(key);
+    }
+    
+    /**
+     * 현재 스레드가 보유한 락의 펜싱 토큰 조회
+     *
+     * @param key - 락 키
+     * @return 펜싱 토큰, 보유하지 않은 락이면 null
+     */
+    public static Long fencingToken(final String key) {
+        Map<String, LockHandle> held = HELD.get();
+        LockHandle              handle = held != null ? held.get(key) : null;
+        return handle != null ? handle.getFencingToken() : null;
+    }
+    
+    /**
+     * 획득한 락 등록
+     *
+     * @param handles - 락 목록
+     */
+    public static void hold(final List<LockHandle> handles) {
+        Map<String, LockHandle> held = HELD.get();
+        if (held == null) {
+            held = new HashMap<>();
+            HELD.set(held);
+        }
+        for (LockHandle handle : handles)
+            held.put(handle.getKey(), handle);
+    }
+    
+    /**
+     * 해제할 락 등록 해제
+     *
+     * @param handles - 락 목록
+     */
+    public static void release(final List<LockHandle> handles) {
+        Map<String, LockHandle> held = HELD.get();
+        if (held == null)
+            return;
+        for (LockHandle handle : handles)
+            held.remove(handle.getKey());
+        if (held.isEmpty())
+            HELD.remove();
+    }
+    
+}
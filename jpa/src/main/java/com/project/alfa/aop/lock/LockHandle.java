@@ -0,0 +1,24 @@
+package com.project.alfa.aop.lock;
+
+public interface LockHandle {
+    
+    /**
+     * 락 키 조회
+     *
+     * @return 락 키
+     */
+    String getKey();
+    
+    /**
+     * 펜싱 토큰 조회, 같은 키에 대해 락을 획득할 때마다 단조 증가
+     *
+     * @return 펜싱 토큰
+     */
+    long getFencingToken();
+    
+    /**
+     * 락 해제
+     */
+    void unlock();
+    
+}
@@ -0,0 +1,94 @@
+package com.project.alfa.aop.trace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 메서드별 실행 시간 히스토그램
+ * 버킷 i는 [2^(i-1), 2^i) μs 구간, 0번은 1μs 미만, 마지막 버킷은 상한 없음
+ */
+public class LatencyHistogram {
+    
+    private static final int BUCKETS = 32;
+    
+    private final String          key;
+    private final AtomicLongArray counts     = new AtomicLongArray(BUCKETS);
+    private final AtomicLong      totalNanos = new AtomicLong();
+    private final AtomicLong      maxNanos   = new AtomicLong();
+    
+    public LatencyHistogram(final String key) {
+        this.key = key;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    /**
+     * 실행 시간 기록
+     *
+     * @param nanos - 실행 시간(ns)
+     */
+    public void record(final long nanos) {
+        long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0);
+        counts.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1));
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+    
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            count += counts.get(i);
+        return count;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+    
+    /**
+     * 백분위 실행 시간 조회, 해당 버킷의 상한(최대 실행 시간 이하)으로 근사
+     *
+     * @param percentile - 백분위(0 ~ 1)
+     * @return 실행 시간(ns), 기록이 없으면 0
+     */
+    public long getPercentileNanos(final double percentile) {
+        long count = getCount();
+        if (count == 0)
+            return 0;
+        long rank       = (long) Math.ceil(count * percentile);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank)
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), maxNanos.get());
+        }
+        return maxNanos.get();
+    }
+    
+    /**
+     * 기록 초기화, 보고 주기별 분포를 보기 위해 사용
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+    
+    @Override
+    public String toString() {
+        long count = getCount();
+        return String.format("method=%s, count=%d, avg=%.3fms, p50=%.3fms, p90=%.3fms, p99=%.3fms, max=%.3fms",
+                             key, count, count == 0 ? 0 : totalNanos.get() / (double) count / 1_000_000,
+                             getPercentileNanos(0.5) / 1_000_000.0, getPercentileNanos(0.9) / 1_000_000.0,
+                             getPercentileNanos(0.99) / 1_000_000.0, maxNanos.get() / 1_000_000.0);
+    }
+    
+}
@@ -1,14 +1,50 @@
 package com.project.alfa.aop.trace;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+/**
+ * 추적 구간(span) 기록
+ * 스레드별로 미리 할당한 인스턴스를 트레이스마다 재사용, 샘플링되지 않은 호출은 UNSAMPLED 공유 인스턴스 사용
+ */
 @Getter
-@AllArgsConstructor
 public class TraceStatus {
     
-    private TraceId traceId;
-    private Long    startTime;
-    private String  message;
+    public static final TraceStatus UNSAMPLED = new TraceStatus();
+    
+    private int    depth;           //호출 깊이, 루트는 0
+    private String message;         //메서드 시그니처
+    private long   startNanos;      //시작 시각(System.nanoTime)
+    private long   elapsedNanos;    //실행 시간(ns), 종료 전 -1
+    private String exception;       //예외 정보, 정상 종료 시 null
+    
+    public boolean isSampled() {
+        return this != UNSAMPLED;
+    }
+    
+    /**
+     * 구간 시작
+     *
+     * @param depth      - 호출 깊이
+     * @param message    - 메서드 시그니처
+     * @param startNanos - 시작 시각(System.nanoTime)
+     */
+    public void start(final int depth, final String message, final long startNanos) {
+        this.depth = depth;
+        this.message = message;
+        this.startNanos = startNanos;
+        this.elapsedNanos = -1;
+        this.exception = null;
+    }
+    
+    /**
+     * 구간 종료
+     *
+     * @param endNanos  - 종료 시각(System.nanoTime)
+     * @param exception - 예외 정보, 정상 종료 시 null
+     */
+    public void stop(final long endNanos, final String exception) {
+        this.elapsedNanos = endNanos - startNanos;
+        this.exception = exception;
+    }
     
 }
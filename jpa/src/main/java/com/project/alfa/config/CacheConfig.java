@@ -18,11 +18,15 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Collections;
 
 @EnableCaching
 @Configuration
 public class CacheConfig extends CachingConfigurerSupport {
     
+    /**
+     * 캐시별 조회 적중/실패 통계 수집, 시작 시 등록한 캐시는 cache.* 지표로 노출
+     */
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -42,6 +46,8 @@ public class CacheConfig extends CachingConfigurerSupport {
                                                                               RedisSerializationContext.SerializationPair.fromSerializer(
                                                                                       new GenericJackson2JsonRedisSerializer(
                                                                                               objectMapper))))
+                                .initialCacheNames(Collections.singleton("postCache"))
+                                .enableStatistics()
                                 .transactionAware()
                                 .build();
     }
@@ -1,7 +1,9 @@
 package com.project.alfa.config;
 
+import com.project.alfa.security.BoundedPasswordEncoder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,9 +25,16 @@ public class ProjectConfig {
     @PersistenceContext
     private EntityManager em;
     
+    @Value("${password-encoder.strength}")
+    private int strength;
+    @Value("${password-encoder.threads}")
+    private int threads;
+    @Value("${password-encoder.queue-capacity}")
+    private int queueCapacity;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity);
     }
     
     @Bean
@@ -0,0 +1,23 @@
+package com.project.alfa.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis Pub/Sub 리스너 컨테이너 설정
+ * 노드 간 전파(인증 정보 캐시 제거, 락 해제 알림, 토큰 폐기)는 하나의 컨테이너(구독 연결)를 공유하고,
+ * 각 기능 설정에서 채널별 리스너 등록
+ */
+@Configuration
+public class RedisListenerConfig {
+    
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+    
+}
@@ -0,0 +1,34 @@
+package com.project.alfa.config;
+
+import com.project.alfa.security.jwt.revocation.TokenRevocationList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * JWT 토큰 폐기 목록 설정
+ * - token-revocation.broadcast=true: Redis Pub/Sub으로 다른 노드에 폐기 항목 전파
+ */
+@Configuration
+public class TokenRevocationConfig {
+    
+    @Bean
+    public TokenRevocationList tokenRevocationList(
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            @Value("${token-revocation.expected-entries}") long expectedEntries,
+            @Value("${token-revocation.false-positive-rate}") double falsePositiveRate,
+            @Value("${token-revocation.broadcast}") boolean broadcast) {
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(stringRedisTemplate, expectedEntries,
+                                                                          falsePositiveRate, broadcast);
+        tokenRevocationList.reload();
+        if (broadcast)
+            redisMessageListenerContainer.addMessageListener(tokenRevocationList,
+                                                             new ChannelTopic(TokenRevocationList.REVOKE_CHANNEL));
+        return tokenRevocationList;
+    }
+    
+}
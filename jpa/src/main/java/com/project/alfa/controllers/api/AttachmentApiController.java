@@ -1,21 +1,33 @@
 package com.project.alfa.controllers.api;
 
 import com.google.gson.Gson;
+import com.project.alfa.security.CustomUserDetails;
 import com.project.alfa.services.AttachmentService;
 import com.project.alfa.services.dto.AttachmentResponseDto;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
 import com.project.alfa.utils.FileUtil;
+import com.project.alfa.utils.storage.FileRegionResource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.*;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
 import java.net.URLEncoder;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping(value = "/api/posts/{postId}/attachments",
@@ -41,30 +53,203 @@ public class AttachmentApiController {
     }
     
     /**
-     * GET: 첨부파일 다운로드
+     * POST: 첨부파일 업로드, 요청 본문(파일 내용)을 로컬 디스크 없이 S3로 스트리밍
+     *
+     * @param postId      - 게시글 FK
+     * @param filename    - 원본 파일명
+     * @param userDetails
+     * @param request
+     * @return
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name = "Attachment API")
+    @Operation(summary = "첨부파일 업로드", description = "요청 본문을 첨부파일로 업로드합니다.")
+    public ResponseEntity<String> uploadFile(@PathVariable final Long postId,
+                                             @RequestParam final String filename,
+                                             @AuthenticationPrincipal UserDetails userDetails,
+                                             final HttpServletRequest request) throws IOException {
+        String contentType = MediaTypeFactory.getMediaType(filename)
+                                             .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                                             .toString();
+        Long id = attachmentService.saveFile(postId, ((CustomUserDetails) userDetails).getId(), filename,
+                                             contentType, request.getInputStream());
+        return ResponseEntity.ok(new Gson().toJson(id));
+    }
+    
+    /**
+     * POST: 첨부파일 Presigned 업로드 URL 발급, 클라이언트는 발급받은 URL로 S3에 직접 PUT
+     *
+     * @param postId      - 게시글 FK
+     * @param filename    - 원본 파일명
+     * @param userDetails
+     * @return
+     */
+    @PostMapping(value = "/presigned",
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name = "Attachment API")
+    @Operation(summary = "첨부파일 업로드 URL 발급", description = "S3에 직접 업로드할 수 있는 URL을 발급합니다.")
+    public ResponseEntity<String> generateUploadUrl(@PathVariable final Long postId,
+                                                    @RequestParam final String filename,
+                                                    @AuthenticationPrincipal UserDetails userDetails) {
+        String contentType = MediaTypeFactory.getMediaType(filename)
+                                             .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                                             .toString();
+        PresignedUploadResponseDto dto = attachmentService.generateUploadUrl(postId,
+                                                                             ((CustomUserDetails) userDetails).getId(),
+                                                                             filename, contentType);
+        return ResponseEntity.ok(new Gson().toJson(dto));
+    }
+    
+    /**
+     * POST: Presigned URL로 업로드된 첨부파일 확정
+     *
+     * @param postId        - 게시글 FK
+     * @param storeFilePath - 발급받은 저장 경로
+     * @param userDetails
+     * @return
+     */
+    @PostMapping(value = "/confirm",
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name = "Attachment API")
+    @Operation(summary = "첨부파일 업로드 확정", description = "S3에 직접 업로드한 첨부파일을 등록합니다.")
+    public ResponseEntity<String> confirmFile(@PathVariable final Long postId,
+                                              @RequestParam final String storeFilePath,
+                                              @AuthenticationPrincipal UserDetails userDetails) {
+        Long id = attachmentService.confirmFile(postId, ((CustomUserDetails) userDetails).getId(), storeFilePath);
+        return ResponseEntity.ok(new Gson().toJson(id));
+    }
+    
+    /**
+     * GET: 첨부파일 다운로드 리다이렉트, Presigned GET URL로 S3에서 직접 다운로드
      *
      * @param postId - 게시글 FK
      * @param fileId - 첨부파일 PK
      * @return
      */
+    @GetMapping("/{fileId}/redirect")
+    @Tag(name = "Attachment API")
+    @Operation(summary = "첨부파일 다운로드 리다이렉트", description = "첨부파일 다운로드 URL로 리다이렉트합니다.")
+    public ResponseEntity<Void> redirectDownload(@PathVariable final Long postId, @PathVariable final Long fileId) {
+        AttachmentResponseDto file = attachmentService.findFileById(fileId);
+        
+        try {
+            return ResponseEntity.status(HttpStatus.FOUND).location(fileUtil.generateDownloadUrl(file).toURI()).build();
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Invalid download URL: " + file.getStoreFilename(), e);
+        }
+    }
+    
+    /**
+     * GET: 첨부파일 다운로드
+     * 저장 파일명은 무작위로 생성되고 변경되지 않으므로 ETag로 사용하고 영구 캐시(immutable) 허용
+     * If-None-Match 일치 시 S3 조회 없이 304, Range 요청은 S3 범위 조회로 206
+     * 다중 범위는 하나의 범위로 병합, 저장 파일이 변경되지 않으므로 If-Range 검사 생략
+     * 로컬 저장소는 가능하면 서블릿 컨테이너 sendfile로 사용자 영역 복사 없이 전송
+     *
+     * @param postId         - 게시글 FK
+     * @param fileId         - 첨부파일 PK
+     * @param requestHeaders
+     * @param request
+     * @return
+     */
     @GetMapping(value = "/{fileId}/download",
                 produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     @Tag(name = "Attachment API")
     @Operation(summary = "첨부파일 다운로드", description = "첨부파일을 다운로드합니다.")
-    public ResponseEntity<Resource> downloadFile(@PathVariable final Long postId, @PathVariable final Long fileId) {
+    public ResponseEntity<Resource> downloadFile(@PathVariable final Long postId, @PathVariable final Long fileId,
+                                                 @RequestHeader final HttpHeaders requestHeaders,
+                                                 final HttpServletRequest request) {
         AttachmentResponseDto file     = attachmentService.findFileById(fileId);
-        Resource              resource = fileUtil.readAttachmentFileAsResource(file);
+        long                  fileSize = file.getFileSize();
+        
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setETag("\"" + file.getStoreFilename() + "\"");
+        httpHeaders.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue()
+                                    + ", immutable");
+        httpHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        
+        if (isNotModified(requestHeaders, httpHeaders.getETag()))
+            return new ResponseEntity<>(httpHeaders, HttpStatus.NOT_MODIFIED);
         
         try {
-            String      filename    = URLEncoder.encode(file.getOriginalFilename(), "UTF-8");
-            HttpHeaders httpHeaders = new HttpHeaders();
+            String filename = URLEncoder.encode(file.getOriginalFilename(), "UTF-8");
             httpHeaders.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
-            httpHeaders.setContentLength(file.getFileSize());
-            
-            return new ResponseEntity<>(resource, httpHeaders, HttpStatus.OK);
         } catch (UnsupportedEncodingException e) {
             throw new RuntimeException("Filename encoding failed: " + file.getOriginalFilename(), e);
         }
+        
+        if (requestHeaders.getFirst(HttpHeaders.RANGE) == null) {
+            httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            httpHeaders.setContentLength(fileSize);
+            return new ResponseEntity<>(body(fileUtil.readAttachmentFileAsResource(file), request), httpHeaders,
+                                        HttpStatus.OK);
+        }
+        
+        //범위 병합, 만족할 수 없는 범위는 제외
+        long start = Long.MAX_VALUE;
+        long end   = -1;
+        try {
+            for (HttpRange range : requestHeaders.getRange()) {
+                if (fileSize == 0)
+                    break;
+                try {
+                    long rangeStart = range.getRangeStart(fileSize);
+                    long rangeEnd   = range.getRangeEnd(fileSize);
+                    if (rangeStart <= rangeEnd) {
+                        start = Math.min(start, rangeStart);
+                        end = Math.max(end, rangeEnd);
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    //만족할 수 없는 범위
+                }
+            }
+        } catch (IllegalArgumentException ignored) {
+            //잘못된 Range 헤더
+        }
+        
+        if (end < 0) {
+            httpHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+            httpHeaders.remove(HttpHeaders.CONTENT_DISPOSITION);
+            return new ResponseEntity<>(httpHeaders, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        }
+        
+        httpHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+        httpHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        httpHeaders.setContentLength(end - start + 1);
+        return new ResponseEntity<>(body(fileUtil.readAttachmentFileAsResource(file, start, end), request),
+                                    httpHeaders, HttpStatus.PARTIAL_CONTENT);
+    }
+    
+    /**
+     * 응답 본문, 로컬 파일 영역을 sendfile로 전송하면 본문 없이 헤더만 응답
+     *
+     * @param resource - 첨부파일 리소스
+     * @param request
+     * @return 응답 본문
+     */
+    private static Resource body(final Resource resource, final HttpServletRequest request) {
+        if (resource instanceof FileRegionResource && ((FileRegionResource) resource).sendfile(request))
+            return null;
+        return resource;
+    }
+    
+    /**
+     * If-None-Match 검사, 약한 비교
+     *
+     * @param requestHeaders
+     * @param eTag           - 현재 ETag
+     * @return 일치 여부
+     */
+    private static boolean isNotModified(final HttpHeaders requestHeaders, final String eTag) {
+        try {
+            for (String ifNoneMatch : requestHeaders.getIfNoneMatch())
+                if (ifNoneMatch.equals("*") || ifNoneMatch.equals(eTag) || ifNoneMatch.equals("W/" + eTag))
+                    return true;
+        } catch (IllegalArgumentException ignored) {
+            //잘못된 If-None-Match 헤더
+        }
+        return false;
     }
     
 }
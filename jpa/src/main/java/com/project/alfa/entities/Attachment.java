@@ -25,9 +25,13 @@ public class Attachment extends UploadFile {
     @Column(nullable = false)
     private boolean deleteYn;   //삭제 여부
     
+    @Version
+    private Long version;       //버전(낙관적 락)
+    
     @Builder
-    public Attachment(Post post, String originalFilename, String storeFilename, String storeFilePath, Long fileSize) {
-        super(originalFilename, storeFilename, storeFilePath, fileSize);
+    public Attachment(Post post, String originalFilename, String storeFilename, String storeFilePath, Long fileSize,
+                      String contentHash) {
+        super(originalFilename, storeFilename, storeFilePath, fileSize, contentHash);
         setRelationshipWithPost(post);
     }
     
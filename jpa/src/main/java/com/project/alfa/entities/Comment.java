@@ -34,6 +34,9 @@ public class Comment extends BaseTimeEntity {
     @Column(nullable = false)
     private boolean deleteYn;   //삭제 여부
     
+    @Version
+    private Long version;       //버전(낙관적 락)
+    
     @Builder
     public Comment(Member writer, Post post, String content) {
         setRelationshipWithMember(writer);
@@ -0,0 +1,44 @@
+package com.project.alfa.entities;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * 첨부파일 저장 객체, 같은 내용의 첨부파일은 하나의 저장 객체를 참조
+ * 참조 수는 원자적 갱신(upsert, 증감)으로만 변경하고 0이 되면 저장 객체와 함께 삭제
+ */
+@Entity
+@Table(name = "tbl_file_blobs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FileBlob extends BaseTimeEntity {
+    
+    @Id
+    @Column(length = 64)
+    private String contentHash;     //PK, 내용 해시(SHA-256)
+    
+    @Column(nullable = false)
+    private String storeFilePath;   //저장 경로
+    
+    @Column(nullable = false)
+    private Long fileSize;          //파일 크기
+    
+    @Column(nullable = false)
+    private Long refCount;          //참조(첨부파일) 수
+    
+    @Builder
+    public FileBlob(String contentHash, String storeFilePath, Long fileSize, Long refCount) {
+        this.contentHash = contentHash;
+        this.storeFilePath = storeFilePath;
+        this.fileSize = fileSize;
+        this.refCount = refCount;
+    }
+    
+}
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
@@ -45,12 +46,17 @@ public class Member extends BaseTimeEntity {
     @Column(nullable = false)
     private boolean deleteYn;                           //탈퇴 여부
     
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "writer")
     private List<Post> posts = new ArrayList<>();       //작성 게시글 목록
     
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "writer")
     private List<Comment> comments = new ArrayList<>(); //작성 댓글 목록
     
+    @Version
+    private Long version;                               //버전(낙관적 락)
+    
     @Builder
     public Member(String username, String password, AuthInfo authInfo, String nickname, Role role) {
         this.username = username.toLowerCase();
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
@@ -32,6 +33,7 @@ public class Post extends BaseTimeEntity {
     @Lob
     private String content;                                     //내용
     
+    @OptimisticLock(excluded = true)
     @Column(nullable = false)
     private int viewCount;                                      //조회수
     
@@ -41,12 +43,17 @@ public class Post extends BaseTimeEntity {
     @Column(nullable = false)
     private boolean deleteYn;                                   //삭제 여부
     
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "post")
     private List<Comment> comments = new ArrayList<>();         //댓글 목록
     
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "post")
     private List<Attachment> attachments = new ArrayList<>();   //첨부파일 목록
     
+    @Version
+    private Long version;                                       //버전(낙관적 락)
+    
     @Builder
     public Post(Member writer, String title, String content, boolean noticeYn) {
         setRelationshipWithMember(writer);
@@ -0,0 +1,49 @@
+package com.project.alfa.entities;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 저장소 작업(아웃박스), 첨부파일 정보와 같은 트랜잭션으로 기록하고 커밋 후 저장소에 반영
+ * 실패한 작업은 다음 시도 일시를 늦춰 재시도
+ */
+@Entity
+@Table(name = "tbl_storage_tasks")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StorageTask extends BaseTimeEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "storage_task_id")
+    private Long id;                        //PK
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private StorageTaskType type;           //작업 유형
+    
+    @Column(nullable = false)
+    private String sourcePath;              //대상 경로(이동: 임시 경로)
+    
+    private String targetPath;              //이동할 저장 경로
+    
+    @Column(nullable = false)
+    private int attempts;                   //실패 횟수
+    
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptTime;  //다음 시도 일시
+    
+    @Builder
+    public StorageTask(StorageTaskType type, String sourcePath, String targetPath, LocalDateTime nextAttemptTime) {
+        this.type = type;
+        this.sourcePath = sourcePath;
+        this.targetPath = targetPath;
+        this.nextAttemptTime = nextAttemptTime;
+    }
+    
+}
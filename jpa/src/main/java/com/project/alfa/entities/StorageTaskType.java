@@ -0,0 +1,8 @@
+package com.project.alfa.entities;
+
+public enum StorageTaskType {
+    
+    PROMOTE,    //임시 경로 -> 저장 경로 이동
+    DELETE      //저장 파일 삭제
+    
+}
@@ -26,4 +26,7 @@ public abstract class UploadFile extends BaseTimeEntity {
     @Column(nullable = false)
     private Long fileSize;              //파일 크기
     
+    @Column(length = 64)
+    private String contentHash;         //내용 해시(SHA-256), 중복 제거 대상이 아니면 null
+    
 }
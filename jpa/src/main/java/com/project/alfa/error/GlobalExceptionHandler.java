@@ -2,7 +2,11 @@ package com.project.alfa.error;
 
 import com.project.alfa.error.exception.BusinessException;
 import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.LockAcquisitionException;
+import com.project.alfa.error.exception.ServerBusyException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -21,6 +25,8 @@ import java.nio.file.AccessDeniedException;
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
+    private static final String RETRY_AFTER_SECONDS = "1";
+    
     /**
      * javax.validation.Valid 또는 @Validated 로 바인딩 실패 시 발생
      * HttpMessageConverter에 등록한 HttpMessageConverter로 바인딩 실패 시 발생
@@ -76,6 +82,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.valueOf(ErrorCode.HANDLE_ACCESS_DENIED.getStatus()));
     }
     
+    /**
+     * '@LockAop' 락 획득 실패 또는 서버 자원(비밀번호 해싱 스레드 풀 등) 포화 시 발생, 클라이언트 재시도 유도
+     */
+    @ExceptionHandler({LockAcquisitionException.class, ServerBusyException.class})
+    protected ResponseEntity<ErrorResponse> handleRetryableException(final BusinessException e) {
+        log.warn("handleRetryableException: {}", e.getMessage());
+        final ErrorCode     errorCode = e.getErrorCode();
+        final ErrorResponse response  = ErrorResponse.of(errorCode);
+        return ResponseEntity.status(errorCode.getStatus()).header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                             .body(response);
+    }
+    
+    /**
+     * '@OptimisticLockAop' 재시도 횟수 초과 또는 재시도 없이 버전 충돌 시 발생
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException e) {
+        log.warn("handleOptimisticLockingFailureException: {}", e.getMessage());
+        final ErrorResponse response = ErrorResponse.of(ErrorCode.OPTIMISTIC_LOCK_CONFLICT);
+        return ResponseEntity.status(ErrorCode.OPTIMISTIC_LOCK_CONFLICT.getStatus())
+                             .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).body(response);
+    }
+    
     @ExceptionHandler(BusinessException.class)
     protected ResponseEntity<ErrorResponse> handleBusinessException(final BusinessException e) {
         log.error("handleBusinessException", e);
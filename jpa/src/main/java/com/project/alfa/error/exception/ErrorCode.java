@@ -15,6 +15,8 @@ public enum ErrorCode {
     INTERNAL_SERVER_ERROR(500, "C004", "Server error"),
     INVALID_TYPE_VALUE(400, "C005", "Invalid type value"),
     HANDLE_ACCESS_DENIED(403, "C006", "Access denied"),
+    SERVER_BUSY(503, "C007", "Server is busy, retry later"),
+    TOO_MANY_REQUESTS(429, "C008", "Too many requests, retry later"),
     
     //Member
     USERNAME_DUPLICATION(400, "M001", "Username duplicated"),
@@ -22,6 +24,7 @@ public enum ErrorCode {
     AUTH_NOT_COMPLETED(400, "M003", "Authentication not completed"),
     PASSWORD_DO_NOT_MATCH(400, "M005", "Password do not match"),
     UNAUTHORIZED(400, "M006", "No permission"),
+    INVALID_REFRESH_TOKEN(401, "M007", "Invalid refresh token"),
     
     //Post
     NOT_WRITER_OF_POST(400, "P001", "Not writer of post"),
@@ -31,7 +34,14 @@ public enum ErrorCode {
     NOT_COMMENT_ON_POST(400, "R002", "Not the comment on this post"),
     
     //Attachment
-    NOT_ATTACHMENT_ON_POST(400, "A001", "Not the attachment on this post");
+    NOT_ATTACHMENT_ON_POST(400, "A001", "Not the attachment on this post"),
+    FILE_SIZE_EXCEEDED(413, "A002", "File size exceeded"),
+    INVALID_UPLOAD(400, "A003", "Invalid upload"),
+    
+    //Lock
+    LOCK_WAIT_TIMEOUT(409, "L001", "Resource is busy, retry later"),
+    LOCK_REJECTED(429, "L002", "Resource is busy, retry later"),
+    OPTIMISTIC_LOCK_CONFLICT(409, "L003", "Resource was modified concurrently, retry later");
     
     private final int    status;
     private final String code;
@@ -0,0 +1,12 @@
+package com.project.alfa.error.exception;
+
+/**
+ * 락 획득 실패, 재시도 가능한 오류(Retry-After 헤더 포함 응답)
+ */
+public class LockAcquisitionException extends BusinessException {
+    
+    public LockAcquisitionException(String value, ErrorCode errorCode) {
+        super(value, errorCode);
+    }
+    
+}
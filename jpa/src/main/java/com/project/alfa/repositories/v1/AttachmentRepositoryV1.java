@@ -5,6 +5,7 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -161,6 +162,39 @@ public class AttachmentRepositoryV1 {
                  .getResultList();
     }
     
+    /**
+     * 영구 삭제 대상 첨부파일 정보 목록 조회
+     * 삭제 후 보관 기간이 지난 첨부파일 또는 보관 기간이 지난 삭제 게시글의 첨부파일
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @param limit         - 최대 조회 개수
+     * @return 첨부파일 정보 목록
+     */
+    public List<Attachment> findAllToPurge(final LocalDateTime deletedBefore, final int limit) {
+        return em.createQuery("SELECT a FROM Attachment a JOIN a.post p" +
+                              " WHERE (a.deleteYn = true" +
+                              " AND a.lastModifiedDate < :deletedBefore)" +
+                              " OR (p.deleteYn = true" +
+                              " AND p.lastModifiedDate < :deletedBefore)" +
+                              " ORDER BY a.id", Attachment.class)
+                 .setParameter("deletedBefore", deletedBefore)
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+    
+    /**
+     * 저장 경로 목록 중 첨부파일 정보가 참조하는 저장 경로 조회, 삭제된 첨부파일 포함
+     *
+     * @param storeFilePaths - 저장 경로 목록
+     * @return 참조 중인 저장 경로 목록
+     */
+    public List<String> findAllStoreFilePaths(final List<String> storeFilePaths) {
+        return em.createQuery("SELECT a.storeFilePath FROM Attachment a WHERE a.storeFilePath IN :storeFilePaths",
+                              String.class)
+                 .setParameter("storeFilePaths", storeFilePaths)
+                 .getResultList();
+    }
+    
     /**
      * 첨부파일 정보 영구 삭제
      *
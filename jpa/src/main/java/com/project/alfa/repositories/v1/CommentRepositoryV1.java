@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -265,6 +266,26 @@ public class CommentRepositoryV1 {
                                                  .getResultList(), pageable, count);
     }
     
+    /**
+     * 영구 삭제 대상 댓글 PK 목록 조회
+     * 삭제 후 보관 기간이 지난 댓글 또는 보관 기간이 지난 삭제 게시글의 댓글
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @param limit         - 최대 조회 개수
+     * @return PK 목록
+     */
+    public List<Long> findAllIdsToPurge(final LocalDateTime deletedBefore, final int limit) {
+        return em.createQuery("SELECT c.id FROM Comment c JOIN c.post p" +
+                              " WHERE (c.deleteYn = true" +
+                              " AND c.lastModifiedDate < :deletedBefore)" +
+                              " OR (p.deleteYn = true" +
+                              " AND p.lastModifiedDate < :deletedBefore)" +
+                              " ORDER BY c.id", Long.class)
+                 .setParameter("deletedBefore", deletedBefore)
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+    
     /**
      * 댓글 정보 영구 삭제
      *
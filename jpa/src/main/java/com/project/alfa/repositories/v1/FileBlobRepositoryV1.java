@@ -0,0 +1,97 @@
+package com.project.alfa.repositories.v1;
+
+import com.project.alfa.entities.FileBlob;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 첨부파일 저장 객체 참조 수 관리
+ * 동시 업로드/삭제 간 경쟁을 막기 위해 참조 수는 DB에서 원자적으로 갱신하고, 조회는 영속성 컨텍스트를 거치지 않음
+ */
+@Repository
+public class FileBlobRepositoryV1 {
+    
+    @PersistenceContext
+    private EntityManager em;
+    
+    /**
+     * 저장 객체 참조 획득, 같은 내용 해시의 저장 객체가 없으면 새로 등록
+     * 갱신한 행은 트랜잭션 종료까지 잠기므로 같은 해시의 참조 획득/해제는 순서대로 처리
+     *
+     * @param contentHash   - 내용 해시
+     * @param storeFilePath - 새로 등록할 때 저장 경로
+     * @param fileSize      - 파일 크기
+     * @param count         - 획득할 참조 수
+     */
+    public void acquire(final String contentHash, final String storeFilePath, final long fileSize,
+                        final long count) {
+        em.createNativeQuery("INSERT INTO tbl_file_blobs (content_hash, store_file_path, file_size, ref_count," +
+                             " created_date) VALUES (:contentHash, :storeFilePath, :fileSize, :count," +
+                             " CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE ref_count = ref_count + :count," +
+                             " last_modified_date = CURRENT_TIMESTAMP")
+          .setParameter("contentHash", contentHash)
+          .setParameter("storeFilePath", storeFilePath)
+          .setParameter("fileSize", fileSize)
+          .setParameter("count", count)
+          .executeUpdate();
+    }
+    
+    /**
+     * 저장 객체 참조 해제
+     *
+     * @param contentHash - 내용 해시
+     * @param count       - 해제할 참조 수
+     * @return 갱신된 행 수, 등록되지 않은 내용 해시면 0
+     */
+    public int release(final String contentHash, final long count) {
+        return em.createNativeQuery("UPDATE tbl_file_blobs SET ref_count = ref_count - :count," +
+                                    " last_modified_date = CURRENT_TIMESTAMP WHERE content_hash = :contentHash")
+                 .setParameter("count", count)
+                 .setParameter("contentHash", contentHash)
+                 .executeUpdate();
+    }
+    
+    /**
+     * 저장 객체 정보 조회, 원자적 갱신 결과를 읽기 위해 항상 DB에서 조회
+     *
+     * @param contentHash - 내용 해시
+     * @return 저장 객체 정보
+     */
+    public Optional<FileBlob> findById(final String contentHash) {
+        return em.createQuery("SELECT new com.project.alfa.entities.FileBlob(b.contentHash, b.storeFilePath," +
+                              " b.fileSize, b.refCount) FROM FileBlob b WHERE b.contentHash = :contentHash",
+                              FileBlob.class)
+                 .setParameter("contentHash", contentHash)
+                 .getResultList().stream().findFirst();
+    }
+    
+    /**
+     * 저장 경로 목록 중 저장 객체 정보가 참조하는 저장 경로 조회
+     *
+     * @param storeFilePaths - 저장 경로 목록
+     * @return 참조 중인 저장 경로 목록
+     */
+    public List<String> findAllStoreFilePaths(final List<String> storeFilePaths) {
+        return em.createQuery("SELECT b.storeFilePath FROM FileBlob b WHERE b.storeFilePath IN :storeFilePaths",
+                              String.class)
+                 .setParameter("storeFilePaths", storeFilePaths)
+                 .getResultList();
+    }
+    
+    /**
+     * 참조가 없는 저장 객체 정보 삭제
+     *
+     * @param contentHash - 내용 해시
+     * @return 삭제 여부
+     */
+    public boolean deleteIfUnreferenced(final String contentHash) {
+        return em.createNativeQuery("DELETE FROM tbl_file_blobs WHERE content_hash = :contentHash AND ref_count <= 0")
+                 .setParameter("contentHash", contentHash)
+                 .executeUpdate() > 0;
+    }
+    
+}
@@ -0,0 +1,107 @@
+package com.project.alfa.repositories.v1;
+
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class MailTaskRepositoryV1 {
+    
+    @PersistenceContext
+    private EntityManager em;
+    
+    /**
+     * 메일 발송 작업 저장
+     *
+     * @param mailTask - 메일 발송 작업
+     * @return 메일 발송 작업
+     */
+    public MailTask save(final MailTask mailTask) {
+        em.persist(mailTask);
+        return mailTask;
+    }
+    
+    /**
+     * 처리할 메일 발송 작업 목록 조회, 선점되지 않았거나 선점이 만료된 작업, 등록 순서
+     *
+     * @param dueBefore - 다음 시도 일시 기준
+     * @param limit     - 최대 조회 개수
+     * @return 메일 발송 작업 목록
+     */
+    public List<MailTask> findAllDue(final LocalDateTime dueBefore, final int limit) {
+        return em.createQuery("SELECT t FROM MailTask t WHERE t.nextAttemptTime <= :dueBefore" +
+                              " AND (t.leaseExpireTime IS NULL OR t.leaseExpireTime <= :dueBefore) ORDER BY t.id",
+                              MailTask.class)
+                 .setParameter("dueBefore", dueBefore)
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+    
+    /**
+     * 메일 발송 작업 목록 조회
+     *
+     * @return 메일 발송 작업 목록
+     */
+    public List<MailTask> findAll() {
+        return em.createQuery("SELECT t FROM MailTask t ORDER BY t.id", MailTask.class).getResultList();
+    }
+    
+    /**
+     * 메일 발송 작업 선점, 선점되지 않았거나 선점이 만료된 경우에만 선점 만료 일시 기록
+     *
+     * @param id              - PK
+     * @param now             - 현재 일시
+     * @param leaseExpireTime - 선점 만료 일시
+     * @return 선점 여부
+     */
+    public boolean claim(final Long id, final LocalDateTime now, final LocalDateTime leaseExpireTime) {
+        return em.createQuery("UPDATE MailTask t SET t.leaseExpireTime = :leaseExpireTime WHERE t.id = :id" +
+                              " AND (t.leaseExpireTime IS NULL OR t.leaseExpireTime <= :now)")
+                 .setParameter("leaseExpireTime", leaseExpireTime)
+                 .setParameter("id", id)
+                 .setParameter("now", now)
+                 .executeUpdate() > 0;
+    }
+    
+    /**
+     * 메일 발송 작업 재시도 예약, 실패 횟수 증가 및 선점 해제
+     *
+     * @param id              - PK
+     * @param nextAttemptTime - 다음 시도 일시
+     */
+    public void retry(final Long id, final LocalDateTime nextAttemptTime) {
+        em.createQuery("UPDATE MailTask t SET t.attempts = t.attempts + 1, t.nextAttemptTime = :nextAttemptTime," +
+                       " t.leaseExpireTime = NULL, t.lastModifiedDate = CURRENT_TIMESTAMP WHERE t.id = :id")
+          .setParameter("nextAttemptTime", nextAttemptTime)
+          .setParameter("id", id)
+          .executeUpdate();
+    }
+    
+    /**
+     * 주소, 유형이 같은 발송 대기 작업 삭제
+     *
+     * @param recipient - 받는 메일 주소
+     * @param type      - 메일 유형
+     */
+    public void deleteAllByRecipientAndType(final String recipient, final MailTaskType type) {
+        em.createQuery("DELETE FROM MailTask t WHERE t.recipient = :recipient AND t.type = :type")
+          .setParameter("recipient", recipient)
+          .setParameter("type", type)
+          .executeUpdate();
+    }
+    
+    /**
+     * 발송한 메일 발송 작업 다중 삭제
+     *
+     * @param ids - PK 목록
+     */
+    public void deleteAllByIdInBatch(final List<Long> ids) {
+        em.createQuery("DELETE FROM MailTask t WHERE t.id IN :ids").setParameter("ids", ids).executeUpdate();
+    }
+    
+}
@@ -12,6 +12,7 @@ import org.springframework.util.StringUtils;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -301,6 +302,26 @@ public class PostRepositoryV1 {
                                               .getResultList(), pageable, count);
     }
     
+    /**
+     * 영구 삭제 대상 게시글 PK 목록 조회
+     * 삭제 후 보관 기간이 지났고, 남아있는 댓글/첨부파일이 없는 게시글
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @param limit         - 최대 조회 개수
+     * @return PK 목록
+     */
+    public List<Long> findAllIdsToPurge(final LocalDateTime deletedBefore, final int limit) {
+        return em.createQuery("SELECT p.id FROM Post p" +
+                              " WHERE p.deleteYn = true" +
+                              " AND p.lastModifiedDate < :deletedBefore" +
+                              " AND NOT EXISTS (SELECT c.id FROM Comment c WHERE c.post = p)" +
+                              " AND NOT EXISTS (SELECT a.id FROM Attachment a WHERE a.post = p)" +
+                              " ORDER BY p.id", Long.class)
+                 .setParameter("deletedBefore", deletedBefore)
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+    
     /**
      * 게시글 정보 영구 삭제
      *
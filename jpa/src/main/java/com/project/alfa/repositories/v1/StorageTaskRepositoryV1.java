@@ -0,0 +1,94 @@
+package com.project.alfa.repositories.v1;
+
+import com.project.alfa.entities.StorageTask;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class StorageTaskRepositoryV1 {
+    
+    @PersistenceContext
+    private EntityManager em;
+    
+    /**
+     * 저장소 작업 다중 저장
+     *
+     * @param storageTasks - 저장소 작업 목록
+     * @return 저장소 작업 목록
+     */
+    public List<StorageTask> saveAll(final List<StorageTask> storageTasks) {
+        for (StorageTask storageTask : storageTasks)
+            em.persist(storageTask);
+        return storageTasks;
+    }
+    
+    /**
+     * 처리할 저장소 작업 목록 조회, 등록 순서
+     *
+     * @param dueBefore - 다음 시도 일시 기준
+     * @param limit     - 최대 조회 개수
+     * @return 저장소 작업 목록
+     */
+    public List<StorageTask> findAllDue(final LocalDateTime dueBefore, final int limit) {
+        return em.createQuery("SELECT t FROM StorageTask t WHERE t.nextAttemptTime <= :dueBefore ORDER BY t.id",
+                              StorageTask.class)
+                 .setParameter("dueBefore", dueBefore)
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+    
+    /**
+     * 경로 목록 중 하나를 대상 경로 또는 이동할 저장 경로로 가진 저장소 작업 목록 조회
+     *
+     * @param paths - 경로 목록
+     * @return 저장소 작업 목록
+     */
+    public List<StorageTask> findAllByPaths(final List<String> paths) {
+        return em.createQuery("SELECT t FROM StorageTask t WHERE t.sourcePath IN :paths OR t.targetPath IN :paths",
+                              StorageTask.class)
+                 .setParameter("paths", paths)
+                 .getResultList();
+    }
+    
+    /**
+     * 저장소 작업 재시도 예약, 실패 횟수 증가
+     *
+     * @param id              - PK
+     * @param nextAttemptTime - 다음 시도 일시
+     */
+    public void retry(final Long id, final LocalDateTime nextAttemptTime) {
+        em.createQuery("UPDATE StorageTask t SET t.attempts = t.attempts + 1, t.nextAttemptTime = :nextAttemptTime," +
+                       " t.lastModifiedDate = CURRENT_TIMESTAMP WHERE t.id = :id")
+          .setParameter("nextAttemptTime", nextAttemptTime)
+          .setParameter("id", id)
+          .executeUpdate();
+    }
+    
+    /**
+     * 저장소 작업 실행 연기, 실패 횟수는 유지
+     *
+     * @param id              - PK
+     * @param nextAttemptTime - 다음 시도 일시
+     */
+    public void postpone(final Long id, final LocalDateTime nextAttemptTime) {
+        em.createQuery("UPDATE StorageTask t SET t.nextAttemptTime = :nextAttemptTime," +
+                       " t.lastModifiedDate = CURRENT_TIMESTAMP WHERE t.id = :id")
+          .setParameter("nextAttemptTime", nextAttemptTime)
+          .setParameter("id", id)
+          .executeUpdate();
+    }
+    
+    /**
+     * 완료한 저장소 작업 다중 삭제
+     *
+     * @param ids - PK 목록
+     */
+    public void deleteAllByIdInBatch(final List<Long> ids) {
+        em.createQuery("DELETE FROM StorageTask t WHERE t.id IN :ids").setParameter("ids", ids).executeUpdate();
+    }
+    
+}
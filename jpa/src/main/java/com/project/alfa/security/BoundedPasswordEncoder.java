@@ -0,0 +1,115 @@
+package com.project.alfa.security;
+
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.ServerBusyException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비밀번호 해싱/검증을 전용 스레드 풀에서 실행하는 PasswordEncoder
+ * 동시 실행 수는 스레드 수, 대기 수는 큐 크기로 제한하고 초과 요청은 대기 없이 거부(503, Retry-After)
+ * 로그인 폭주 시 요청 처리 스레드가 모두 BCrypt 연산에 묶이지 않도록 함
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    
+    private final PasswordEncoder    delegate;
+    private final ThreadPoolExecutor executor;
+    
+    /**
+     * @param delegate      - 실제 PasswordEncoder
+     * @param threads       - 스레드 수, 0 이하이면 CPU 코어 수
+     * @param queueCapacity - 대기 큐 크기
+     */
+    public BoundedPasswordEncoder(final PasswordEncoder delegate, final int threads, final int queueCapacity) {
+        int           poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               runnable -> {
+                                                   Thread thread = new Thread(runnable, "password-encoder-"
+                                                                                        + sequence.incrementAndGet());
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               },
+                                               new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+    
+    /**
+     * 실행 중인 작업 수
+     *
+     * @return 작업 수
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+    
+    /**
+     * 대기 중인 작업 수
+     *
+     * @return 작업 수
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+    
+    /**
+     * 전용 스레드 풀에서 실행 후 결과 대기, 풀과 큐가 모두 찬 경우 즉시 거부
+     *
+     * @param task - 작업
+     * @return 작업 결과
+     */
+    private <T> T execute(final Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServerBusyException("Password encoder is saturated, active: " + executor.getActiveCount()
+                                          + ", queued: " + executor.getQueue().size(), ErrorCode.SERVER_BUSY);
+        }
+        
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password encoder", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+}
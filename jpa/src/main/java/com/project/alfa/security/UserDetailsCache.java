@@ -0,0 +1,171 @@
+package com.project.alfa.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 인증 정보(UserDetails) 로컬 캐시, 소문자 아이디 기준
+ * 최대 크기 초과 시 가장 오래 사용되지 않은 항목 제거(LRU), TTL 경과 시 만료
+ * 계정 정보 변경 시 즉시 및 커밋 후 제거, Redis Pub/Sub으로 다른 노드에 제거 전파
+ */
+@Slf4j
+public class UserDetailsCache implements MessageListener {
+    
+    public static final String EVICT_CHANNEL = "user-details:evict";
+    
+    private final Map<String, CachedUserDetails> cache;
+    private final long                           ttl;
+    private final StringRedisTemplate            redisTemplate;
+    private final LongAdder                      hits      = new LongAdder();
+    private final LongAdder                      misses    = new LongAdder();
+    private final LongAdder                      evictions = new LongAdder();
+    
+    /**
+     * @param maxSize       - 최대 항목 수
+     * @param ttl           - 유효 시간(ms)
+     * @param redisTemplate - 제거 전파용, null이면 로컬 캐시만 제거
+     */
+    public UserDetailsCache(final int maxSize, final long ttl, final StringRedisTemplate redisTemplate) {
+        this.cache = new LinkedHashMap<String, CachedUserDetails>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedUserDetails> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.ttl = ttl;
+        this.redisTemplate = redisTemplate;
+    }
+    
+    /**
+     * 인증 정보 조회
+     *
+     * @param username - 아이디
+     * @return 인증 정보, 없거나 만료된 경우 null
+     */
+    public CustomUserDetails get(final String username) {
+        String            key = username.toLowerCase();
+        CachedUserDetails cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+            if (cached != null && cached.expiresAt <= System.currentTimeMillis()) {
+                cache.remove(key);
+                cached = null;
+            }
+        }
+        
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.userDetails;
+    }
+    
+    /**
+     * 인증 정보 저장
+     *
+     * @param userDetails - 인증 정보
+     */
+    public void put(final CustomUserDetails userDetails) {
+        CachedUserDetails cached = new CachedUserDetails(userDetails, System.currentTimeMillis() + ttl);
+        synchronized (cache) {
+            cache.put(userDetails.getUsername().toLowerCase(), cached);
+        }
+    }
+    
+    /**
+     * 인증 정보 제거 및 다른 노드에 전파
+     * 트랜잭션 진행 중이면 커밋 전 다시 캐싱된 이전 정보를 지우기 위해 커밋 후 한 번 더 제거
+     *
+     * @param username - 아이디
+     */
+    public void evict(final String username) {
+        String key = username.toLowerCase();
+        evictLocal(key);
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(key);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictLocal(key);
+                publish(key);
+            }
+        });
+    }
+    
+    /**
+     * 다른 노드의 제거 요청 수신
+     *
+     * @param message - 아이디
+     * @param pattern
+     */
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+    
+    private void evictLocal(final String key) {
+        synchronized (cache) {
+            if (cache.remove(key) != null)
+                evictions.increment();
+        }
+    }
+    
+    private void publish(final String key) {
+        if (redisTemplate == null)
+            return;
+        
+        byte[] channel = EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        byte[] body    = key.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish user details eviction: username={}", key, e);
+        }
+    }
+    
+    private static class CachedUserDetails {
+        
+        private final CustomUserDetails userDetails;
+        private final long              expiresAt;
+        
+        private CachedUserDetails(final CustomUserDetails userDetails, final long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+        
+    }
+    
+}
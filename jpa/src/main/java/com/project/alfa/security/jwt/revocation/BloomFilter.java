@@ -0,0 +1,87 @@
+package com.project.alfa.security.jwt.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Bloom 필터, 추가만 가능하며 스레드 안전
+ * 음성이면 확실히 없음, 양성이면 오탐 가능(예상 항목 수 이내에서 오탐률 이하)
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray bits;
+    private final long            bitSize;
+    private final int             hashCount;
+    
+    /**
+     * @param expectedInsertions - 예상 항목 수
+     * @param falsePositiveRate  - 오탐률
+     */
+    public BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        long   n = Math.max(1L, expectedInsertions);
+        double m = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        
+        this.bits = new AtomicLongArray((int) Math.max(1L, ((long) Math.ceil(m) + 63) >>> 6));
+        this.bitSize = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round(bitSize / (double) n * Math.log(2)));
+    }
+    
+    /**
+     * 항목 추가
+     *
+     * @param value - 항목
+     */
+    public void put(final String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            long mask  = 1L << index;
+            int  word  = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0)
+                bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+        }
+    }
+    
+    /**
+     * 항목 포함 가능성 확인
+     *
+     * @param value - 항목
+     * @return 포함 가능 여부, false이면 확실히 없음
+     */
+    public boolean mightContain(final String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0)
+                return false;
+        }
+        return true;
+    }
+    
+    /**
+     * UTF-8 바이트 기준 64비트 해시(FNV-1a 후 비트 혼합)
+     *
+     * @param value - 항목
+     * @return 해시
+     */
+    private static long hash(final String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+}
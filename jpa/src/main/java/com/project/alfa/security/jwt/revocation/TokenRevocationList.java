@@ -0,0 +1,152 @@
+package com.project.alfa.security.jwt.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JWT 토큰 폐기 목록
+ * - 원본은 Redis Sorted Set(항목 → 폐기 기준 만료 시각(ms)), 만료 시각이 기준 이하인 토큰을 폐기된 것으로 판단
+ * - 노드마다 Bloom 필터로 복제해 음성이면 Redis 조회 없이 통과, 양성인 경우에만 Redis에서 확인
+ * - 폐기 항목은 Redis Pub/Sub으로 다른 노드에 전파, 주기적으로 다시 적재해 누락된 메시지 복구 및 지난 항목 정리
+ */
+@Slf4j
+public class TokenRevocationList implements MessageListener {
+    
+    public static final String REVOKE_CHANNEL = "token-revocation:revoke";
+    
+    private static final byte[] KEY     = "token-revocation".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHANNEL = REVOKE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final long                expectedEntries;
+    private final double              falsePositiveRate;
+    private final boolean             broadcast;
+    private final LongAdder           lookups = new LongAdder();
+    private final LongAdder           revoked = new LongAdder();
+    private volatile BloomFilter      filter;
+    private volatile BloomFilter      reloading;
+    private volatile int              size;
+    
+    /**
+     * @param redisTemplate     - Redis
+     * @param expectedEntries   - 예상 항목 수(Bloom 필터 크기), 적재 시 실제 항목 수의 2배보다 작으면 늘림
+     * @param falsePositiveRate - Bloom 필터 오탐률
+     * @param broadcast         - 다른 노드에 폐기 항목 전파 여부
+     */
+    public TokenRevocationList(final StringRedisTemplate redisTemplate, final long expectedEntries,
+                               final double falsePositiveRate, final boolean broadcast) {
+        this.redisTemplate = redisTemplate;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.broadcast = broadcast;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+    
+    /**
+     * 토큰 폐기 등록 및 다른 노드에 전파, Redis 저장과 전파는 파이프라인 한 번으로 실행
+     *
+     * @param entry - 항목(토큰 ID, 아이디 등)
+     * @param until - 폐기 기준 만료 시각(ms), 만료 시각이 이 값 이하인 토큰 폐기
+     */
+    public void revoke(final String entry, final long until) {
+        byte[] value = entry.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zAdd(KEY, until, value);
+            if (broadcast)
+                connection.publish(CHANNEL, value);
+            return null;
+        });
+        put(entry);
+    }
+    
+    /**
+     * 토큰 폐기 여부 확인, Bloom 필터 음성이면 Redis 조회 없음
+     *
+     * @param entry     - 항목(토큰 ID, 아이디 등)
+     * @param expiresAt - 토큰 만료 시각(ms)
+     * @return 폐기 여부
+     */
+    public boolean isRevoked(final String entry, final long expiresAt) {
+        if (!filter.mightContain(entry))
+            return false;
+        
+        lookups.increment();
+        byte[] value = entry.getBytes(StandardCharsets.UTF_8);
+        Double until = redisTemplate.execute((RedisCallback<Double>) connection -> connection.zSetCommands()
+                                                                                             .zScore(KEY, value));
+        if (until == null || until < expiresAt)
+            return false;
+        
+        revoked.increment();
+        return true;
+    }
+    
+    /**
+     * Redis에서 폐기 목록을 다시 적재해 Bloom 필터 교체
+     * 기준 시각이 지난 항목은 대상 토큰이 모두 만료되었으므로 삭제, 조회 전부터 수신한 항목은 새 필터에도 추가
+     * 필터 크기는 직전 적재 항목 수 기준으로 정하고 부족하면 다음 적재 시 늘림
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.reload-interval}")
+    public void reload() {
+        double      now  = System.currentTimeMillis();
+        BloomFilter next = new BloomFilter(Math.max(expectedEntries, size * 2L), falsePositiveRate);
+        reloading = next;
+        try {
+            Set<byte[]> entries = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection -> {
+                connection.zSetCommands().zRemRangeByScore(KEY, Double.NEGATIVE_INFINITY, now);
+                return connection.zSetCommands().zRangeByScore(KEY, now, Double.POSITIVE_INFINITY);
+            });
+            
+            if (entries != null)
+                for (byte[] entry : entries)
+                    next.put(new String(entry, StandardCharsets.UTF_8));
+            size = entries == null ? 0 : entries.size();
+            filter = next;
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload token revocation list", e);
+        } finally {
+            reloading = null;
+        }
+    }
+    
+    /**
+     * 다른 노드의 폐기 항목 수신
+     *
+     * @param message - 항목
+     * @param pattern
+     */
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        put(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+    
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+    
+    public long getRevokedCount() {
+        return revoked.sum();
+    }
+    
+    /**
+     * Bloom 필터에 항목 추가, Redis 저장 후 호출
+     * 적재 중인 필터를 먼저 확인해야 교체 직전에 추가된 항목이 누락되지 않음
+     *
+     * @param entry - 항목
+     */
+    private void put(final String entry) {
+        BloomFilter next = reloading;
+        if (next != null)
+            next.put(entry);
+        filter.put(entry);
+    }
+    
+}
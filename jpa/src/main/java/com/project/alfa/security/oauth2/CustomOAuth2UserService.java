@@ -6,6 +6,7 @@ import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.repositories.v1.MemberRepositoryV1;
 import com.project.alfa.security.CustomUserDetails;
+import com.project.alfa.security.UserDetailsCache;
 import com.project.alfa.security.oauth2.provider.GoogleUserInfo;
 import com.project.alfa.security.oauth2.provider.OAuth2UserInfo;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     //private final MemberRepositoryV2 memberRepository;
     //private final MemberRepositoryV3 memberRepository;
     private final PasswordEncoder    passwordEncoder;
+    private final UserDetailsCache   userDetailsCache;
     
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -48,6 +50,17 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         
         String username = oAuth2UserInfo.getProvider() + "_" + oAuth2UserInfo.getProviderId();
         
+        //캐싱된 인증 정보가 있는 경우 DB 조회 생략
+        CustomUserDetails cachedUserDetails = userDetailsCache.get(username);
+        if (cachedUserDetails != null)
+            return new CustomUserDetails(cachedUserDetails.getId(),
+                                         cachedUserDetails.getUsername(),
+                                         cachedUserDetails.getPassword(),
+                                         cachedUserDetails.isAuth(),
+                                         cachedUserDetails.getNickname(),
+                                         cachedUserDetails.getRole(),
+                                         oAuth2User.getAttributes());
+        
         Member member = null;
         if (!memberRepository.existsByUsername(username, false)) {
             String nickname;
@@ -70,10 +83,17 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             memberRepository.authenticateOAuth(member.getUsername(),
                                                member.getAuthInfo().getOAuthProvider(),
                                                member.getAuthInfo().getOAuthProviderId()).get().authenticate();
-        } else
+        } else {
             member = memberRepository.findByUsername(username.toLowerCase(), false)
                                      .orElseThrow(() -> new EntityNotFoundException(
                                              "Could not found 'Member' by username: " + username));
+            userDetailsCache.put(new CustomUserDetails(member.getId(),
+                                                       member.getUsername(),
+                                                       member.getPassword(),
+                                                       member.getAuthInfo().isAuth(),
+                                                       member.getNickname(),
+                                                       member.getRole().getValue()));
+        }
         
         return new CustomUserDetails(member.getId(),
                                      member.getUsername(),
@@ -0,0 +1,116 @@
+package com.project.alfa.security.ratelimit;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 요청 본문 앞부분을 최대 크기까지 미리 읽어 보관, 이후 필터/컨트롤러에서 다시 읽을 수 있도록 함
+ * 최대 크기를 넘는 나머지 본문은 메모리에 올리지 않고 원본 스트림에서 이어서 읽음
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    
+    private final byte[]  body;
+    private final int     length;
+    private final boolean truncated;
+    private       boolean consumed;
+    
+    CachedBodyHttpServletRequest(final HttpServletRequest request, final int maxBodySize) throws IOException {
+        super(request);
+        //최대 크기 초과 여부를 알기 위해 1바이트 더 읽음
+        //Content-Length(없으면 기본 크기)만큼 할당하고, 본문이 더 길면 최대 크기까지 2배씩 확장
+        long        contentLength = request.getContentLengthLong();
+        int         limit         = maxBodySize + 1;
+        int         size          = (int) Math.min(contentLength >= 0 ? contentLength + 1 : INITIAL_BUFFER_SIZE, limit);
+        byte[]      buffer        = new byte[size];
+        InputStream inputStream   = request.getInputStream();
+        int         length        = 0;
+        int         read;
+        while (length < limit) {
+            if (length == buffer.length)
+                buffer = Arrays.copyOf(buffer, (int) Math.min(buffer.length * 2L, limit));
+            if ((read = inputStream.read(buffer, length, buffer.length - length)) == -1)
+                break;
+            length += read;
+        }
+        this.body = buffer;
+        this.length = length;
+        this.truncated = length > maxBodySize;
+    }
+    
+    /**
+     * 요청 본문 문자열 조회
+     *
+     * @return 요청 본문, 최대 크기를 넘으면 null
+     */
+    String getBody() {
+        return truncated ? null : new String(body, 0, length, getCharset());
+    }
+    
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        //보관한 앞부분 이후 원본 스트림은 한 번만 이어 읽을 수 있음
+        if (truncated && consumed)
+            throw new IllegalStateException("Request body has already been read.");
+        consumed = true;
+        
+        InputStream cached      = new ByteArrayInputStream(body, 0, length);
+        InputStream inputStream = truncated ? new SequenceInputStream(cached, super.getInputStream()) : cached;
+        return new ServletInputStream() {
+            private boolean finished;
+            
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+            
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+            
+            @Override
+            public void setReadListener(final ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+            
+            @Override
+            public int read() throws IOException {
+                return onRead(inputStream.read());
+            }
+            
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return onRead(inputStream.read(b, off, len));
+            }
+            
+            private int onRead(final int result) {
+                finished = result == -1;
+                return result;
+            }
+        };
+    }
+    
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(getInputStream(), getCharset()));
+    }
+    
+    private Charset getCharset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+    
+}
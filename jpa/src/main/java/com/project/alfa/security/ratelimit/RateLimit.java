@@ -0,0 +1,17 @@
+package com.project.alfa.security.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 토큰 버킷 정의, 기간(period)마다 최대 용량(capacity)만큼 균등하게 토큰 충전
+ */
+@Getter
+@RequiredArgsConstructor
+public class RateLimit {
+    
+    private final String key;       //버킷 키
+    private final int    capacity;  //최대 토큰 수(순간 허용량)
+    private final long   period;    //전체 충전 시간(ms)
+    
+}
@@ -0,0 +1,47 @@
+package com.project.alfa.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 제한 설정(rate-limit.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    
+    private boolean               enabled       = true;
+    private int                   maxKeys       = 100000;                 //로컬 요청 제한 최대 버킷 수
+    private Duration              retryInterval = Duration.ofSeconds(5);  //Redis 장애 후 재시도 간격
+    private int                   maxBodySize   = 4096;                   //아이디 추출을 위해 보관할 최대 본문 크기(byte)
+    private Map<String, Endpoint> endpoints     = new LinkedHashMap<>();  //엔드포인트 이름별 제한
+    
+    @Getter
+    @Setter
+    public static class Endpoint {
+        
+        private String    method;             //HTTP 메서드, 비어있으면 전체
+        private String    path;               //경로(Ant 패턴)
+        private String    usernameParameter;  //아이디 요청 파라미터 이름
+        private String    usernameField;      //아이디 JSON 본문 필드 이름, 본문이 JSON 객체가 아니면 본문 전체
+        private Bandwidth perIp;              //IP별 제한
+        private Bandwidth perUsername;        //아이디별 제한
+        
+    }
+    
+    @Getter
+    @Setter
+    public static class Bandwidth {
+        
+        private int      capacity;  //최대 토큰 수(순간 허용량)
+        private Duration period;    //전체 충전 시간
+        
+    }
+    
+}
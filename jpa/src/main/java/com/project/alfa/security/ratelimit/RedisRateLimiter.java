@@ -0,0 +1,140 @@
+package com.project.alfa.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 요청 제한, 여러 노드가 같은 버킷을 공유
+ * - Lua 스크립트로 충전/확인/차감을 원자적으로 수행, 요청당 왕복 1회
+ * - Redis 장애 시 재시도 간격 동안 로컬 요청 제한으로 대체(노드별 제한)
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+    
+    private static final String KEY_PREFIX = "rate-limit:";
+    
+    //KEYS: 버킷 키 목록, ARGV: 현재 시각(ms), 버킷별 용량/충전 시간(ms)
+    //성공 시 0, 실패 시 재시도 가능까지 남은 시간(ms) 반환
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "local wait = 0 " +
+            "local state = {} " +
+            "for i, key in ipairs(KEYS) do " +
+            "local capacity = tonumber(ARGV[i * 2]) " +
+            "local period = tonumber(ARGV[i * 2 + 1]) " +
+            "local bucket = redis.call('hmget', key, 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) or capacity " +
+            "local ts = tonumber(bucket[2]) or now " +
+            "tokens = math.min(capacity, tokens + math.max(now - ts, 0) * capacity / period) " +
+            "if tokens < 1 then wait = math.max(wait, math.ceil((1 - tokens) * period / capacity)) end " +
+            "state[i] = {tokens, math.max(now, ts), period} " +
+            "end " +
+            "if wait > 0 then return wait end " +
+            "for i, key in ipairs(KEYS) do " +
+            "redis.call('hmset', key, 'tokens', state[i][1] - 1, 'ts', state[i][2]) " +
+            "redis.call('pexpire', key, state[i][3]) " +
+            "end " +
+            "return 0", Long.class);
+    
+    //KEYS: 버킷 키 목록, ARGV: 현재 시각(ms), 버킷별 용량/충전 시간(ms)
+    //만료된 버킷은 가득 찬 상태로 다시 시작하므로 남아 있는 버킷에만 토큰 반환
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "for i, key in ipairs(KEYS) do " +
+            "local capacity = tonumber(ARGV[i * 2]) " +
+            "local period = tonumber(ARGV[i * 2 + 1]) " +
+            "local bucket = redis.call('hmget', key, 'tokens', 'ts') " +
+            "if bucket[1] then " +
+            "local ts = tonumber(bucket[2]) " +
+            "local tokens = math.min(capacity, tonumber(bucket[1]) + math.max(now - ts, 0) * capacity / period + 1) " +
+            "redis.call('hmset', key, 'tokens', tokens, 'ts', math.max(now, ts)) " +
+            "redis.call('pexpire', key, period) " +
+            "end " +
+            "end " +
+            "return 0", Long.class);
+    
+    private static final RedisSerializer<String> ARGS_SERIALIZER   = RedisSerializer.string();
+    private static final RedisSerializer<Long>   RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter         fallback;
+    private final long                retryInterval;
+    private volatile long             fallbackUntil;
+    
+    /**
+     * @param redisTemplate - Redis
+     * @param fallback      - Redis 장애 시 사용할 요청 제한
+     * @param retryInterval - Redis 장애 후 재시도 간격(ms)
+     */
+    public RedisRateLimiter(final StringRedisTemplate redisTemplate, final RateLimiter fallback,
+                            final long retryInterval) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+        this.retryInterval = retryInterval;
+    }
+    
+    /**
+     * 모든 버킷에서 토큰 1개씩 획득 시도, Redis 장애 시 로컬 요청 제한으로 대체
+     * 현재 시각은 애플리케이션 시계 기준(스크립트 내 TIME 호출 후 쓰기는 Redis 5 미만에서 불가), 시계가 뒤로 가도 토큰은 충전되지 않음
+     *
+     * @param limits - 버킷 목록
+     * @return 획득 성공 시 0, 실패 시 재시도 가능까지 남은 시간(ms)
+     */
+    @Override
+    public long tryAcquire(final List<RateLimit> limits) {
+        long now = System.currentTimeMillis();
+        if (now < fallbackUntil)
+            return fallback.tryAcquire(limits);
+        
+        try {
+            Long result = execute(ACQUIRE_SCRIPT, limits, now);
+            return result != null ? result : 0L;
+        } catch (RuntimeException e) {
+            fallbackUntil = now + retryInterval;
+            log.warn("Redis rate limiter unavailable, fallback to local rate limiter for {}ms: {}",
+                     retryInterval, e.getMessage());
+            return fallback.tryAcquire(limits);
+        }
+    }
+    
+    /**
+     * 획득한 토큰 반환, Redis 장애 시 반환하지 않음(제한이 더 엄격해질 뿐)
+     *
+     * @param limits - 토큰을 획득한 버킷 목록
+     */
+    @Override
+    public void release(final List<RateLimit> limits) {
+        long now = System.currentTimeMillis();
+        if (now < fallbackUntil) {
+            fallback.release(limits);
+            return;
+        }
+        
+        try {
+            execute(RELEASE_SCRIPT, limits, now);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release rate limit tokens: {}", e.getMessage());
+        }
+    }
+    
+    private Long execute(final RedisScript<Long> script, final List<RateLimit> limits, final long now) {
+        List<String> keys = new ArrayList<>(limits.size());
+        Object[]     args = new Object[limits.size() * 2 + 1];
+        args[0] = String.valueOf(now);
+        for (int i = 0; i < limits.size(); i++) {
+            RateLimit limit = limits.get(i);
+            keys.add(KEY_PREFIX + limit.getKey());
+            args[i * 2 + 1] = String.valueOf(limit.getCapacity());
+            args[i * 2 + 2] = String.valueOf(limit.getPeriod());
+        }
+        return redisTemplate.execute(script, ARGS_SERIALIZER, RESULT_SERIALIZER, keys, args);
+    }
+    
+}
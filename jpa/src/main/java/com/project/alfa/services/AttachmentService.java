@@ -10,21 +10,29 @@ import com.project.alfa.error.exception.InvalidValueException;
 import com.project.alfa.repositories.v1.AttachmentRepositoryV1;
 import com.project.alfa.repositories.v1.PostRepositoryV1;
 import com.project.alfa.services.dto.AttachmentResponseDto;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
 import com.project.alfa.utils.FileUtil;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * 첨부파일 저장/조회/삭제
+ * 저장소 입출력이 필요한 저장은 DB 트랜잭션 밖에서 업로드하고 첨부파일 정보만 짧은 트랜잭션으로 저장(FileBlobService)
+ */
 @Service
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 public class AttachmentService {
     
     private final AttachmentRepositoryV1 attachmentRepository;
@@ -34,26 +42,98 @@ public class AttachmentService {
     //private final PostRepositoryV2       postRepository;
     //private final PostRepositoryV3       postRepository;
     private final FileUtil               fileUtil;
+    private final FileBlobService        fileBlobService;
+    private final TransactionTemplate    readOnlyTransactionTemplate;
+    
+    public AttachmentService(final AttachmentRepositoryV1 attachmentRepository,
+                             final PostRepositoryV1 postRepository,
+                             final FileUtil fileUtil,
+                             final FileBlobService fileBlobService,
+                             final PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.postRepository = postRepository;
+        this.fileUtil = fileUtil;
+        this.fileBlobService = fileBlobService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
     
     /**
-     * 첨부파일 다중 저장
+     * 첨부파일 다중 저장, 게시글 확인 후 DB 트랜잭션 밖에서 업로드
      *
      * @param postId         - 게시글 FK
      * @param multipartFiles
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Long> saveAllFiles(final Long postId, final List<MultipartFile> multipartFiles) {
         if (multipartFiles.isEmpty())
             return Collections.emptyList();
         
-        Post post = postRepository.findById(postId, false)
-                                  .orElseThrow(
-                                          () -> new EntityNotFoundException("Could not found 'Post' by id: " + postId));
+        readOnlyTransactionTemplate.executeWithoutResult(status -> findPost(postId));
         
-        List<UploadFile> uploadFiles = fileUtil.storeFiles(multipartFiles);
-        List<Attachment> attachments = uploadFilesToAttachments(post, uploadFiles);
+        return fileBlobService.storeFiles(multipartFiles, uploadFiles -> {
+            List<Attachment> attachments = uploadFilesToAttachments(findPost(postId), uploadFiles);
+            return attachmentRepository.saveAll(attachments).stream().map(Attachment::getId).collect(toList());
+        });
+    }
+    
+    /**
+     * 첨부파일 스트림 저장, 게시글 작성자만 가능
+     * 작성자 확인 후 DB 트랜잭션 밖에서 업로드
+     *
+     * @param postId           - 게시글 FK
+     * @param writerId         - 작성자 FK
+     * @param originalFilename - 원본 파일명
+     * @param contentType      - Content-Type
+     * @param inputStream      - 파일 내용 스트림
+     * @return 첨부파일 PK
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Long saveFile(final Long postId, final Long writerId, final String originalFilename,
+                         final String contentType, final InputStream inputStream) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> findPostByWriter(postId, writerId));
+        
+        return fileBlobService.storeFile(originalFilename, contentType, inputStream, uploadFile -> {
+            Post post = findPostByWriter(postId, writerId);
+            return attachmentRepository.save(uploadFileToAttachment(post, uploadFile)).getId();
+        });
+    }
+    
+    /**
+     * 첨부파일 Presigned 업로드 URL 발급, 게시글 작성자만 가능
+     *
+     * @param postId           - 게시글 FK
+     * @param writerId         - 작성자 FK
+     * @param originalFilename - 원본 파일명
+     * @param contentType      - Content-Type
+     * @return Presigned 업로드 정보
+     */
+    public PresignedUploadResponseDto generateUploadUrl(final Long postId, final Long writerId,
+                                                        final String originalFilename, final String contentType) {
+        findPostByWriter(postId, writerId);
+        return fileUtil.generateUploadUrl(postId, originalFilename, contentType);
+    }
+    
+    /**
+     * Presigned URL로 업로드된 첨부파일 확정, 게시글 작성자만 가능
+     * 작성자 확인 후 DB 트랜잭션 밖에서 업로드된 파일 조회
+     * 같은 업로드의 동시 확정은 저장 경로 락으로 직렬화하고, 이미 첨부파일 정보가 참조하는 업로드는 다시 확정할 수 없음
+     *
+     * @param postId        - 게시글 FK
+     * @param writerId      - 작성자 FK
+     * @param storeFilePath - 발급받은 저장 경로
+     * @return 첨부파일 PK
+     */
+    @LockAop(key = "'upload:' + #storeFilePath")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Long confirmFile(final Long postId, final Long writerId, final String storeFilePath) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> findPostByWriter(postId, writerId));
         
-        return attachmentRepository.saveAll(attachments).stream().map(Attachment::getId).collect(toList());
+        return fileBlobService.confirmFile(postId, storeFilePath, uploadFile -> {
+            Post post = findPostByWriter(postId, writerId);
+            checkNotConfirmed(storeFilePath, uploadFile);
+            return attachmentRepository.save(uploadFileToAttachment(post, uploadFile)).getId();
+        });
     }
     
     /**
@@ -81,12 +161,13 @@ public class AttachmentService {
     }
     
     /**
-     * 첨부파일 다중 삭제
+     * 첨부파일 다중 삭제, 같은 내용의 다른 첨부파일이 없을 때만 저장 파일 삭제
+     * 저장 파일은 커밋된 삭제 작업을 StorageTaskService에서 비동기로 삭제
      *
      * @param ids    - PK 목록
      * @param postId - 게시글 FK
      */
-    @LockAop
+    @LockAop(key = "#ids.!['attachment:' + #this]")
     @Transactional
     public void deleteAllFilesByIds(final List<Long> ids, final Long postId) {
         Post post = postRepository.findById(postId, false)
@@ -96,13 +177,50 @@ public class AttachmentService {
         if (!post.getAttachments().stream().allMatch(attachment -> ids.contains(attachment.getId())))
             throw new InvalidValueException("Not the file attached on this post.", ErrorCode.NOT_ATTACHMENT_ON_POST);
         
-        List<Attachment> attachments = attachmentRepository.findAll(ids);
+        List<Attachment> attachments = attachmentRepository.findAll(ids, false);
         if (!attachments.isEmpty()) {
-            fileUtil.deleteFiles(new ArrayList<UploadFile>(attachments));
+            fileBlobService.deleteFiles(attachments);
             attachments.forEach(attachment -> attachment.isDelete(true));
         }
     }
     
+    /**
+     * 게시글 조회
+     *
+     * @param postId - 게시글 FK
+     * @return 게시글
+     */
+    private Post findPost(final Long postId) {
+        return postRepository.findById(postId, false)
+                             .orElseThrow(() -> new EntityNotFoundException("Could not found 'Post' by id: " + postId));
+    }
+    
+    /**
+     * 작성자 기준 게시글 조회
+     *
+     * @param postId   - 게시글 FK
+     * @param writerId - 작성자 FK
+     * @return 게시글
+     */
+    private Post findPostByWriter(final Long postId, final Long writerId) {
+        Post post = findPost(postId);
+        if (!post.getWriter().getId().equals(writerId) || post.getWriter().isDeleteYn())
+            throw new InvalidValueException("Member do not have access.", ErrorCode.NOT_WRITER_OF_POST);
+        return post;
+    }
+    
+    /**
+     * Presigned 업로드 중복 확정 확인, 발급받은 저장 경로나 확정할 저장 경로를 이미 첨부파일 정보가 참조하면 예외 발생
+     *
+     * @param storeFilePath - 발급받은 저장 경로
+     * @param uploadFile    - 확정할 업로드 파일 정보
+     */
+    private void checkNotConfirmed(final String storeFilePath, final UploadFile uploadFile) {
+        if (!attachmentRepository.findAllStoreFilePaths(Arrays.asList(storeFilePath, uploadFile.getStoreFilePath()))
+                                 .isEmpty())
+            throw new InvalidValueException("Upload already confirmed: " + storeFilePath, ErrorCode.INVALID_UPLOAD);
+    }
+    
     //==================== 변환 메서드 ====================//
     
     /**
@@ -133,6 +251,7 @@ public class AttachmentService {
                          .storeFilename(uploadFile.getStoreFilename())
                          .storeFilePath(uploadFile.getStoreFilePath())
                          .fileSize(uploadFile.getFileSize())
+                         .contentHash(uploadFile.getContentHash())
                          .build();
     }
     
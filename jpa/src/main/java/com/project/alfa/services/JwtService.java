@@ -1,74 +1,181 @@
 package com.project.alfa.services;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
-import com.project.alfa.aop.annotation.LockAop;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.security.CustomUserDetails;
+import com.project.alfa.security.jwt.revocation.TokenRevocationList;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.Date;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class JwtService {
     
-    private static final String USERNAME_KEY = "USERNAME";
+    private static final String USERNAME_KEY          = "USERNAME";
+    private static final String ID_KEY                = "ID";
+    private static final String NICKNAME_KEY          = "NICKNAME";
+    private static final String ROLE_KEY              = "ROLE";
+    private static final String AUTH_KEY              = "AUTH";
+    private static final String ISSUED_AT_KEY         = "ISSUED_AT";
+    private static final String FAMILY_KEY            = "FAMILY";
+    private static final String REFRESH_TOKEN_PREFIX  = "refresh-token:";
+    private static final String REVOKED_TOKEN_PREFIX  = "token:";
+    private static final String REVOKED_USER_PREFIX   = "user:";
+    private static final String REVOKED_CLAIMS_PREFIX = "claims:";
+    
+    //Refresh 토큰 저장소: 계정별 해시, 필드는 토큰 패밀리(로그인 기기), 값은 '현재 토큰 ID|만료 시각(ms)'
+    //ARGV: 패밀리, 값, 해시 유효 시간(초), 현재 시각(ms), 저장 전 만료된 패밀리 정리
+    private static final RedisScript<Long> SAVE_SCRIPT   = new DefaultRedisScript<>(
+            "local fields = redis.call('hgetall', KEYS[1]) " +
+            "for i = 1, #fields, 2 do " +
+            "local expiresAt = tonumber(string.match(fields[i + 1], '|(%d+)$')) " +
+            "if expiresAt == nil or expiresAt <= tonumber(ARGV[4]) then redis.call('hdel', KEYS[1], fields[i]) end " +
+            "end " +
+            "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('expire', KEYS[1], ARGV[3]) " +
+            "return 1", Long.class);
+    //ARGV: 패밀리, 제시된 토큰 ID, 신규 값, 해시 유효 시간(초)
+    //교체 시 1, 패밀리 없음(로그아웃/만료) 0, 이미 교체된 토큰 재사용 시 패밀리 폐기 후 -1 반환
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('hget', KEYS[1], ARGV[1]) " +
+            "if not current then return 0 end " +
+            "if string.match(current, '^[^|]+') ~= ARGV[2] then " +
+            "redis.call('hdel', KEYS[1], ARGV[1]) return -1 end " +
+            "redis.call('hset', KEYS[1], ARGV[1], ARGV[3]) " +
+            "redis.call('expire', KEYS[1], ARGV[4]) " +
+            "return 1", Long.class);
+    
+    private static final RedisSerializer<String> ARGS_SERIALIZER   = RedisSerializer.string();
+    private static final RedisSerializer<Long>   RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
     
     @Value("${jwt.secret}")
-    private String secret;
+    private String  secret;
     @Value("${jwt.issuer}")
-    private String issuer;
+    private String  issuer;
     @Value("${jwt.token.access-expiration}")
-    private long   accessExpiration;
+    private long    accessExpiration;
     @Value("${jwt.token.refresh-expiration}")
-    private long   refreshExpiration;
+    private long    refreshExpiration;
+    @Value("${jwt.token.stateless}")
+    private boolean stateless;
     
     private final StringRedisTemplate redisTemplate;
+    private final TokenRevocationList tokenRevocationList;
     
-    private Algorithm algorithm;
+    private Algorithm   algorithm;
+    private JWTVerifier verifier;
     
     @PostConstruct
     public void postConstruct() {
         algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm).withIssuer(issuer).build();
     }
     
     /**
      * JWT Access 토큰 생성
+     * 토큰별 폐기를 위해 토큰 ID 포함, 무상태 인증 시 PK, 닉네임, 권한, 인증 여부, 발급 시각(ms)을 클레임으로 포함
      *
      * @param userDetails - 인증 정보
      * @return JWT Access 토큰
      */
     public String generateAccessToken(final UserDetails userDetails) {
-        return JWT.create()
-                  .withClaim(USERNAME_KEY, userDetails.getUsername())
-                  .withExpiresAt(new Date(System.currentTimeMillis() + (1000 * accessExpiration)))
-                  .withIssuer(issuer)
-                  .sign(algorithm);
+        JWTCreator.Builder builder = JWT.create()
+                                        .withClaim(USERNAME_KEY, userDetails.getUsername())
+                                        .withJWTId(UUID.randomUUID().toString())
+                                        .withExpiresAt(new Date(System.currentTimeMillis() + (1000 * accessExpiration)))
+                                        .withIssuer(issuer);
+        
+        if (stateless && userDetails instanceof CustomUserDetails) {
+            CustomUserDetails customUserDetails = (CustomUserDetails) userDetails;
+            builder.withClaim(ID_KEY, customUserDetails.getId())
+                   .withClaim(NICKNAME_KEY, customUserDetails.getNickname())
+                   .withClaim(ROLE_KEY, customUserDetails.getRole())
+                   .withClaim(AUTH_KEY, customUserDetails.isAuth())
+                   .withClaim(ISSUED_AT_KEY, System.currentTimeMillis());
+        }
+        
+        return builder.sign(algorithm);
     }
     
     /**
-     * JWT Refresh 토큰 생성 및 Redis 서버 저장
+     * JWT Refresh 토큰 생성 및 Redis 서버 저장(로그인)
+     * 로그인마다 새로운 토큰 패밀리를 만들어 기기별로 유지, 만료된 패밀리는 함께 정리
+     * Redis 스크립트 한 번으로 원자적으로 처리하므로 락 불필요
      *
      * @param userDetails - 인증 정보
      * @return JWT Refresh 토큰
      */
-    @LockAop
     public String generateRefreshToken(final UserDetails userDetails) {
-        String refreshToken = JWT.create()
-                                 .withClaim(USERNAME_KEY, userDetails.getUsername())
-                                 .withExpiresAt(new Date(System.currentTimeMillis() + (1000 * refreshExpiration)))
-                                 .withIssuer(issuer)
-                                 .sign(algorithm);
-        redisTemplate.opsForValue().set(userDetails.getUsername(),
-                                        refreshToken,
-                                        refreshExpiration,
-                                        TimeUnit.MILLISECONDS);
-        return refreshToken;
+        String username  = userDetails.getUsername();
+        String family    = UUID.randomUUID().toString();
+        String tokenId   = UUID.randomUUID().toString();
+        Date   expiresAt = new Date(System.currentTimeMillis() + (1000 * refreshExpiration));
+        
+        executeRefreshTokenScript(SAVE_SCRIPT, username, family, tokenId + "|" + expiresAt.getTime(),
+                                  String.valueOf(refreshExpiration), String.valueOf(System.currentTimeMillis()));
+        return createRefreshToken(username, family, tokenId, expiresAt);
+    }
+    
+    /**
+     * JWT Refresh 토큰 교체(Rotation)
+     * 패밀리의 현재 토큰인 경우에만 같은 패밀리의 신규 토큰 발급, 이미 교체된 토큰이 다시 사용되면 탈취로 보고 패밀리 폐기
+     *
+     * @param refreshToken - JWT Refresh 토큰
+     * @param userDetails  - 인증 정보
+     * @return 신규 JWT Refresh 토큰
+     */
+    public String rotateRefreshToken(final String refreshToken, final UserDetails userDetails) {
+        DecodedJWT decodedJWT = verifyToken(refreshToken);
+        String     username   = getUsername(decodedJWT);
+        String     family     = decodedJWT.getClaim(FAMILY_KEY).asString();
+        
+        if (family == null || decodedJWT.getId() == null || !userDetails.getUsername().equals(username))
+            throw new InvalidValueException("Invalid Refresh Token", ErrorCode.INVALID_REFRESH_TOKEN);
+        
+        String tokenId   = UUID.randomUUID().toString();
+        Date   expiresAt = new Date(System.currentTimeMillis() + (1000 * refreshExpiration));
+        long   result    = executeRefreshTokenScript(ROTATE_SCRIPT, username, family, decodedJWT.getId(),
+                                                     tokenId + "|" + expiresAt.getTime(),
+                                                     String.valueOf(refreshExpiration));
+        
+        if (result < 0)
+            log.warn("Refresh Token reuse detected, token family revoked: username={}, family={}", username, family);
+        if (result <= 0)
+            throw new InvalidValueException("Invalid Refresh Token", ErrorCode.INVALID_REFRESH_TOKEN);
+        
+        return createRefreshToken(username, family, tokenId, expiresAt);
+    }
+    
+    /**
+     * JWT 토큰 서명, 발급자, 만료 시간 검증
+     * 검증 결과는 요청 처리 동안 재사용해 같은 토큰을 다시 검증하지 않음
+     *
+     * @param token - JWT 토큰
+     * @return 검증된 JWT 토큰
+     */
+    public DecodedJWT verifyToken(final String token) {
+        return verifier.verify(token);
     }
     
     /**
@@ -78,12 +185,98 @@ public class JwtService {
      * @return 아이디
      */
     public String getUsernameFromToken(final String token) {
-        return JWT.require(algorithm)
-                  .withIssuer(issuer)
-                  .build()
-                  .verify(token)
-                  .getClaim(USERNAME_KEY)
-                  .asString();
+        return getUsername(verifyToken(token));
+    }
+    
+    /**
+     * 검증된 JWT 토큰으로 아이디 조회
+     *
+     * @param decodedJWT - 검증된 JWT 토큰
+     * @return 아이디
+     */
+    public String getUsername(final DecodedJWT decodedJWT) {
+        return decodedJWT.getClaim(USERNAME_KEY).asString();
+    }
+    
+    /**
+     * 검증된 JWT 토큰의 클레임으로 인증 정보 생성
+     * 무상태 인증이 아니거나, 클레임이 없거나, 발급 이후 계정 정보가 변경된 경우 null(DB 조회 필요)
+     * 변경 여부는 폐기 목록으로 확인, 노드 Bloom 필터 음성이면 Redis 조회 없음
+     *
+     * @param decodedJWT - 검증된 JWT 토큰
+     * @return 인증 정보
+     */
+    public CustomUserDetails getUserDetails(final DecodedJWT decodedJWT) {
+        if (!stateless || decodedJWT.getClaim(ID_KEY).isMissing() || decodedJWT.getClaim(ISSUED_AT_KEY).isMissing())
+            return null;
+        
+        String username  = getUsername(decodedJWT);
+        long   expiresAt = decodedJWT.getClaim(ISSUED_AT_KEY).asLong() + (1000 * accessExpiration);
+        if (tokenRevocationList.isRevoked(REVOKED_CLAIMS_PREFIX + username.toLowerCase(), expiresAt))
+            return null;
+        
+        return new CustomUserDetails(decodedJWT.getClaim(ID_KEY).asLong(),
+                                     username,
+                                     null,
+                                     decodedJWT.getClaim(AUTH_KEY).asBoolean(),
+                                     decodedJWT.getClaim(NICKNAME_KEY).asString(),
+                                     decodedJWT.getClaim(ROLE_KEY).asString());
+    }
+    
+    /**
+     * 계정 정보 변경 시 발급된 JWT Access 토큰의 클레임 무효화
+     * 트랜잭션 진행 중이면 커밋 후 반영
+     *
+     * @param username - 아이디
+     */
+    public void revokeTokens(final String username) {
+        afterCommit(() -> revokeClaims(username));
+    }
+    
+    /**
+     * 모든 기기 로그아웃: 모든 Refresh 토큰 패밀리 삭제 및 Access 토큰 클레임 무효화 후
+     * 이전 초까지 발급된 Access 토큰을 폐기 목록에 등록
+     * 토큰 만료 시각은 초 단위이므로 폐기와 같은 초에 발급된 토큰은 유지(직후 재로그인 토큰 보호)
+     * 트랜잭션 진행 중이면 커밋 후 반영
+     *
+     * @param username - 아이디
+     */
+    public void revokeAllTokens(final String username) {
+        afterCommit(() -> {
+            redisTemplate.delete(REFRESH_TOKEN_PREFIX + username.toLowerCase());
+            revokeClaims(username);
+            long until = (System.currentTimeMillis() / 1000 - 1 + accessExpiration) * 1000;
+            tokenRevocationList.revoke(REVOKED_USER_PREFIX + username.toLowerCase(), until);
+        });
+    }
+    
+    /**
+     * JWT Access 토큰 폐기(로그아웃), 만료 시각까지 폐기 목록에 유지
+     *
+     * @param accessToken - JWT Access 토큰
+     */
+    public void revokeAccessToken(final String accessToken) {
+        DecodedJWT decodedJWT = verifyToken(accessToken);
+        if (decodedJWT.getId() != null)
+            tokenRevocationList.revoke(REVOKED_TOKEN_PREFIX + decodedJWT.getId(),
+                                       decodedJWT.getExpiresAt().getTime());
+    }
+    
+    /**
+     * 검증된 JWT 토큰 폐기 여부 확인
+     * 토큰 ID 및 아이디 모두 노드 Bloom 필터에 없으면 Redis 조회 없이 false
+     *
+     * @param decodedJWT - 검증된 JWT 토큰
+     * @return 폐기 여부
+     */
+    public boolean isRevoked(final DecodedJWT decodedJWT) {
+        long   expiresAt = decodedJWT.getExpiresAt().getTime();
+        String tokenId   = decodedJWT.getId();
+        String username  = getUsername(decodedJWT);
+        
+        return (tokenId != null && tokenRevocationList.isRevoked(REVOKED_TOKEN_PREFIX + tokenId, expiresAt))
+               || (username != null
+                   && tokenRevocationList.isRevoked(REVOKED_USER_PREFIX + username.toLowerCase(), expiresAt));
     }
     
     /**
@@ -94,24 +287,18 @@ public class JwtService {
      * @return 검증 결과
      */
     public boolean validateToken(final String token, final UserDetails userDetails) {
-        return getUsernameFromToken(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return validateToken(verifyToken(token), userDetails);
     }
     
     /**
-     * JWT Refresh 토큰으로 Access 토큰 갱신
+     * 검증된 JWT 토큰과 인증 정보 일치 여부 확인
      *
-     * @param refreshToken - JWT Refresh 토큰
-     * @param userDetails  - 인증 정보
-     * @return 신규 JWT Access 토큰
+     * @param decodedJWT  - 검증된 JWT 토큰
+     * @param userDetails - 인증 정보
+     * @return 검증 결과
      */
-    public String refreshAccessToken(final String refreshToken, final UserDetails userDetails) {
-        String username           = getUsernameFromToken(refreshToken);
-        String storedRefreshToken = redisTemplate.opsForValue().get(username);
-        
-        if (storedRefreshToken == null || !storedRefreshToken.equals(refreshToken))
-            throw new RuntimeException("Invalid Refresh Token");
-        
-        return generateAccessToken(userDetails);
+    public boolean validateToken(final DecodedJWT decodedJWT, final UserDetails userDetails) {
+        return userDetails.getUsername().equals(getUsername(decodedJWT)) && !isTokenExpired(decodedJWT);
     }
     
     /**
@@ -121,27 +308,87 @@ public class JwtService {
      * @return 만료 시간(초)
      */
     public long getExpirationFromToken(final String token) {
-        return JWT.require(algorithm).withIssuer(issuer).build().verify(token).getExpiresAt().getTime() / 1000;
+        return verifyToken(token).getExpiresAt().getTime() / 1000;
     }
     
     /**
-     * Redis 서버에서 JWT Refresh 토큰 삭제
+     * Redis 서버에서 JWT Refresh 토큰 패밀리 삭제(해당 기기 로그아웃)
      *
      * @param refreshToken - JWT Refresh 토큰
      */
-    @LockAop
     public void deleteRefreshToken(final String refreshToken) {
-        redisTemplate.delete(getUsernameFromToken(refreshToken));
+        DecodedJWT decodedJWT = verifyToken(refreshToken);
+        String     family     = decodedJWT.getClaim(FAMILY_KEY).asString();
+        if (family != null)
+            redisTemplate.opsForHash().delete(REFRESH_TOKEN_PREFIX + getUsername(decodedJWT).toLowerCase(), family);
+    }
+    
+    /**
+     * 지금까지 발급된 JWT Access 토큰의 클레임 무효화, 발급 시각(ms)이 현재 이하인 토큰은 클레임 대신 DB 조회
+     * 해당 토큰이 모두 만료되는 시각까지 폐기 목록에 유지
+     *
+     * @param username - 아이디
+     */
+    private void revokeClaims(final String username) {
+        tokenRevocationList.revoke(REVOKED_CLAIMS_PREFIX + username.toLowerCase(),
+                                   System.currentTimeMillis() + (1000 * accessExpiration));
+    }
+    
+    /**
+     * JWT Refresh 토큰 생성
+     *
+     * @param username  - 아이디
+     * @param family    - 토큰 패밀리
+     * @param tokenId   - 토큰 ID
+     * @param expiresAt - 만료 시각
+     * @return JWT Refresh 토큰
+     */
+    private String createRefreshToken(final String username, final String family, final String tokenId,
+                                      final Date expiresAt) {
+        return JWT.create()
+                  .withClaim(USERNAME_KEY, username)
+                  .withClaim(FAMILY_KEY, family)
+                  .withJWTId(tokenId)
+                  .withExpiresAt(expiresAt)
+                  .withIssuer(issuer)
+                  .sign(algorithm);
+    }
+    
+    private long executeRefreshTokenScript(final RedisScript<Long> script, final String username,
+                                           final Object... args) {
+        Long result = redisTemplate.execute(script, ARGS_SERIALIZER, RESULT_SERIALIZER,
+                                            Collections.singletonList(REFRESH_TOKEN_PREFIX + username.toLowerCase()),
+                                            args);
+        return result != null ? result : 0L;
+    }
+    
+    /**
+     * 트랜잭션 진행 중이면 커밋 후, 아니면 즉시 실행
+     *
+     * @param task - 작업
+     */
+    private void afterCommit(final Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
     
     /**
      * JWT 토큰 만료 여부 확인
      *
-     * @param token - JWT 토큰
+     * @param decodedJWT - 검증된 JWT 토큰
      * @return 만료 여부
      */
-    private boolean isTokenExpired(final String token) {
-        return JWT.require(algorithm).withIssuer(issuer).build().verify(token).getExpiresAt().before(new Date());
+    private boolean isTokenExpired(final DecodedJWT decodedJWT) {
+        return decodedJWT.getExpiresAt().before(new Date());
     }
     
 }
@@ -0,0 +1,416 @@
+package com.project.alfa.services;
+
+import com.project.alfa.aop.lock.LockProvider;
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+import com.project.alfa.repositories.v1.MailTaskRepositoryV1;
+import com.project.alfa.security.ratelimit.RateLimit;
+import com.project.alfa.security.ratelimit.RateLimiter;
+import com.project.alfa.utils.EmailSender;
+import com.project.alfa.utils.MailContentCipher;
+import com.project.alfa.utils.RetryBackoff;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메일 발송 작업(아웃박스) 처리
+ * 계정 정보와 같은 트랜잭션으로 기록된 메일을 커밋 후 전용 스레드 풀에서 발송
+ * 스레드마다 하나의 SMTP 연결로 여러 메일을 묶어 보내고, 실패한 메일은 지수 백오프로 재시도
+ * 즉시 발송이 밀리거나 실패해도 정기 실행에서 다시 발송하므로 최소 1회 전달 보장
+ * 주소/유형별로 발송 대기 작업은 최신 내용 하나로 병합하고, 발송 횟수는 토큰 버킷으로 제한
+ * 본문은 암호화하여 기록하고, 재시도는 기록한 내용 그대로 발송
+ * 발송 전 작업을 선점하여 즉시 발송과 정기 실행, 여러 노드에서 같은 작업을 동시에 발송하지 않음
+ */
+@Slf4j
+@Service
+public class MailTaskService implements DisposableBean {
+    
+    private static final String LOCK_KEY = "lock:mail-tasks";
+    
+    @Value("${email.outbox.batch-size}")
+    private int  batchSize;
+    @Value("${email.outbox.messages-per-connection}")
+    private int  messagesPerConnection;
+    @Value("${email.outbox.dispatch-delay}")
+    private long dispatchDelay;
+    @Value("${email.outbox.retry-delay}")
+    private long retryDelay;
+    @Value("${email.outbox.max-retry-delay}")
+    private long maxRetryDelay;
+    @Value("${email.outbox.max-attempts}")
+    private int  maxAttempts;
+    @Value("${email.outbox.lease-time}")
+    private long leaseTime;
+    @Value("${email.throttle.verification.capacity}")
+    private int  verificationCapacity;
+    @Value("${email.throttle.verification.period}")
+    private long verificationPeriod;
+    @Value("${email.throttle.password-reset.capacity}")
+    private int  passwordResetCapacity;
+    @Value("${email.throttle.password-reset.period}")
+    private long passwordResetPeriod;
+    
+    private final MailTaskRepositoryV1 mailTaskRepository;
+    private final EmailSender          emailSender;
+    private final MailContentCipher    mailContentCipher;
+    private final LockProvider         lockProvider;
+    private final RateLimiter          rateLimiter;
+    private final TransactionTemplate  transactionTemplate;
+    private final ThreadPoolExecutor   executor;
+    
+    private final LongAdder sent     = new LongAdder();
+    private final LongAdder failed   = new LongAdder();
+    private final LongAdder dropped  = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    /**
+     * @param threads       - 발송 스레드 수(동시 SMTP 연결 수)
+     * @param queueCapacity - 대기 큐 크기, 초과한 즉시 발송은 정기 실행으로 미룸
+     */
+    public MailTaskService(final MailTaskRepositoryV1 mailTaskRepository,
+                           final EmailSender emailSender,
+                           final MailContentCipher mailContentCipher,
+                           final LockProvider lockProvider,
+                           final RateLimiter rateLimiter,
+                           final PlatformTransactionManager transactionManager,
+                           @Value("${email.outbox.threads}") final int threads,
+                           @Value("${email.outbox.queue-capacity}") final int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        
+        this.mailTaskRepository = mailTaskRepository;
+        this.emailSender = emailSender;
+        this.mailContentCipher = mailContentCipher;
+        this.lockProvider = lockProvider;
+        this.rateLimiter = rateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               runnable -> {
+                                                   Thread thread = new Thread(runnable, "mail-sender-"
+                                                                                        + sequence.incrementAndGet());
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               },
+                                               new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * 주소별 메일 발송 제한 확인, 허용되면 발송 1회 차감
+     * 제한된 요청은 토큰/비밀번호를 바꾸지 않아야 이미 발송(대기)된 메일의 내용이 그대로 유효
+     * 호출한 트랜잭션이 롤백되면 발송 작업도 기록되지 않으므로 차감한 1회 반환
+     *
+     * @param type      - 메일 유형
+     * @param recipient - 받는 메일 주소
+     * @return 발송 허용 여부
+     */
+    public boolean tryAcquire(final MailTaskType type, final String recipient) {
+        RateLimit limit = type == MailTaskType.VERIFICATION
+                          ? new RateLimit("mail:verification:" + recipient, verificationCapacity, verificationPeriod)
+                          : new RateLimit("mail:password-reset:" + recipient, passwordResetCapacity,
+                                          passwordResetPeriod);
+        List<RateLimit> limits = Collections.singletonList(limit);
+        long            wait   = rateLimiter.tryAcquire(limits);
+        if (wait > 0) {
+            log.debug("[MailTask] Throttled: type={}, recipient={}, retry after {}ms", type, recipient, wait);
+            return false;
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status == STATUS_ROLLED_BACK)
+                        rateLimiter.release(limits);
+                }
+            });
+        return true;
+    }
+    
+    /**
+     * 메일 발송 작업 기록, 호출한 트랜잭션에 참여하여 계정 정보와 함께 커밋/롤백
+     * 같은 주소, 같은 유형의 발송 대기 작업은 삭제하여 최신 내용 하나로 병합, 본문은 암호화하여 기록
+     * 커밋 후 즉시 발송하고, 즉시 발송이 끝나지 않은 작업은 유예 시간이 지난 후 정기 처리 대상
+     *
+     * @param type    - 메일 유형
+     * @param message - 메일 객체
+     */
+    public void enqueue(final MailTaskType type, final SimpleMailMessage message) {
+        String recipient = message.getTo()[0];
+        mailTaskRepository.deleteAllByRecipientAndType(recipient, type);
+        
+        MailTask mailTask = MailTask.builder()
+                                    .type(type)
+                                    .recipient(recipient)
+                                    .subject(message.getSubject())
+                                    .content(mailContentCipher.encrypt(message.getText()))
+                                    .nextAttemptTime(LocalDateTime.now().plus(Duration.ofMillis(dispatchDelay)))
+                                    .build();
+        mailTaskRepository.save(mailTask);
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(Collections.singletonList(mailTask));
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(Collections.singletonList(mailTask));
+            }
+        });
+    }
+    
+    /**
+     * 처리할 메일 발송 작업 정기 실행, 중복 발송을 줄이기 위해 락을 획득한 노드에서만 실행
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.interval}")
+    public void scheduledProcess() {
+        boolean executed = lockProvider.runExclusively(LOCK_KEY, () -> {
+            int count = processTasks(LocalDateTime.now());
+            if (count > 0)
+                log.info("[MailTask] Sent: count={}, total sent={}, failed={}, dropped={}, rejected={}",
+                         count, getSentCount(), getFailedCount(), getDroppedCount(), getRejectedCount());
+        });
+        if (!executed)
+            log.debug("[MailTask] Skipped, another node holds the lock");
+    }
+    
+    /**
+     * 다음 시도 일시가 기준 일시 이전인 메일 발송 작업 처리
+     * 선점한 작업만 SMTP 연결당 메일 수 단위로 나누어 발송 스레드에서 병렬 발송, 큐가 가득 차면 호출 스레드에서 발송
+     *
+     * @param dueBefore - 다음 시도 일시 기준
+     * @return 발송한 메일 수
+     */
+    public int processTasks(final LocalDateTime dueBefore) {
+        int count = 0;
+        while (true) {
+            List<MailTask> mailTasks = transactionTemplate.execute(
+                    status -> mailTaskRepository.findAllDue(dueBefore, batchSize));
+            if (mailTasks == null || mailTasks.isEmpty())
+                break;
+            
+            List<MailTask>           claimed = claim(mailTasks);
+            List<Future<SendResult>> futures = new ArrayList<>();
+            List<SendResult>         results = new ArrayList<>();
+            for (int i = 0; i < claimed.size(); i += messagesPerConnection) {
+                SendResult chunk = createMessages(claimed.subList(i, Math.min(i + messagesPerConnection,
+                                                                              claimed.size())));
+                try {
+                    futures.add(executor.submit(() -> send(chunk)));
+                } catch (RejectedExecutionException e) {
+                    results.add(send(chunk));
+                }
+            }
+            for (Future<SendResult> future : futures)
+                results.add(getResult(future));
+            
+            int completed = 0;
+            for (SendResult result : results)
+                completed += result.completed.size();
+            record(results);
+            count += completed;
+            //모두 실패했거나 다른 곳에서 선점한 경우 재시도 일시(선점 만료) 이후 다음 실행에서 처리
+            if (mailTasks.size() < batchSize || completed == 0)
+                break;
+        }
+        return count;
+    }
+    
+    /**
+     * 커밋 직후 발송 스레드에서 즉시 발송, 큐가 가득 차면 정기 실행으로 미룸
+     * 발송 전에 병합되어 삭제되었거나 다른 곳에서 선점한 작업은 발송하지 않음
+     *
+     * @param mailTasks - 저장된 메일 발송 작업 목록
+     */
+    private void dispatch(final List<MailTask> mailTasks) {
+        try {
+            executor.execute(() -> {
+                List<MailTask> claimed = claim(mailTasks);
+                if (!claimed.isEmpty())
+                    record(Collections.singletonList(send(createMessages(claimed))));
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("[MailTask] Dispatch queue is full, deferred to scheduled process: count={}", mailTasks.size());
+        }
+    }
+    
+    /**
+     * 메일 발송 작업 선점, 선점 유지 시간 동안 다른 곳에서 조회/발송하지 않음
+     *
+     * @param mailTasks - 메일 발송 작업 목록
+     * @return 선점한 메일 발송 작업 목록
+     */
+    private List<MailTask> claim(final List<MailTask> mailTasks) {
+        LocalDateTime  now             = LocalDateTime.now();
+        LocalDateTime  leaseExpireTime = now.plus(Duration.ofMillis(leaseTime));
+        List<MailTask> claimed         = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (MailTask mailTask : mailTasks)
+                if (mailTaskRepository.claim(mailTask.getId(), now, leaseExpireTime))
+                    claimed.add(mailTask);
+        });
+        return claimed;
+    }
+    
+    /**
+     * 발송할 메일 객체 생성, 기록된 본문 복호화, 복호화에 실패한 작업은 실패로 처리
+     *
+     * @param mailTasks - 메일 발송 작업 목록
+     * @return 발송할 메일 객체가 담긴 발송 결과
+     */
+    private SendResult createMessages(final List<MailTask> mailTasks) {
+        SendResult result = new SendResult();
+        for (MailTask mailTask : mailTasks)
+            try {
+                result.messages.put(mailTask, emailSender.createMailMessage(mailTask.getRecipient(),
+                                                                            mailTask.getSubject(),
+                                                                            mailContentCipher.decrypt(
+                                                                                    mailTask.getContent())));
+            } catch (RuntimeException e) {
+                fail(result, mailTask, e);
+            }
+        return result;
+    }
+    
+    /**
+     * 하나의 SMTP 연결로 메일 발송
+     *
+     * @param result - 발송할 메일 객체가 담긴 발송 결과
+     * @return 발송 결과
+     */
+    private SendResult send(final SendResult result) {
+        Map<SimpleMailMessage, Exception> failures = emailSender.sendAll(new ArrayList<>(result.messages.values()));
+        int                               count    = 0;
+        for (Map.Entry<MailTask, SimpleMailMessage> entry : result.messages.entrySet()) {
+            Exception e = failures.get(entry.getValue());
+            if (e != null) {
+                fail(result, entry.getKey(), e);
+                continue;
+            }
+            result.completed.add(entry.getKey().getId());
+            count++;
+        }
+        result.messages.clear();
+        sent.add(count);
+        return result;
+    }
+    
+    private void fail(final SendResult result, final MailTask mailTask, final Exception e) {
+        log.warn("[MailTask] Failed: id={}, recipient={}, attempts={}, {}",
+                 mailTask.getId(), mailTask.getRecipient(), mailTask.getAttempts() + 1, e.getMessage());
+        result.failed.add(mailTask);
+        failed.increment();
+    }
+    
+    /**
+     * 발송한 작업 삭제, 실패한 작업 재시도 예약, 최대 시도 횟수를 넘긴 작업 폐기
+     *
+     * @param results - 발송 결과 목록
+     */
+    private void record(final List<SendResult> results) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (SendResult result : results) {
+                List<Long> deletes = new ArrayList<>(result.completed);
+                for (MailTask mailTask : result.failed)
+                    if (mailTask.getAttempts() + 1 >= maxAttempts) {
+                        log.error("[MailTask] Dropped after {} attempts: id={}, recipient={}",
+                                  mailTask.getAttempts() + 1, mailTask.getId(), mailTask.getRecipient());
+                        dropped.increment();
+                        deletes.add(mailTask.getId());
+                    } else
+                        mailTaskRepository.retry(mailTask.getId(),
+                                                 RetryBackoff.nextAttemptTime(mailTask.getAttempts(), retryDelay,
+                                                                              maxRetryDelay));
+                if (!deletes.isEmpty())
+                    mailTaskRepository.deleteAllByIdInBatch(deletes);
+            }
+        });
+    }
+    
+    
+    private SendResult getResult(final Future<SendResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending mails.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to send mails.", e.getCause());
+        }
+    }
+    
+    /**
+     * 발송 성공 누적 수
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+    
+    /**
+     * 발송 실패 누적 수(재시도 포함)
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+    
+    /**
+     * 최대 시도 횟수를 넘겨 폐기한 누적 수
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    /**
+     * 큐가 가득 차 정기 실행으로 미룬 즉시 발송 누적 수
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    /**
+     * 발송 대기 중인 작업 수
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+    
+    private static class SendResult {
+        
+        private final Map<MailTask, SimpleMailMessage> messages  = new LinkedHashMap<>();  //발송할 메일
+        private final List<Long>                       completed = new ArrayList<>();
+        private final List<MailTask>                   failed    = new ArrayList<>();
+        
+    }
+    
+}
@@ -2,12 +2,14 @@ package com.project.alfa.services;
 
 import com.project.alfa.aop.annotation.LockAop;
 import com.project.alfa.entities.AuthInfo;
+import com.project.alfa.entities.MailTaskType;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.ErrorCode;
 import com.project.alfa.error.exception.InvalidValueException;
 import com.project.alfa.repositories.v1.MemberRepositoryV1;
+import com.project.alfa.security.UserDetailsCache;
 import com.project.alfa.services.dto.MemberInfoResponseDto;
 import com.project.alfa.services.dto.MemberJoinRequestDto;
 import com.project.alfa.services.dto.MemberUpdateRequestDto;
@@ -32,6 +34,9 @@ public class MemberService {
     //private final MemberRepositoryV3 memberRepository;
     private final PasswordEncoder    passwordEncoder;
     private final EmailSender        emailSender;
+    private final MailTaskService    mailTaskService;
+    private final JwtService         jwtService;
+    private final UserDetailsCache   userDetailsCache;
     
     /**
      * 회원 가입
@@ -66,10 +71,11 @@ public class MemberService {
         
         memberRepository.save(member);
         
-        //가입 인증 메일 전송
-        emailSender.sendVerificationEmail(member.getUsername(),
-                                          member.getAuthInfo().getEmailAuthToken(),
-                                          member.getAuthInfo().getEmailAuthExpireTime());
+        //가입 인증 메일 발송 작업 기록, 커밋 후 발송
+        mailTaskService.enqueue(MailTaskType.VERIFICATION,
+                                emailSender.createVerificationEmail(member.getUsername(),
+                                                                    member.getAuthInfo().getEmailAuthToken(),
+                                                                    member.getAuthInfo().getEmailAuthExpireTime()));
         
         return member.getId();
     }
@@ -81,7 +87,7 @@ public class MemberService {
      * @param authToken - 인증 토큰
      * @param authTime  - 인증 시간
      */
-    @LockAop
+    @LockAop(key = "'member:' + #username.toLowerCase()")
     @Transactional
     public void verifyEmailAuth(final String username, final String authToken, final LocalDateTime authTime) {
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
@@ -98,9 +104,11 @@ public class MemberService {
         if (!optionalMember.isPresent() || member != optionalMember.get())
             //인증이 완료되지 않은 경우: 토큰 불일치 또는 인증 만료 제한 시간 초과
             resendVerifyEmail(username);
-        else if (optionalMember.get() == member)
+        else if (optionalMember.get() == member) {
             //인증 정보가 일치하는 경우
             member.authenticate();
+            invalidateAuthentication(member.getUsername());
+        }
     }
     
     /**
@@ -108,19 +116,25 @@ public class MemberService {
      *
      * @param username - 메일 주소
      */
-    @LockAop
+    @LockAop(key = "'member:' + #username.toLowerCase()")
     @Transactional
     public void resendVerifyEmail(final String username) {
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
                                         .orElseThrow(() -> new EntityNotFoundException(
                                                 "Could not found 'Member' by username: " + username));
+        //발송 제한 중이면 기존 인증 토큰과 발송(대기)된 인증 메일 유지
+        if (!mailTaskService.tryAcquire(MailTaskType.VERIFICATION, member.getUsername()))
+            return;
+        
         //새로운 인증 토큰 설정
         member.updateEmailAuthToken(UUID.randomUUID().toString());
+        invalidateAuthentication(member.getUsername());
         
-        //인증 메일 재전송
-        emailSender.sendVerificationEmail(username,
-                                          member.getAuthInfo().getEmailAuthToken(),
-                                          member.getAuthInfo().getEmailAuthExpireTime());
+        //인증 메일 재발송 작업 기록, 커밋 후 발송
+        mailTaskService.enqueue(MailTaskType.VERIFICATION,
+                                emailSender.createVerificationEmail(username,
+                                                                    member.getAuthInfo().getEmailAuthToken(),
+                                                                    member.getAuthInfo().getEmailAuthExpireTime()));
     }
     
     /**
@@ -128,7 +142,7 @@ public class MemberService {
      *
      * @param username - 메일 주소
      */
-    @LockAop
+    @LockAop(key = "'member:' + #username.toLowerCase()")
     @Transactional
     public void findPassword(final String username) {
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
@@ -141,12 +155,18 @@ public class MemberService {
             throw new InvalidValueException("Email is not verified.", ErrorCode.AUTH_NOT_COMPLETED);
         }
         
+        //발송 제한 중이면 발송(대기)된 메일 유지
+        if (!mailTaskService.tryAcquire(MailTaskType.PASSWORD_RESET, member.getUsername()))
+            return;
+        
         //임시 비밀번호 생성 및 반영
         String tempPassword = RandomGenerator.randomPassword(20);
         member.updatePassword(passwordEncoder.encode(tempPassword));
+        invalidateAllSessions(member.getUsername());
         
-        //비밀번호 찾기 결과 메일 전송
-        emailSender.sendPasswordResetEmail(member.getUsername(), tempPassword);
+        //비밀번호 찾기 결과 메일 발송 작업 기록, 커밋 후 발송하고 실패하면 같은 임시 비밀번호로 재시도
+        mailTaskService.enqueue(MailTaskType.PASSWORD_RESET,
+                                emailSender.createPasswordResetEmail(member.getUsername(), tempPassword));
     }
     
     /**
@@ -178,7 +198,7 @@ public class MemberService {
      *
      * @param dto - 계정 수정 정보 DTO
      */
-    @LockAop
+    @LockAop(key = "'member:' + #dto.id")
     @Transactional
     public void update(final MemberUpdateRequestDto dto) {
         Member member = memberRepository.findById(dto.getId(), false)
@@ -203,6 +223,7 @@ public class MemberService {
                 throw new InvalidValueException("Invalid input value: " + dto.getNickname(),
                                                 ErrorCode.NICKNAME_DUPLICATION);
             member.updateNickname(dto.getNickname());
+            invalidateAuthentication(member.getUsername());
         }
         
         //서명 변경
@@ -220,6 +241,7 @@ public class MemberService {
                 throw new InvalidValueException("Invalid input value, New password do not match.",
                                                 ErrorCode.PASSWORD_DO_NOT_MATCH);
             member.updatePassword(passwordEncoder.encode(dto.getNewPassword()));
+            invalidateAllSessions(member.getUsername());
         }
     }
     
@@ -229,7 +251,7 @@ public class MemberService {
      * @param id       - PK
      * @param password - 비밀번호
      */
-    @LockAop
+    @LockAop(key = "'member:' + #id")
     @Transactional
     public void delete(final Long id, final String password) {
         Member member = memberRepository.findById(id, false)
@@ -242,6 +264,27 @@ public class MemberService {
                                             ErrorCode.PASSWORD_DO_NOT_MATCH);
         
         member.isDelete(true);
+        invalidateAllSessions(member.getUsername());
+    }
+    
+    /**
+     * 계정 정보 변경 시 캐싱된 인증 정보 제거 및 발급된 JWT 토큰 클레임 무효화
+     *
+     * @param username - 아이디
+     */
+    private void invalidateAuthentication(final String username) {
+        userDetailsCache.evict(username);
+        jwtService.revokeTokens(username);
+    }
+    
+    /**
+     * 비밀번호 변경, 회원 탈퇴 시 캐싱된 인증 정보 제거 및 모든 기기 로그아웃
+     *
+     * @param username - 아이디
+     */
+    private void invalidateAllSessions(final String username) {
+        userDetailsCache.evict(username);
+        jwtService.revokeAllTokens(username);
     }
     
 }
@@ -1,6 +1,7 @@
 package com.project.alfa.services;
 
 import com.project.alfa.aop.annotation.LockAop;
+import com.project.alfa.aop.annotation.OptimisticLockAop;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
 import com.project.alfa.entities.Role;
@@ -142,7 +143,7 @@ public class PostService {
      *
      * @param dto - 게시글 수정 정보 DTO
      */
-    @LockAop
+    @OptimisticLockAop
     @Transactional
     public void update(final PostRequestDto dto) {
         Post post = postRepository.findById(dto.getId(), false)
@@ -177,7 +178,7 @@ public class PostService {
      * @param id       - PK
      * @param writerId - 작성자 FK
      */
-    @LockAop
+    @LockAop(key = "'post:' + #id", failFast = true)
     @Transactional
     public void delete(final Long id, final Long writerId) {
         Post post = postRepository.findById(id, false)
@@ -197,7 +198,7 @@ public class PostService {
      * @param ids      - PK 목록
      * @param writerId - 작성자 FK
      */
-    @LockAop
+    @LockAop(key = "#ids.!['post:' + #this]", failFast = true)
     @Transactional
     public void deleteAll(final List<Long> ids, final Long writerId) {
         List<Post> posts = postRepository.findAll(ids, false);
@@ -0,0 +1,307 @@
+package com.project.alfa.services;
+
+import com.project.alfa.aop.lock.LockProvider;
+import com.project.alfa.entities.StorageTask;
+import com.project.alfa.entities.StorageTaskType;
+import com.project.alfa.repositories.v1.StorageTaskRepositoryV1;
+import com.project.alfa.utils.FileUtil;
+import com.project.alfa.utils.RetryBackoff;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * 저장소 작업(아웃박스) 처리
+ * 첨부파일 정보와 같은 트랜잭션으로 기록된 저장소 작업을 커밋 후 DB 트랜잭션 밖에서 저장소에 반영
+ * 저장소 입출력 중에는 DB 커넥션을 잡지 않고, 조회/완료 기록만 짧은 트랜잭션으로 처리
+ * 작업은 멱등하므로 실패하거나 중복 실행되어도 재시도로 수렴, 같은 경로의 작업은 등록 순서대로 실행
+ */
+@Slf4j
+@Service
+public class StorageTaskService {
+    
+    private static final String LOCK_KEY = "lock:storage-tasks";
+    
+    @Value("${storage.tasks.batch-size}")
+    private int  batchSize;
+    @Value("${storage.tasks.promote-delay}")
+    private long promoteDelay;
+    @Value("${storage.tasks.retry-delay}")
+    private long retryDelay;
+    @Value("${storage.tasks.max-retry-delay}")
+    private long maxRetryDelay;
+    
+    private final StorageTaskRepositoryV1 storageTaskRepository;
+    private final FileUtil                fileUtil;
+    private final LockProvider            lockProvider;
+    private final TransactionTemplate     transactionTemplate;
+    private final TransactionTemplate     newTransactionTemplate;
+    
+    public StorageTaskService(final StorageTaskRepositoryV1 storageTaskRepository,
+                              final FileUtil fileUtil,
+                              final LockProvider lockProvider,
+                              final PlatformTransactionManager transactionManager) {
+        this.storageTaskRepository = storageTaskRepository;
+        this.fileUtil = fileUtil;
+        this.lockProvider = lockProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * 임시 파일 이동 작업 생성, 커밋 직후 바로 실행하므로 유예 시간이 지난 후에만 정기 처리 대상
+     *
+     * @param sourcePath - 임시 경로
+     * @param targetPath - 저장 경로
+     * @return 저장소 작업
+     */
+    public StorageTask promoteTask(final String sourcePath, final String targetPath) {
+        return StorageTask.builder()
+                          .type(StorageTaskType.PROMOTE)
+                          .sourcePath(sourcePath)
+                          .targetPath(targetPath)
+                          .nextAttemptTime(LocalDateTime.now().plus(Duration.ofMillis(promoteDelay)))
+                          .build();
+    }
+    
+    /**
+     * 파일 삭제 작업 생성
+     *
+     * @param path - 삭제할 경로
+     * @return 저장소 작업
+     */
+    public StorageTask deleteTask(final String path) {
+        return StorageTask.builder()
+                          .type(StorageTaskType.DELETE)
+                          .sourcePath(path)
+                          .nextAttemptTime(LocalDateTime.now())
+                          .build();
+    }
+    
+    /**
+     * 저장소 작업 기록, 호출한 트랜잭션에 참여하여 첨부파일 정보와 함께 커밋/롤백
+     *
+     * @param storageTasks - 저장소 작업 목록
+     */
+    public void saveAll(final List<StorageTask> storageTasks) {
+        if (!storageTasks.isEmpty())
+            storageTaskRepository.saveAll(storageTasks);
+    }
+    
+    /**
+     * 처리할 저장소 작업 정기 실행, 노드 간 락으로 단일 실행
+     */
+    @Scheduled(fixedDelayString = "${storage.tasks.interval}")
+    public void scheduledProcess() {
+        boolean executed = lockProvider.runExclusively(LOCK_KEY, () -> {
+            int count = processTasks(LocalDateTime.now());
+            if (count > 0)
+                log.info("[StorageTask] Completed: count={}", count);
+        });
+        if (!executed)
+            log.debug("[StorageTask] Skipped, another node holds the lock");
+    }
+    
+    /**
+     * 다음 시도 일시가 기준 일시 이전인 저장소 작업 처리
+     *
+     * @param dueBefore - 다음 시도 일시 기준
+     * @return 완료한 작업 수
+     */
+    public int processTasks(final LocalDateTime dueBefore) {
+        int count = 0;
+        while (true) {
+            List<StorageTask> storageTasks = transactionTemplate.execute(
+                    status -> storageTaskRepository.findAllDue(dueBefore, batchSize));
+            if (storageTasks == null || storageTasks.isEmpty())
+                break;
+            
+            int completed = execute(storageTasks, transactionTemplate);
+            count += completed;
+            //모두 실패한 경우 재시도 일시 이후 다음 실행에서 처리
+            if (storageTasks.size() < batchSize || completed == 0)
+                break;
+        }
+        return count;
+    }
+    
+    /**
+     * 커밋 직후 저장소 작업 즉시 실행, 완료 기록은 호출한 쪽과 별개의 트랜잭션으로 처리
+     * 실패한 작업은 기록된 다음 시도 일시 이후 정기 실행에서 재시도
+     *
+     * @param storageTasks - 저장된 저장소 작업 목록
+     */
+    public void executeNow(final List<StorageTask> storageTasks) {
+        if (!storageTasks.isEmpty())
+            execute(storageTasks, newTransactionTemplate);
+    }
+    
+    /**
+     * 저장소 작업을 등록 순서대로 실행한 후 완료한 작업 삭제, 실패한 작업 재시도 예약
+     * - 같은 경로의 작업은 등록 순서를 지키기 위해 앞선 작업이 완료되지 않았으면 실행을 미룸
+     * - 이후에 저장 경로 삭제 작업이 등록된 이동 작업은 이동하지 않고 임시 파일만 삭제(취소)
+     * - 이동 작업 사이의 연속된 삭제 작업은 일괄 삭제
+     *
+     * @param storageTasks        - 저장소 작업 목록
+     * @param transactionTemplate - 조회/결과 기록 트랜잭션
+     * @return 완료한 작업 수
+     */
+    private int execute(final List<StorageTask> storageTasks, final TransactionTemplate transactionTemplate) {
+        List<StorageTask> tasks = storageTasks.stream()
+                                              .sorted(Comparator.comparing(StorageTask::getId))
+                                              .collect(toList());
+        List<StorageTask> related = transactionTemplate.execute(
+                status -> storageTaskRepository.findAllByPaths(tasks.stream()
+                                                                    .flatMap(task -> Stream.of(task.getSourcePath(),
+                                                                                               task.getTargetPath()))
+                                                                    .filter(Objects::nonNull)
+                                                                    .distinct()
+                                                                    .collect(toList())));
+        TaskPlan plan = new TaskPlan(related == null ? tasks : related);
+        
+        for (StorageTask storageTask : tasks) {
+            if (plan.isPromote(storageTask))
+                plan.flushDeletes();
+            if (plan.isBlocked(storageTask)) {
+                plan.deferred.add(storageTask);
+                continue;
+            }
+            if (plan.isPromote(storageTask))
+                plan.promote(storageTask);
+            else
+                plan.deletes.add(storageTask);
+        }
+        plan.flushDeletes();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!plan.completed.isEmpty())
+                storageTaskRepository.deleteAllByIdInBatch(new ArrayList<>(plan.completed));
+            for (StorageTask storageTask : plan.failed)
+                storageTaskRepository.retry(storageTask.getId(),
+                                            RetryBackoff.nextAttemptTime(storageTask.getAttempts(), retryDelay,
+                                                                         maxRetryDelay));
+            for (StorageTask storageTask : plan.deferred)
+                storageTaskRepository.postpone(storageTask.getId(),
+                                               LocalDateTime.now().plus(Duration.ofMillis(retryDelay)));
+        });
+        return plan.completed.size();
+    }
+    
+    /**
+     * 한 번의 실행에서 작업별 실행 순서와 결과를 관리
+     * 관련 작업(related)은 이번에 실행할 작업과 경로가 겹치는 모든 작업(다음 시도 일시와 무관)
+     */
+    private class TaskPlan {
+        
+        private final List<StorageTask> related;
+        private final Set<Long>         superseded;                         //이후 삭제 작업으로 취소할 이동 작업
+        private final Set<Long>         completed = new LinkedHashSet<>();
+        private final List<StorageTask> failed    = new ArrayList<>();
+        private final List<StorageTask> deferred  = new ArrayList<>();
+        private final List<StorageTask> deletes   = new ArrayList<>();      //일괄 삭제 대기 중인 작업
+        
+        private TaskPlan(final List<StorageTask> related) {
+            this.related = related;
+            this.superseded = related.stream()
+                                     .filter(promote -> promote.getType() == StorageTaskType.PROMOTE)
+                                     .filter(promote -> related.stream().anyMatch(
+                                             delete -> delete.getType() == StorageTaskType.DELETE
+                                                       && delete.getId() > promote.getId()
+                                                       && delete.getSourcePath().equals(promote.getTargetPath())))
+                                     .map(StorageTask::getId)
+                                     .collect(toSet());
+        }
+        
+        private boolean isPromote(final StorageTask storageTask) {
+            return storageTask.getType() == StorageTaskType.PROMOTE && !superseded.contains(storageTask.getId());
+        }
+        
+        /**
+         * 실제로 다루는 경로 목록, 취소할 이동 작업은 임시 경로만 삭제
+         */
+        private List<String> pathsOf(final StorageTask storageTask) {
+            if (isPromote(storageTask))
+                return Arrays.asList(storageTask.getSourcePath(), storageTask.getTargetPath());
+            return Collections.singletonList(storageTask.getSourcePath());
+        }
+        
+        /**
+         * 같은 경로를 다루는 앞선 작업 중 완료되지 않은 작업이 있는지 확인
+         * 일괄 삭제 대기 중인 작업은 삭제 작업끼리 순서와 무관하므로 제외
+         */
+        private boolean isBlocked(final StorageTask storageTask) {
+            List<String> paths   = pathsOf(storageTask);
+            Set<Long>    pending = deletes.stream().map(StorageTask::getId).collect(toSet());
+            for (StorageTask other : related) {
+                if (other.getId() >= storageTask.getId() || completed.contains(other.getId()))
+                    continue;
+                if (!isPromote(storageTask) && pending.contains(other.getId()))
+                    continue;
+                if (pathsOf(other).stream().anyMatch(paths::contains))
+                    return true;
+            }
+            return false;
+        }
+        
+        private void promote(final StorageTask storageTask) {
+            try {
+                fileUtil.promoteFile(storageTask.getSourcePath(), storageTask.getTargetPath());
+                completed.add(storageTask.getId());
+            } catch (RuntimeException e) {
+                fail(storageTask, e);
+            }
+        }
+        
+        /**
+         * 삭제 작업과 취소할 이동 작업은 모아서 일괄 삭제, 실패하면 개별 삭제로 실패한 작업만 재시도
+         */
+        private void flushDeletes() {
+            if (deletes.isEmpty())
+                return;
+            try {
+                fileUtil.deleteFilesByPaths(deletes.stream()
+                                                   .map(StorageTask::getSourcePath)
+                                                   .distinct()
+                                                   .collect(toList()));
+                deletes.forEach(storageTask -> completed.add(storageTask.getId()));
+            } catch (RuntimeException e) {
+                for (StorageTask storageTask : deletes)
+                    try {
+                        fileUtil.deleteFilesByPaths(Collections.singletonList(storageTask.getSourcePath()));
+                        completed.add(storageTask.getId());
+                    } catch (RuntimeException ex) {
+                        fail(storageTask, ex);
+                    }
+            }
+            deletes.clear();
+        }
+        
+        private void fail(final StorageTask storageTask, final RuntimeException e) {
+            log.warn("[StorageTask] Failed: id={}, type={}, path={}, attempts={}, {}", storageTask.getId(),
+                     storageTask.getType(), storageTask.getSourcePath(), storageTask.getAttempts() + 1, e.getMessage());
+            failed.add(storageTask);
+        }
+        
+    }
+    
+}
@@ -16,11 +16,14 @@ public class AttachmentResponseDto {
     private final LocalDateTime createdDate;
     private final LocalDateTime lastModifiedDate;
     
+    private final transient String storeFilePath;  //저장 경로, 응답 JSON에서 제외
+    
     public AttachmentResponseDto(Attachment attachment) {
         id = attachment.getId();
         postId = attachment.getPost().getId();
         originalFilename = attachment.getOriginalFilename();
         storeFilename = attachment.getStoreFilename();
+        storeFilePath = attachment.getStoreFilePath();
         fileSize = attachment.getFileSize();
         createdDate = attachment.getCreatedDate();
         lastModifiedDate = attachment.getLastModifiedDate();
@@ -0,0 +1,47 @@
+package com.project.alfa.services.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class OrphanSweepResultDto {
+    
+    private final LocalDateTime modifiedBefore;     //유예 기간 기준 일시
+    private final boolean       dryRun;             //삭제 없이 보고만 했는지 여부
+    private final int           folders;            //조회한 날짜 폴더 수
+    private final int           failedFolders;      //조회에 실패한 날짜 폴더 수
+    private final long          scannedObjects;     //조회한 객체 수
+    private final long          orphanObjects;      //참조되지 않는 객체 수
+    private final long          orphanBytes;        //참조되지 않는 객체 크기 합(byte)
+    private final long          deletedObjects;     //삭제한 객체 수
+    private final long          failedObjects;      //삭제에 실패한 객체 수
+    private final List<String>  orphanSamples;      //참조되지 않는 객체 키 일부
+    private final long          elapsedMillis;      //소요 시간(ms)
+    
+    public OrphanSweepResultDto(final LocalDateTime modifiedBefore,
+                                final boolean dryRun,
+                                final int folders,
+                                final int failedFolders,
+                                final long scannedObjects,
+                                final long orphanObjects,
+                                final long orphanBytes,
+                                final long deletedObjects,
+                                final long failedObjects,
+                                final List<String> orphanSamples,
+                                final long elapsedMillis) {
+        this.modifiedBefore = modifiedBefore;
+        this.dryRun = dryRun;
+        this.folders = folders;
+        this.failedFolders = failedFolders;
+        this.scannedObjects = scannedObjects;
+        this.orphanObjects = orphanObjects;
+        this.orphanBytes = orphanBytes;
+        this.deletedObjects = deletedObjects;
+        this.failedObjects = failedObjects;
+        this.orphanSamples = orphanSamples;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+}
@@ -0,0 +1,22 @@
+package com.project.alfa.services.dto;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+public class PresignedUploadResponseDto {
+    
+    private final String              storeFilePath;    //저장 경로, 업로드 확정 시 전달
+    private final String              url;              //Presigned PUT URL
+    private final Map<String, String> headers;          //업로드 요청에 포함해야 하는 서명된 헤더
+    private final long                expiresAt;        //URL 만료 시각(epoch ms)
+    
+    public PresignedUploadResponseDto(String storeFilePath, String url, Map<String, String> headers, long expiresAt) {
+        this.storeFilePath = storeFilePath;
+        this.url = url;
+        this.headers = headers;
+        this.expiresAt = expiresAt;
+    }
+    
+}
@@ -0,0 +1,81 @@
+package com.project.alfa.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 메일 발송 작업 본문 암호화(AES-GCM)
+ * 임시 비밀번호, 인증 토큰이 담긴 본문을 평문으로 남기지 않도록 저장할 때 암호화하고 발송할 때 복호화
+ */
+@Component
+public class MailContentCipher {
+    
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int    IV_LENGTH      = 12;
+    private static final int    TAG_LENGTH     = 128;
+    
+    private final SecretKeySpec key;
+    private final SecureRandom  random = new SecureRandom();
+    
+    /**
+     * @param secret - 암호화 키 원문, SHA-256 해시를 AES-256 키로 사용
+     */
+    public MailContentCipher(@Value("${email.outbox.secret}") final String secret) {
+        try {
+            this.key = new SecretKeySpec(MessageDigest.getInstance("SHA-256")
+                                                      .digest(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize mail content cipher.", e);
+        }
+    }
+    
+    /**
+     * 본문 암호화
+     *
+     * @param content - 본문
+     * @return Base64(IV + 암호문)
+     */
+    public String encrypt(final String content) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, iv));
+            byte[] encrypted = cipher.doFinal(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                                                                .put(iv)
+                                                                .put(encrypted)
+                                                                .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt mail content.", e);
+        }
+    }
+    
+    /**
+     * 본문 복호화
+     *
+     * @param encrypted - Base64(IV + 암호문)
+     * @return 본문
+     */
+    public String decrypt(final String encrypted) {
+        byte[] bytes = Base64.getDecoder().decode(encrypted);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, bytes, 0, IV_LENGTH));
+            return new String(cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt mail content.", e);
+        }
+    }
+    
+}
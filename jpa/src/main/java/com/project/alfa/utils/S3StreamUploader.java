@@ -0,0 +1,333 @@
+package com.project.alfa.utils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.error.exception.ServerBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 입력 스트림을 로컬 디스크 없이 S3에 업로드
+ * 파트 크기만큼 메모리 버퍼에 읽어 S3 멀티파트 업로드 파트로 병렬 전송, 첫 버퍼를 다 채우지 못하면 단일 PUT
+ * 크기를 아는 스트림이 파트 크기 미만이면 버퍼 없이 바로 단일 PUT
+ * 버퍼는 전체 업로드가 공유하는 풀에서 빌려 쓰므로 메모리 사용량은 최대 (버퍼 수 x 파트 크기)
+ * 업로드당 동시 전송 파트 수를 제한하고, 버퍼 대기 시간 초과 시 요청 거부(503, Retry-After)
+ */
+@Slf4j
+public class S3StreamUploader implements DisposableBean {
+    
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;  //S3 멀티파트 업로드 최소 파트 크기(마지막 파트 제외)
+    
+    private final AmazonS3                      amazonS3;
+    private final int                           partSize;
+    private final int                           partsPerUpload;
+    private final long                          bufferWaitTime;
+    private final Semaphore                     bufferPermits;
+    private final ConcurrentLinkedQueue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor            executor;
+    
+    /**
+     * @param amazonS3       - S3 클라이언트
+     * @param partSize       - 파트 크기(byte), 최소 5MB
+     * @param partsPerUpload - 업로드당 동시 전송 파트 수
+     * @param buffers        - 전체 파트 버퍼 수
+     * @param threads        - 파트 전송 스레드 수
+     * @param bufferWaitTime - 버퍼 대기 시간(ms)
+     */
+    public S3StreamUploader(final AmazonS3 amazonS3, final int partSize, final int partsPerUpload, final int buffers,
+                            final int threads, final long bufferWaitTime) {
+        if (partSize < MIN_PART_SIZE)
+            throw new IllegalArgumentException("Part size must be at least 5MB: " + partSize);
+        if (partsPerUpload < 1 || buffers < 1 || threads < 1)
+            throw new IllegalArgumentException("Parts per upload, buffers and threads must be positive.");
+        
+        AtomicInteger sequence = new AtomicInteger();
+        
+        this.amazonS3 = amazonS3;
+        this.partSize = partSize;
+        this.partsPerUpload = Math.min(partsPerUpload, buffers);
+        this.bufferWaitTime = bufferWaitTime;
+        this.bufferPermits = new Semaphore(buffers);
+        //대기 작업 수는 버퍼 수 이하이므로 큐는 제한 불필요
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new LinkedBlockingQueue<>(),
+                                               runnable -> {
+                                                   Thread thread = new Thread(runnable, "s3-upload-"
+                                                                                        + sequence.incrementAndGet());
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               });
+    }
+    
+    /**
+     * 스트림 업로드
+     *
+     * @param bucket      - 버킷
+     * @param key         - 객체 키
+     * @param contentType - Content-Type
+     * @param inputStream - 업로드할 스트림, 닫지 않음
+     * @param maxSize     - 최대 크기(byte), 0 이하이면 제한 없음
+     * @return 업로드 크기(byte)
+     */
+    public long upload(final String bucket, final String key, final String contentType, final InputStream inputStream,
+                       final long maxSize) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        
+        byte[]  buffer    = acquireBuffer();
+        boolean multipart = false;
+        int     read;
+        try {
+            read = readFully(inputStream, buffer);
+            checkSize(read, maxSize);
+            
+            //단일 파트: 멀티파트 업로드 요청 없이 PUT
+            if (read < partSize) {
+                metadata.setContentLength(read);
+                amazonS3.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(buffer, 0, read),
+                                                        metadata));
+                return read;
+            }
+            multipart = true;
+        } finally {
+            if (!multipart)
+                releaseBuffer(buffer);
+        }
+        
+        String uploadId;
+        try {
+            uploadId = amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata))
+                               .getUploadId();
+        } catch (RuntimeException e) {
+            releaseBuffer(buffer);
+            throw e;
+        }
+        return uploadParts(bucket, key, uploadId, inputStream, buffer, read, maxSize);
+    }
+    
+    /**
+     * 크기를 아는 스트림 업로드
+     * 파트 크기 미만이면 버퍼를 빌리지 않고 스트림을 그대로 단일 PUT, 그 외에는 스트림 업로드
+     *
+     * @param bucket      - 버킷
+     * @param key         - 객체 키
+     * @param contentType - Content-Type
+     * @param inputStream - 업로드할 스트림, 닫지 않음
+     * @param size        - 스트림 크기(byte)
+     * @return 업로드 크기(byte)
+     */
+    public long uploadSized(final String bucket, final String key, final String contentType,
+                            final InputStream inputStream, final long size) throws IOException {
+        if (size >= partSize)
+            return upload(bucket, key, contentType, inputStream, 0);
+        
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(size);
+        amazonS3.putObject(new PutObjectRequest(bucket, key, inputStream, metadata));
+        return size;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+    
+    /**
+     * 멀티파트 업로드 파트 전송, 실패 시 멀티파트 업로드 중단
+     *
+     * @param bucket      - 버킷
+     * @param key         - 객체 키
+     * @param uploadId    - 멀티파트 업로드 ID
+     * @param inputStream - 업로드할 스트림
+     * @param first       - 첫 파트 버퍼
+     * @param firstSize   - 첫 파트 크기
+     * @param maxSize     - 최대 크기(byte)
+     * @return 업로드 크기(byte)
+     */
+    private long uploadParts(final String bucket, final String key, final String uploadId,
+                             final InputStream inputStream, final byte[] first, final int firstSize,
+                             final long maxSize) throws IOException {
+        Semaphore              inFlight = new Semaphore(partsPerUpload);
+        List<Future<PartETag>> futures  = new ArrayList<>();
+        
+        byte[] buffer     = first;
+        int    size       = firstSize;
+        long   total      = 0;
+        int    partNumber = 1;
+        try {
+            while (buffer != null) {
+                total += size;
+                checkSize(total, maxSize);
+                
+                acquire(inFlight);
+                futures.add(submitPart(bucket, key, uploadId, partNumber++, buffer, size, inFlight));
+                buffer = null;
+                
+                if (size < partSize)
+                    break;
+                
+                buffer = acquireBuffer();
+                size = readFully(inputStream, buffer);
+                if (size == 0) {
+                    releaseBuffer(buffer);
+                    buffer = null;
+                }
+            }
+            
+            List<PartETag> partETags = new ArrayList<>(futures.size());
+            for (Future<PartETag> future : futures)
+                partETags.add(getResult(future));
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+            return total;
+        } catch (IOException | RuntimeException e) {
+            if (buffer != null)
+                releaseBuffer(buffer);
+            //전송 중인 파트가 버퍼를 반납할 때까지 대기 후 중단
+            awaitAll(futures);
+            abort(bucket, key, uploadId);
+            throw e;
+        }
+    }
+    
+    private Future<PartETag> submitPart(final String bucket, final String key, final String uploadId,
+                                        final int partNumber, final byte[] buffer, final int size,
+                                        final Semaphore inFlight) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    UploadPartRequest request = new UploadPartRequest().withBucketName(bucket)
+                                                                       .withKey(key)
+                                                                       .withUploadId(uploadId)
+                                                                       .withPartNumber(partNumber)
+                                                                       .withInputStream(new ByteArrayInputStream(
+                                                                               buffer, 0, size))
+                                                                       .withPartSize(size);
+                    return amazonS3.uploadPart(request).getPartETag();
+                } finally {
+                    releaseBuffer(buffer);
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            releaseBuffer(buffer);
+            inFlight.release();
+            throw e;
+        }
+    }
+    
+    private PartETag getResult(final Future<PartETag> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while uploading parts.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+    private static void awaitAll(final List<Future<PartETag>> futures) {
+        boolean interrupted = false;
+        for (Future<PartETag> future : futures)
+            while (true)
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+    
+    private void abort(final String bucket, final String key, final String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart upload: {}, {}", key, e.getMessage());
+        }
+    }
+    
+    /**
+     * 버퍼 풀에서 버퍼 대여, 대기 시간 초과 시 요청 거부
+     *
+     * @return 파트 크기 버퍼
+     */
+    private byte[] acquireBuffer() {
+        try {
+            if (!bufferPermits.tryAcquire(bufferWaitTime, TimeUnit.MILLISECONDS))
+                throw new ServerBusyException("Upload buffers are exhausted.", ErrorCode.SERVER_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerBusyException("Interrupted while waiting for upload buffer.", ErrorCode.SERVER_BUSY);
+        }
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+    
+    private void releaseBuffer(final byte[] buffer) {
+        freeBuffers.offer(buffer);
+        bufferPermits.release();
+    }
+    
+    private static void acquire(final Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for part upload.", e);
+        }
+    }
+    
+    private static void checkSize(final long size, final long maxSize) {
+        if (maxSize > 0 && size > maxSize)
+            throw new InvalidValueException("File size exceeds " + maxSize + " bytes.", ErrorCode.FILE_SIZE_EXCEEDED);
+    }
+    
+    /**
+     * 버퍼를 채울 때까지 또는 스트림 끝까지 읽기
+     *
+     * @param inputStream - 입력 스트림
+     * @param buffer      - 버퍼
+     * @return 읽은 크기
+     */
+    private static int readFully(final InputStream inputStream, final byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = inputStream.read(buffer, offset, buffer.length - offset);
+            if (read < 0)
+                break;
+            offset += read;
+        }
+        return offset;
+    }
+    
+}
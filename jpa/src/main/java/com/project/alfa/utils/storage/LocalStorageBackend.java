@@ -0,0 +1,274 @@
+package com.project.alfa.utils.storage;
+
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 로컬 파일 시스템 저장소, 단일 노드 배포와 네트워크 없는 성능 테스트용
+ * 객체 키를 루트 디렉토리 하위 경로로 사용, 다운로드는 FileRegionResource로 힙 복사 없이 전송
+ * 업로드는 같은 디렉토리의 임시 파일에 쓴 후 원자적으로 이동하여 중간 상태 파일이 보이지 않도록 함
+ * Presigned URL은 같은 파일 시스템을 공유하는 클라이언트만 쓸 수 있는 file: URI, 사용자 메타데이터는 만료 시각까지 메모리에 보관
+ */
+@Slf4j
+public class LocalStorageBackend implements StorageBackend {
+    
+    private static final long TRANSFER_SIZE = 1024 * 1024;  //FileChannel.transferFrom 1회 전송 크기
+    
+    private final Path                       root;
+    private final Map<String, PendingUpload> pendingUploads = new ConcurrentHashMap<>();
+    
+    /**
+     * @param rootDir - 루트 디렉토리
+     */
+    public LocalStorageBackend(final String rootDir) {
+        this.root = Paths.get(rootDir).toAbsolutePath().normalize();
+    }
+    
+    @Override
+    public long store(final String key, final String contentType, final InputStream inputStream,
+                      final long maxSize) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        
+        boolean stored = false;
+        try {
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(inputStream);
+                long                transferred;
+                while ((transferred = channel.transferFrom(source, size, TRANSFER_SIZE)) > 0) {
+                    size += transferred;
+                    if (maxSize > 0 && size > maxSize)
+                        throw new InvalidValueException("File size exceeds " + maxSize + " bytes.",
+                                                        ErrorCode.FILE_SIZE_EXCEEDED);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            stored = true;
+            return size;
+        } finally {
+            if (!stored)
+                Files.deleteIfExists(temp);
+        }
+    }
+    
+    @Override
+    public Resource read(final String key) {
+        Path path = resolve(key);
+        try {
+            if (!Files.isRegularFile(path))
+                throw new RuntimeException("File not found: " + key);
+            return new FileRegionResource(path, 0, Files.size(path));
+        } catch (IOException e) {
+            throw new RuntimeException("File not found: " + key, e);
+        }
+    }
+    
+    @Override
+    public Resource read(final String key, final long start, final long end) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path))
+            throw new RuntimeException("File not found: " + key);
+        return new FileRegionResource(path, start, end - start + 1);
+    }
+    
+    @Override
+    public StoredObject getObject(final String key) {
+        Path path = resolve(key);
+        try {
+            if (!Files.isRegularFile(path))
+                return null;
+            PendingUpload pending = pendingUploads.get(key);
+            return new StoredObject(Files.size(path), pending == null ? null : pending.metadata);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    @Override
+    public void move(final String sourceKey, final String targetKey) {
+        Path target = resolve(targetKey);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(resolve(sourceKey), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        pendingUploads.remove(sourceKey);
+    }
+    
+    @Override
+    public void delete(final String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        pendingUploads.remove(key);
+    }
+    
+    @Override
+    public void deleteAll(final List<String> keys) {
+        RuntimeException failure = null;
+        for (String key : keys)
+            try {
+                delete(key);
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete file: {}, {}", key, e.getMessage());
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        if (failure != null)
+            throw failure;
+    }
+    
+    @Override
+    public List<String> listFolders(final String prefix) {
+        Path folder = resolveFolder(prefix);
+        if (!Files.isDirectory(folder))
+            return Collections.emptyList();
+        try (Stream<Path> paths = Files.list(folder)) {
+            return paths.filter(Files::isDirectory).map(path -> path.getFileName().toString()).sorted()
+                        .collect(toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    /**
+     * 폴더 하위 파일을 순회하며 페이지 단위로 전달, 순회 중 삭제된 파일은 제외
+     */
+    @Override
+    public void listObjects(final String prefix, final int pageSize, final Predicate<List<ListedObject>> consumer) {
+        Path folder = resolveFolder(prefix);
+        if (!Files.isDirectory(folder))
+            return;
+        try (Stream<Path> paths = Files.walk(folder)) {
+            Iterator<Path>     iterator = paths.filter(Files::isRegularFile).iterator();
+            List<ListedObject> objects  = new ArrayList<>(pageSize);
+            while (iterator.hasNext()) {
+                Path                path = iterator.next();
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                String key = prefix + "/" + folder.relativize(path).toString().replace(File.separatorChar, '/');
+                objects.add(new ListedObject(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                if (objects.size() == pageSize) {
+                    if (!consumer.test(objects))
+                        return;
+                    objects = new ArrayList<>(pageSize);
+                }
+            }
+            if (!objects.isEmpty())
+                consumer.test(objects);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    @Override
+    public PresignedUploadResponseDto generateUploadUrl(final String key, final String contentType,
+                                                        final Map<String, String> metadata, final Date expiration) {
+        long now = System.currentTimeMillis();
+        pendingUploads.values().removeIf(pending -> pending.expiration < now);
+        
+        Path path = resolve(key);
+        try {
+            Files.createDirectories(path.getParent());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        pendingUploads.put(key, new PendingUpload(metadata, expiration.getTime()));
+        
+        return new PresignedUploadResponseDto(key, path.toUri().toString(),
+                                              Collections.singletonMap("Content-Type", contentType),
+                                              expiration.getTime());
+    }
+    
+    /**
+     * 다운로드용 file: URI, 응답 헤더를 지정할 수 없으므로 Content-Disposition 무시
+     */
+    @Override
+    public URL generateDownloadUrl(final String key, final String contentDisposition, final Date expiration) {
+        try {
+            return resolve(key).toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("File not found: " + key, e);
+        }
+    }
+    
+    /**
+     * 객체 키 -> 루트 디렉토리 하위 경로, 루트 밖을 가리키는 키 거부
+     *
+     * @param key - 객체 키
+     * @return 파일 경로
+     */
+    private Path resolve(final String key) {
+        Path path = root.resolve(key.startsWith("/") ? key.substring(1) : key).normalize();
+        if (!path.startsWith(root) || path.equals(root))
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        return path;
+    }
+    
+    /**
+     * 폴더 객체 키 -> 루트 디렉토리 하위 경로, 루트 디렉토리 허용
+     *
+     * @param prefix - 폴더 객체 키
+     * @return 디렉토리 경로
+     */
+    private Path resolveFolder(final String prefix) {
+        Path path = root.resolve(prefix.startsWith("/") ? prefix.substring(1) : prefix).normalize();
+        if (!path.startsWith(root))
+            throw new IllegalArgumentException("Invalid storage key: " + prefix);
+        return path;
+    }
+    
+    private static class PendingUpload {
+        
+        private final Map<String, String> metadata;
+        private final long                expiration;
+        
+        private PendingUpload(final Map<String, String> metadata, final long expiration) {
+            this.metadata = metadata;
+            this.expiration = expiration;
+        }
+        
+    }
+    
+}
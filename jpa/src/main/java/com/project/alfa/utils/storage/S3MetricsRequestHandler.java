@@ -0,0 +1,63 @@
+package com.project.alfa.utils.storage;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.amazonaws.handlers.RequestHandler2;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AWS S3 요청 시간 기록(aws.s3.requests), 재시도를 포함한 요청 단위
+ * - operation: 요청 유형(PutObject, GetObject, DeleteObjects 등)
+ * - status: HTTP 상태 코드, 응답을 받지 못한 경우 CLIENT_ERROR
+ */
+public class S3MetricsRequestHandler extends RequestHandler2 {
+    
+    private static final HandlerContextKey<Long> START_NANOS = new HandlerContextKey<>("metrics.startNanos");
+    
+    private final MeterRegistry registry;
+    
+    public S3MetricsRequestHandler(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    public void beforeRequest(final Request<?> request) {
+        request.addHandlerContext(START_NANOS, System.nanoTime());
+    }
+    
+    @Override
+    public void afterResponse(final Request<?> request, final Response<?> response) {
+        record(request, String.valueOf(response.getHttpResponse().getStatusCode()));
+    }
+    
+    @Override
+    public void afterError(final Request<?> request, final Response<?> response, final Exception e) {
+        if (e instanceof AmazonServiceException)
+            record(request, String.valueOf(((AmazonServiceException) e).getStatusCode()));
+        else
+            record(request, "CLIENT_ERROR");
+    }
+    
+    private void record(final Request<?> request, final String status) {
+        Long startNanos = request.getHandlerContext(START_NANOS);
+        if (startNanos == null)
+            return;
+        Timer.builder("aws.s3.requests")
+             .description("AWS S3 request latency")
+             .tag("operation", operationOf(request))
+             .tag("status", status)
+             .register(registry)
+             .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private static String operationOf(final Request<?> request) {
+        String name = request.getOriginalRequest().getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+    
+}
@@ -0,0 +1,193 @@
+package com.project.alfa.utils.storage;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.ResponseHeaderOverrides;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
+import com.project.alfa.utils.S3StreamUploader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * AWS S3 저장소
+ * 업로드는 S3StreamUploader로 로컬 디스크 없이 전송, 삭제는 DeleteObjects로 최대 1000개씩 일괄 처리
+ * 목록 조회는 ListObjectsV2로 페이지(최대 1000개) 단위 처리
+ * Presigned URL의 사용자 메타데이터는 서명된 x-amz-meta-* 헤더로 전달
+ */
+@Slf4j
+public class S3StorageBackend implements StorageBackend {
+    
+    private static final int MAX_DELETE_KEYS = 1000;    //DeleteObjects 요청당 최대 키 수
+    private static final int MAX_LIST_KEYS   = 1000;    //ListObjectsV2 응답당 최대 키 수
+    
+    private final AmazonS3         amazonS3;
+    private final S3StreamUploader s3StreamUploader;
+    private final String           bucket;
+    
+    public S3StorageBackend(final AmazonS3 amazonS3, final S3StreamUploader s3StreamUploader, final String bucket) {
+        this.amazonS3 = amazonS3;
+        this.s3StreamUploader = s3StreamUploader;
+        this.bucket = bucket;
+    }
+    
+    @Override
+    public long store(final String key, final String contentType, final InputStream inputStream,
+                      final long maxSize) throws IOException {
+        return s3StreamUploader.upload(bucket, key, contentType, inputStream, maxSize);
+    }
+    
+    @Override
+    public long storeSized(final String key, final String contentType, final InputStream inputStream,
+                           final long size) throws IOException {
+        return s3StreamUploader.uploadSized(bucket, key, contentType, inputStream, size);
+    }
+    
+    @Override
+    public Resource read(final String key) {
+        if (!amazonS3.doesObjectExist(bucket, key))
+            throw new RuntimeException("File not found: " + key);
+        S3Object s3Object = amazonS3.getObject(bucket, key);
+        return new InputStreamResource(s3Object.getObjectContent());
+    }
+    
+    @Override
+    public Resource read(final String key, final long start, final long end) {
+        S3Object s3Object = amazonS3.getObject(new GetObjectRequest(bucket, key).withRange(start, end));
+        if (s3Object == null)
+            throw new RuntimeException("File not found: " + key);
+        return new InputStreamResource(s3Object.getObjectContent());
+    }
+    
+    @Override
+    public StoredObject getObject(final String key) {
+        try {
+            ObjectMetadata metadata = amazonS3.getObjectMetadata(bucket, key);
+            return new StoredObject(metadata.getContentLength(), metadata.getUserMetadata());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404)
+                return null;
+            throw e;
+        }
+    }
+    
+    @Override
+    public void move(final String sourceKey, final String targetKey) {
+        amazonS3.copyObject(bucket, sourceKey, bucket, targetKey);
+        amazonS3.deleteObject(bucket, sourceKey);
+    }
+    
+    @Override
+    public void delete(final String key) {
+        amazonS3.deleteObject(bucket, key);
+    }
+    
+    @Override
+    public void deleteAll(final List<String> keys) {
+        List<DeleteObjectsRequest.KeyVersion> keyVersions = new ArrayList<>(keys.size());
+        for (String key : keys)
+            keyVersions.add(new DeleteObjectsRequest.KeyVersion(key));
+        
+        RuntimeException failure = null;
+        for (int from = 0; from < keyVersions.size(); from += MAX_DELETE_KEYS)
+            try {
+                amazonS3.deleteObjects(new DeleteObjectsRequest(bucket)
+                                               .withKeys(keyVersions.subList(from, Math.min(from + MAX_DELETE_KEYS,
+                                                                                            keyVersions.size())))
+                                               .withQuiet(true));
+            } catch (RuntimeException e) {
+                if (e instanceof MultiObjectDeleteException)
+                    for (MultiObjectDeleteException.DeleteError error : ((MultiObjectDeleteException) e).getErrors())
+                        log.warn("Failed to delete file: {}, {}", error.getKey(), error.getMessage());
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        if (failure != null)
+            throw failure;
+    }
+    
+    @Override
+    public List<String> listFolders(final String prefix) {
+        ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucket)
+                                                                 .withPrefix(prefix + "/")
+                                                                 .withDelimiter("/");
+        List<String>         folders = new ArrayList<>();
+        ListObjectsV2Result  result;
+        do {
+            result = amazonS3.listObjectsV2(request);
+            for (String commonPrefix : result.getCommonPrefixes())
+                folders.add(commonPrefix.substring(prefix.length() + 1, commonPrefix.length() - 1));
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+        return folders;
+    }
+    
+    @Override
+    public void listObjects(final String prefix, final int pageSize, final Predicate<List<ListedObject>> consumer) {
+        ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucket)
+                                                                 .withPrefix(prefix + "/")
+                                                                 .withMaxKeys(Math.min(pageSize, MAX_LIST_KEYS));
+        ListObjectsV2Result  result;
+        do {
+            result = amazonS3.listObjectsV2(request);
+            List<ListedObject> objects = new ArrayList<>(result.getObjectSummaries().size());
+            for (S3ObjectSummary summary : result.getObjectSummaries())
+                objects.add(new ListedObject(summary.getKey(), summary.getSize(),
+                                             summary.getLastModified().toInstant()));
+            if (!objects.isEmpty() && !consumer.test(objects))
+                return;
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+    
+    @Override
+    public PresignedUploadResponseDto generateUploadUrl(final String key, final String contentType,
+                                                        final Map<String, String> metadata, final Date expiration) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(Headers.CONTENT_TYPE, contentType);
+        
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+        metadata.forEach((name, value) -> {
+            headers.put(Headers.S3_USER_METADATA_PREFIX + name, value);
+            request.putCustomRequestHeader(Headers.S3_USER_METADATA_PREFIX + name, value);
+        });
+        
+        return new PresignedUploadResponseDto(key, amazonS3.generatePresignedUrl(request).toString(), headers,
+                                              expiration.getTime());
+    }
+    
+    @Override
+    public URL generateDownloadUrl(final String key, final String contentDisposition, final Date expiration) {
+        return amazonS3.generatePresignedUrl(new GeneratePresignedUrlRequest(bucket, key, HttpMethod.GET)
+                                                     .withExpiration(expiration)
+                                                     .withResponseHeaders(new ResponseHeaderOverrides()
+                                                                                  .withContentDisposition(
+                                                                                          contentDisposition)));
+    }
+    
+}
@@ -0,0 +1,132 @@
+package com.project.alfa.utils.storage;
+
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 첨부파일 저장소, 객체 키(업로드 경로/yyyyMMdd/저장 파일명) 단위로 저장, 조회, 삭제
+ * - storage.type=s3: AWS S3
+ * - storage.type=local: 로컬 파일 시스템
+ */
+public interface StorageBackend {
+    
+    /**
+     * 스트림 저장
+     *
+     * @param key         - 객체 키
+     * @param contentType - Content-Type
+     * @param inputStream - 저장할 스트림, 닫지 않음
+     * @param maxSize     - 최대 크기(byte), 0 이하이면 제한 없음
+     * @return 저장 크기(byte)
+     */
+    long store(String key, String contentType, InputStream inputStream, long maxSize) throws IOException;
+    
+    /**
+     * 크기를 아는 스트림 저장
+     *
+     * @param key         - 객체 키
+     * @param contentType - Content-Type
+     * @param inputStream - 저장할 스트림, 닫지 않음
+     * @param size        - 스트림 크기(byte)
+     * @return 저장 크기(byte)
+     */
+    default long storeSized(String key, String contentType, InputStream inputStream, long size) throws IOException {
+        return store(key, contentType, inputStream, 0);
+    }
+    
+    /**
+     * 객체 조회
+     *
+     * @param key - 객체 키
+     * @return 객체 리소스
+     */
+    Resource read(String key);
+    
+    /**
+     * 객체 범위 조회
+     *
+     * @param key   - 객체 키
+     * @param start - 시작 위치(byte, 포함)
+     * @param end   - 끝 위치(byte, 포함)
+     * @return 객체 범위 리소스
+     */
+    Resource read(String key, long start, long end);
+    
+    /**
+     * 객체 정보 조회
+     *
+     * @param key - 객체 키
+     * @return 객체 정보, 존재하지 않으면 null
+     */
+    StoredObject getObject(String key);
+    
+    /**
+     * 객체 이동
+     *
+     * @param sourceKey - 원본 객체 키
+     * @param targetKey - 대상 객체 키
+     */
+    void move(String sourceKey, String targetKey);
+    
+    /**
+     * 객체 단일 삭제
+     *
+     * @param key - 객체 키
+     */
+    void delete(String key);
+    
+    /**
+     * 객체 다중 삭제, 모든 객체 삭제를 시도한 후 실패를 모아 예외 발생
+     *
+     * @param keys - 객체 키 목록
+     */
+    void deleteAll(List<String> keys);
+    
+    /**
+     * 하위 폴더 이름 목록 조회
+     *
+     * @param prefix - 폴더 객체 키(마지막 '/' 제외)
+     * @return 하위 폴더 이름 목록
+     */
+    List<String> listFolders(String prefix);
+    
+    /**
+     * 폴더 하위 객체 목록을 페이지 단위로 조회, 전체 목록을 메모리에 올리지 않음
+     *
+     * @param prefix   - 폴더 객체 키(마지막 '/' 제외)
+     * @param pageSize - 페이지 크기
+     * @param consumer - 페이지 처리, false를 반환하면 조회 중단
+     */
+    void listObjects(String prefix, int pageSize, Predicate<List<ListedObject>> consumer);
+    
+    /**
+     * 업로드용 Presigned URL 발급
+     *
+     * @param key         - 객체 키
+     * @param contentType - Content-Type
+     * @param metadata    - 업로드 확정 시 검증할 사용자 메타데이터
+     * @param expiration  - 만료 시각
+     * @return Presigned 업로드 정보
+     */
+    PresignedUploadResponseDto generateUploadUrl(String key, String contentType, Map<String, String> metadata,
+                                                 Date expiration);
+    
+    /**
+     * 다운로드용 Presigned URL 발급
+     *
+     * @param key                - 객체 키
+     * @param contentDisposition - 응답 Content-Disposition
+     * @param expiration         - 만료 시각
+     * @return Presigned 다운로드 URL
+     */
+    URL generateDownloadUrl(String key, String contentDisposition, Date expiration);
+    
+}
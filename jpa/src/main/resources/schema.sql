@@ -3,6 +3,9 @@ DROP TABLE IF EXISTS tbl_posts CASCADE;
 DROP TABLE IF EXISTS tbl_comments CASCADE;
 DROP TABLE IF EXISTS tbl_persistent_logins CASCADE;
 DROP TABLE IF EXISTS tbl_post_attachments CASCADE;
+DROP TABLE IF EXISTS tbl_file_blobs CASCADE;
+DROP TABLE IF EXISTS tbl_storage_tasks CASCADE;
+DROP TABLE IF EXISTS tbl_mail_tasks CASCADE;
 
 CREATE TABLE tbl_members
 (
@@ -20,6 +23,7 @@ CREATE TABLE tbl_members
     role                   VARCHAR(255)        NOT NULL COMMENT '계정 유형',
     created_date           DATETIME            NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
     last_modified_date     DATETIME                     DEFAULT NULL COMMENT '최종 수정일시',
+    version                BIGINT              NOT NULL DEFAULT 0 COMMENT '버전',
     delete_yn              TINYINT(1) NOT NULL DEFAULT 0 COMMENT '탈퇴 여부',
     PRIMARY KEY (member_id)
 ) COMMENT '계정';
@@ -34,9 +38,11 @@ CREATE TABLE tbl_posts
     notice_yn          TINYINT(1) NOT NULL DEFAULT 0 COMMENT '공지 여부',
     created_date       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
     last_modified_date DATETIME              DEFAULT NULL COMMENT '최종 수정일시',
+    version            BIGINT       NOT NULL DEFAULT 0 COMMENT '버전',
     delete_yn          TINYINT(1) NOT NULL DEFAULT 0 COMMENT '삭제 여부',
     PRIMARY KEY (post_id),
-    FOREIGN KEY (member_id) REFERENCES tbl_members (member_id)
+    FOREIGN KEY (member_id) REFERENCES tbl_members (member_id),
+    INDEX idx_posts_delete_yn_last_modified_date (delete_yn, last_modified_date)
 ) COMMENT '게시글';
 
 CREATE TABLE tbl_comments
@@ -47,10 +53,12 @@ CREATE TABLE tbl_comments
     content            VARCHAR(255) NOT NULL COMMENT '내용',
     created_date       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
     last_modified_date DATETIME              DEFAULT NULL COMMENT '최종 수정일시',
+    version            BIGINT       NOT NULL DEFAULT 0 COMMENT '버전',
     delete_yn          TINYINT(1) NOT NULL DEFAULT 0 COMMENT '삭제 여부',
     PRIMARY KEY (comment_id),
     FOREIGN KEY (member_id) REFERENCES tbl_members (member_id),
-    FOREIGN KEY (post_id) REFERENCES tbl_posts (post_id)
+    FOREIGN KEY (post_id) REFERENCES tbl_posts (post_id),
+    INDEX idx_comments_delete_yn_last_modified_date (delete_yn, last_modified_date)
 ) COMMENT '댓글';
 
 CREATE TABLE tbl_persistent_logins
@@ -69,9 +77,56 @@ CREATE TABLE tbl_post_attachments
     store_filename     VARCHAR(255) NOT NULL COMMENT '저장 파일명',
     store_file_path    VARCHAR(255) NOT NULL COMMENT '저장 경로',
     file_size          BIGINT       NOT NULL COMMENT '파일 크기',
+    content_hash       VARCHAR(64)           DEFAULT NULL COMMENT '내용 해시(SHA-256)',
     created_date       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
     last_modified_date DATETIME              DEFAULT NULL COMMENT '최종 수정일시',
+    version            BIGINT       NOT NULL DEFAULT 0 COMMENT '버전',
     delete_yn          TINYINT(1) NOT NULL DEFAULT 0 COMMENT '삭제 여부',
     PRIMARY KEY (post_attachment_id),
-    FOREIGN KEY (post_id) REFERENCES tbl_posts (post_id)
-) COMMENT '첨부파일';
\ No newline at end of file
+    FOREIGN KEY (post_id) REFERENCES tbl_posts (post_id),
+    INDEX idx_post_attachments_store_file_path (store_file_path),
+    INDEX idx_post_attachments_delete_yn_last_modified_date (delete_yn, last_modified_date)
+) COMMENT '첨부파일';
+
+CREATE TABLE tbl_file_blobs
+(
+    content_hash       VARCHAR(64)  NOT NULL COMMENT '내용 해시(SHA-256)',
+    store_file_path    VARCHAR(255) NOT NULL COMMENT '저장 경로',
+    file_size          BIGINT       NOT NULL COMMENT '파일 크기',
+    ref_count          BIGINT       NOT NULL DEFAULT 0 COMMENT '참조(첨부파일) 수',
+    created_date       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
+    last_modified_date DATETIME              DEFAULT NULL COMMENT '최종 수정일시',
+    PRIMARY KEY (content_hash),
+    INDEX idx_file_blobs_store_file_path (store_file_path)
+) COMMENT '첨부파일 저장 객체';
+
+CREATE TABLE tbl_storage_tasks
+(
+    storage_task_id    BIGINT       NOT NULL AUTO_INCREMENT COMMENT 'PK',
+    type               VARCHAR(10)  NOT NULL COMMENT '작업 유형',
+    source_path        VARCHAR(255) NOT NULL COMMENT '대상 경로',
+    target_path        VARCHAR(255)          DEFAULT NULL COMMENT '이동할 저장 경로',
+    attempts           INT          NOT NULL DEFAULT 0 COMMENT '실패 횟수',
+    next_attempt_time  DATETIME     NOT NULL COMMENT '다음 시도 일시',
+    created_date       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
+    last_modified_date DATETIME              DEFAULT NULL COMMENT '최종 수정일시',
+    PRIMARY KEY (storage_task_id),
+    INDEX idx_storage_tasks_next_attempt_time (next_attempt_time)
+) COMMENT '저장소 작업';
+
+CREATE TABLE tbl_mail_tasks
+(
+    mail_task_id       BIGINT        NOT NULL AUTO_INCREMENT COMMENT 'PK',
+    type               VARCHAR(20)   NOT NULL COMMENT '메일 유형',
+    recipient          VARCHAR(255)  NOT NULL COMMENT '받는 메일 주소',
+    subject            VARCHAR(255)  NOT NULL COMMENT '제목',
+    content            VARCHAR(2000) NOT NULL COMMENT '본문(암호문)',
+    attempts           INT           NOT NULL DEFAULT 0 COMMENT '실패 횟수',
+    next_attempt_time  DATETIME      NOT NULL COMMENT '다음 시도 일시',
+    lease_expire_time  DATETIME               DEFAULT NULL COMMENT '발송 선점 만료 일시',
+    created_date       DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성일시',
+    last_modified_date DATETIME               DEFAULT NULL COMMENT '최종 수정일시',
+    PRIMARY KEY (mail_task_id),
+    INDEX idx_mail_tasks_next_attempt_time (next_attempt_time),
+    INDEX idx_mail_tasks_recipient_type (recipient, type)
+) COMMENT '메일 발송 작업';
\ No newline at end of file
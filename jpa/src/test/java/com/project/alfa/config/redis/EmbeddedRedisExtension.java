@@ -0,0 +1,59 @@
+package com.project.alfa.config.redis;
+
+import lombok.Getter;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import static com.project.alfa.config.redis.RandomPort.getRandomAvailablePort;
+
+/**
+ * 스프링 컨텍스트 없이 Redis를 사용하는 단위 테스트용 임베디드 Redis
+ * 테스트 클래스 단위로 시작/종료
+ * <pre>
+ * &#64;RegisterExtension
+ * static EmbeddedRedisExtension redis = new EmbeddedRedisExtension();
+ * </pre>
+ */
+@Getter
+public class EmbeddedRedisExtension implements BeforeAllCallback, AfterAllCallback {
+    
+    private RedisServer              redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate      redisTemplate;
+    
+    @Override
+    public void beforeAll(final ExtensionContext context) {
+        int port = getRandomAvailablePort(1024, 49151);
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+    
+    @Override
+    public void afterAll(final ExtensionContext context) {
+        if (connectionFactory != null)
+            connectionFactory.destroy();
+        if (redisServer != null)
+            redisServer.stop();
+    }
+    
+    /**
+     * 실행 중인 Redis가 없는 포트로 연결, Redis 장애 상황 재현용
+     *
+     * @return 연결 팩토리, 사용 후 destroy() 필요
+     */
+    public static LettuceConnectionFactory unavailableConnectionFactory() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", getRandomAvailablePort(1024, 49151)));
+        connectionFactory.afterPropertiesSet();
+        return connectionFactory;
+    }
+    
+}
@@ -6,6 +6,8 @@ import com.project.alfa.config.security.WithCustomMockUser;
 import com.project.alfa.entities.AuthInfo;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.LockAcquisitionException;
 import com.project.alfa.entities.Role;
 import com.project.alfa.repositories.dto.SearchParam;
 import com.project.alfa.services.AttachmentService;
@@ -25,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -40,6 +43,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Import(TestSecurityConfig.class)
@@ -347,4 +352,33 @@ class PostApiControllerTest {
         verify(attachmentService, times(1)).deleteAllFilesByIds(anyList(), anyLong());
     }
     
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("게시글 삭제, 락 점유 중")
+    @WithCustomMockUser
+    void deletePost_lockRejected() {
+        //Given
+        doThrow(new LockAcquisitionException("Lock is held by another request: [post:1]", ErrorCode.LOCK_REJECTED))
+                .when(postService).delete(anyLong(), anyLong());
+        
+        //When
+        ResultActions actions = mockMvc.perform(post("/api/posts/delete")
+                                                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                                        .content(gson.toJson(new PostRequestDto(1L,
+                                                                                                1L,
+                                                                                                null,
+                                                                                                null,
+                                                                                                false))));
+        
+        //Then
+        actions.andExpect(status().isTooManyRequests())
+               .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+               .andExpect(jsonPath("$.code").value(ErrorCode.LOCK_REJECTED.getCode()))
+               .andDo(print());
+        
+        verify(postService, times(1)).delete(anyLong(), anyLong());
+        verify(attachmentService, never()).deleteAllFilesByIds(anyList(), anyLong());
+    }
+    
 }
\ No newline at end of file
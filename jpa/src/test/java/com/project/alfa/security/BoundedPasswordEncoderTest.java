@@ -0,0 +1,96 @@
+package com.project.alfa.security;
+
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.ServerBusyException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    
+    BoundedPasswordEncoder passwordEncoder;
+    ExecutorService        executorService = Executors.newFixedThreadPool(2);
+    
+    @AfterEach
+    void clear() {
+        executorService.shutdownNow();
+        if (passwordEncoder != null)
+            passwordEncoder.destroy();
+    }
+    
+    @Test
+    @DisplayName("비밀번호 해싱 및 검증")
+    void encodeAndMatches() {
+        //Given
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1);
+        
+        //When
+        String encodedPassword = passwordEncoder.encode("Password1!@");
+        
+        //Then
+        assertThat(passwordEncoder.matches("Password1!@", encodedPassword)).isTrue();
+        assertThat(passwordEncoder.matches("Password2!@", encodedPassword)).isFalse();
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("비밀번호 해싱, 스레드 풀 및 대기 큐 포화")
+    void encode_saturated() {
+        //Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(started, release), 1, 1);
+        
+        executorService.execute(() -> passwordEncoder.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+        executorService.execute(() -> passwordEncoder.encode("queued"));
+        while (passwordEncoder.getQueueSize() < 1)
+            Thread.sleep(10);
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected"))
+                .isInstanceOf(ServerBusyException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.SERVER_BUSY);
+        
+        release.countDown();
+    }
+    
+    static class BlockingPasswordEncoder implements PasswordEncoder {
+        
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+        
+        BlockingPasswordEncoder(final CountDownLatch started, final CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+        
+        @SneakyThrows(InterruptedException.class)
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return rawPassword.toString();
+        }
+        
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+        
+    }
+    
+}
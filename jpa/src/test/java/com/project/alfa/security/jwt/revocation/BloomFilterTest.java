@@ -0,0 +1,43 @@
+package com.project.alfa.security.jwt.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+    
+    @Test
+    @DisplayName("Bloom 필터, 추가한 항목은 항상 양성")
+    void mightContain() {
+        //Given
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        
+        //When
+        for (int i = 0; i < 10000; i++)
+            bloomFilter.put("token:" + i);
+        
+        //Then
+        for (int i = 0; i < 10000; i++)
+            assertThat(bloomFilter.mightContain("token:" + i)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Bloom 필터, 예상 항목 수 이내에서 오탐률 유지")
+    void mightContain_falsePositiveRate() {
+        //Given
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++)
+            bloomFilter.put("token:" + i);
+        
+        //When
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++)
+            if (bloomFilter.mightContain("user:" + i))
+                falsePositives++;
+        
+        //Then
+        assertThat(falsePositives).isLessThan(2000);
+    }
+    
+}
@@ -0,0 +1,97 @@
+package com.project.alfa.security.jwt.revocation;
+
+import com.project.alfa.config.redis.EmbeddedRedisExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+    
+    @RegisterExtension
+    static EmbeddedRedisExtension redis = new EmbeddedRedisExtension();
+    
+    @Test
+    @DisplayName("토큰 폐기, 폐기 기준 만료 시각 이하인 토큰만 폐기")
+    void revoke() {
+        //Given
+        TokenRevocationList revocationList = new TokenRevocationList(redis.getRedisTemplate(), 1000, 0.01, false);
+        long                until          = System.currentTimeMillis() + 60000;
+        
+        //When
+        revocationList.revoke("user:user1@mail.com", until);
+        
+        //Then
+        assertThat(revocationList.isRevoked("user:user1@mail.com", until - 1000)).isTrue();
+        assertThat(revocationList.isRevoked("user:user1@mail.com", until)).isTrue();
+        assertThat(revocationList.isRevoked("user:user1@mail.com", until + 1000)).isFalse();
+        assertThat(revocationList.getRevokedCount()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("토큰 폐기 확인, Bloom 필터 음성이면 Redis 조회 없음")
+    void isRevoked_bloomNegative() {
+        //Given
+        LettuceConnectionFactory unavailable = EmbeddedRedisExtension.unavailableConnectionFactory();
+        TokenRevocationList revocationList = new TokenRevocationList(new StringRedisTemplate(unavailable), 1000,
+                                                                     0.01, false);
+        
+        //When
+        boolean revoked = revocationList.isRevoked("token:" + System.nanoTime(), System.currentTimeMillis());
+        
+        //Then
+        assertThat(revoked).isFalse();
+        assertThat(revocationList.getLookupCount()).isZero();
+        
+        unavailable.destroy();
+    }
+    
+    @Test
+    @DisplayName("토큰 폐기, 다른 노드는 전파 메시지 수신 또는 다시 적재 후 반영")
+    void revoke_otherNode() {
+        //Given
+        TokenRevocationList node1 = new TokenRevocationList(redis.getRedisTemplate(), 1000, 0.01, false);
+        TokenRevocationList node2 = new TokenRevocationList(redis.getRedisTemplate(), 1000, 0.01, false);
+        TokenRevocationList node3 = new TokenRevocationList(redis.getRedisTemplate(), 1000, 0.01, false);
+        long                until = System.currentTimeMillis() + 60000;
+        
+        //When
+        node1.revoke("token:1", until);
+        boolean beforeReload = node2.isRevoked("token:1", until);
+        node2.reload();
+        node3.onMessage(new DefaultMessage(TokenRevocationList.REVOKE_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                                           "token:1".getBytes(StandardCharsets.UTF_8)), null);
+        
+        //Then
+        assertThat(beforeReload).isFalse();
+        assertThat(node2.isRevoked("token:1", until)).isTrue();
+        assertThat(node3.isRevoked("token:1", until)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("폐기 목록 다시 적재, 기준 시각이 지난 항목 정리")
+    void reload_expired() {
+        //Given
+        TokenRevocationList revocationList = new TokenRevocationList(redis.getRedisTemplate(), 1000, 0.01, false);
+        revocationList.revoke("token:expired", System.currentTimeMillis() - 1000);
+        
+        //When
+        revocationList.reload();
+        
+        //Then
+        byte[] key   = "token-revocation".getBytes(StandardCharsets.UTF_8);
+        byte[] entry = "token:expired".getBytes(StandardCharsets.UTF_8);
+        Double score = redis.getRedisTemplate().execute(
+                (RedisCallback<Double>) connection -> connection.zSetCommands().zScore(key, entry));
+        assertThat(score).isNull();
+        assertThat(revocationList.isRevoked("token:expired", 0)).isFalse();
+    }
+    
+}
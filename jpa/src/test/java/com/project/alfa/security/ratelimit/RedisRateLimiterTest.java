@@ -0,0 +1,90 @@
+package com.project.alfa.security.ratelimit;
+
+import com.project.alfa.config.redis.EmbeddedRedisExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisRateLimiterTest {
+    
+    @RegisterExtension
+    static EmbeddedRedisExtension redis = new EmbeddedRedisExtension();
+    
+    @Test
+    @DisplayName("Redis 요청 제한, 용량 초과 시 남은 시간 반환 및 버킷 원자적 차감")
+    void tryAcquire() {
+        //Given
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(redis.getRedisTemplate(), new LocalRateLimiter(100), 5000);
+        RateLimit        ip          = new RateLimit("test:ip:127.0.0.1", 3, 60000);
+        RateLimit        username    = new RateLimit("test:username:user1@mail.com", 1, 60000);
+        
+        //When
+        long first    = rateLimiter.tryAcquire(Arrays.asList(ip, username));
+        long second   = rateLimiter.tryAcquire(Arrays.asList(ip, username));
+        long ipOnly   = rateLimiter.tryAcquire(Collections.singletonList(ip));
+        long third    = rateLimiter.tryAcquire(Collections.singletonList(ip));
+        long rejected = rateLimiter.tryAcquire(Collections.singletonList(ip));
+        
+        //Then
+        assertThat(first).isZero();
+        assertThat(second).isPositive().isLessThanOrEqualTo(60000);
+        assertThat(ipOnly).isZero();
+        assertThat(third).isZero();
+        assertThat(rejected).isPositive().isLessThanOrEqualTo(20000);
+    }
+    
+    @Test
+    @DisplayName("Redis 요청 제한, 반환한 토큰은 다시 획득 가능하고 용량을 넘지 않음")
+    void release() {
+        //Given
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(redis.getRedisTemplate(), new LocalRateLimiter(100), 5000);
+        List<RateLimit>  limits      = Collections.singletonList(new RateLimit("test:release", 1, 60000));
+        List<RateLimit>  unused      = Collections.singletonList(new RateLimit("test:release:unused", 1, 60000));
+        
+        //When
+        long first = rateLimiter.tryAcquire(limits);
+        rateLimiter.release(limits);
+        long second = rateLimiter.tryAcquire(limits);
+        rateLimiter.release(limits);
+        rateLimiter.release(limits);
+        long third    = rateLimiter.tryAcquire(limits);
+        long rejected = rateLimiter.tryAcquire(limits);
+        rateLimiter.release(unused);
+        
+        //Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(rejected).isPositive();
+        assertThat(redis.getRedisTemplate().hasKey("rate-limit:test:release:unused")).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Redis 요청 제한, Redis 장애 시 로컬 요청 제한으로 대체")
+    void tryAcquire_fallback() {
+        //Given
+        LettuceConnectionFactory unavailable = EmbeddedRedisExtension.unavailableConnectionFactory();
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(new StringRedisTemplate(unavailable),
+                                                            new LocalRateLimiter(100), 5000);
+        List<RateLimit> limits = Collections.singletonList(new RateLimit("test:fallback", 1, 60000));
+        
+        //When
+        long first  = rateLimiter.tryAcquire(limits);
+        long second = rateLimiter.tryAcquire(limits);
+        
+        //Then
+        assertThat(first).isZero();
+        assertThat(second).isPositive();
+        
+        unavailable.destroy();
+    }
+    
+}
@@ -2,6 +2,7 @@ package com.project.alfa.services;
 
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Attachment;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
@@ -49,8 +50,8 @@ import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -82,6 +83,8 @@ class AttachmentServiceConcurrencyTest {
     //PostRepositoryV3       postRepository;
     @Autowired
     FileUtil                   fileUtil;
+    @Autowired
+    StorageTaskService         storageTaskService;
     @PersistenceContext
     EntityManager              em;
     @Autowired
@@ -170,7 +173,8 @@ class AttachmentServiceConcurrencyTest {
                                                                                 .getBytes());
                     multipartFiles.add(multipartFile);
                 }
-                List<UploadFile> uploadFiles = fileUtil.storeFiles(multipartFiles);
+                List<UploadFile> uploadFiles = fileUtil.digestFiles(multipartFiles);
+                fileUtil.storeFiles(multipartFiles, uploadFiles);
                 List<Attachment> attachments = uploadFilesToAttachments(post, uploadFiles);
                 attachments.forEach(attachment -> em.persist(attachment));
                 transactionManager.commit(transactionStatus);
@@ -202,6 +206,7 @@ class AttachmentServiceConcurrencyTest {
         }
         countDownLatch.await();
         executorService.shutdown();
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
         clear();
         
         //Then
@@ -3,9 +3,11 @@ package com.project.alfa.services;
 import com.project.alfa.services.dto.CommentRequestDto;
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Comment;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
+import com.project.alfa.repositories.v1.AttachmentRepositoryV1;
 import com.project.alfa.repositories.v1.CommentRepositoryV1;
 import com.project.alfa.repositories.v1.MemberRepositoryV1;
 import com.project.alfa.repositories.v1.PostRepositoryV1;
@@ -19,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
@@ -29,10 +32,13 @@ import org.springframework.transaction.support.TransactionTemplate;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -40,8 +46,8 @@ import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -54,6 +60,8 @@ class CommentServiceConcurrencyTest {
     @Autowired
     CommentService             commentService;
     @Autowired
+    AttachmentRepositoryV1     attachmentRepository;
+    @Autowired
     CommentRepositoryV1        commentRepository;
     //@Autowired
     //CommentRepositoryV2 commentRepository;
@@ -82,6 +90,7 @@ class CommentServiceConcurrencyTest {
         em.clear();
     }
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         ExecutorService executorService = Executors.newFixedThreadPool(1);
@@ -89,6 +98,7 @@ class CommentServiceConcurrencyTest {
             TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
             transactionTemplate.execute(status -> {
                 try {
+                    attachmentRepository.deleteAll();
                     commentRepository.deleteAll();
                     postRepository.deleteAll();
                     memberRepository.deleteAll();
@@ -100,11 +110,12 @@ class CommentServiceConcurrencyTest {
             });
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     @SneakyThrows(InterruptedException.class)
     @Test
-    @DisplayName("댓글 정보 수정, 멀티 스레드 락 적용")
+    @DisplayName("댓글 정보 수정, 멀티 스레드 낙관적 락 적용")
     void update_multiThreads() {
         //Given
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT + 1);
@@ -137,39 +148,53 @@ class CommentServiceConcurrencyTest {
         
         Comment comment       = commentRef.get();
         Long    id            = comment.getId();
+        Long    writerId      = comment.getWriter().getId();
+        Long    postId        = comment.getPost().getId();
+        Long    beforeVersion = comment.getVersion();
         String  beforeContent = comment.getContent();
         
         String afterContent;
         do {
             afterContent = dummy.generateRandomString(dummy.generateRandomNumber(1, 100));
-        } while (beforeContent.equals(afterContent));
-        
-        CommentRequestDto dto = new CommentRequestDto(id,
-                                                      comment.getWriter().getId(),
-                                                      comment.getPost().getId(),
-                                                      afterContent);
+        } while (beforeContent.startsWith(afterContent));
         
         //When
+        AtomicInteger successCount    = new AtomicInteger();
+        AtomicInteger conflictCount   = new AtomicInteger();
+        Set<String>   updatedContents = ConcurrentHashMap.newKeySet();
+        long          startTime       = System.currentTimeMillis();
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
+            //스레드마다 다른 내용으로 수정, 성공한 수정마다 버전 증가
+            CommentRequestDto dto = new CommentRequestDto(id, writerId, postId, afterContent + "-" + i);
             executorService.execute(() -> {
                 try {
                     commentService.update(dto);
-                } catch (RuntimeException e) {
-                    log.info("[{}-thread] 락 획득 실패: {}", threadIndex, e.getMessage());
+                    updatedContents.add(dto.getContent());
+                    successCount.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    conflictCount.incrementAndGet();
+                    log.info("[{}-thread] 재시도 횟수 초과: {}", threadIndex, e.getMessage());
                 } finally {
                     countDownLatch.countDown();
                 }
             });
         }
         countDownLatch.await();
+        log.info("{} threads, {} succeeded, elapsed: {}ms",
+                 THREAD_COUNT, successCount.get(), System.currentTimeMillis() - startTime);
         executorService.shutdown();
         clear();
         
         //Then
         Comment findComment = em.find(Comment.class, id);
         
-        assertThat(findComment.getContent()).isEqualTo(afterContent);
+        //재시도 횟수를 초과한 충돌 외의 실패 없음
+        assertThat(successCount.get()).isPositive();
+        assertThat(successCount.get() + conflictCount.get()).isEqualTo(THREAD_COUNT);
+        //갱신 손실 없음: 성공한 수정마다 버전이 한 번씩 증가하고, 최종 내용은 성공한 수정 중 하나
+        assertThat(findComment.getVersion()).isEqualTo(beforeVersion + successCount.get());
+        assertThat(updatedContents).contains(findComment.getContent());
         assertThat(findComment.getContent()).isNotEqualTo(beforeContent);
     }
     
@@ -0,0 +1,233 @@
+package com.project.alfa.services;
+
+import com.project.alfa.config.DummyGenerator;
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.Attachment;
+import com.project.alfa.entities.FileBlob;
+import com.project.alfa.entities.Post;
+import com.project.alfa.entities.StorageTask;
+import com.project.alfa.entities.UploadFile;
+import com.project.alfa.repositories.v1.FileBlobRepositoryV1;
+import com.project.alfa.repositories.v1.StorageTaskRepositoryV1;
+import com.project.alfa.services.dto.AttachmentResponseDto;
+import com.project.alfa.utils.FileUtil;
+import com.project.alfa.utils.storage.StorageBackend;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@Import(TestConfig.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FileBlobServiceTest {
+    
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    FileBlobService            fileBlobService;
+    @SpyBean
+    FileBlobRepositoryV1       fileBlobRepository;
+    @Autowired
+    StorageTaskRepositoryV1    storageTaskRepository;
+    @Autowired
+    FileUtil                   fileUtil;
+    @Autowired
+    StorageBackend             storageBackend;
+    @Autowired
+    DummyGenerator             dummy;
+    @PersistenceContext
+    EntityManager              em;
+    TransactionTemplate transactionTemplate;
+    List<String>        storeFilePaths;
+    
+    @AfterEach
+    void clear() {
+        //커밋/롤백 후 저장소 처리를 확인하기 위해 테스트 트랜잭션 없이 실행하므로 커밋한 데이터 삭제
+        fileUtil.deleteFilesByPaths(storeFilePaths);
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("DELETE FROM FileBlob").executeUpdate();
+            em.createQuery("DELETE FROM StorageTask").executeUpdate();
+        });
+    }
+    
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        storeFilePaths = new ArrayList<>();
+    }
+    
+    private List<MultipartFile> createMultipartFiles(final byte[] content) {
+        return Collections.singletonList(new MockMultipartFile("filename", "originalFilename.txt", "text/plain",
+                                                               content));
+    }
+    
+    /**
+     * 저장 경로와 임시 경로를 테스트 종료 후 삭제할 경로로 등록
+     */
+    private <T extends UploadFile> T track(final T uploadFile) {
+        storeFilePaths.add(uploadFile.getStoreFilePath());
+        storeFilePaths.add(fileUtil.getStagingFilePath(uploadFile));
+        return uploadFile;
+    }
+    
+    private Optional<FileBlob> findBlob(final String contentHash) {
+        return transactionTemplate.execute(status -> fileBlobRepository.findById(contentHash));
+    }
+    
+    private List<StorageTask> findDueTasks() {
+        return transactionTemplate.execute(
+                status -> storageTaskRepository.findAllDue(LocalDateTime.now().plusDays(1), 10));
+    }
+    
+    @Test
+    @DisplayName("다중 파일 저장, 커밋 후 임시 파일을 저장 경로로 이동")
+    void storeFiles_commit() {
+        //Given
+        List<MultipartFile> multipartFiles = createMultipartFiles(UUID.randomUUID().toString().getBytes());
+        
+        //When
+        List<UploadFile> uploadFiles = fileBlobService.storeFiles(multipartFiles, files -> files);
+        UploadFile       uploadFile  = track(uploadFiles.get(0));
+        
+        //Then
+        assertThat(storageBackend.getObject(uploadFile.getStoreFilePath())).isNotNull();
+        assertThat(storageBackend.getObject(fileUtil.getStagingFilePath(uploadFile))).isNull();
+        assertThat(findBlob(uploadFile.getContentHash())).isPresent();
+        assertThat(findDueTasks()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("다중 파일 저장, 호출한 트랜잭션 롤백 시 임시 파일 삭제")
+    void storeFiles_rollback() {
+        //Given
+        List<MultipartFile> multipartFiles = createMultipartFiles(UUID.randomUUID().toString().getBytes());
+        
+        //When
+        UploadFile uploadFile = transactionTemplate.execute(status -> {
+            List<UploadFile> uploadFiles = fileBlobService.storeFiles(multipartFiles, files -> files);
+            assertThat(storageBackend.getObject(fileUtil.getStagingFilePath(uploadFiles.get(0)))).isNotNull();
+            status.setRollbackOnly();
+            return track(uploadFiles.get(0));
+        });
+        
+        //Then
+        assertThat(storageBackend.getObject(uploadFile.getStoreFilePath())).isNull();
+        assertThat(storageBackend.getObject(fileUtil.getStagingFilePath(uploadFile))).isNull();
+        assertThat(findBlob(uploadFile.getContentHash())).isNotPresent();
+    }
+    
+    @Test
+    @DisplayName("스트림 파일 저장, 첨부파일 정보 저장 실패 시 임시 파일 삭제")
+    void storeFile_saverFailed() {
+        //Given
+        byte[]           content     = UUID.randomUUID().toString().getBytes();
+        List<UploadFile> uploadFiles = new ArrayList<>();
+        
+        //When
+        assertThatThrownBy(() -> fileBlobService.storeFile("originalFilename.txt", "text/plain",
+                                                           new ByteArrayInputStream(content), uploadFile -> {
+                    uploadFiles.add(track(uploadFile));
+                    throw new IllegalStateException();
+                })).isInstanceOf(IllegalStateException.class);
+        
+        //Then
+        UploadFile uploadFile = uploadFiles.get(0);
+        
+        assertThat(storageBackend.getObject(uploadFile.getStoreFilePath())).isNull();
+        assertThat(storageBackend.getObject(fileUtil.getStagingFilePath(uploadFile))).isNull();
+        assertThat(findBlob(uploadFile.getContentHash())).isNotPresent();
+    }
+    
+    @SneakyThrows(IOException.class)
+    @Test
+    @DisplayName("저장 경로로 이동하기 전 다운로드, 임시 경로에서 조회")
+    void readBeforePromote() {
+        //Given
+        byte[]              content        = UUID.randomUUID().toString().getBytes();
+        List<MultipartFile> multipartFiles = createMultipartFiles(content);
+        UploadFile          uploadFile     = track(fileUtil.digestFiles(multipartFiles).get(0));
+        Post                post           = dummy.createPosts(dummy.createMembers(1), 1).get(0);
+        fileUtil.stageFiles(multipartFiles, Collections.singletonList(uploadFile));
+        
+        Attachment attachment = Attachment.builder()
+                                          .post(post)
+                                          .originalFilename(uploadFile.getOriginalFilename())
+                                          .storeFilename(uploadFile.getStoreFilename())
+                                          .storeFilePath(uploadFile.getStoreFilePath())
+                                          .fileSize(uploadFile.getFileSize())
+                                          .build();
+        
+        //When
+        AttachmentResponseDto dto      = new AttachmentResponseDto(attachment);
+        Resource              resource = fileUtil.readAttachmentFileAsResource(dto);
+        Resource              range    = fileUtil.readAttachmentFileAsResource(dto, 0, 3);
+        
+        //Then
+        assertThat(storageBackend.getObject(uploadFile.getStoreFilePath())).isNull();
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(inputStream)).isEqualTo(content);
+        }
+        try (InputStream inputStream = range.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(inputStream)).isEqualTo(Arrays.copyOfRange(content, 0, 4));
+        }
+    }
+    
+    @Test
+    @DisplayName("다중 파일 저장, 사전 조회 이후 저장 객체가 삭제되었으면 업로드 후 다시 시도")
+    void storeFiles_blobRemoved() {
+        //Given
+        List<MultipartFile> multipartFiles = createMultipartFiles(UUID.randomUUID().toString().getBytes());
+        String              contentHash    = fileUtil.digestFiles(multipartFiles).get(0).getContentHash();
+        String              removedPath    = "/19700101/" + UUID.randomUUID() + ".txt";
+        
+        //사전 조회에서만 저장된 내용으로 조회되고 참조 획득 시에는 없는 상태
+        doReturn(Optional.of(new FileBlob(contentHash, removedPath, 1L, 1L))).doCallRealMethod()
+                                                                             .when(fileBlobRepository)
+                                                                             .findById(contentHash);
+        
+        //When
+        List<UploadFile> uploadFiles = fileBlobService.storeFiles(multipartFiles, files -> files);
+        UploadFile       uploadFile  = track(uploadFiles.get(0));
+        
+        //Then
+        FileBlob blob = findBlob(contentHash).orElseThrow(IllegalStateException::new);
+        
+        assertThat(uploadFile.getStoreFilePath()).isNotEqualTo(removedPath).isEqualTo(blob.getStoreFilePath());
+        assertThat(blob.getRefCount()).isEqualTo(1L);
+        assertThat(storageBackend.getObject(uploadFile.getStoreFilePath())).isNotNull();
+        assertThat(storageBackend.getObject(fileUtil.getStagingFilePath(uploadFile))).isNull();
+    }
+    
+}
@@ -2,9 +2,13 @@ package com.project.alfa.services;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.config.security.WithCustomMockUser;
+import com.project.alfa.error.exception.InvalidValueException;
 import com.project.alfa.security.CustomUserDetails;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Date;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -27,7 +32,9 @@ import static org.assertj.core.api.Assertions.*;
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class JwtServiceTest {
     
-    static final String USERNAME_KEY = "USERNAME";
+    static final String USERNAME_KEY         = "USERNAME";
+    static final String FAMILY_KEY           = "FAMILY";
+    static final String REFRESH_TOKEN_PREFIX = "refresh-token:";
     @Value("${jwt.secret}")
     String secret;
     @Value("${jwt.issuer}")
@@ -83,16 +90,33 @@ class JwtServiceTest {
         String refreshToken = jwtService.generateRefreshToken(userDetails);
         
         //Then
-        String username = JWT.require(algorithm)
-                             .withIssuer(issuer)
-                             .build()
-                             .verify(refreshToken)
-                             .getClaim(USERNAME_KEY)
-                             .asString();
-        String storedRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
+        DecodedJWT decodedJWT = JWT.require(algorithm)
+                                   .withIssuer(issuer)
+                                   .build()
+                                   .verify(refreshToken);
+        String family = decodedJWT.getClaim(FAMILY_KEY).asString();
         
-        assertThat(userDetails.getUsername()).isEqualTo(username);
-        assertThat(refreshToken).isEqualTo(storedRefreshToken);
+        assertThat(decodedJWT.getClaim(USERNAME_KEY).asString()).isEqualTo(userDetails.getUsername());
+        assertThat(decodedJWT.getId()).isNotNull();
+        assertThat(redisTemplate.opsForHash().hasKey(refreshTokenKey(userDetails), family)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("JWT Refresh 토큰 생성, 기기(로그인)별 토큰 패밀리 유지")
+    @WithCustomMockUser
+    void generateRefreshToken_multipleDevices() {
+        //Given
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                 .getAuthentication()
+                                                                                 .getPrincipal();
+        
+        //When
+        String refreshToken1 = jwtService.generateRefreshToken(userDetails);
+        String refreshToken2 = jwtService.generateRefreshToken(userDetails);
+        
+        //Then
+        assertThat(jwtService.rotateRefreshToken(refreshToken1, userDetails)).isNotNull();
+        assertThat(jwtService.rotateRefreshToken(refreshToken2, userDetails)).isNotNull();
     }
     
     @Test
@@ -159,49 +183,149 @@ class JwtServiceTest {
     }
     
     @Test
-    @DisplayName("JWT Access 토큰 Refresh")
+    @DisplayName("검증된 JWT 토큰으로 아이디 조회 및 검증")
+    @WithCustomMockUser
+    void validateToken_decodedToken() {
+        //Given
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                 .getAuthentication()
+                                                                                 .getPrincipal();
+        String token = JWT.create()
+                          .withClaim(USERNAME_KEY, userDetails.getUsername())
+                          .withExpiresAt(new Date(System.currentTimeMillis() + (1000 * accessExpiration)))
+                          .withIssuer(issuer)
+                          .sign(algorithm);
+        
+        //When
+        DecodedJWT decodedJWT = jwtService.verifyToken(token);
+        
+        //Then
+        assertThat(jwtService.getUsername(decodedJWT)).isEqualTo(userDetails.getUsername());
+        assertThat(jwtService.validateToken(decodedJWT, userDetails)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("JWT 토큰 검증, 잘못된 서명")
+    void verifyToken_invalidSignature() {
+        //Given
+        String token = JWT.create()
+                          .withClaim(USERNAME_KEY, "user1@mail.com")
+                          .withExpiresAt(new Date(System.currentTimeMillis() + (1000 * accessExpiration)))
+                          .withIssuer(issuer)
+                          .sign(Algorithm.HMAC256(secret + "-invalid"));
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> jwtService.verifyToken(token)).isInstanceOf(SignatureVerificationException.class);
+    }
+    
+    @Test
+    @DisplayName("무상태 인증, JWT 토큰 클레임으로 인증 정보 생성")
+    @WithCustomMockUser
+    void getUserDetails() {
+        //Given
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                 .getAuthentication()
+                                                                                 .getPrincipal();
+        DecodedJWT decodedJWT = jwtService.verifyToken(jwtService.generateAccessToken(userDetails));
+        
+        //When
+        CustomUserDetails userDetailsFromToken = jwtService.getUserDetails(decodedJWT);
+        
+        //Then
+        assertThat(userDetailsFromToken.getId()).isEqualTo(userDetails.getId());
+        assertThat(userDetailsFromToken.getUsername()).isEqualTo(userDetails.getUsername());
+        assertThat(userDetailsFromToken.getNickname()).isEqualTo(userDetails.getNickname());
+        assertThat(userDetailsFromToken.getRole()).isEqualTo(userDetails.getRole());
+        assertThat(userDetailsFromToken.isAuth()).isEqualTo(userDetails.isAuth());
+        assertThat(userDetailsFromToken.getPassword()).isNull();
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("무상태 인증, 토큰 무효화 후 JWT 토큰 클레임 사용 불가")
     @WithCustomMockUser
-    void refreshAccessToken() {
+    void getUserDetails_revoked() {
         //Given
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
                                                                                  .getAuthentication()
                                                                                  .getPrincipal();
-        String refreshToken       = jwtService.generateRefreshToken(userDetails);
-        String storedRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
-        if (!refreshToken.equals(storedRefreshToken))
-            fail("Invalid Value");
+        DecodedJWT decodedJWT = jwtService.verifyToken(jwtService.generateAccessToken(userDetails));
         
         //When
-        String accessToken = jwtService.refreshAccessToken(refreshToken, userDetails);
+        jwtService.revokeTokens(userDetails.getUsername());
         
         //Then
-        assertThat(accessToken).isNotNull();
+        assertThat(jwtService.getUserDetails(decodedJWT)).isNull();
+        Thread.sleep(1);    //무효화 시각(ms) 이후 발급된 토큰의 클레임은 사용 가능
+        assertThat(jwtService.getUserDetails(jwtService.verifyToken(jwtService.generateAccessToken(userDetails))))
+                .isNotNull();
     }
     
     @Test
-    @DisplayName("JWT Access 토큰 Refresh, 알 수 없는 토큰")
+    @DisplayName("JWT Refresh 토큰 교체")
     @WithCustomMockUser
-    void refreshAccessToken_unknownToken() {
+    void rotateRefreshToken() {
+        //Given
+        CustomUserDetails userDetails  = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                  .getAuthentication()
+                                                                                  .getPrincipal();
+        String            refreshToken = jwtService.generateRefreshToken(userDetails);
+        
+        //When
+        String rotatedRefreshToken = jwtService.rotateRefreshToken(refreshToken, userDetails);
+        
+        //Then
+        DecodedJWT before = jwtService.verifyToken(refreshToken);
+        DecodedJWT after  = jwtService.verifyToken(rotatedRefreshToken);
+        
+        assertThat(after.getClaim(FAMILY_KEY).asString()).isEqualTo(before.getClaim(FAMILY_KEY).asString());
+        assertThat(after.getId()).isNotEqualTo(before.getId());
+        assertThat(jwtService.rotateRefreshToken(rotatedRefreshToken, userDetails)).isNotNull();
+    }
+    
+    @Test
+    @DisplayName("JWT Refresh 토큰 교체, 이미 교체된 토큰 재사용 시 토큰 패밀리 폐기")
+    @WithCustomMockUser
+    void rotateRefreshToken_reused() {
+        //Given
+        CustomUserDetails userDetails         = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                         .getAuthentication()
+                                                                                         .getPrincipal();
+        String            refreshToken        = jwtService.generateRefreshToken(userDetails);
+        String            rotatedRefreshToken = jwtService.rotateRefreshToken(refreshToken, userDetails);
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(refreshToken, userDetails))
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Invalid Refresh Token");
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(rotatedRefreshToken, userDetails))
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Invalid Refresh Token");
+    }
+    
+    @Test
+    @DisplayName("JWT Refresh 토큰 교체, 알 수 없는 토큰")
+    @WithCustomMockUser
+    void rotateRefreshToken_unknownToken() {
         //Given
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
                                                                                  .getAuthentication()
                                                                                  .getPrincipal();
-        String refreshToken       = jwtService.generateRefreshToken(userDetails);
-        String storedRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
-        if (!refreshToken.equals(storedRefreshToken))
-            fail("Invalid Value");
         String unknownToken = JWT.create()
                                  .withClaim(USERNAME_KEY, "user2@mail.com")
                                  .withExpiresAt(new Date(System.currentTimeMillis() + (1000 * refreshExpiration)))
                                  .withIssuer(issuer)
                                  .sign(algorithm);
         
-        
         //When
         
         //Then
-        assertThatThrownBy(() -> jwtService.refreshAccessToken(unknownToken, userDetails))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(unknownToken, userDetails))
+                .isInstanceOf(InvalidValueException.class)
                 .hasMessage("Invalid Refresh Token");
     }
     
@@ -232,18 +356,87 @@ class JwtServiceTest {
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
                                                                                  .getAuthentication()
                                                                                  .getPrincipal();
-        String refreshToken             = jwtService.generateRefreshToken(userDetails);
-        String beforeStoredRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
-        if (!refreshToken.equals(beforeStoredRefreshToken))
-            fail("Invalid Value");
+        String refreshToken      = jwtService.generateRefreshToken(userDetails);
+        String otherRefreshToken = jwtService.generateRefreshToken(userDetails);
         
         //When
         jwtService.deleteRefreshToken(refreshToken);
         
         //Then
-        String afterStoredRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(refreshToken, userDetails))
+                .isInstanceOf(InvalidValueException.class);
+        assertThat(jwtService.rotateRefreshToken(otherRefreshToken, userDetails)).isNotNull();
+    }
+    
+    @Test
+    @DisplayName("모든 기기 로그아웃")
+    @WithCustomMockUser
+    void revokeAllTokens() {
+        //Given
+        CustomUserDetails userDetails   = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                   .getAuthentication()
+                                                                                   .getPrincipal();
+        String            refreshToken1 = jwtService.generateRefreshToken(userDetails);
+        String            refreshToken2 = jwtService.generateRefreshToken(userDetails);
+        DecodedJWT        accessToken   = jwtService.verifyToken(jwtService.generateAccessToken(userDetails));
         
-        assertThat(afterStoredRefreshToken).isNull();
+        //When
+        jwtService.revokeAllTokens(userDetails.getUsername());
+        
+        //Then
+        assertThat(redisTemplate.hasKey(refreshTokenKey(userDetails))).isFalse();
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(refreshToken1, userDetails))
+                .isInstanceOf(InvalidValueException.class);
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(refreshToken2, userDetails))
+                .isInstanceOf(InvalidValueException.class);
+        assertThat(jwtService.getUserDetails(accessToken)).isNull();
+    }
+    
+    @Test
+    @DisplayName("JWT Access 토큰 폐기(로그아웃)")
+    @WithCustomMockUser
+    void revokeAccessToken() {
+        //Given
+        CustomUserDetails userDetails  = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                  .getAuthentication()
+                                                                                  .getPrincipal();
+        String            accessToken1 = jwtService.generateAccessToken(userDetails);
+        String            accessToken2 = jwtService.generateAccessToken(userDetails);
+        
+        //When
+        jwtService.revokeAccessToken(accessToken1);
+        
+        //Then
+        assertThat(jwtService.isRevoked(jwtService.verifyToken(accessToken1))).isTrue();
+        assertThat(jwtService.isRevoked(jwtService.verifyToken(accessToken2))).isFalse();
+    }
+    
+    @Test
+    @DisplayName("모든 기기 로그아웃, 이전에 발급된 JWT Access 토큰 폐기")
+    @WithCustomMockUser
+    void revokeAllTokens_accessToken() {
+        //Given
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                 .getAuthentication()
+                                                                                 .getPrincipal();
+        String issuedBefore = JWT.create()
+                                 .withClaim(USERNAME_KEY, userDetails.getUsername())
+                                 .withJWTId(UUID.randomUUID().toString())
+                                 .withExpiresAt(new Date(System.currentTimeMillis() + 1000 * accessExpiration - 2000))
+                                 .withIssuer(issuer)
+                                 .sign(algorithm);
+        
+        //When
+        jwtService.revokeAllTokens(userDetails.getUsername());
+        String issuedAfter = jwtService.generateAccessToken(userDetails);
+        
+        //Then
+        assertThat(jwtService.isRevoked(jwtService.verifyToken(issuedBefore))).isTrue();
+        assertThat(jwtService.isRevoked(jwtService.verifyToken(issuedAfter))).isFalse();
+    }
+    
+    private static String refreshTokenKey(final CustomUserDetails userDetails) {
+        return REFRESH_TOKEN_PREFIX + userDetails.getUsername().toLowerCase();
     }
     
 }
\ No newline at end of file
@@ -6,8 +6,12 @@ import com.icegreen.greenmail.util.ServerSetup;
 import com.project.alfa.services.dto.MemberUpdateRequestDto;
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Member;
+import com.project.alfa.repositories.v1.AttachmentRepositoryV1;
+import com.project.alfa.repositories.v1.CommentRepositoryV1;
 import com.project.alfa.repositories.v1.MemberRepositoryV1;
+import com.project.alfa.repositories.v1.PostRepositoryV1;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
@@ -32,6 +36,7 @@ import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -44,8 +49,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -63,6 +68,12 @@ class MemberServiceConcurrencyTest {
     @Autowired
     MemberService              memberService;
     @Autowired
+    AttachmentRepositoryV1     attachmentRepository;
+    @Autowired
+    CommentRepositoryV1        commentRepository;
+    @Autowired
+    PostRepositoryV1           postRepository;
+    @Autowired
     MemberRepositoryV1         memberRepository;
     //@Autowired
     //MemberRepositoryV2 memberRepository;
@@ -81,6 +92,7 @@ class MemberServiceConcurrencyTest {
         em.clear();
     }
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         ExecutorService executorService = Executors.newFixedThreadPool(1);
@@ -88,6 +100,9 @@ class MemberServiceConcurrencyTest {
             TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
             transactionTemplate.execute(status -> {
                 try {
+                    attachmentRepository.deleteAll();
+                    commentRepository.deleteAll();
+                    postRepository.deleteAll();
                     memberRepository.deleteAll();
                 } catch (Exception e) {
                     status.setRollbackOnly();
@@ -97,6 +112,7 @@ class MemberServiceConcurrencyTest {
             });
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     @SneakyThrows(InterruptedException.class)
@@ -216,9 +232,12 @@ class MemberServiceConcurrencyTest {
         assertThat(findMember.getPassword()).isNotEqualTo(passwordEncoder.encode(member.getPassword()));
         assertThat(passwordEncoder.matches("Password1!@", findMember.getPassword())).isFalse();
         
-        assertThat(receivedMessages).hasSize(mailCount);
+        //병합되어 발송 전에 삭제된 작업은 발송하지 않고, 마지막으로 발급한 임시 비밀번호는 전송됨
+        assertThat(receivedMessages).isNotEmpty().hasSizeLessThanOrEqualTo(mailCount);
         assertThat(findMember.getUsername())
                 .isEqualTo(receivedMessages[0].getRecipients(Message.RecipientType.TO)[0].toString());
+        assertThat(receivedMessages).anyMatch(message -> passwordEncoder.matches(getTempPassword(message),
+                                                                                 findMember.getPassword()));
     }
     
     @SneakyThrows(InterruptedException.class)
@@ -257,11 +276,14 @@ class MemberServiceConcurrencyTest {
                                                                 "Password2!@", "Password2!@");
         
         //When
+        AtomicInteger successCount = new AtomicInteger();
+        long          startTime    = System.currentTimeMillis();
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
             executorService.execute(() -> {
                 try {
                     memberService.update(dto);
+                    successCount.incrementAndGet();
                 } catch (RuntimeException e) {
                     log.info("[{}-thread] 락 획득 실패: {}", threadIndex, e.getMessage());
                 } finally {
@@ -270,6 +292,8 @@ class MemberServiceConcurrencyTest {
             });
         }
         countDownLatch.await();
+        log.info("{} threads, {} succeeded, elapsed: {}ms",
+                 THREAD_COUNT, successCount.get(), System.currentTimeMillis() - startTime);
         executorService.shutdown();
         clear();
         
@@ -334,4 +358,12 @@ class MemberServiceConcurrencyTest {
         assertThat(em.find(Member.class, id).isDeleteYn()).isTrue();
     }
     
+    @SneakyThrows({MessagingException.class, IOException.class})
+    private static String getTempPassword(final MimeMessage message) {
+        String content = message.getContent().toString();
+        String prefix  = "임시 비밀번호: ";
+        int    start   = content.indexOf(prefix) + prefix.length();
+        return content.substring(start, content.indexOf('\n', start)).trim();
+    }
+    
 }
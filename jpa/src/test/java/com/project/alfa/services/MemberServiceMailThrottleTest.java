@@ -0,0 +1,162 @@
+package com.project.alfa.services;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.project.alfa.config.DummyGenerator;
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+import com.project.alfa.entities.Member;
+import com.project.alfa.repositories.v1.MailTaskRepositoryV1;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestConfig.class)
+@SpringBootTest(properties = {"email.throttle.verification.capacity=1", "email.throttle.password-reset.capacity=1"})
+@Transactional
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MemberServiceMailThrottleTest {
+    
+    @RegisterExtension
+    static GreenMailExtension greenMailExtension = new GreenMailExtension(new ServerSetup(3025, null, "smtp"))
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("springboot", "secret"))
+            .withPerMethodLifecycle(true);
+    
+    @Autowired
+    MemberService        memberService;
+    @Autowired
+    MailTaskService      mailTaskService;
+    @Autowired
+    MailTaskRepositoryV1 mailTaskRepository;
+    @Autowired
+    PasswordEncoder      passwordEncoder;
+    @PersistenceContext
+    EntityManager        em;
+    @Autowired
+    DummyGenerator       dummy;
+    
+    @AfterEach
+    void clear() {
+        em.flush();
+        em.clear();
+    }
+    
+    @SneakyThrows({MessagingException.class, IOException.class})
+    @Test
+    @DisplayName("인증 메일 재발송, 발송 제한 중이면 기존 인증 토큰 유지")
+    void resendVerifyEmail_throttled() {
+        //Given
+        Member member = dummy.createMembers(1).get(0);
+        em.persist(member);
+        Long id = member.getId();
+        
+        memberService.resendVerifyEmail(member.getUsername());
+        clear();
+        String authToken = em.find(Member.class, id).getAuthInfo().getEmailAuthToken();
+        
+        //When
+        memberService.resendVerifyEmail(member.getUsername());
+        clear();
+        
+        //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        greenMailExtension.waitForIncomingEmail(5000, 1);
+        Member        findMember       = em.find(Member.class, id);
+        MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
+        
+        //발송 제한 중인 재요청은 토큰을 바꾸지 않으므로 먼저 발송된 메일의 토큰이 그대로 유효
+        assertThat(findMember.getAuthInfo().getEmailAuthToken()).isEqualTo(authToken);
+        assertThat(receivedMessages).hasSize(1);
+        assertThat(receivedMessages[0].getContent().toString()).contains("&authToken=" + authToken);
+    }
+    
+    @Test
+    @DisplayName("비밀번호 찾기, 발송 제한 중이면 임시 비밀번호를 바꾸지 않고 추가 발송 없음")
+    void findPassword_throttled() {
+        //Given
+        Member member = dummy.createMembers(1).get(0);
+        em.persist(member);
+        Long id = member.getId();
+        member.authenticate();  //이메일 인증
+        
+        memberService.findPassword(member.getUsername());
+        clear();
+        String password = em.find(Member.class, id).getPassword();
+        
+        //When
+        memberService.findPassword(member.getUsername());
+        clear();
+        
+        //Then
+        //발송 제한 중인 재요청은 임시 비밀번호를 바꾸지 않고, 발송 대기 작업 유지
+        List<MailTask> mailTasks = mailTaskRepository.findAll();
+        assertThat(em.find(Member.class, id).getPassword()).isEqualTo(password);
+        assertThat(mailTasks).hasSize(1);
+        
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        greenMailExtension.waitForIncomingEmail(5000, 1);
+        Member        findMember       = em.find(Member.class, id);
+        MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
+        
+        String        tempPassword     = getTempPassword(receivedMessages[0]);
+        
+        //발송 제한 중인 재요청은 메일을 다시 보내지 않고, 발송한 메일의 임시 비밀번호가 유효
+        assertThat(receivedMessages).hasSize(1);
+        assertThat(passwordEncoder.matches(tempPassword, findMember.getPassword())).isTrue();
+        assertThat(mailTasks.get(0).getContent()).doesNotContain(tempPassword); //메일 발송 작업에는 암호화하여 기록
+    }
+    
+    @Test
+    @DisplayName("발송 제한, 호출한 트랜잭션이 롤백되면 차감한 발송 횟수 반환")
+    void tryAcquire_rollback() {
+        //Given
+        String recipient = UUID.randomUUID() + "@mail.com";
+        
+        //When
+        boolean rolledBack = mailTaskService.tryAcquire(MailTaskType.VERIFICATION, recipient);
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        
+        TestTransaction.start();
+        boolean first  = mailTaskService.tryAcquire(MailTaskType.VERIFICATION, recipient);
+        boolean second = mailTaskService.tryAcquire(MailTaskType.VERIFICATION, recipient);
+        
+        //Then
+        assertThat(rolledBack).isTrue();
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+    }
+    
+    @SneakyThrows({MessagingException.class, IOException.class})
+    private static String getTempPassword(final MimeMessage message) {
+        String content = message.getContent().toString();
+        String prefix  = "임시 비밀번호: ";
+        int    start   = content.indexOf(prefix) + prefix.length();
+        return content.substring(start, content.indexOf('\n', start)).trim();
+    }
+    
+}
@@ -10,6 +10,7 @@ import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.ErrorCode;
 import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.security.UserDetailsCache;
 import com.project.alfa.services.dto.MemberInfoResponseDto;
 import com.project.alfa.services.dto.MemberJoinRequestDto;
 import com.project.alfa.services.dto.MemberUpdateRequestDto;
@@ -22,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +40,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
 
 @Import(TestConfig.class)
 @SpringBootTest
@@ -52,13 +55,19 @@ class MemberServiceTest {
             .withPerMethodLifecycle(true);
     
     @Autowired
-    MemberService   memberService;
+    MemberService      memberService;
     @Autowired
-    PasswordEncoder passwordEncoder;
+    MailTaskService    mailTaskService;
+    @Autowired
+    PasswordEncoder    passwordEncoder;
     @PersistenceContext
-    EntityManager   em;
+    EntityManager      em;
+    @Autowired
+    DummyGenerator     dummy;
+    @Autowired
+    UserDetailsService userDetailsService;
     @Autowired
-    DummyGenerator  dummy;
+    UserDetailsCache   userDetailsCache;
     
     @AfterEach
     void clear() {
@@ -78,6 +87,7 @@ class MemberServiceTest {
         clear();
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = em.find(Member.class, id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -238,6 +248,7 @@ class MemberServiceTest {
         clear();
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = em.find(Member.class, id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -272,6 +283,7 @@ class MemberServiceTest {
         clear();
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = em.find(Member.class, id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -301,6 +313,7 @@ class MemberServiceTest {
         clear();
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = em.find(Member.class, id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -335,6 +348,7 @@ class MemberServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AUTH_NOT_COMPLETED)
                 .hasMessage("Email is not verified.");
         
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = em.find(Member.class, id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -458,6 +472,29 @@ class MemberServiceTest {
         assertThat(beforeSignature).isNotEqualTo(dto.getSignature());
     }
     
+    @Test
+    @DisplayName("정보 수정, 캐싱된 인증 정보 제거")
+    void update_evictUserDetails() {
+        //Given
+        Member member = dummy.createMembers(1).get(0);
+        em.persist(member);
+        Long id = member.getId();
+        member.authenticate();  //이메일 인증
+        userDetailsService.loadUserByUsername(member.getUsername());
+        if (userDetailsCache.get(member.getUsername()) == null)
+            fail("Invalid Value");
+        
+        MemberUpdateRequestDto dto = new MemberUpdateRequestDto(id, "Password1!@", "user2", "Signature",
+                                                                "Password2!@", "Password2!@");
+        
+        //When
+        memberService.update(dto);
+        clear();
+        
+        //Then
+        assertThat(userDetailsCache.get(member.getUsername())).isNull();
+    }
+    
     @SneakyThrows({InterruptedException.class, MessagingException.class})
     @Test
     @DisplayName("정보 수정, 미인증 상태")
@@ -484,6 +521,7 @@ class MemberServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AUTH_NOT_COMPLETED)
                 .hasMessage("Email is not verified.");
         
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        afterMember      = em.find(Member.class, id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
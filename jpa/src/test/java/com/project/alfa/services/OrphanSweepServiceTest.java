@@ -0,0 +1,176 @@
+package com.project.alfa.services;
+
+import com.project.alfa.config.DummyGenerator;
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.Attachment;
+import com.project.alfa.entities.Member;
+import com.project.alfa.entities.Post;
+import com.project.alfa.entities.UploadFile;
+import com.project.alfa.repositories.v1.AttachmentRepositoryV1;
+import com.project.alfa.repositories.v1.MemberRepositoryV1;
+import com.project.alfa.repositories.v1.PostRepositoryV1;
+import com.project.alfa.services.dto.OrphanSweepResultDto;
+import com.project.alfa.utils.FileUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestConfig.class)
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrphanSweepServiceTest {
+    
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    OrphanSweepService         orphanSweepService;
+    @Autowired
+    AttachmentService          attachmentService;
+    @Autowired
+    StorageTaskService         storageTaskService;
+    @Autowired
+    AttachmentRepositoryV1     attachmentRepository;
+    @Autowired
+    PostRepositoryV1           postRepository;
+    @Autowired
+    MemberRepositoryV1         memberRepository;
+    @Autowired
+    FileUtil                   fileUtil;
+    @PersistenceContext
+    EntityManager              em;
+    @Autowired
+    DummyGenerator             dummy;
+    @Value("${file.upload.location}")
+    String                     fileDir;
+    String              uploadPath;
+    TransactionTemplate newTransactionTemplate;
+    
+    @AfterEach
+    void clear() {
+        em.flush();
+        em.clear();
+        //정리 작업은 별도 스레드에서 조회하므로 커밋한 데이터 삭제
+        newTransactionTemplate.executeWithoutResult(status -> {
+            attachmentRepository.deleteAll();
+            postRepository.deleteAll();
+            memberRepository.deleteAll();
+        });
+    }
+    
+    @BeforeEach
+    void setup() {
+        uploadPath = fileDir + File.separator + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        newTransactionTemplate = new TransactionTemplate(transactionManager);
+        newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    private String getStoreFilePath(final String storeFilename) {
+        return uploadPath + File.separator + storeFilename;
+    }
+    
+    private UploadFile storeOrphan() {
+        List<MultipartFile> multipartFiles = Collections.singletonList(
+                new MockMultipartFile("filename", "orphanFilename.txt", "text/plain",
+                                      UUID.randomUUID().toString().getBytes()));
+        List<UploadFile> uploadFiles = fileUtil.digestFiles(multipartFiles);
+        fileUtil.storeFiles(multipartFiles, uploadFiles);
+        return uploadFiles.get(0);
+    }
+    
+    private Attachment saveAttachment() {
+        List<Member> writers = dummy.createMembers(1);
+        for (Member writer : writers)
+            em.persist(writer);
+        List<Post> posts = dummy.createPosts(writers, 1);
+        for (Post post : posts)
+            em.persist(post);
+        
+        List<Long> ids = attachmentService.saveAllFiles(posts.get(0).getId(), Collections.singletonList(
+                new MockMultipartFile("filename", "originalFilename.txt", "text/plain",
+                                      UUID.randomUUID().toString().getBytes())));
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        em.flush();
+        em.clear();
+        return em.find(Attachment.class, ids.get(0));
+    }
+    
+    @Test
+    @DisplayName("고아 파일 정리, 참조 중인 파일 유지")
+    void sweep() {
+        //Given
+        Attachment attachment = newTransactionTemplate.execute(status -> saveAttachment());
+        UploadFile orphan     = storeOrphan();
+        
+        //When
+        OrphanSweepResultDto result = orphanSweepService.sweep(LocalDateTime.now().plusMinutes(1), false);
+        
+        //Then
+        assertThat(result.isDryRun()).isFalse();
+        assertThat(result.getFolders()).isGreaterThanOrEqualTo(1);
+        assertThat(result.getScannedObjects()).isGreaterThanOrEqualTo(2);
+        assertThat(result.getOrphanSamples()).contains(orphan.getStoreFilePath())
+                                             .doesNotContain(attachment.getStoreFilePath());
+        assertThat(result.getDeletedObjects()).isEqualTo(result.getOrphanObjects());
+        assertThat(new File(getStoreFilePath(orphan.getStoreFilename()))).doesNotExist();
+        assertThat(new File(getStoreFilePath(attachment.getStoreFilename()))).exists();
+    }
+    
+    @Test
+    @DisplayName("고아 파일 정리, dry-run이면 삭제 없이 보고")
+    void sweep_dryRun() {
+        //Given
+        UploadFile orphan = storeOrphan();
+        
+        //When
+        OrphanSweepResultDto result = orphanSweepService.sweep(LocalDateTime.now().plusMinutes(1), true);
+        
+        //Then
+        assertThat(result.isDryRun()).isTrue();
+        assertThat(result.getOrphanObjects()).isGreaterThanOrEqualTo(1);
+        assertThat(result.getOrphanSamples()).contains(orphan.getStoreFilePath());
+        assertThat(result.getDeletedObjects()).isZero();
+        assertThat(new File(getStoreFilePath(orphan.getStoreFilename()))).exists();
+        assertThat(orphanSweepService.getLastResult()).isSameAs(result);
+    }
+    
+    @Test
+    @DisplayName("고아 파일 정리, 유예 기간이 지나지 않은 파일 유지")
+    void sweep_gracePeriod() {
+        //Given
+        UploadFile orphan = storeOrphan();
+        
+        //When
+        OrphanSweepResultDto result = orphanSweepService.sweep(LocalDateTime.now().minusMinutes(1), false);
+        
+        //Then
+        assertThat(result.getOrphanSamples()).doesNotContain(orphan.getStoreFilePath());
+        assertThat(new File(getStoreFilePath(orphan.getStoreFilename()))).exists();
+    }
+    
+}
@@ -3,9 +3,12 @@ package com.project.alfa.services;
 import com.project.alfa.services.dto.PostRequestDto;
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
 import com.project.alfa.entities.Role;
+import com.project.alfa.repositories.v1.AttachmentRepositoryV1;
+import com.project.alfa.repositories.v1.CommentRepositoryV1;
 import com.project.alfa.repositories.v1.MemberRepositoryV1;
 import com.project.alfa.repositories.v1.PostRepositoryV1;
 import lombok.SneakyThrows;
@@ -19,6 +22,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
@@ -29,10 +33,13 @@ import org.springframework.transaction.support.TransactionTemplate;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -40,8 +47,8 @@ import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -54,6 +61,10 @@ class PostServiceConcurrencyTest {
     @Autowired
     PostService                postService;
     @Autowired
+    AttachmentRepositoryV1     attachmentRepository;
+    @Autowired
+    CommentRepositoryV1        commentRepository;
+    @Autowired
     PostRepositoryV1           postRepository;
     //@Autowired
     //PostRepositoryV2   postRepository;
@@ -78,6 +89,7 @@ class PostServiceConcurrencyTest {
         em.clear();
     }
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         ExecutorService executorService = Executors.newFixedThreadPool(1);
@@ -85,6 +97,8 @@ class PostServiceConcurrencyTest {
             TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
             transactionTemplate.execute(status -> {
                 try {
+                    attachmentRepository.deleteAll();
+                    commentRepository.deleteAll();
                     postRepository.deleteAll();
                     memberRepository.deleteAll();
                 } catch (Exception e) {
@@ -95,11 +109,12 @@ class PostServiceConcurrencyTest {
             });
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     @SneakyThrows(InterruptedException.class)
     @Test
-    @DisplayName("게시글 정보 수정, 멀티 스레드 락 수정")
+    @DisplayName("게시글 정보 수정, 멀티 스레드 낙관적 락 적용")
     void update_multiThreads() {
         //Given
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT + 1);
@@ -129,6 +144,8 @@ class PostServiceConcurrencyTest {
         countDownLatch.await(1, TimeUnit.SECONDS);
         
         Long    id             = postRef.get().getId();
+        Long    writerId       = postRef.get().getWriter().getId();
+        Long    beforeVersion  = postRef.get().getVersion();
         String  beforeTitle    = postRef.get().getTitle();
         String  beforeContent  = postRef.get().getContent();
         boolean beforeNoticeYn = postRef.get().isNoticeYn();
@@ -138,32 +155,45 @@ class PostServiceConcurrencyTest {
         do {
             afterTile = dummy.generateRandomString(dummy.generateRandomNumber(1, 100));
             afterContent = dummy.generateRandomString(dummy.generateRandomNumber(100, 500));
-        } while (beforeTitle.equals(afterTile) || beforeContent.equals(afterContent));
-        
-        PostRequestDto dto = new PostRequestDto(id, postRef.get().getWriter().getId(), afterTile, afterContent, true);
+        } while (beforeTitle.startsWith(afterTile) || beforeContent.equals(afterContent));
         
         //When
+        AtomicInteger successCount  = new AtomicInteger();
+        AtomicInteger conflictCount = new AtomicInteger();
+        Set<String>   updatedTitles = ConcurrentHashMap.newKeySet();
+        long          startTime     = System.currentTimeMillis();
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
+            //스레드마다 다른 제목으로 수정, 성공한 수정마다 버전 증가
+            PostRequestDto dto = new PostRequestDto(id, writerId, afterTile + "-" + i, afterContent, true);
             executorService.execute(() -> {
                 try {
                     postService.update(dto);
-                } catch (RuntimeException e) {
-                    log.info("[{}-thread] 락 획득 실패: {}", threadIndex, e.getMessage());
+                    updatedTitles.add(dto.getTitle());
+                    successCount.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    conflictCount.incrementAndGet();
+                    log.info("[{}-thread] 재시도 횟수 초과: {}", threadIndex, e.getMessage());
                 } finally {
                     countDownLatch.countDown();
                 }
             });
         }
         countDownLatch.await();
+        log.info("{} threads, {} succeeded, elapsed: {}ms",
+                 THREAD_COUNT, successCount.get(), System.currentTimeMillis() - startTime);
         executorService.shutdown();
         clear();
         
         //Then
         Post findPost = em.find(Post.class, id);
         
-        assertThat(findPost.getTitle()).isEqualTo(afterTile);
-        assertThat(findPost.getTitle()).isNotEqualTo(beforeTitle);
+        //재시도 횟수를 초과한 충돌 외의 실패 없음
+        assertThat(successCount.get()).isPositive();
+        assertThat(successCount.get() + conflictCount.get()).isEqualTo(THREAD_COUNT);
+        //갱신 손실 없음: 성공한 수정마다 버전이 한 번씩 증가하고, 최종 제목은 성공한 수정 중 하나
+        assertThat(findPost.getVersion()).isEqualTo(beforeVersion + successCount.get());
+        assertThat(updatedTitles).contains(findPost.getTitle());
         assertThat(findPost.getContent()).isEqualTo(afterContent);
         assertThat(findPost.getContent()).isNotEqualTo(beforeContent);
         assertThat(beforeNoticeYn).isFalse();
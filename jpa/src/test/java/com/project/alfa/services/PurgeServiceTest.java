@@ -0,0 +1,124 @@
+package com.project.alfa.services;
+
+import com.project.alfa.config.DummyGenerator;
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.Attachment;
+import com.project.alfa.entities.Comment;
+import com.project.alfa.entities.Member;
+import com.project.alfa.entities.Post;
+import com.project.alfa.services.dto.PurgeResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestConfig.class)
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PurgeServiceTest {
+    
+    @Autowired
+    PurgeService   purgeService;
+    @PersistenceContext
+    EntityManager  em;
+    @Autowired
+    DummyGenerator dummy;
+    
+    @AfterEach
+    void clear() {
+        em.flush();
+        em.clear();
+    }
+    
+    @Test
+    @DisplayName("소프트 삭제 데이터 영구 삭제, 자식 -> 부모 순서")
+    void purge() {
+        //Given
+        List<Member> writers = dummy.createMembers(1);
+        for (Member writer : writers)
+            em.persist(writer);
+        List<Post> posts = dummy.createPosts(writers, 2);
+        for (Post post : posts)
+            em.persist(post);
+        Post deletedPost = posts.get(0);
+        Post alivePost   = posts.get(1);
+        
+        List<Comment> comments = dummy.createComments(writers, posts.subList(0, 1), 5);
+        comments.addAll(dummy.createComments(writers, posts.subList(1, 2), 5));
+        for (Comment comment : comments)
+            em.persist(comment);
+        List<Attachment> attachments = dummy.createAttachments(posts.subList(0, 1), 3);
+        attachments.addAll(dummy.createAttachments(posts.subList(1, 2), 3));
+        for (Attachment attachment : attachments)
+            em.persist(attachment);
+        
+        deletedPost.isDelete(true);
+        Comment    deletedComment    = comments.get(5);
+        Attachment deletedAttachment = attachments.get(3);
+        deletedComment.isDelete(true);
+        deletedAttachment.isDelete(true);
+        clear();
+        
+        //When
+        PurgeResultDto result = purgeService.purge(LocalDateTime.now().plusMinutes(1));
+        clear();
+        
+        //Then
+        assertThat(result.getPurgedPosts()).isGreaterThanOrEqualTo(1);
+        assertThat(result.getPurgedComments()).isGreaterThanOrEqualTo(6);
+        assertThat(result.getPurgedAttachments()).isGreaterThanOrEqualTo(4);
+        
+        assertThat(em.find(Post.class, deletedPost.getId())).isNull();
+        assertThat(em.find(Post.class, alivePost.getId())).isNotNull();
+        for (Comment comment : comments) {
+            boolean purged = comment.getPost().getId().equals(deletedPost.getId())
+                             || comment.getId().equals(deletedComment.getId());
+            assertThat(em.find(Comment.class, comment.getId()) == null).isEqualTo(purged);
+        }
+        for (Attachment attachment : attachments) {
+            boolean purged = attachment.getPost().getId().equals(deletedPost.getId())
+                             || attachment.getId().equals(deletedAttachment.getId());
+            assertThat(em.find(Attachment.class, attachment.getId()) == null).isEqualTo(purged);
+        }
+    }
+    
+    @Test
+    @DisplayName("소프트 삭제 데이터 영구 삭제, 보관 기간 미경과")
+    void purge_withinRetention() {
+        //Given
+        List<Member> writers = dummy.createMembers(1);
+        for (Member writer : writers)
+            em.persist(writer);
+        List<Post> posts = dummy.createPosts(writers, 1);
+        for (Post post : posts)
+            em.persist(post);
+        Post post = posts.get(0);
+        post.isDelete(true);
+        clear();
+        
+        //When
+        purgeService.purge(LocalDateTime.now().minusDays(1));
+        clear();
+        
+        //Then
+        Post findPost = em.find(Post.class, post.getId());
+        
+        assertThat(findPost).isNotNull();
+        assertThat(findPost.isDeleteYn()).isTrue();
+    }
+    
+}
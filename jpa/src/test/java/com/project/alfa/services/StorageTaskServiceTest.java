@@ -0,0 +1,213 @@
+package com.project.alfa.services;
+
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.StorageTask;
+import com.project.alfa.repositories.v1.StorageTaskRepositoryV1;
+import com.project.alfa.utils.FileUtil;
+import com.project.alfa.utils.storage.StorageBackend;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@Import(TestConfig.class)
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StorageTaskServiceTest {
+    
+    @Autowired
+    StorageTaskService      storageTaskService;
+    @Autowired
+    StorageTaskRepositoryV1 storageTaskRepository;
+    @SpyBean
+    FileUtil                fileUtil;
+    @Autowired
+    StorageBackend          storageBackend;
+    @PersistenceContext
+    EntityManager           em;
+    @Value("${storage.tasks.retry-delay}")
+    long                    retryDelay;
+    @Value("${storage.tasks.max-retry-delay}")
+    long                    maxRetryDelay;
+    List<String> paths;
+    
+    @AfterEach
+    void clear() {
+        em.flush();
+        em.clear();
+        reset(fileUtil);
+        fileUtil.deleteFilesByPaths(paths);
+    }
+    
+    @BeforeEach
+    void setup() {
+        paths = new ArrayList<>();
+    }
+    
+    private String createPath() {
+        String path = "/19700101/" + UUID.randomUUID().toString().replace("-", "") + ".txt";
+        paths.add(path);
+        return path;
+    }
+    
+    @SneakyThrows(IOException.class)
+    private String storeObject() {
+        String path = createPath();
+        storageBackend.store(path, "text/plain", new ByteArrayInputStream(path.getBytes()), 0);
+        return path;
+    }
+    
+    private List<StorageTask> saveAll(final StorageTask... storageTasks) {
+        List<StorageTask> saved = storageTaskRepository.saveAll(Arrays.asList(storageTasks));
+        em.flush();
+        em.clear();
+        return saved;
+    }
+    
+    private StorageTask findTask(final Long id) {
+        em.flush();
+        em.clear();
+        return em.find(StorageTask.class, id);
+    }
+    
+    @Test
+    @DisplayName("저장소 작업 처리, 이동 후 저장 경로 삭제 작업이 등록되었으면 이동하지 않고 임시 파일만 삭제")
+    void processTasks_promoteSuperseded() {
+        //Given
+        String            sourcePath   = storeObject();
+        String            targetPath   = createPath();
+        List<StorageTask> storageTasks = saveAll(storageTaskService.promoteTask(sourcePath, targetPath),
+                                                 storageTaskService.deleteTask(targetPath));
+        
+        //When
+        int count = storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        assertThat(count).isEqualTo(2);
+        assertThat(storageBackend.getObject(sourcePath)).isNull();
+        assertThat(storageBackend.getObject(targetPath)).isNull();
+        assertThat(findTask(storageTasks.get(0).getId())).isNull();
+        assertThat(findTask(storageTasks.get(1).getId())).isNull();
+        verify(fileUtil, never()).promoteFile(anyString(), anyString());
+    }
+    
+    @Test
+    @DisplayName("저장소 작업 처리, 같은 경로의 앞선 작업이 실패하면 이후 작업은 실패 횟수 증가 없이 연기")
+    void processTasks_deferred() {
+        //Given
+        String            sourcePath   = storeObject();
+        String            targetPath   = createPath();
+        List<StorageTask> storageTasks = saveAll(storageTaskService.deleteTask(targetPath),
+                                                 storageTaskService.promoteTask(sourcePath, targetPath));
+        doThrow(new RuntimeException("failed")).when(fileUtil).deleteFilesByPaths(anyList());
+        
+        //When
+        LocalDateTime before = LocalDateTime.now();
+        int           count  = storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        LocalDateTime after  = LocalDateTime.now();
+        
+        //Then
+        StorageTask delete  = findTask(storageTasks.get(0).getId());
+        StorageTask promote = findTask(storageTasks.get(1).getId());
+        
+        assertThat(count).isZero();
+        assertThat(delete.getAttempts()).isEqualTo(1);
+        assertThat(promote.getAttempts()).isZero();
+        assertThat(promote.getNextAttemptTime()).isBetween(before.plus(Duration.ofMillis(retryDelay)),
+                                                           after.plus(Duration.ofMillis(retryDelay)));
+        assertThat(storageBackend.getObject(sourcePath)).isNotNull();
+        verify(fileUtil, never()).promoteFile(anyString(), anyString());
+    }
+    
+    @Test
+    @DisplayName("저장소 작업 처리, 일괄 삭제 실패 시 개별 삭제로 실패한 작업만 재시도")
+    void processTasks_deleteFallback() {
+        //Given
+        String            first        = storeObject();
+        String            failed       = storeObject();
+        String            last         = storeObject();
+        List<StorageTask> storageTasks = saveAll(storageTaskService.deleteTask(first),
+                                                 storageTaskService.deleteTask(failed),
+                                                 storageTaskService.deleteTask(last));
+        doAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            if (keys.contains(failed))
+                throw new RuntimeException("failed");
+            return invocation.callRealMethod();
+        }).when(fileUtil).deleteFilesByPaths(anyList());
+        
+        //When
+        int count = storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        assertThat(count).isEqualTo(2);
+        assertThat(storageBackend.getObject(first)).isNull();
+        assertThat(storageBackend.getObject(failed)).isNotNull();
+        assertThat(storageBackend.getObject(last)).isNull();
+        assertThat(findTask(storageTasks.get(0).getId())).isNull();
+        assertThat(findTask(storageTasks.get(1).getId()).getAttempts()).isEqualTo(1);
+        assertThat(findTask(storageTasks.get(2).getId())).isNull();
+        verify(fileUtil, times(4)).deleteFilesByPaths(anyList());
+        verify(fileUtil).deleteFilesByPaths(Collections.singletonList(failed));
+    }
+    
+    @Test
+    @DisplayName("저장소 작업 처리, 실패 횟수에 따른 지수 백오프, 최대 재시도 간격 제한")
+    void processTasks_backoff() {
+        //Given
+        int[]             attempts     = {0, 3, 20, 63};
+        List<StorageTask> storageTasks = new ArrayList<>();
+        for (int attempt : attempts) {
+            StorageTask storageTask = saveAll(storageTaskService.promoteTask(createPath(), createPath())).get(0);
+            em.createQuery("UPDATE StorageTask t SET t.attempts = :attempts WHERE t.id = :id")
+              .setParameter("attempts", attempt)
+              .setParameter("id", storageTask.getId())
+              .executeUpdate();
+            storageTasks.add(storageTask);
+        }
+        doThrow(new RuntimeException("failed")).when(fileUtil).promoteFile(anyString(), anyString());
+        
+        //When
+        LocalDateTime before = LocalDateTime.now();
+        int           count  = storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        LocalDateTime after  = LocalDateTime.now();
+        
+        //Then
+        assertThat(count).isZero();
+        for (int i = 0; i < attempts.length; i++) {
+            StorageTask storageTask = findTask(storageTasks.get(i).getId());
+            //실패 횟수가 커져도 시프트 횟수를 제한하므로 오버플로 없이 최대 재시도 간격 유지
+            Duration delay = Duration.ofMillis(Math.min(retryDelay << Math.min(attempts[i], 20), maxRetryDelay));
+            
+            assertThat(storageTask.getAttempts()).isEqualTo(attempts[i] + 1);
+            assertThat(storageTask.getNextAttemptTime()).isBetween(before.plus(delay), after.plus(delay));
+        }
+    }
+    
+}
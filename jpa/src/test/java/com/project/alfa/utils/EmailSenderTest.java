@@ -9,12 +9,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.test.context.ActiveProfiles;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,13 +44,15 @@ class EmailSenderTest {
         LocalDateTime expireTime = LocalDateTime.now().plusMinutes(5);
         
         //When
-        emailSender.sendVerificationEmail(to, authToken, expireTime);
+        Map<SimpleMailMessage, Exception> failed = emailSender.sendAll(
+                Collections.singletonList(emailSender.createVerificationEmail(to, authToken, expireTime)));
         
         //Then
         greenMailExtension.waitForIncomingEmail(5000, 1);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
         MimeMessage   receivedMessage  = receivedMessages[0];
         
+        assertThat(failed).isEmpty();
         assertThat(receivedMessages).hasSize(1);
         assertThat(to).isEqualTo(receivedMessage.getAllRecipients()[0].toString());
         assertThat("이메일 인증").isEqualTo(receivedMessage.getSubject());
@@ -65,13 +70,15 @@ class EmailSenderTest {
         String tempPassword = "temporaryPassword";
         
         //When
-        emailSender.sendPasswordResetEmail(to, tempPassword);
+        Map<SimpleMailMessage, Exception> failed = emailSender.sendAll(
+                Collections.singletonList(emailSender.createPasswordResetEmail(to, tempPassword)));
         
         //Then
         greenMailExtension.waitForIncomingEmail(5000, 1);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
         MimeMessage   receivedMessage  = receivedMessages[0];
         
+        assertThat(failed).isEmpty();
         assertThat(receivedMessages).hasSize(1);
         assertThat(to).isEqualTo(receivedMessage.getAllRecipients()[0].toString());
         assertThat("비밀번호 찾기 결과").isEqualTo(receivedMessage.getSubject());
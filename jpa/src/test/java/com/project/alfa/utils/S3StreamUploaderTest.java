@@ -0,0 +1,135 @@
+package com.project.alfa.utils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class S3StreamUploaderTest {
+    
+    static final int PART_SIZE = 5 * 1024 * 1024;
+    
+    AmazonS3         amazonS3;
+    S3StreamUploader s3StreamUploader;
+    
+    @BeforeEach
+    void setup() {
+        amazonS3 = mock(AmazonS3.class);
+        s3StreamUploader = new S3StreamUploader(amazonS3, PART_SIZE, 2, 4, 2, 1000);
+        
+        InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("uploadId");
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            UploadPartResult  result  = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag" + request.getPartNumber());
+            return result;
+        });
+    }
+    
+    @AfterEach
+    void clear() {
+        s3StreamUploader.destroy();
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("파트 크기 미만, 단일 PUT")
+    void upload_singlePut() {
+        //Given
+        byte[] content = new byte[1024];
+        
+        //When
+        long size = s3StreamUploader.upload("bucket", "key", "text/plain", new ByteArrayInputStream(content), 0);
+        
+        //Then
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(amazonS3, times(1)).putObject(captor.capture());
+        verify(amazonS3, never()).initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+        
+        assertThat(size).isEqualTo(content.length);
+        assertThat(captor.getValue().getMetadata().getContentLength()).isEqualTo(content.length);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("크기를 아는 스트림, 파트 크기 미만이면 버퍼 없이 스트림 그대로 단일 PUT")
+    void uploadSized_singlePut() {
+        //Given
+        byte[]               content     = new byte[1024];
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
+        
+        //When
+        long size = s3StreamUploader.uploadSized("bucket", "key", "text/plain", inputStream, content.length);
+        
+        //Then
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(amazonS3, times(1)).putObject(captor.capture());
+        verify(amazonS3, never()).initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+        
+        assertThat(size).isEqualTo(content.length);
+        assertThat(captor.getValue().getInputStream()).isSameAs(inputStream);
+        assertThat(captor.getValue().getMetadata().getContentLength()).isEqualTo(content.length);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("파트 크기 이상, 멀티파트 업로드")
+    void upload_multipart() {
+        //Given
+        byte[] content = new byte[PART_SIZE * 2 + 1024];
+        
+        //When
+        long size = s3StreamUploader.upload("bucket", "key", "text/plain", new ByteArrayInputStream(content), 0);
+        
+        //Then
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(amazonS3, times(3)).uploadPart(any(UploadPartRequest.class));
+        verify(amazonS3, times(1)).completeMultipartUpload(captor.capture());
+        verify(amazonS3, never()).putObject(any(PutObjectRequest.class));
+        
+        assertThat(size).isEqualTo(content.length);
+        assertThat(captor.getValue().getPartETags()).extracting("partNumber").containsExactly(1, 2, 3);
+    }
+    
+    @Test
+    @DisplayName("최대 크기 초과, 멀티파트 업로드 중단")
+    void upload_sizeExceeded() {
+        //Given
+        byte[] content = new byte[PART_SIZE * 2 + 1024];
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> s3StreamUploader.upload("bucket", "key", "text/plain",
+                                                         new ByteArrayInputStream(content), PART_SIZE * 2))
+                .isInstanceOf(InvalidValueException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FILE_SIZE_EXCEEDED);
+        
+        verify(amazonS3, times(1)).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(amazonS3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+    
+}
@@ -0,0 +1,65 @@
+package com.project.alfa.utils.storage;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class S3MetricsRequestHandlerTest {
+    
+    SimpleMeterRegistry     registry = new SimpleMeterRegistry();
+    S3MetricsRequestHandler handler  = new S3MetricsRequestHandler(registry);
+    
+    @Test
+    @DisplayName("S3 요청 시간 기록, 요청 유형과 상태 코드 태그")
+    void afterResponse() {
+        //Given
+        Request<?>   request      = new DefaultRequest<>(new GetObjectRequest("bucket", "key"), "Amazon S3");
+        HttpResponse httpResponse = new HttpResponse(request, null);
+        httpResponse.setStatusCode(200);
+        
+        //When
+        handler.beforeRequest(request);
+        handler.afterResponse(request, new Response<>(null, httpResponse));
+        
+        //Then
+        Timer timer = registry.find("aws.s3.requests").tags("operation", "GetObject", "status", "200").timer();
+        
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("S3 요청 실패 시간 기록, 서비스 오류는 상태 코드, 그 외는 CLIENT_ERROR 태그")
+    void afterError() {
+        //Given
+        Request<?>             serviceRequest   = new DefaultRequest<>(new DeleteObjectRequest("bucket", "key"),
+                                                                       "Amazon S3");
+        Request<?>             clientRequest    = new DefaultRequest<>(new DeleteObjectRequest("bucket", "key"),
+                                                                       "Amazon S3");
+        AmazonServiceException serviceException = new AmazonServiceException("Access Denied");
+        serviceException.setStatusCode(403);
+        
+        //When
+        handler.beforeRequest(serviceRequest);
+        handler.afterError(serviceRequest, null, serviceException);
+        handler.beforeRequest(clientRequest);
+        handler.afterError(clientRequest, null, new IllegalStateException());
+        
+        //Then
+        assertThat(registry.find("aws.s3.requests").tags("operation", "DeleteObject", "status", "403").timer())
+                .isNotNull();
+        assertThat(registry.find("aws.s3.requests").tags("operation", "DeleteObject", "status", "CLIENT_ERROR")
+                           .timer()).isNotNull();
+    }
+    
+}
@@ -0,0 +1,108 @@
+package com.project.alfa.security.jwt.filter;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.project.alfa.entities.Role;
+import com.project.alfa.security.CustomUserDetails;
+import com.project.alfa.security.jwt.revocation.TokenRevocationList;
+import com.project.alfa.services.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtRequestFilter 요청당 인증 비용 측정
+ * legacy: 요청마다 JWTVerifier 생성 및 같은 토큰 3회 검증(아이디 조회, 아이디 일치 확인, 만료 확인)
+ * filter: 캐싱된 JWTVerifier로 1회 검증 후 결과 재사용, 폐기 목록 Bloom 필터 음성이므로 Redis 조회 없음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtRequestFilterBenchmark {
+    
+    private static final String SECRET       = "benchmark-secret";
+    private static final String ISSUER       = "benchmark";
+    private static final String USERNAME_KEY = "USERNAME";
+    
+    private Algorithm          algorithm;
+    private UserDetailsService userDetailsService;
+    private JwtRequestFilter   filter;
+    private String             header;
+    
+    @Setup
+    public void setup() {
+        CustomUserDetails userDetails = new CustomUserDetails(1L, "user1@mail.com", "Password1!@", true, "user1",
+                                                              Role.USER.getValue());
+        userDetailsService = username -> userDetails;
+        
+        JwtService jwtService = new JwtService(null, new TokenRevocationList(null, 1000, 0.01, false));
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "issuer", ISSUER);
+        ReflectionTestUtils.setField(jwtService, "accessExpiration", 3600L);
+        jwtService.postConstruct();
+        
+        algorithm = Algorithm.HMAC256(SECRET);
+        filter = new JwtRequestFilter(userDetailsService, jwtService);
+        header = "Bearer " + jwtService.generateAccessToken(userDetails);
+    }
+    
+    @Benchmark
+    public Object legacy() {
+        MockHttpServletRequest request = newRequest();
+        String                 token   = header.substring(7);
+        String username = JWT.require(algorithm).withIssuer(ISSUER).build().verify(token)
+                             .getClaim(USERNAME_KEY).asString();
+        
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
+            
+            boolean valid = JWT.require(algorithm).withIssuer(ISSUER).build().verify(token)
+                               .getClaim(USERNAME_KEY).asString().equals(userDetails.getUsername())
+                            && !JWT.require(algorithm).withIssuer(ISSUER).build().verify(token)
+                                   .getExpiresAt().before(new Date());
+            if (valid) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+        return clearContext();
+    }
+    
+    @Benchmark
+    public Object filter() throws ServletException, IOException {
+        filter.doFilter(newRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        return clearContext();
+    }
+    
+    private MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", header);
+        return request;
+    }
+    
+    private Object clearContext() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+    
+}
@@ -0,0 +1,31 @@
+package com.project.alfa.aop.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌 시 메서드 재시도, '@LockAop' 대신 메서드 단위로 선택
+ * 트랜잭션 바깥에서 동작하므로 재시도마다 새 트랜잭션에서 최신 버전을 다시 조회
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticLockAop {
+    
+    /**
+     * 최대 시도 횟수(최초 호출 포함)
+     */
+    int maxAttempts() default 5;
+    
+    /**
+     * 재시도 기본 대기 시간(ms), 시도마다 2배씩 증가
+     */
+    long backoff() default 20;
+    
+    /**
+     * 재시도 최대 대기 시간(ms)
+     */
+    long maxBackoff() default 500;
+    
+}
@@ -0,0 +1,103 @@
+package com.project.alfa.aop.lock;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 단일 노드(JVM) 락 제공자
+ */
+@RequiredArgsConstructor
+public class LocalLockProvider implements LockProvider {
+    
+    private static final AtomicLong FENCING_TOKEN = new AtomicLong();
+    
+    private final LockManager                lockManager;
+    private final Map<String, ReentrantLock> jobLocks = new ConcurrentHashMap<>();
+    
+    @Override
+    public LockHandle tryLock(final String key, final long waitTime, final TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = lockManager.getLock(key);
+        if (!lock.tryLock(waitTime, unit))
+            return null;
+        return new LocalLockHandle(key, lock, FENCING_TOKEN.incrementAndGet());
+    }
+    
+    /**
+     * 다중 락 획득 시도, 서로 다른 키가 같은 락을 공유할 수 있으므로 키가 아닌 락 인덱스 순서로 한 번씩 획득
+     */
+    @Override
+    public List<LockHandle> tryLockAll(final Collection<String> keys, final long waitTime, final TimeUnit unit)
+    throws InterruptedException {
+        Map<Integer, String> stripes = new TreeMap<>();
+        for (String key : keys)
+            stripes.putIfAbsent(lockManager.indexOf(key), key);
+        
+        long             deadline = System.nanoTime() + unit.toNanos(waitTime);
+        List<LockHandle> handles  = new ArrayList<>(stripes.size());
+        try {
+            for (Map.Entry<Integer, String> stripe : stripes.entrySet()) {
+                ReentrantLock lock = lockManager.getLock(stripe.getKey());
+                if (!lock.tryLock(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                    LockProvider.unlockAll(handles);
+                    return null;
+                }
+                handles.add(new LocalLockHandle(stripe.getValue(), lock, FENCING_TOKEN.incrementAndGet()));
+            }
+        } catch (InterruptedException e) {
+            LockProvider.unlockAll(handles);
+            throw e;
+        }
+        return handles;
+    }
+    
+    /**
+     * 정기 작업은 '@LockAop' 스트라이프 락 테이블과 분리된 작업 전용 락으로 실행
+     * 작업 키는 고정된 소수이므로 키별 락을 생성해 유지
+     */
+    @Override
+    public boolean runExclusively(final String key, final Runnable task) {
+        ReentrantLock lock = jobLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        if (!lock.tryLock())
+            return false;
+        try {
+            task.run();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+    
+    @RequiredArgsConstructor
+    private static class LocalLockHandle implements LockHandle {
+        
+        private final String        key;
+        private final ReentrantLock lock;
+        private final long          fencingToken;
+        
+        @Override
+        public String getKey() {
+            return key;
+        }
+        
+        @Override
+        public long getFencingToken() {
+            return fencingToken;
+        }
+        
+        @Override
+        public void unlock() {
+            lock.unlock();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,40 @@
+package com.project.alfa.aop.lock;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 크기 락 테이블(Lock Striping), 키 해시로 락을 선택해 호출마다 락 객체를 생성/제거하지 않음
+ */
+public class LockManager {
+    
+    private final ReentrantLock[] locks;
+    private final int             mask;
+    
+    public LockManager(final int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++)
+            locks[i] = new ReentrantLock();
+        mask = size - 1;
+    }
+    
+    /**
+     * 키에 해당하는 락 인덱스 조회
+     *
+     * @param key - 락 키
+     * @return 락 인덱스
+     */
+    public int indexOf(final String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+    
+    public ReentrantLock getLock(final int index) {
+        return locks[index];
+    }
+    
+    public ReentrantLock getLock(final String key) {
+        return locks[indexOf(key)];
+    }
+    
+}
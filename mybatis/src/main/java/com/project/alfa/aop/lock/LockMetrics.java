@@ -0,0 +1,248 @@
+package com.project.alfa.aop.lock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * '@LockAop' 키별 경합 지표(대기 시간, 보유 시간, 획득 실패, 대기열 길이)
+ * 추적 키 수는 maxKeys로 제한하고 초과분은 OVERFLOW_KEY로 합산, 보고 주기 동안 사용되지 않은 키는 제거
+ * MeterRegistry에는 키 구분 없이 대기/보유 시간(lock.wait, lock.hold)과 추적 키 수(lock.keys)만 등록
+ */
+@Slf4j
+public class LockMetrics implements MeterBinder {
+    
+    public static final String OVERFLOW_KEY = "_overflow";
+    
+    private final int                                 maxKeys;
+    private final int                                 reportSize;
+    private final ConcurrentHashMap<String, KeyStats> stats     = new ConcurrentHashMap<>();
+    private final LongAdder                           contended = new LongAdder();
+    private volatile Timer                            acquiredWaitTimer;
+    private volatile Timer                            timeoutWaitTimer;
+    private volatile Timer                            holdTimer;
+    
+    public LockMetrics(final int maxKeys, final int reportSize) {
+        this.maxKeys = maxKeys;
+        this.reportSize = reportSize;
+    }
+    
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        acquiredWaitTimer = Timer.builder("lock.wait").description("'@LockAop' lock wait time")
+                                 .tag("result", "acquired").register(registry);
+        timeoutWaitTimer = Timer.builder("lock.wait").description("'@LockAop' lock wait time")
+                                .tag("result", "timeout").register(registry);
+        holdTimer = Timer.builder("lock.hold").description("'@LockAop' lock hold time").register(registry);
+        Gauge.builder("lock.keys", stats, ConcurrentHashMap::size).description("'@LockAop' tracked lock keys")
+             .register(registry);
+    }
+    
+    /**
+     * 락 대기 시작, 키별 대기열 길이 증가
+     *
+     * @param keys - 락 키 목록
+     */
+    public void onWaitStart(final Collection<String> keys) {
+        for (String key : keys)
+            update(key, KeyStats::enqueue);
+    }
+    
+    /**
+     * 락 대기 종료, 대기열 길이 감소 및 대기 시간/획득 실패 기록
+     *
+     * @param keys      - 락 키 목록
+     * @param waitNanos - 대기 시간(ns)
+     * @param acquired  - 획득 여부
+     */
+    public void onWaitEnd(final Collection<String> keys, final long waitNanos, final boolean acquired) {
+        if (!acquired || waitNanos >= TimeUnit.MILLISECONDS.toNanos(1))
+            contended.increment();
+        Timer timer = acquired ? acquiredWaitTimer : timeoutWaitTimer;
+        if (timer != null)
+            timer.record(waitNanos, TimeUnit.NANOSECONDS);
+        for (String key : keys)
+            update(key, keyStats -> keyStats.dequeue(waitNanos, acquired));
+    }
+    
+    /**
+     * 락 해제, 보유 시간 기록
+     *
+     * @param keys      - 락 키 목록
+     * @param holdNanos - 보유 시간(ns)
+     */
+    public void onRelease(final Collection<String> keys, final long holdNanos) {
+        if (holdTimer != null)
+            holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+        for (String key : keys)
+            update(key, keyStats -> keyStats.release(holdNanos));
+    }
+    
+    /**
+     * 키별 지표 조회
+     *
+     * @param key - 락 키
+     * @return 지표, 없으면 null
+     */
+    public KeyStats get(final String key) {
+        return stats.get(key);
+    }
+    
+    /**
+     * 누적 대기 시간 기준 상위 키 목록 조회
+     *
+     * @param limit - 조회 개수
+     * @return 지표 목록
+     */
+    public List<KeyStats> top(final int limit) {
+        return stats.values().stream()
+                    .sorted(Comparator.comparingLong(KeyStats::getTotalWaitNanos).reversed())
+                    .limit(limit)
+                    .collect(toList());
+    }
+    
+    /**
+     * 경합이 있었던 경우 상위 키 지표 로그 출력 후 미사용 키 정리
+     */
+    @Scheduled(fixedDelayString = "${lock.metrics.report-interval}")
+    public void report() {
+        if (contended.sumThenReset() > 0)
+            for (KeyStats keyStats : top(reportSize))
+                log.info("[Lock] {}", keyStats);
+        for (String key : stats.keySet())
+            stats.computeIfPresent(key, (k, keyStats) -> keyStats.isIdle() ? null : keyStats);
+    }
+    
+    /**
+     * 키별 지표 갱신, 미사용 키 정리와 경합해 제거된 지표에 기록되지 않도록 키 단위 원자 연산 안에서 수행
+     * 추적 키 수가 maxKeys 이상이면 새 키는 OVERFLOW_KEY로 합산
+     *
+     * @param key    - 락 키
+     * @param action - 갱신 작업
+     */
+    private void update(final String key, final Consumer<KeyStats> action) {
+        String target = stats.containsKey(key) || stats.size() < maxKeys ? key : OVERFLOW_KEY;
+        stats.compute(target, (k, keyStats) -> {
+            KeyStats value = keyStats != null ? keyStats : new KeyStats(k);
+            action.accept(value);
+            return value;
+        });
+    }
+    
+    public static class KeyStats {
+        
+        private final String        key;
+        private final LongAdder     acquisitions   = new LongAdder();
+        private final LongAdder     timeouts       = new LongAdder();
+        private final LongAdder     waitNanos      = new LongAdder();
+        private final LongAdder     holdNanos      = new LongAdder();
+        private final AtomicLong    maxWaitNanos   = new AtomicLong();
+        private final AtomicLong    maxHoldNanos   = new AtomicLong();
+        private final AtomicInteger queueLength    = new AtomicInteger();
+        private final AtomicInteger maxQueueLength = new AtomicInteger();
+        private volatile boolean    touched;
+        
+        KeyStats(final String key) {
+            this.key = key;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public long getAcquisitions() {
+            return acquisitions.sum();
+        }
+        
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+        
+        public long getTotalWaitNanos() {
+            return waitNanos.sum();
+        }
+        
+        public long getMaxWaitNanos() {
+            return maxWaitNanos.get();
+        }
+        
+        public long getTotalHoldNanos() {
+            return holdNanos.sum();
+        }
+        
+        public long getMaxHoldNanos() {
+            return maxHoldNanos.get();
+        }
+        
+        public int getQueueLength() {
+            return queueLength.get();
+        }
+        
+        public int getMaxQueueLength() {
+            return maxQueueLength.get();
+        }
+        
+        private void enqueue() {
+            touched = true;
+            int length = queueLength.incrementAndGet();
+            maxQueueLength.accumulateAndGet(length, Math::max);
+        }
+        
+        private void dequeue(final long nanos, final boolean acquired) {
+            queueLength.decrementAndGet();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+            if (acquired)
+                acquisitions.increment();
+            else
+                timeouts.increment();
+        }
+        
+        private void release(final long nanos) {
+            touched = true;
+            holdNanos.add(nanos);
+            maxHoldNanos.accumulateAndGet(nanos, Math::max);
+        }
+        
+        /**
+         * 직전 보고 이후 사용되지 않았고 대기 중인 스레드가 없는지 확인, 확인 시 사용 표시 초기화
+         *
+         * @return 미사용 여부
+         */
+        private boolean isIdle() {
+            boolean idle = !touched && queueLength.get() == 0;
+            touched = false;
+            return idle;
+        }
+        
+        @Override
+        public String toString() {
+            long count = acquisitions.sum() + timeouts.sum();
+            return String.format("key=%s, acquisitions=%d, timeouts=%d, queue=%d(max %d), "
+                                 + "wait avg=%dms max=%dms, hold avg=%dms max=%dms",
+                                 key, acquisitions.sum(), timeouts.sum(), queueLength.get(), maxQueueLength.get(),
+                                 count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / count),
+                                 TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                                 acquisitions.sum() == 0 ? 0 :
+                                 TimeUnit.NANOSECONDS.toMillis(holdNanos.sum() / acquisitions.sum()),
+                                 TimeUnit.NANOSECONDS.toMillis(maxHoldNanos.get()));
+        }
+        
+    }
+    
+}
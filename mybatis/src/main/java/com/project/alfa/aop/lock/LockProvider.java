@@ -0,0 +1,88 @@
+package com.project.alfa.aop.lock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+public interface LockProvider {
+    
+    /**
+     * 락 획득 시도
+     *
+     * @param key      - 락 키
+     * @param waitTime - 최대 대기 시간
+     * @param unit     - 대기 시간 단위
+     * @return 획득한 락, 대기 시간 내 획득 실패 시 null
+     * @throws InterruptedException
+     */
+    LockHandle tryLock(String key, long waitTime, TimeUnit unit) throws InterruptedException;
+    
+    /**
+     * 다중 락 획득 시도, 교착 상태 방지를 위해 키 정렬 순서대로 획득
+     * 하나라도 실패하면 획득한 락을 모두 해제
+     *
+     * @param keys     - 락 키 목록
+     * @param waitTime - 전체 최대 대기 시간
+     * @param unit     - 대기 시간 단위
+     * @return 획득한 락 목록, 대기 시간 내 획득 실패 시 null
+     * @throws InterruptedException
+     */
+    default List<LockHandle> tryLockAll(Collection<String> keys, long waitTime, TimeUnit unit)
+    throws InterruptedException {
+        long             deadline = System.nanoTime() + unit.toNanos(waitTime);
+        List<LockHandle> handles  = new ArrayList<>();
+        try {
+            for (String key : new TreeSet<>(keys)) {
+                LockHandle handle = tryLock(key, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (handle == null) {
+                    unlockAll(handles);
+                    return null;
+                }
+                handles.add(handle);
+            }
+        } catch (InterruptedException e) {
+            unlockAll(handles);
+            throw e;
+        }
+        return handles;
+    }
+    
+    /**
+     * 대기 없이 락을 획득한 경우에만 작업 실행 후 해제
+     * 여러 노드에서 같은 정기 작업이 실행되더라도 락을 획득한 단일 노드만 수행하도록 할 때 사용
+     *
+     * @param key  - 락 키
+     * @param task - 실행할 작업
+     * @return 실행 여부, 다른 노드(스레드)가 락을 보유 중이거나 인터럽트되면 false
+     */
+    default boolean runExclusively(String key, Runnable task) {
+        LockHandle handle;
+        try {
+            handle = tryLock(key, 0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (handle == null)
+            return false;
+        try {
+            task.run();
+        } finally {
+            handle.unlock();
+        }
+        return true;
+    }
+    
+    /**
+     * 락 목록 역순 해제
+     *
+     * @param handles - 락 목록
+     */
+    static void unlockAll(List<LockHandle> handles) {
+        for (int i = handles.size() - 1; i >= 0; i--)
+            handles.get(i).unlock();
+    }
+    
+}
@@ -0,0 +1,203 @@
+package com.project.alfa.aop.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 분산 락 제공자
+ * - 임대(lease) 방식: 락 키에 만료 시간을 두어 보유 노드 장애 시 자동 해제
+ * - 펜싱 토큰: 락 획득 시 키별 카운터 증가값 발급
+ * - 워치독: 보유 중인 락의 임대 시간을 주기적으로 연장
+ * - Pub/Sub: 락 해제 시 대기 스레드를 깨워 폴링 없이 재시도
+ */
+@Slf4j
+public class RedisLockProvider implements LockProvider, MessageListener, DisposableBean {
+    
+    public static final String RELEASE_CHANNEL = "lock:release";
+    
+    private static final String LOCK_PREFIX  = "lock:";
+    private static final String FENCE_PREFIX = "lock:fence:";
+    
+    //성공 시 펜싱 토큰(양수), 실패 시 남은 임대 시간(음수) 반환
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+            "return redis.call('incr', KEYS[2]) end " +
+            "return -math.max(redis.call('pttl', KEYS[1]), 1)", Long.class);
+    private static final RedisScript<Long> RENEW_SCRIPT   = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "return redis.call('pexpire', KEYS[1], ARGV[2]) end " +
+            "return 0", Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "redis.call('del', KEYS[1]) redis.call('publish', ARGV[2], ARGV[3]) return 1 end " +
+            "return 0", Long.class);
+    
+    private static final RedisSerializer<String> ARGS_SERIALIZER   = RedisSerializer.string();
+    private static final RedisSerializer<Long>   RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+    
+    private final StringRedisTemplate      redisTemplate;
+    private final long                     leaseTime;
+    private final ScheduledExecutorService watchdog;
+    private final Signal[]                 signals;
+    private final int                      mask;
+    
+    public RedisLockProvider(final StringRedisTemplate redisTemplate, final long leaseTime, final int stripes) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTime = leaseTime;
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.signals = new Signal[size];
+        for (int i = 0; i < size; i++)
+            signals[i] = new Signal();
+        this.mask = size - 1;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public LockHandle tryLock(final String key, final long waitTime, final TimeUnit unit) throws InterruptedException {
+        String owner    = UUID.randomUUID().toString();
+        long   deadline = System.nanoTime() + unit.toNanos(waitTime);
+        Signal signal   = signalOf(key);
+        
+        while (true) {
+            long observed = signal.generation();
+            long result   = execute(ACQUIRE_SCRIPT, Arrays.asList(LOCK_PREFIX + key, FENCE_PREFIX + key),
+                                    owner, String.valueOf(leaseTime));
+            if (result > 0)
+                return new RedisLockHandle(key, owner, result);
+            
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0)
+                return null;
+            
+            //해제 알림 또는 임대 만료 시점까지 대기
+            signal.await(observed, Math.min(-result, remaining));
+        }
+    }
+    
+    /**
+     * 락 해제 알림 수신, 해당 키의 대기 스레드 깨움
+     *
+     * @param message - 해제된 락 키
+     * @param pattern
+     */
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        signalOf(new String(message.getBody(), StandardCharsets.UTF_8)).signalAll();
+    }
+    
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+    
+    /**
+     * 키에 해당하는 해제 알림 신호 조회, 같은 신호를 공유하는 다른 키의 대기 스레드는 깨어나 재시도
+     *
+     * @param key - 락 키
+     * @return 해제 알림 신호
+     */
+    private Signal signalOf(final String key) {
+        int h = key.hashCode();
+        return signals[(h ^ (h >>> 16)) & mask];
+    }
+    
+    private long execute(final RedisScript<Long> script, final List<String> keys, final Object... args) {
+        Long result = redisTemplate.execute(script, ARGS_SERIALIZER, RESULT_SERIALIZER, keys, args);
+        return result != null ? result : 0L;
+    }
+    
+    private class RedisLockHandle implements LockHandle {
+        
+        private final String             key;
+        private final String             owner;
+        private final long               fencingToken;
+        private final ScheduledFuture<?> renewal;
+        
+        RedisLockHandle(final String key, final String owner, final long fencingToken) {
+            this.key = key;
+            this.owner = owner;
+            this.fencingToken = fencingToken;
+            long period = Math.max(leaseTime / 3, 1);
+            this.renewal = watchdog.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public String getKey() {
+            return key;
+        }
+        
+        @Override
+        public long getFencingToken() {
+            return fencingToken;
+        }
+        
+        @Override
+        public void unlock() {
+            renewal.cancel(false);
+            if (execute(RELEASE_SCRIPT, Collections.singletonList(LOCK_PREFIX + key),
+                        owner, RELEASE_CHANNEL, key) == 0)
+                log.warn("Lock lease expired before release: key={}, fencingToken={}", key, fencingToken);
+        }
+        
+        /**
+         * 임대 시간 연장, 이미 임대를 잃은 경우 연장 중단
+         */
+        private void renew() {
+            try {
+                if (execute(RENEW_SCRIPT, Collections.singletonList(LOCK_PREFIX + key),
+                            owner, String.valueOf(leaseTime)) == 0) {
+                    log.warn("Lock lease lost: key={}, fencingToken={}", key, fencingToken);
+                    renewal.cancel(false);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Lock lease renewal failed: key={}, {}", key, e.getMessage());
+            }
+        }
+        
+    }
+    
+    /**
+     * 해제 알림 신호
+     */
+    private static class Signal {
+        
+        private long generation;
+        
+        synchronized long generation() {
+            return generation;
+        }
+        
+        synchronized void signalAll() {
+            generation++;
+            notifyAll();
+        }
+        
+        synchronized void await(final long observed, final long millis) throws InterruptedException {
+            if (generation == observed && millis > 0)
+                wait(millis);
+        }
+        
+    }
+    
+}
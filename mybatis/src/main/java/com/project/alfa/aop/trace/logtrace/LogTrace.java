@@ -1,13 +1,14 @@
 package com.project.alfa.aop.trace.logtrace;
 
 import com.project.alfa.aop.trace.TraceStatus;
+import org.aspectj.lang.JoinPoint;
 
 public interface LogTrace {
     
-    TraceStatus begin(String message);
+    TraceStatus begin(JoinPoint joinPoint);
     
     void end(TraceStatus status);
     
-    void exception(TraceStatus status, Exception e);
+    void exception(TraceStatus status, Throwable e);
     
 }
@@ -0,0 +1,245 @@
+package com.project.alfa.aop.trace.logtrace;
+
+import com.project.alfa.aop.trace.LatencyHistogram;
+import com.project.alfa.aop.trace.TraceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 헤드 기반 샘플링 추적
+ * - 루트 호출에서 sampleRate 확률로 트레이스 전체의 샘플링 여부를 결정, 하위 호출은 결정을 따름
+ * - 샘플링되지 않은 호출은 스레드별 깊이 카운터만 증감하고 UNSAMPLED 공유 인스턴스 반환
+ * - 샘플링된 구간은 스레드별로 미리 할당한 구간 버퍼(maxSpans개)를 재사용, 초과분은 기록하지 않음
+ * - 루트 호출 종료 시 트레이스를 복사해 내보내기 스레드로 넘기고, 로그 출력과 메서드별 히스토그램 기록은 해당 스레드에서 처리
+ * - 내보내기 대기열이 가득 차면 트레이스를 버림
+ */
+@Slf4j
+public class SampledLogTrace implements LogTrace, DisposableBean {
+    
+    private static final String COMPLETE_PREFIX = "<---";
+    private static final String EX_PREFIX       = "<-X-";
+    
+    private final double                                      sampleRate;
+    private final int                                         maxSpans;
+    private final int                                         reportSize;
+    private final ThreadLocal<TraceContext>                   contextHolder;
+    private final ThreadPoolExecutor                          exporter;
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final LongAdder                                   exported   = new LongAdder();
+    private final LongAdder                                   dropped    = new LongAdder();
+    private final LongAdder                                   truncated  = new LongAdder();
+    
+    /**
+     * @param sampleRate    - 샘플링 비율(0 ~ 1)
+     * @param maxSpans      - 트레이스당 최대 구간 수
+     * @param queueCapacity - 내보내기 대기열 크기
+     * @param reportSize    - 보고할 메서드 수
+     */
+    public SampledLogTrace(final double sampleRate, final int maxSpans, final int queueCapacity, final int reportSize) {
+        this.sampleRate = sampleRate;
+        this.maxSpans = maxSpans;
+        this.reportSize = reportSize;
+        this.contextHolder = ThreadLocal.withInitial(() -> new TraceContext(maxSpans));
+        this.exporter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               runnable -> {
+                                                   Thread thread = new Thread(runnable, "trace-exporter");
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               },
+                                               new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @Override
+    public TraceStatus begin(final JoinPoint joinPoint) {
+        TraceContext context = contextHolder.get();
+        if (context.depth++ == 0)
+            context.sample(sampleRate);
+        if (!context.sampled)
+            return TraceStatus.UNSAMPLED;
+        if (context.size == maxSpans) {
+            truncated.increment();
+            return TraceStatus.UNSAMPLED;
+        }
+        
+        TraceStatus status = context.spans[context.size++];
+        status.start(context.depth - 1, joinPoint.getSignature().toShortString(), System.nanoTime());
+        return status;
+    }
+    
+    @Override
+    public void end(final TraceStatus status) {
+        complete(status, null);
+    }
+    
+    @Override
+    public void exception(final TraceStatus status, final Throwable e) {
+        complete(status, e);
+    }
+    
+    /**
+     * 메서드별 히스토그램 조회
+     *
+     * @param key - 메서드 시그니처
+     * @return 히스토그램, 없으면 null
+     */
+    public LatencyHistogram getHistogram(final String key) {
+        return histograms.get(key);
+    }
+    
+    /**
+     * 누적 실행 시간 기준 상위 메서드 히스토그램 목록 조회
+     *
+     * @param limit - 조회 개수
+     * @return 히스토그램 목록
+     */
+    public List<LatencyHistogram> top(final int limit) {
+        return histograms.values().stream()
+                         .sorted(Comparator.comparingLong(LatencyHistogram::getTotalNanos).reversed())
+                         .limit(limit)
+                         .collect(toList());
+    }
+    
+    public long getExportedCount() {
+        return exported.sum();
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    public long getTruncatedCount() {
+        return truncated.sum();
+    }
+    
+    /**
+     * 보고 주기 동안의 상위 메서드 실행 시간 분포 로그 출력 후 초기화, 기록이 없는 메서드는 제거
+     */
+    @Scheduled(fixedDelayString = "${trace.report-interval}")
+    public void report() {
+        for (LatencyHistogram histogram : top(reportSize))
+            if (histogram.getCount() > 0)
+                log.info("[Trace] {}", histogram);
+        if (dropped.sum() > 0 || truncated.sum() > 0)
+            log.warn("[Trace] dropped traces = {}, truncated spans = {}", dropped.sum(), truncated.sum());
+        histograms.values().removeIf(histogram -> histogram.getCount() == 0);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+    
+    @Override
+    public void destroy() {
+        exporter.shutdown();
+    }
+    
+    private void complete(final TraceStatus status, final Throwable e) {
+        TraceContext context = contextHolder.get();
+        if (status.isSampled())
+            status.stop(System.nanoTime(), e == null ? null : e.toString());
+        if (--context.depth > 0 || !context.sampled)
+            return;
+        
+        Trace trace = new Trace(context);
+        context.size = 0;
+        try {
+            exporter.execute(() -> export(trace));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+        }
+    }
+    
+    /**
+     * 트레이스 로그 출력 및 구간별 히스토그램 기록, 내보내기 스레드에서 실행
+     *
+     * @param trace - 트레이스
+     */
+    private void export(final Trace trace) {
+        for (int i = 0; i < trace.messages.length; i++) {
+            histograms.computeIfAbsent(trace.messages[i], LatencyHistogram::new).record(trace.elapsedNanos[i]);
+            if (log.isInfoEnabled())
+                log.info("[{}] {} {} / time = {} ms{}",
+                         String.format("%08x", trace.traceId),
+                         addSpace(trace.exceptions[i] == null ? COMPLETE_PREFIX : EX_PREFIX, trace.depths[i]),
+                         trace.messages[i],
+                         String.format("%.3f", trace.elapsedNanos[i] / 1_000_000.0),
+                         trace.exceptions[i] == null ? "" : ", ex = " + trace.exceptions[i]);
+        }
+        exported.increment();
+    }
+    
+    private static String addSpace(final String prefix, final int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++)
+            sb.append((i == level - 1) ? " |" + prefix : " |      ");
+        return sb.toString();
+    }
+    
+    /**
+     * 스레드별 추적 상태, 구간 버퍼는 생성 시 한 번만 할당
+     */
+    private static class TraceContext {
+        
+        private final TraceStatus[] spans;
+        private int                 depth;      //현재 호출 깊이
+        private int                 size;       //현재 트레이스의 기록된 구간 수
+        private boolean             sampled;    //현재 트레이스 샘플링 여부
+        private long                traceId;
+        
+        private TraceContext(final int maxSpans) {
+            spans = new TraceStatus[maxSpans];
+            for (int i = 0; i < maxSpans; i++)
+                spans[i] = new TraceStatus();
+        }
+        
+        private void sample(final double sampleRate) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            sampled = sampleRate >= 1 || (sampleRate > 0 && random.nextDouble() < sampleRate);
+            if (sampled)
+                traceId = random.nextInt() & 0xFFFFFFFFL;
+        }
+        
+    }
+    
+    /**
+     * 내보내기용 트레이스 사본, 구간은 시작 순서
+     */
+    private static class Trace {
+        
+        private final long     traceId;
+        private final String[] messages;
+        private final int[]    depths;
+        private final long[]   elapsedNanos;
+        private final String[] exceptions;
+        
+        private Trace(final TraceContext context) {
+            int size = context.size;
+            traceId = context.traceId;
+            messages = new String[size];
+            depths = new int[size];
+            elapsedNanos = new long[size];
+            exceptions = new String[size];
+            for (int i = 0; i < size; i++) {
+                TraceStatus span = context.spans[i];
+                messages[i] = span.getMessage();
+                depths[i] = span.getDepth();
+                elapsedNanos[i] = span.getElapsedNanos();
+                exceptions[i] = span.getException();
+            }
+        }
+        
+    }
+    
+}
@@ -2,27 +2,48 @@ package com.project.alfa.config;
 
 import com.project.alfa.aop.ProjectAspects.LockAspect;
 import com.project.alfa.aop.ProjectAspects.LogTraceAspect;
+import com.project.alfa.aop.ProjectAspects.OptimisticLockAspect;
+import com.project.alfa.aop.lock.LockMetrics;
+import com.project.alfa.aop.lock.LockProvider;
 import com.project.alfa.aop.trace.logtrace.LogTrace;
-import com.project.alfa.aop.trace.logtrace.ThreadLocalLogTrace;
+import com.project.alfa.aop.trace.logtrace.SampledLogTrace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@RequiredArgsConstructor
 public class AopConfig {
     
+    private final LockProvider lockProvider;
+    private final LockMetrics  lockMetrics;
+    
+    @Value("${lock.wait-time}")
+    private long lockWaitTime;
+    
     @Bean
     public LogTraceAspect logTraceAspect(LogTrace logTrace) {
         return new LogTraceAspect(logTrace);
     }
     
     @Bean
-    public LockAspect lockAspect() {
-        return new LockAspect();
+    public LockAspect lockAspect(BeanFactory beanFactory) {
+        return new LockAspect(lockProvider, lockMetrics, beanFactory, lockWaitTime);
+    }
+    
+    @Bean
+    public OptimisticLockAspect optimisticLockAspect() {
+        return new OptimisticLockAspect();
     }
     
     @Bean
-    public LogTrace logTrace() {
-        return new ThreadLocalLogTrace();
+    public SampledLogTrace logTrace(@Value("${trace.sample-rate}") double sampleRate,
+                                    @Value("${trace.max-spans}") int maxSpans,
+                                    @Value("${trace.export.queue-capacity}") int queueCapacity,
+                                    @Value("${trace.report-size}") int reportSize) {
+        return new SampledLogTrace(sampleRate, maxSpans, queueCapacity, reportSize);
     }
     
 }
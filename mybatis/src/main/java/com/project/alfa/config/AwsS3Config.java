@@ -5,9 +5,13 @@ import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.project.alfa.utils.S3StreamUploader;
+import com.project.alfa.utils.storage.S3MetricsRequestHandler;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 public class AwsS3Config {
@@ -21,14 +25,31 @@ public class AwsS3Config {
     @Value("${cloud.aws.region.static}")
     private String region;
     
+    @Value("${aws.s3.stream.part-size}")
+    private DataSize partSize;
+    @Value("${aws.s3.stream.parts-per-upload}")
+    private int      partsPerUpload;
+    @Value("${aws.s3.stream.buffers}")
+    private int      buffers;
+    @Value("${aws.s3.stream.threads}")
+    private int      threads;
+    @Value("${aws.s3.stream.buffer-wait-time}")
+    private long     bufferWaitTime;
+    
     @Bean
-    public AmazonS3 amazonS3() {
+    public AmazonS3 amazonS3(MeterRegistry meterRegistry) {
         AWSCredentials credentials = new BasicAWSCredentials(accessKey, secretKey);
         return AmazonS3ClientBuilder.standard()
                                     .withCredentials(new AWSStaticCredentialsProvider(credentials))
                                     .withRegion(region)
+                                    .withRequestHandlers(new S3MetricsRequestHandler(meterRegistry))
                                     .build();
     }
     
+    @Bean
+    public S3StreamUploader s3StreamUploader(AmazonS3 amazonS3) {
+        return new S3StreamUploader(amazonS3, (int) partSize.toBytes(), partsPerUpload, buffers, threads,
+                                    bufferWaitTime);
+    }
     
 }
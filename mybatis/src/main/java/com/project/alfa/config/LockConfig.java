@@ -0,0 +1,48 @@
+package com.project.alfa.config;
+
+import com.project.alfa.aop.lock.LocalLockProvider;
+import com.project.alfa.aop.lock.LockManager;
+import com.project.alfa.aop.lock.LockMetrics;
+import com.project.alfa.aop.lock.LockProvider;
+import com.project.alfa.aop.lock.RedisLockProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * '@LockAop' 락 제공자 설정
+ * - lock.provider=local: 단일 노드(JVM) 락
+ * - lock.provider=redis: Redis 분산 락
+ */
+@Configuration
+public class LockConfig {
+    
+    @Bean
+    public LockMetrics lockMetrics(@Value("${lock.metrics.max-keys}") int maxKeys,
+                                   @Value("${lock.metrics.report-size}") int reportSize) {
+        return new LockMetrics(maxKeys, reportSize);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "lock.provider", havingValue = "local", matchIfMissing = true)
+    public LockProvider localLockProvider(@Value("${lock.stripes}") int stripes) {
+        return new LocalLockProvider(new LockManager(stripes));
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "lock.provider", havingValue = "redis")
+    public RedisLockProvider redisLockProvider(StringRedisTemplate stringRedisTemplate,
+                                               RedisMessageListenerContainer redisMessageListenerContainer,
+                                               @Value("${lock.redis.lease-time}") long leaseTime,
+                                               @Value("${lock.stripes}") int stripes) {
+        RedisLockProvider redisLockProvider = new RedisLockProvider(stringRedisTemplate, leaseTime, stripes);
+        redisMessageListenerContainer.addMessageListener(redisLockProvider,
+                                                         new ChannelTopic(RedisLockProvider.RELEASE_CHANNEL));
+        return redisLockProvider;
+    }
+    
+}
@@ -0,0 +1,63 @@
+package com.project.alfa.config;
+
+import com.project.alfa.aop.trace.logtrace.SampledLogTrace;
+import com.project.alfa.services.MailTaskService;
+import com.project.alfa.services.PurgeService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 애플리케이션 지표 등록, /actuator/prometheus로 노출(management.server.port)
+ * - HTTP 요청(http.server.requests, 경로 템플릿별), Hikari 커넥션 풀(hikaricp.*), Lettuce 명령(lettuce.command.*),
+ * 캐시(cache.*)는 Spring Boot 자동 설정
+ * - AWS S3 요청(aws.s3.requests): S3MetricsRequestHandler
+ * - '@LockAop' 락 대기/보유 시간(lock.*): LockMetrics
+ * - 소프트 삭제 데이터 영구 삭제 건수(purge.*): PurgeService
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public MeterBinder mailOutboxMetrics(MailTaskService mailTaskService) {
+        return registry -> {
+            FunctionCounter.builder("mail.outbox.sent", mailTaskService, MailTaskService::getSentCount)
+                           .description("Mails sent").register(registry);
+            FunctionCounter.builder("mail.outbox.failed", mailTaskService, MailTaskService::getFailedCount)
+                           .description("Mail send failures rescheduled for retry").register(registry);
+            FunctionCounter.builder("mail.outbox.dropped", mailTaskService, MailTaskService::getDroppedCount)
+                           .description("Mails dropped after max attempts").register(registry);
+            FunctionCounter.builder("mail.outbox.rejected", mailTaskService, MailTaskService::getRejectedCount)
+                           .description("Mail dispatches rejected by a full sender queue").register(registry);
+            Gauge.builder("mail.outbox.queue", mailTaskService, MailTaskService::getQueueSize)
+                 .description("Mail sender queue size").register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder purgeMetrics(PurgeService purgeService) {
+        return registry -> {
+            FunctionCounter.builder("purge.attachments", purgeService, PurgeService::getTotalPurgedAttachments)
+                           .description("Soft-deleted attachments purged").register(registry);
+            FunctionCounter.builder("purge.comments", purgeService, PurgeService::getTotalPurgedComments)
+                           .description("Soft-deleted comments purged").register(registry);
+            FunctionCounter.builder("purge.posts", purgeService, PurgeService::getTotalPurgedPosts)
+                           .description("Soft-deleted posts purged").register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder traceMetrics(SampledLogTrace logTrace) {
+        return registry -> {
+            FunctionCounter.builder("trace.exported", logTrace, SampledLogTrace::getExportedCount)
+                           .description("Sampled traces exported").register(registry);
+            FunctionCounter.builder("trace.dropped", logTrace, SampledLogTrace::getDroppedCount)
+                           .description("Sampled traces dropped by a full export queue").register(registry);
+            FunctionCounter.builder("trace.truncated", logTrace, SampledLogTrace::getTruncatedCount)
+                           .description("Spans not recorded over the per-trace limit").register(registry);
+        };
+    }
+    
+}
@@ -0,0 +1,35 @@
+package com.project.alfa.config;
+
+import com.project.alfa.security.ratelimit.LocalRateLimiter;
+import com.project.alfa.security.ratelimit.RateLimitProperties;
+import com.project.alfa.security.ratelimit.RateLimiter;
+import com.project.alfa.security.ratelimit.RedisRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 요청 제한 설정
+ * - rate-limit.provider=local: 단일 노드(JVM) 요청 제한
+ * - rate-limit.provider=redis: Redis 요청 제한, Redis 장애 시 로컬 요청 제한으로 대체
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.provider", havingValue = "local", matchIfMissing = true)
+    public RateLimiter localRateLimiter(RateLimitProperties properties) {
+        return new LocalRateLimiter(properties.getMaxKeys());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.provider", havingValue = "redis")
+    public RateLimiter redisRateLimiter(StringRedisTemplate stringRedisTemplate, RateLimitProperties properties) {
+        return new RedisRateLimiter(stringRedisTemplate, new LocalRateLimiter(properties.getMaxKeys()),
+                                    properties.getRetryInterval().toMillis());
+    }
+    
+}
@@ -1,11 +1,14 @@
 package com.project.alfa.config;
 
+import io.lettuce.core.resource.ClientResources;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -14,6 +17,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Profile("default")
 @Configuration
+@RequiredArgsConstructor
 public class RedisConfig {
     
     @Value("${spring.redis.host}")
@@ -23,11 +27,19 @@ public class RedisConfig {
     @Value("${spring.redis.password}")
     private String password;
     
+    private final ClientResources clientResources;
+    
+    /**
+     * 자동 설정된 ClientResources 사용, Lettuce 명령 지연 시간(lettuce.command.*) 기록
+     */
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration(host, port);
         redisStandaloneConfiguration.setPassword(password);
-        return new LettuceConnectionFactory(redisStandaloneConfiguration);
+        return new LettuceConnectionFactory(redisStandaloneConfiguration,
+                                            LettuceClientConfiguration.builder()
+                                                                      .clientResources(clientResources)
+                                                                      .build());
     }
     
     @Bean
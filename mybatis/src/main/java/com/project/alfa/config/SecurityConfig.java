@@ -1,5 +1,6 @@
 package com.project.alfa.config;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.project.alfa.repositories.mybatis.MyBatisTokenRepositoryImpl;
@@ -7,6 +8,11 @@ import com.project.alfa.repositories.mybatis.PersistentTokenMapper;
 import com.project.alfa.security.jwt.entrypoint.JwtAuthenticationEntryPoint;
 import com.project.alfa.security.jwt.filter.JwtAuthenticationFilter;
 import com.project.alfa.security.jwt.filter.JwtRequestFilter;
+import com.project.alfa.security.ratelimit.RateLimitFilter;
+import com.project.alfa.security.ratelimit.RateLimitProperties;
+import com.project.alfa.security.ratelimit.RateLimiter;
+import com.project.alfa.security.route.QueryPattern;
+import com.project.alfa.security.route.RouteMatcher;
 import com.project.alfa.services.JwtService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -45,6 +51,8 @@ public class SecurityConfig {
     private final PersistentTokenMapper        persistentTokenMapper;
     private final JwtAuthenticationEntryPoint  jwtAuthenticationEntryPoint;
     private final JwtService                   jwtService;
+    private final RateLimiter                  rateLimiter;
+    private final RateLimitProperties          rateLimitProperties;
     
     @Bean
     public PersistentTokenRepository tokenRepository() {
@@ -61,13 +69,9 @@ public class SecurityConfig {
         //CSRF 비활성화
         http.csrf().disable();
         
-        //URL
+        //URL: 경로 규칙을 한 번 컴파일해 요청마다 세그먼트 트라이로 판정
         http.authorizeRequests()
-            .regexMatchers(GET, "/api/posts/(?:\\d+)?$", "/api/posts/\\d+/attachments$", "/api/posts/\\d+/attachments/\\d+/download$").permitAll()
-            .regexMatchers(GET, "/api/posts\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)(&?(?:condition=(title|content|titleOrContent|writer)?)?)(&?(?:keyword=.*)?)$").permitAll()
-            .regexMatchers(GET, "/api/posts/\\d+/comments\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)$").permitAll()
-            .mvcMatchers("/api/members", "/api/members/forgot-password").permitAll()
-            .mvcMatchers("/api/members/**", "/logout", "/api/posts/**", "/api/posts/*/comments/**", "/api/comments/**", "/api/auth/refresh").authenticated()
+            .requestMatchers(authorizationRoutes().matcherOf(RouteMatcher.Access.AUTHENTICATED)).authenticated()
             .anyRequest().permitAll();
         
         //커스텀 AuthenticationProvider
@@ -86,6 +90,11 @@ public class SecurityConfig {
         //세션 비활성화
         http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
         
+        //요청 제한 필터: 인증, 메일 발송 전에 초과 요청 거부
+        if (rateLimitProperties.isEnabled())
+            http.addFilterBefore(new RateLimitFilter(rateLimiter, rateLimitProperties),
+                                 UsernamePasswordAuthenticationFilter.class);
+        
         //JWT 인증 필터
         JwtRequestFilter jwtRequestFilter = new JwtRequestFilter(userDetailsService, jwtService);
         JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(authenticationManager,
@@ -115,6 +124,14 @@ public class SecurityConfig {
             
                 SecurityContextHolder.clearContext();
             
+                //Access 토큰 폐기, 만료 또는 잘못된 토큰은 폐기 불필요
+                String accessToken = getAccessToken(request);
+                if (accessToken != null)
+                    try {
+                        jwtService.revokeAccessToken(accessToken);
+                    } catch (JWTVerificationException ignored) {
+                    }
+            
                 String refreshToken = getRefreshToken(request);
                 if (refreshToken != null) {
                     jwtService.deleteRefreshToken(refreshToken);
@@ -125,7 +142,7 @@ public class SecurityConfig {
                     response.getWriter().write("Invalid Refresh Token.");
                 }
                 response.getWriter().flush();
-
+            
 //                Cookie jSessionIdCookie = new Cookie("JSESSIONID", null);
 //                jSessionIdCookie.setPath("/");
 //                jSessionIdCookie.setHttpOnly(true);
@@ -151,6 +168,48 @@ public class SecurityConfig {
         return http.build();
     }
     
+    /**
+     * URL 접근 권한 규칙 컴파일, 선언 순서상 첫 번째로 일치하는 규칙 적용
+     * 게시글/댓글 조회는 허용하되 쿼리 문자열은 정해진 파라미터만 허용, 그 외 회원/게시글/댓글 API는 인증 필요
+     *
+     * @return RouteMatcher
+     */
+    public static RouteMatcher authorizationRoutes() {
+        QueryPattern postSearch = QueryPattern.builder()
+                                              .digits("page")
+                                              .digits("size")
+                                              .oneOf("condition", "title", "content", "titleOrContent", "writer")
+                                              .rest("keyword")
+                                              .build();
+        QueryPattern page = QueryPattern.builder().digits("page").digits("size").build();
+        
+        return RouteMatcher.builder()
+                           .permitAll(GET, QueryPattern.NONE, "/api/posts/", "/api/posts/{postId}",
+                                      "/api/posts/{postId}/attachments",
+                                      "/api/posts/{postId}/attachments/{attachmentId}/download",
+                                      "/api/posts/{postId}/attachments/{attachmentId}/redirect")
+                           .permitAll(GET, postSearch, "/api/posts")
+                           .permitAll(GET, page, "/api/posts/{postId}/comments")
+                           .permitAll("/api/members", "/api/members/forgot-password")
+                           .authenticated("/api/members/**", "/logout", "/api/posts/**", "/api/posts/*/comments/**",
+                                          "/api/comments/**", "/api/auth/refresh")
+                           .anyRequest(RouteMatcher.Access.PERMIT_ALL)
+                           .build();
+    }
+    
+    /**
+     * JWT Access 토큰 추출
+     *
+     * @param request
+     * @return JWT Access 토큰
+     */
+    private String getAccessToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer "))
+            return header.substring(7);
+        return null;
+    }
+    
     /**
      * JWT Refresh 토큰 추출
      *
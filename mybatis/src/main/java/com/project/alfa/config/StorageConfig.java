@@ -0,0 +1,34 @@
+package com.project.alfa.config;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.project.alfa.utils.S3StreamUploader;
+import com.project.alfa.utils.storage.LocalStorageBackend;
+import com.project.alfa.utils.storage.S3StorageBackend;
+import com.project.alfa.utils.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 첨부파일 저장소 설정
+ * - storage.type=s3: AWS S3
+ * - storage.type=local: 로컬 파일 시스템(storage.local.root-dir)
+ */
+@Configuration
+public class StorageConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+    public StorageBackend s3StorageBackend(AmazonS3 amazonS3, S3StreamUploader s3StreamUploader,
+                                           @Value("${aws.s3.bucket}") String bucket) {
+        return new S3StorageBackend(amazonS3, s3StreamUploader, bucket);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "local")
+    public StorageBackend localStorageBackend(@Value("${storage.local.root-dir}") String rootDir) {
+        return new LocalStorageBackend(rootDir);
+    }
+    
+}
@@ -0,0 +1,31 @@
+package com.project.alfa.config;
+
+import com.project.alfa.security.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 인증 정보 캐시 설정
+ * - user-details.cache.broadcast=true: Redis Pub/Sub으로 다른 노드에 캐시 제거 전파
+ */
+@Configuration
+public class UserDetailsCacheConfig {
+    
+    @Bean
+    public UserDetailsCache userDetailsCache(StringRedisTemplate stringRedisTemplate,
+                                             RedisMessageListenerContainer redisMessageListenerContainer,
+                                             @Value("${user-details.cache.max-size}") int maxSize,
+                                             @Value("${user-details.cache.ttl}") long ttl,
+                                             @Value("${user-details.cache.broadcast}") boolean broadcast) {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(maxSize, ttl, broadcast ? stringRedisTemplate : null);
+        if (broadcast)
+            redisMessageListenerContainer.addMessageListener(userDetailsCache,
+                                                             new ChannelTopic(UserDetailsCache.EVICT_CHANNEL));
+        return userDetailsCache;
+    }
+    
+}
@@ -46,8 +46,8 @@ public class AuthApiController {
                                                @AuthenticationPrincipal UserDetails userDetails) {
         String refreshToken = getRefreshToken(request, body);
         if (refreshToken != null && !refreshToken.trim().isEmpty()) {
-            String accessToken = jwtService.refreshAccessToken(refreshToken, userDetails);
-            refreshToken = jwtService.generateRefreshToken(userDetails);
+            refreshToken = jwtService.rotateRefreshToken(refreshToken, userDetails);
+            String accessToken = jwtService.generateAccessToken(userDetails);
             response.setHeader("Authorization", "Bearer " + accessToken);
             
             //1. RefreshToken 쿠키로 전달
@@ -11,12 +11,14 @@ public class Attachment extends UploadFile {
     
     private Long id;        //PK
     private Long postId;    //게시글 FK
+    private Long version;   //버전(낙관적 락)
     boolean deleteYn;       //삭제 여부
     
     @Builder
     public Attachment(Long id, Long postId,
-                      String originalFilename, String storeFilename, String storeFilePath, Long fileSize) {
-        super(originalFilename, storeFilename, storeFilePath, fileSize);
+                      String originalFilename, String storeFilename, String storeFilePath, Long fileSize,
+                      String contentHash) {
+        super(originalFilename, storeFilename, storeFilePath, fileSize, contentHash);
         this.id = id;
         this.postId = postId;
     }
@@ -20,14 +20,16 @@ public class Comment {
     private String        content;          //내용
     private LocalDateTime createdDate;      //생성일시
     private LocalDateTime lastModifiedDate; //최종 수정일시
+    private Long          version;          //버전(낙관적 락)
     private boolean       deleteYn;         //삭제 여부
     
     @Builder
-    public Comment(Long id, Long writerId, Long postId, String content) {
+    public Comment(Long id, Long writerId, Long postId, String content, Long version) {
         this.id = id;
         this.writerId = writerId;
         this.postId = postId;
         this.content = content;
+        this.version = version;
     }
     
 }
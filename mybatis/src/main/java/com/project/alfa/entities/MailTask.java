@@ -0,0 +1,41 @@
+package com.project.alfa.entities;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 발송 작업(아웃박스), 계정 정보와 같은 트랜잭션으로 기록하고 커밋 후 발송
+ * 발송한 작업은 바로 삭제하고, 실패한 작업은 다음 시도 일시를 늦춰 같은 내용으로 재시도
+ * 발송 전 선점 만료 일시를 기록해 선점한 노드(스레드)에서만 발송
+ * 같은 주소, 같은 유형의 발송 대기 작업은 최신 내용 하나만 유지
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MailTask {
+    
+    private Long          id;                 //PK
+    private MailTaskType  type;               //메일 유형
+    private String        recipient;          //받는 메일 주소
+    private String        subject;            //제목
+    private String        content;            //본문, 암호화하여 저장
+    private int           attempts;           //실패 횟수
+    private LocalDateTime nextAttemptTime;    //다음 시도 일시
+    private LocalDateTime leaseExpireTime;    //발송 선점 만료 일시, 선점하지 않았으면 null
+    private LocalDateTime createdDate;        //생성일시
+    private LocalDateTime lastModifiedDate;   //최종 수정일시
+    
+    @Builder
+    public MailTask(MailTaskType type, String recipient, String subject, String content,
+                    LocalDateTime nextAttemptTime) {
+        this.type = type;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.content = content;
+        this.nextAttemptTime = nextAttemptTime;
+    }
+    
+}
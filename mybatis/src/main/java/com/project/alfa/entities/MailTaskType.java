@@ -0,0 +1,8 @@
+package com.project.alfa.entities;
+
+public enum MailTaskType {
+    
+    VERIFICATION,   //이메일 인증
+    PASSWORD_RESET  //비밀번호 찾기 결과
+    
+}
@@ -28,11 +28,12 @@ public class Member {
     private LocalDateTime lastModifiedDate;                //최종 수정일시
     private List<Long>    postIds    = new ArrayList<>();  //작성 게시글 FK 목록
     private List<Long>    commentIds = new ArrayList<>();  //작성 댓글 FK 목록
+    private Long          version;                         //버전(낙관적 락)
     private boolean       deleteYn;                        //탈퇴 여부
     
     @Builder
     public Member(Long id, String username, String password, AuthInfo authInfo, String nickname, String signature,
-                  Role role) {
+                  Role role, Long version) {
         this.id = id;
         this.username = username == null ? null : username.toLowerCase();
         this.password = password;
@@ -40,6 +41,7 @@ public class Member {
         this.nickname = nickname;
         this.signature = signature;
         this.role = role;
+        this.version = version;
     }
     
 }
@@ -26,15 +26,17 @@ public class Post {
     private LocalDateTime lastModifiedDate;                     //최종 수정일시
     private List<Long>    commentIds    = new ArrayList<>();    //작성 댓글 FK 목록
     private List<Long>    attachmentIds = new ArrayList<>();    //첨부파일 FK 목록
+    private Long          version;                              //버전(낙관적 락)
     private boolean       deleteYn;                             //삭제 여부
     
     @Builder
-    public Post(Long id, Long writerId, String title, String content, boolean noticeYn) {
+    public Post(Long id, Long writerId, String title, String content, boolean noticeYn, Long version) {
         this.id = id;
         this.writerId = writerId;
         this.title = title;
         this.content = content;
         this.noticeYn = noticeYn;
+        this.version = version;
     }
     
 }
@@ -14,14 +14,17 @@ public abstract class UploadFile {
     String        storeFilename;    //저장 파일명
     String        storeFilePath;    //저장 경로
     Long          fileSize;         //파일 크기
+    String        contentHash;      //내용 해시(SHA-256), 중복 제거 대상이 아니면 null
     LocalDateTime createdDate;      //생성일시
     LocalDateTime lastModifiedDate; //최종 수정일시
     
-    protected UploadFile(String originalFilename, String storeFilename, String storeFilePath, Long fileSize) {
+    protected UploadFile(String originalFilename, String storeFilename, String storeFilePath, Long fileSize,
+                         String contentHash) {
         this.originalFilename = originalFilename;
         this.storeFilename = storeFilename;
         this.storeFilePath = storeFilePath;
         this.fileSize = fileSize;
+        this.contentHash = contentHash;
     }
     
 }
@@ -0,0 +1,12 @@
+package com.project.alfa.error.exception;
+
+/**
+ * 서버 자원(스레드 풀 등) 포화로 요청 거부, 재시도 가능한 오류(Retry-After 헤더 포함 응답)
+ */
+public class ServerBusyException extends BusinessException {
+    
+    public ServerBusyException(String value, ErrorCode errorCode) {
+        super(value, errorCode);
+    }
+    
+}
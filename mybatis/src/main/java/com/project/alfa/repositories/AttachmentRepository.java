@@ -2,6 +2,7 @@ package com.project.alfa.repositories;
 
 import com.project.alfa.entities.Attachment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,12 @@ public interface AttachmentRepository {
     
     void permanentlyDeleteAllByIds(List<Long> ids);
     
+    List<Attachment> findAllToPurge(LocalDateTime deletedBefore, int limit);
+    
+    List<String> findAllStoreFilePaths(List<String> storeFilePaths);
+    
+    void purgeAllByIds(List<Long> ids);
+    
     void deleteAll();
     
 }
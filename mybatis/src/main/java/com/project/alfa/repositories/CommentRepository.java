@@ -3,6 +3,7 @@ package com.project.alfa.repositories;
 import com.project.alfa.entities.Comment;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +49,10 @@ public interface CommentRepository {
     
     void permanentlyDeleteAllByIds(List<Long> ids);
     
+    List<Long> findAllIdsToPurge(LocalDateTime deletedBefore, int limit);
+    
+    void purgeAllByIds(List<Long> ids);
+    
     void deleteAll();
     
 }
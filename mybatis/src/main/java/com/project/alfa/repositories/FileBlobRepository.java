@@ -0,0 +1,20 @@
+package com.project.alfa.repositories;
+
+import com.project.alfa.entities.FileBlob;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FileBlobRepository {
+    
+    void acquire(String contentHash, String storeFilePath, long fileSize, long count);
+    
+    int release(String contentHash, long count);
+    
+    Optional<FileBlob> findById(String contentHash);
+    
+    List<String> findAllStoreFilePaths(List<String> storeFilePaths);
+    
+    boolean deleteIfUnreferenced(String contentHash);
+    
+}
@@ -0,0 +1,25 @@
+package com.project.alfa.repositories;
+
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailTaskRepository {
+    
+    MailTask save(MailTask mailTask);
+    
+    List<MailTask> findAllDue(LocalDateTime dueBefore, int limit);
+    
+    List<MailTask> findAll();
+    
+    boolean claim(Long id, LocalDateTime now, LocalDateTime leaseExpireTime);
+    
+    void retry(Long id, LocalDateTime nextAttemptTime);
+    
+    void deleteAllByRecipientAndType(String recipient, MailTaskType type);
+    
+    void deleteAllByIds(List<Long> ids);
+    
+}
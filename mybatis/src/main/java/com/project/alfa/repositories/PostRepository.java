@@ -4,6 +4,7 @@ import com.project.alfa.entities.Post;
 import com.project.alfa.repositories.dto.SearchParam;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,6 +56,8 @@ public interface PostRepository {
     
     void permanentlyDeleteAllByIds(List<Long> ids);
     
+    List<Long> findAllIdsToPurge(LocalDateTime deletedBefore, int limit);
+    
     void deleteAll();
     
 }
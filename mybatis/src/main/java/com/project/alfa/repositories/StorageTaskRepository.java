@@ -0,0 +1,22 @@
+package com.project.alfa.repositories;
+
+import com.project.alfa.entities.StorageTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StorageTaskRepository {
+    
+    List<StorageTask> saveAll(List<StorageTask> storageTasks);
+    
+    List<StorageTask> findAllDue(LocalDateTime dueBefore, int limit);
+    
+    List<StorageTask> findAllByPaths(List<String> paths);
+    
+    void retry(Long id, LocalDateTime nextAttemptTime);
+    
+    void postpone(Long id, LocalDateTime nextAttemptTime);
+    
+    void deleteAllByIds(List<Long> ids);
+    
+}
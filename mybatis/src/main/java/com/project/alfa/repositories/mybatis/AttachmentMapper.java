@@ -4,6 +4,7 @@ import com.project.alfa.entities.Attachment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -37,6 +38,12 @@ public interface AttachmentMapper {
     
     void permanentlyDeleteAllByIds(@Param("ids") List<Long> ids);
     
+    List<Attachment> findAllToPurge(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+    
+    List<String> findAllStoreFilePaths(@Param("storeFilePaths") List<String> storeFilePaths);
+    
+    void purgeAllByIds(@Param("ids") List<Long> ids);
+    
     void deleteAll();
     
 }
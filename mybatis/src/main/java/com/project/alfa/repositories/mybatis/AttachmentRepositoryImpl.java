@@ -5,6 +5,7 @@ import com.project.alfa.repositories.AttachmentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -181,6 +182,44 @@ public class AttachmentRepositoryImpl implements AttachmentRepository {
         attachmentMapper.permanentlyDeleteAllByIds(ids);
     }
     
+    /**
+     * 영구 삭제 대상 첨부파일 정보 목록 조회
+     * 삭제 후 보관 기간이 지난 첨부파일 또는 보관 기간이 지난 삭제 게시글의 첨부파일
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @param limit         - 최대 조회 개수
+     * @return 첨부파일 정보 목록
+     */
+    @Override
+    public List<Attachment> findAllToPurge(LocalDateTime deletedBefore, int limit) {
+        return attachmentMapper.findAllToPurge(deletedBefore, limit);
+    }
+    
+    /**
+     * 저장 경로 목록 중 첨부파일 정보가 참조하는 저장 경로 조회, 삭제된 첨부파일 포함
+     *
+     * @param storeFilePaths - 저장 경로 목록
+     * @return 참조 중인 저장 경로 목록
+     */
+    @Override
+    public List<String> findAllStoreFilePaths(List<String> storeFilePaths) {
+        if (storeFilePaths.isEmpty())
+            return Collections.emptyList();
+        return attachmentMapper.findAllStoreFilePaths(storeFilePaths);
+    }
+    
+    /**
+     * 첨부파일 정보 목록 영구 삭제, 삭제 여부와 관계없이 삭제(영구 삭제 작업 전용)
+     *
+     * @param ids - PK 목록
+     */
+    @Override
+    public void purgeAllByIds(List<Long> ids) {
+        if (ids.isEmpty())
+            return;
+        attachmentMapper.purgeAllByIds(ids);
+    }
+    
     /**
      * 모든 첨부파일 정보 영구 삭제
      */
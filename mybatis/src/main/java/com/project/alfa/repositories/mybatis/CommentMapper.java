@@ -4,6 +4,7 @@ import com.project.alfa.entities.Comment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -31,7 +32,7 @@ public interface CommentMapper {
     
     List<Comment> findAllByPostAndDeleteYn(@Param("postId") Long postId, @Param("deleteYn") boolean deleteYn);
     
-    void update(Comment param);
+    int update(Comment param);
     
     void deleteById(@Param("id") Long id, @Param("writerId") Long writerId);
     
@@ -41,6 +42,10 @@ public interface CommentMapper {
     
     void permanentlyDeleteAllByIds(@Param("ids") List<Long> ids);
     
+    List<Long> findAllIdsToPurge(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+    
+    void purgeAllByIds(@Param("ids") List<Long> ids);
+    
     void deleteAll();
     
 }
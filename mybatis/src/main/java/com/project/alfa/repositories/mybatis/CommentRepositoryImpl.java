@@ -4,10 +4,12 @@ import com.github.pagehelper.PageHelper;
 import com.project.alfa.entities.Comment;
 import com.project.alfa.repositories.CommentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -209,7 +211,10 @@ public class CommentRepositoryImpl implements CommentRepository {
      */
     @Override
     public void update(Comment param) {
-        commentMapper.update(param);
+        //버전 조건이 있는 수정이 반영되지 않았으면 다른 트랜잭션이 먼저 수정한 것
+        if (commentMapper.update(param) == 0 && param.getVersion() != null)
+            throw new OptimisticLockingFailureException(
+                    "Comment was updated by another transaction, id: " + param.getId());
     }
     
     /**
@@ -258,6 +263,31 @@ public class CommentRepositoryImpl implements CommentRepository {
         commentMapper.permanentlyDeleteAllByIds(ids);
     }
     
+    /**
+     * 영구 삭제 대상 댓글 PK 목록 조회
+     * 삭제 후 보관 기간이 지난 댓글 또는 보관 기간이 지난 삭제 게시글의 댓글
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @param limit         - 최대 조회 개수
+     * @return PK 목록
+     */
+    @Override
+    public List<Long> findAllIdsToPurge(LocalDateTime deletedBefore, int limit) {
+        return commentMapper.findAllIdsToPurge(deletedBefore, limit);
+    }
+    
+    /**
+     * 댓글 정보 목록 영구 삭제, 삭제 여부와 관계없이 삭제(영구 삭제 작업 전용)
+     *
+     * @param ids - PK 목록
+     */
+    @Override
+    public void purgeAllByIds(List<Long> ids) {
+        if (ids.isEmpty())
+            return;
+        commentMapper.purgeAllByIds(ids);
+    }
+    
     /**
      * 모든 댓글 정보 영구 삭제
      */
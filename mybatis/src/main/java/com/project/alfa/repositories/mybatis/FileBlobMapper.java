@@ -0,0 +1,25 @@
+package com.project.alfa.repositories.mybatis;
+
+import com.project.alfa.entities.FileBlob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface FileBlobMapper {
+    
+    void acquire(@Param("contentHash") String contentHash,
+                 @Param("storeFilePath") String storeFilePath,
+                 @Param("fileSize") long fileSize,
+                 @Param("count") long count);
+    
+    int release(@Param("contentHash") String contentHash, @Param("count") long count);
+    
+    FileBlob findById(String contentHash);
+    
+    List<String> findAllStoreFilePaths(@Param("storeFilePaths") List<String> storeFilePaths);
+    
+    int deleteIfUnreferenced(String contentHash);
+    
+}
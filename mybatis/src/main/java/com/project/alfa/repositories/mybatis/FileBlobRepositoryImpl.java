@@ -0,0 +1,83 @@
+package com.project.alfa.repositories.mybatis;
+
+import com.project.alfa.entities.FileBlob;
+import com.project.alfa.repositories.FileBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 첨부파일 저장 객체 참조 수 관리
+ * 동시 업로드/삭제 간 경쟁을 막기 위해 참조 수는 DB에서 원자적으로 갱신
+ */
+@Repository
+@RequiredArgsConstructor
+public class FileBlobRepositoryImpl implements FileBlobRepository {
+    
+    private final FileBlobMapper fileBlobMapper;
+    
+    /**
+     * 저장 객체 참조 획득, 같은 내용 해시의 저장 객체가 없으면 새로 등록
+     * 갱신한 행은 트랜잭션 종료까지 잠기므로 같은 해시의 참조 획득/해제는 순서대로 처리
+     *
+     * @param contentHash   - 내용 해시
+     * @param storeFilePath - 새로 등록할 때 저장 경로
+     * @param fileSize      - 파일 크기
+     * @param count         - 획득할 참조 수
+     */
+    @Override
+    public void acquire(String contentHash, String storeFilePath, long fileSize, long count) {
+        fileBlobMapper.acquire(contentHash, storeFilePath, fileSize, count);
+    }
+    
+    /**
+     * 저장 객체 참조 해제
+     *
+     * @param contentHash - 내용 해시
+     * @param count       - 해제할 참조 수
+     * @return 갱신된 행 수, 등록되지 않은 내용 해시면 0
+     */
+    @Override
+    public int release(String contentHash, long count) {
+        return fileBlobMapper.release(contentHash, count);
+    }
+    
+    /**
+     * 저장 객체 정보 조회
+     *
+     * @param contentHash - 내용 해시
+     * @return 저장 객체 정보
+     */
+    @Override
+    public Optional<FileBlob> findById(String contentHash) {
+        return Optional.ofNullable(fileBlobMapper.findById(contentHash));
+    }
+    
+    /**
+     * 저장 경로 목록 중 저장 객체 정보가 참조하는 저장 경로 조회
+     *
+     * @param storeFilePaths - 저장 경로 목록
+     * @return 참조 중인 저장 경로 목록
+     */
+    @Override
+    public List<String> findAllStoreFilePaths(List<String> storeFilePaths) {
+        if (storeFilePaths.isEmpty())
+            return Collections.emptyList();
+        return fileBlobMapper.findAllStoreFilePaths(storeFilePaths);
+    }
+    
+    /**
+     * 참조가 없는 저장 객체 정보 삭제
+     *
+     * @param contentHash - 내용 해시
+     * @return 삭제 여부
+     */
+    @Override
+    public boolean deleteIfUnreferenced(String contentHash) {
+        return fileBlobMapper.deleteIfUnreferenced(contentHash) > 0;
+    }
+    
+}
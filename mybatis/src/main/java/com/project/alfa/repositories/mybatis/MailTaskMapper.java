@@ -0,0 +1,29 @@
+package com.project.alfa.repositories.mybatis;
+
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface MailTaskMapper {
+    
+    void save(MailTask param);
+    
+    List<MailTask> findAllDue(@Param("dueBefore") LocalDateTime dueBefore, @Param("limit") int limit);
+    
+    List<MailTask> findAll();
+    
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+              @Param("leaseExpireTime") LocalDateTime leaseExpireTime);
+    
+    void retry(@Param("id") Long id, @Param("nextAttemptTime") LocalDateTime nextAttemptTime);
+    
+    void deleteAllByRecipientAndType(@Param("recipient") String recipient, @Param("type") MailTaskType type);
+    
+    void deleteAllByIds(@Param("ids") List<Long> ids);
+    
+}
@@ -0,0 +1,97 @@
+package com.project.alfa.repositories.mybatis;
+
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+import com.project.alfa.repositories.MailTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class MailTaskRepositoryImpl implements MailTaskRepository {
+    
+    private final MailTaskMapper mailTaskMapper;
+    
+    /**
+     * 메일 발송 작업 저장
+     *
+     * @param mailTask - 메일 발송 작업
+     * @return 메일 발송 작업
+     */
+    @Override
+    public MailTask save(MailTask mailTask) {
+        mailTaskMapper.save(mailTask);
+        return mailTask;
+    }
+    
+    /**
+     * 처리할 메일 발송 작업 목록 조회, 선점되지 않았거나 선점이 만료된 작업, 등록 순서
+     *
+     * @param dueBefore - 다음 시도 일시 기준
+     * @param limit     - 최대 조회 개수
+     * @return 메일 발송 작업 목록
+     */
+    @Override
+    public List<MailTask> findAllDue(LocalDateTime dueBefore, int limit) {
+        return mailTaskMapper.findAllDue(dueBefore, limit);
+    }
+    
+    /**
+     * 메일 발송 작업 목록 조회
+     *
+     * @return 메일 발송 작업 목록
+     */
+    @Override
+    public List<MailTask> findAll() {
+        return mailTaskMapper.findAll();
+    }
+    
+    /**
+     * 메일 발송 작업 선점, 선점되지 않았거나 선점이 만료된 경우에만 선점 만료 일시 기록
+     *
+     * @param id              - PK
+     * @param now             - 현재 일시
+     * @param leaseExpireTime - 선점 만료 일시
+     * @return 선점 여부
+     */
+    @Override
+    public boolean claim(Long id, LocalDateTime now, LocalDateTime leaseExpireTime) {
+        return mailTaskMapper.claim(id, now, leaseExpireTime) > 0;
+    }
+    
+    /**
+     * 메일 발송 작업 재시도 예약, 실패 횟수 증가 및 선점 해제
+     *
+     * @param id              - PK
+     * @param nextAttemptTime - 다음 시도 일시
+     */
+    @Override
+    public void retry(Long id, LocalDateTime nextAttemptTime) {
+        mailTaskMapper.retry(id, nextAttemptTime);
+    }
+    
+    /**
+     * 주소, 유형이 같은 발송 대기 작업 삭제
+     *
+     * @param recipient - 받는 메일 주소
+     * @param type      - 메일 유형
+     */
+    @Override
+    public void deleteAllByRecipientAndType(String recipient, MailTaskType type) {
+        mailTaskMapper.deleteAllByRecipientAndType(recipient, type);
+    }
+    
+    /**
+     * 발송한 메일 발송 작업 다중 삭제
+     *
+     * @param ids - PK 목록
+     */
+    @Override
+    public void deleteAllByIds(List<Long> ids) {
+        mailTaskMapper.deleteAllByIds(ids);
+    }
+    
+}
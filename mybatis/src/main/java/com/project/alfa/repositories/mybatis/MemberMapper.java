@@ -26,7 +26,7 @@ public interface MemberMapper {
     
     List<Member> findAllByDeleteYn(boolean deleteYn);
     
-    void update(Member param);
+    int update(Member param);
     
     void authenticateEmail(@Param("username") String username,
                            @Param("emailAuthToken") String emailAuthToken,
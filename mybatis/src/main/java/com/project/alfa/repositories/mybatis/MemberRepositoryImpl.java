@@ -3,6 +3,7 @@ package com.project.alfa.repositories.mybatis;
 import com.project.alfa.entities.Member;
 import com.project.alfa.repositories.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -138,7 +139,10 @@ public class MemberRepositoryImpl implements MemberRepository {
      */
     @Override
     public void update(Member param) {
-        memberMapper.update(param);
+        //버전 조건이 있는 수정이 반영되지 않았으면 다른 트랜잭션이 먼저 수정한 것
+        if (memberMapper.update(param) == 0 && param.getVersion() != null)
+            throw new OptimisticLockingFailureException(
+                    "Member was updated by another transaction, id: " + param.getId());
     }
     
     /**
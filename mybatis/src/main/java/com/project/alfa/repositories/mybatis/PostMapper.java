@@ -5,6 +5,7 @@ import com.project.alfa.repositories.dto.SearchParam;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -34,7 +35,7 @@ public interface PostMapper {
     
     void addViewCount(Long id);
     
-    void update(Post param);
+    int update(Post param);
     
     boolean existsById(Long id);
     
@@ -48,6 +49,8 @@ public interface PostMapper {
     
     void permanentlyDeleteAllByIds(@Param("ids") List<Long> ids);
     
+    List<Long> findAllIdsToPurge(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("limit") int limit);
+    
     void deleteAll();
     
 }
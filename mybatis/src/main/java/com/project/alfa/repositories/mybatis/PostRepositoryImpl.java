@@ -5,10 +5,12 @@ import com.project.alfa.entities.Post;
 import com.project.alfa.repositories.PostRepository;
 import com.project.alfa.repositories.dto.SearchParam;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -222,7 +224,10 @@ public class PostRepositoryImpl implements PostRepository {
      */
     @Override
     public void update(Post param) {
-        postMapper.update(param);
+        //버전 조건이 있는 수정이 반영되지 않았으면 다른 트랜잭션이 먼저 수정한 것
+        if (postMapper.update(param) == 0 && param.getVersion() != null)
+            throw new OptimisticLockingFailureException(
+                    "Post was updated by another transaction, id: " + param.getId());
     }
     
     /**
@@ -294,6 +299,19 @@ public class PostRepositoryImpl implements PostRepository {
         postMapper.permanentlyDeleteAllByIds(ids);
     }
     
+    /**
+     * 영구 삭제 대상 게시글 PK 목록 조회
+     * 삭제 후 보관 기간이 지났고, 남아있는 댓글/첨부파일이 없는 게시글
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @param limit         - 최대 조회 개수
+     * @return PK 목록
+     */
+    @Override
+    public List<Long> findAllIdsToPurge(LocalDateTime deletedBefore, int limit) {
+        return postMapper.findAllIdsToPurge(deletedBefore, limit);
+    }
+    
     /**
      * 모든 게시글 정보 영구 삭제
      */
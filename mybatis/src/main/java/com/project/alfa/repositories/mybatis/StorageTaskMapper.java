@@ -0,0 +1,25 @@
+package com.project.alfa.repositories.mybatis;
+
+import com.project.alfa.entities.StorageTask;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface StorageTaskMapper {
+    
+    void saveAll(@Param("params") List<StorageTask> params);
+    
+    List<StorageTask> findAllDue(@Param("dueBefore") LocalDateTime dueBefore, @Param("limit") int limit);
+    
+    List<StorageTask> findAllByPaths(@Param("paths") List<String> paths);
+    
+    void retry(@Param("id") Long id, @Param("nextAttemptTime") LocalDateTime nextAttemptTime);
+    
+    void postpone(@Param("id") Long id, @Param("nextAttemptTime") LocalDateTime nextAttemptTime);
+    
+    void deleteAllByIds(@Param("ids") List<Long> ids);
+    
+}
@@ -0,0 +1,87 @@
+package com.project.alfa.repositories.mybatis;
+
+import com.project.alfa.entities.StorageTask;
+import com.project.alfa.repositories.StorageTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class StorageTaskRepositoryImpl implements StorageTaskRepository {
+    
+    private final StorageTaskMapper storageTaskMapper;
+    
+    /**
+     * 저장소 작업 다중 저장
+     *
+     * @param storageTasks - 저장소 작업 목록
+     * @return 저장소 작업 목록
+     */
+    @Override
+    public List<StorageTask> saveAll(List<StorageTask> storageTasks) {
+        storageTaskMapper.saveAll(storageTasks);
+        return storageTasks;
+    }
+    
+    /**
+     * 처리할 저장소 작업 목록 조회, 등록 순서
+     *
+     * @param dueBefore - 다음 시도 일시 기준
+     * @param limit     - 최대 조회 개수
+     * @return 저장소 작업 목록
+     */
+    @Override
+    public List<StorageTask> findAllDue(LocalDateTime dueBefore, int limit) {
+        return storageTaskMapper.findAllDue(dueBefore, limit);
+    }
+    
+    /**
+     * 경로 목록 중 하나를 대상 경로 또는 이동할 저장 경로로 가진 저장소 작업 목록 조회
+     *
+     * @param paths - 경로 목록
+     * @return 저장소 작업 목록
+     */
+    @Override
+    public List<StorageTask> findAllByPaths(List<String> paths) {
+        if (paths.isEmpty())
+            return Collections.emptyList();
+        return storageTaskMapper.findAllByPaths(paths);
+    }
+    
+    /**
+     * 저장소 작업 재시도 예약, 실패 횟수 증가
+     *
+     * @param id              - PK
+     * @param nextAttemptTime - 다음 시도 일시
+     */
+    @Override
+    public void retry(Long id, LocalDateTime nextAttemptTime) {
+        storageTaskMapper.retry(id, nextAttemptTime);
+    }
+    
+    /**
+     * 저장소 작업 실행 연기, 실패 횟수는 유지
+     *
+     * @param id              - PK
+     * @param nextAttemptTime - 다음 시도 일시
+     */
+    @Override
+    public void postpone(Long id, LocalDateTime nextAttemptTime) {
+        storageTaskMapper.postpone(id, nextAttemptTime);
+    }
+    
+    /**
+     * 완료한 저장소 작업 다중 삭제
+     *
+     * @param ids - PK 목록
+     */
+    @Override
+    public void deleteAllByIds(List<Long> ids) {
+        storageTaskMapper.deleteAllByIds(ids);
+    }
+    
+}
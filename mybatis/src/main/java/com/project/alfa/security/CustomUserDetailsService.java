@@ -13,18 +13,25 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
     
     private final MemberRepository memberRepository;
+    private final UserDetailsCache userDetailsCache;
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CustomUserDetails cachedUserDetails = userDetailsCache.get(username);
+        if (cachedUserDetails != null)
+            return cachedUserDetails;
+        
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
                                         .orElseThrow(() -> new UsernameNotFoundException(
                                                 "Could not found 'Member' by username: " + username.toLowerCase()));
-        return new CustomUserDetails(member.getId(),
-                                     member.getUsername(),
-                                     member.getPassword(),
-                                     member.getAuthInfo().isAuth(),
-                                     member.getNickname(),
-                                     member.getRole().getValue());
+        CustomUserDetails userDetails = new CustomUserDetails(member.getId(),
+                                                              member.getUsername(),
+                                                              member.getPassword(),
+                                                              member.getAuthInfo().isAuth(),
+                                                              member.getNickname(),
+                                                              member.getRole().getValue());
+        userDetailsCache.put(userDetails);
+        return userDetails;
     }
     
 }
@@ -1,9 +1,14 @@
 package com.project.alfa.security.jwt.filter;
 
 import com.google.gson.Gson;
+import com.project.alfa.error.ErrorResponse;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.ServerBusyException;
 import com.project.alfa.security.CustomUserDetails;
 import com.project.alfa.security.jwt.filter.dto.LoginBody;
 import com.project.alfa.services.JwtService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -16,6 +21,7 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     
@@ -40,6 +46,22 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                     new UsernamePasswordAuthenticationToken(loginBody.getUsername(), loginBody.getPassword());
             
             return authenticationManager.authenticate(authentication);
+        } catch (ServerBusyException e) {
+            //비밀번호 검증 스레드 풀 포화: 인증 실패(401)가 아닌 재시도 가능 응답
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeErrorResponse(response, e.getErrorCode());
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private void writeErrorResponse(HttpServletResponse response, ErrorCode errorCode) {
+        response.setStatus(errorCode.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            response.getWriter().write(gson.toJson(ErrorResponse.of(errorCode)));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
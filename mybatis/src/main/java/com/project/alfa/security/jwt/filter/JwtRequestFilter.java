@@ -1,5 +1,6 @@
 package com.project.alfa.security.jwt.filter;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.project.alfa.security.CustomUserDetails;
 import com.project.alfa.services.JwtService;
 import lombok.RequiredArgsConstructor;
@@ -27,13 +28,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         
         if (header != null && header.startsWith("Bearer ")) {
-            String token    = header.substring(7);
-            String username = jwtService.getUsernameFromToken(token);
+            DecodedJWT decodedJWT = jwtService.verifyToken(header.substring(7));
+            String     username   = jwtService.getUsername(decodedJWT);
             
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
+            //폐기된 토큰은 인증하지 않음, 폐기 목록 Bloom 필터 음성이면 Redis 조회 없음
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !jwtService.isRevoked(decodedJWT)) {
+                //무상태 인증: 토큰 클레임으로 인증 정보 생성, 불가능한 경우 DB 조회
+                CustomUserDetails userDetails = jwtService.getUserDetails(decodedJWT);
+                if (userDetails == null)
+                    userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
                 
-                if (jwtService.validateToken(token, userDetails)) {
+                if (jwtService.validateToken(decodedJWT, userDetails)) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -6,6 +6,7 @@ import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.repositories.MemberRepository;
 import com.project.alfa.security.CustomUserDetails;
+import com.project.alfa.security.UserDetailsCache;
 import com.project.alfa.security.oauth2.provider.GoogleUserInfo;
 import com.project.alfa.security.oauth2.provider.OAuth2UserInfo;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     
     private final MemberRepository memberRepository;
     private final PasswordEncoder  passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
     
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -46,6 +48,17 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         
         String username = oAuth2UserInfo.getProvider() + "_" + oAuth2UserInfo.getProviderId();
         
+        //캐싱된 인증 정보가 있는 경우 DB 조회 생략
+        CustomUserDetails cachedUserDetails = userDetailsCache.get(username);
+        if (cachedUserDetails != null)
+            return new CustomUserDetails(cachedUserDetails.getId(),
+                                         cachedUserDetails.getUsername(),
+                                         cachedUserDetails.getPassword(),
+                                         cachedUserDetails.isAuth(),
+                                         cachedUserDetails.getNickname(),
+                                         cachedUserDetails.getRole(),
+                                         oAuth2User.getAttributes());
+        
         Member member = null;
         if (!memberRepository.existsByUsername(username, false)) {
             String nickname;
@@ -69,10 +82,17 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                                                member.getAuthInfo().getOAuthProvider(),
                                                member.getAuthInfo().getOAuthProviderId(),
                                                LocalDateTime.now());
-        } else
+        } else {
             member = memberRepository.findByUsername(username.toLowerCase(), false)
                                      .orElseThrow(() -> new EntityNotFoundException(
                                              "Could not found 'Member' by username: " + username));
+            userDetailsCache.put(new CustomUserDetails(member.getId(),
+                                                       member.getUsername(),
+                                                       member.getPassword(),
+                                                       member.getAuthInfo().isAuth(),
+                                                       member.getNickname(),
+                                                       member.getRole().getValue()));
+        }
         
         return new CustomUserDetails(member.getId(),
                                      member.getUsername(),
@@ -0,0 +1,81 @@
+package com.project.alfa.security.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 단일 노드(JVM) 요청 제한
+ * 최대 키 수 초과 시 가장 오래 사용되지 않은 버킷 제거(LRU), 제거된 버킷은 가득 찬 상태로 다시 시작
+ */
+public class LocalRateLimiter implements RateLimiter {
+    
+    private final Map<String, Bucket> buckets;
+    
+    /**
+     * @param maxKeys - 최대 버킷 수
+     */
+    public LocalRateLimiter(final int maxKeys) {
+        this.buckets = new LinkedHashMap<String, Bucket>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Bucket> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+    
+    @Override
+    public long tryAcquire(final List<RateLimit> limits) {
+        long now = System.currentTimeMillis();
+        synchronized (buckets) {
+            long     wait     = 0;
+            double[] refilled = new double[limits.size()];
+            for (int i = 0; i < limits.size(); i++) {
+                RateLimit limit  = limits.get(i);
+                Bucket    bucket = buckets.get(limit.getKey());
+                refilled[i] = bucket == null ? limit.getCapacity() : bucket.refill(limit, now);
+                if (refilled[i] < 1)
+                    wait = Math.max(wait, (long) Math.ceil((1 - refilled[i]) * limit.getPeriod()
+                                                           / limit.getCapacity()));
+            }
+            if (wait > 0)
+                return wait;
+            
+            for (int i = 0; i < limits.size(); i++)
+                buckets.put(limits.get(i).getKey(), new Bucket(refilled[i] - 1, now));
+            return 0;
+        }
+    }
+    
+    @Override
+    public void release(final List<RateLimit> limits) {
+        long now = System.currentTimeMillis();
+        synchronized (buckets) {
+            for (RateLimit limit : limits) {
+                Bucket bucket = buckets.get(limit.getKey());
+                //제거된 버킷은 가득 찬 상태로 다시 시작하므로 반환 불필요
+                if (bucket != null)
+                    buckets.put(limit.getKey(),
+                                new Bucket(Math.min(limit.getCapacity(), bucket.refill(limit, now) + 1), now));
+            }
+        }
+    }
+    
+    private static class Bucket {
+        
+        private final double tokens;
+        private final long   timestamp;
+        
+        private Bucket(final double tokens, final long timestamp) {
+            this.tokens = tokens;
+            this.timestamp = timestamp;
+        }
+        
+        private double refill(final RateLimit limit, final long now) {
+            double elapsed = Math.max(now - timestamp, 0);
+            return Math.min(limit.getCapacity(), tokens + elapsed * limit.getCapacity() / limit.getPeriod());
+        }
+        
+    }
+    
+}
@@ -0,0 +1,172 @@
+package com.project.alfa.security.ratelimit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.project.alfa.error.ErrorResponse;
+import com.project.alfa.error.exception.ErrorCode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그인, 회원 가입, 메일 발송 엔드포인트 요청 제한 필터
+ * IP별/아이디별 토큰 버킷을 함께 확인하고, 초과 요청은 인증(BCrypt), DB 조회, 메일 발송 전에 거부(429, Retry-After)
+ * IP는 request.getRemoteAddr() 기준, 프록시 뒤에서는 server.forward-headers-strategy 설정 필요
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final int MAX_USERNAME_LENGTH = 254;
+    
+    private final RateLimiter         rateLimiter;
+    private final int                 maxBodySize;
+    private final List<EndpointLimit> endpointLimits = new ArrayList<>();
+    private final Gson                gson           = new Gson();
+    
+    public RateLimitFilter(final RateLimiter rateLimiter, final RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.maxBodySize = properties.getMaxBodySize();
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.getEndpoints().entrySet())
+            endpointLimits.add(new EndpointLimit(entry.getKey(), entry.getValue()));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+    throws ServletException, IOException {
+        EndpointLimit endpointLimit = findEndpointLimit(request);
+        if (endpointLimit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        //아이디를 본문에서 추출하는 경우 이후 다시 읽을 수 있도록 본문 보관
+        //최대 크기를 넘는 본문은 보관하지 않고 IP별 제한만 적용
+        if (endpointLimit.endpoint.getPerUsername() != null && endpointLimit.endpoint.getUsernameField() != null
+            && request.getContentLengthLong() <= maxBodySize)
+            request = new CachedBodyHttpServletRequest(request, maxBodySize);
+        
+        List<RateLimit> limits = endpointLimit.limitsOf(request.getRemoteAddr(), getUsername(request, endpointLimit));
+        long            wait   = limits.isEmpty() ? 0 : rateLimiter.tryAcquire(limits);
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * 요청에 해당하는 엔드포인트 제한 조회
+     *
+     * @param request
+     * @return 엔드포인트 제한, 없으면 null
+     */
+    private EndpointLimit findEndpointLimit(final HttpServletRequest request) {
+        for (EndpointLimit endpointLimit : endpointLimits)
+            if (endpointLimit.matcher.matches(request))
+                return endpointLimit;
+        return null;
+    }
+    
+    /**
+     * 아이디 추출, 요청 파라미터 또는 JSON 본문 필드
+     *
+     * @param request
+     * @param endpointLimit - 엔드포인트 제한
+     * @return 소문자 아이디, 없으면 null
+     */
+    private String getUsername(final HttpServletRequest request, final EndpointLimit endpointLimit) {
+        RateLimitProperties.Endpoint endpoint = endpointLimit.endpoint;
+        String                       username = null;
+        
+        if (endpoint.getUsernameParameter() != null)
+            username = request.getParameter(endpoint.getUsernameParameter());
+        else if (request instanceof CachedBodyHttpServletRequest)
+            username = getUsername(((CachedBodyHttpServletRequest) request).getBody(), endpoint.getUsernameField());
+        
+        if (!StringUtils.hasText(username) || username.length() > MAX_USERNAME_LENGTH)
+            return null;
+        return username.trim().toLowerCase();
+    }
+    
+    private String getUsername(final String body, final String field) {
+        if (body == null)
+            return null;
+        try {
+            JsonElement element = JsonParser.parseString(body);
+            if (element.isJsonObject()) {
+                JsonElement value = element.getAsJsonObject().get(field);
+                return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+            }
+            if (element.isJsonPrimitive())
+                return element.getAsString();
+        } catch (JsonParseException | IllegalStateException e) {
+            //JSON이 아닌 경우 본문 전체를 아이디로 사용
+        }
+        return body;
+    }
+    
+    /**
+     * 요청 거부 응답
+     *
+     * @param response
+     * @param wait     - 재시도 가능까지 남은 시간(ms)
+     */
+    private void reject(final HttpServletResponse response, final long wait) throws IOException {
+        ErrorCode errorCode = ErrorCode.TOO_MANY_REQUESTS;
+        response.setStatus(errorCode.getStatus());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max((wait + 999) / 1000, 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(gson.toJson(ErrorResponse.of(errorCode)));
+    }
+    
+    private static class EndpointLimit {
+        
+        private final String                       name;
+        private final RateLimitProperties.Endpoint endpoint;
+        private final RequestMatcher               matcher;
+        
+        private EndpointLimit(final String name, final RateLimitProperties.Endpoint endpoint) {
+            this.name = name;
+            this.endpoint = endpoint;
+            this.matcher = new AntPathRequestMatcher(endpoint.getPath(), endpoint.getMethod());
+        }
+        
+        /**
+         * 요청에 적용할 버킷 목록
+         *
+         * @param ip       - 요청 IP
+         * @param username - 아이디
+         * @return 버킷 목록
+         */
+        private List<RateLimit> limitsOf(final String ip, final String username) {
+            List<RateLimit> limits = new ArrayList<>(2);
+            if (endpoint.getPerIp() != null)
+                limits.add(limitOf(name + ":ip:" + ip, endpoint.getPerIp()));
+            if (endpoint.getPerUsername() != null && username != null)
+                limits.add(limitOf(name + ":username:" + username, endpoint.getPerUsername()));
+            return limits;
+        }
+        
+        private static RateLimit limitOf(final String key, final RateLimitProperties.Bandwidth bandwidth) {
+            return new RateLimit(key, bandwidth.getCapacity(), bandwidth.getPeriod().toMillis());
+        }
+        
+    }
+    
+}
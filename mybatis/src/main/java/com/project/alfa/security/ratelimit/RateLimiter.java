@@ -0,0 +1,27 @@
+package com.project.alfa.security.ratelimit;
+
+import java.util.List;
+
+/**
+ * 토큰 버킷 요청 제한
+ */
+public interface RateLimiter {
+    
+    /**
+     * 모든 버킷에서 토큰 1개씩 획득 시도
+     * 하나라도 토큰이 부족하면 어느 버킷에서도 차감하지 않음
+     *
+     * @param limits - 버킷 목록
+     * @return 획득 성공 시 0, 실패 시 재시도 가능까지 남은 시간(ms)
+     */
+    long tryAcquire(List<RateLimit> limits);
+    
+    /**
+     * 획득한 토큰 1개씩 반환, 버킷 용량을 넘지 않음
+     * 토큰을 획득한 요청이 처리되지 않은 경우(트랜잭션 롤백 등) 호출
+     *
+     * @param limits - 토큰을 획득한 버킷 목록
+     */
+    void release(List<RateLimit> limits);
+    
+}
@@ -0,0 +1,170 @@
+package com.project.alfa.security.route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 쿼리 문자열 패턴, 정해진 순서의 파라미터만 허용
+ * 각 파라미터는 생략 가능하며 앞에 '&'가 올 수 있음, 정규식 "(&?(?:name=value)?)..." 형태와 동일하게 판정
+ */
+public class QueryPattern {
+    
+    /**
+     * 쿼리 문자열 없음(요청에 '?' 없음)
+     */
+    public static final QueryPattern NONE = new QueryPattern(Collections.emptyList(), false);
+    
+    /**
+     * 쿼리 문자열 무시
+     */
+    public static final QueryPattern ANY = new QueryPattern(Collections.emptyList(), true);
+    
+    private final List<Param> params;
+    private final boolean     any;
+    
+    private QueryPattern(final List<Param> params, final boolean any) {
+        this.params = params;
+        this.any = any;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * 쿼리 문자열 일치 확인
+     *
+     * @param query - 쿼리 문자열, 없으면 null
+     * @return 일치 여부
+     */
+    public boolean matches(final String query) {
+        if (any)
+            return true;
+        if (query == null)
+            return true;
+        if (params.isEmpty())
+            return false;
+        return matches(query, 0, 0);
+    }
+    
+    private boolean matches(final String query, final int pos, final int index) {
+        if (index == params.size())
+            return pos == query.length();
+        
+        Param param = params.get(index);
+        //'&' 있으면 소비한 경우부터 시도
+        if (pos < query.length() && query.charAt(pos) == '&' && matchesParam(query, pos + 1, index, param))
+            return true;
+        return matchesParam(query, pos, index, param);
+    }
+    
+    private boolean matchesParam(final String query, final int pos, final int index, final Param param) {
+        //파라미터 있는 경우
+        if (query.startsWith(param.name, pos) && query.startsWith("=", pos + param.name.length())) {
+            int valueStart = pos + param.name.length() + 1;
+            switch (param.type) {
+                case DIGITS:
+                    int valueEnd = valueStart;
+                    while (valueEnd < query.length() && isDigit(query.charAt(valueEnd)))
+                        valueEnd++;
+                    if (valueEnd > valueStart && matches(query, valueEnd, index + 1))
+                        return true;
+                    break;
+                case ONE_OF:
+                    for (String value : param.values)
+                        if (query.startsWith(value, valueStart) && matches(query, valueStart + value.length(), index + 1))
+                            return true;
+                    if (matches(query, valueStart, index + 1))
+                        return true;
+                    break;
+                case REST:
+                    if (isSingleLine(query, valueStart))
+                        return true;
+                    break;
+            }
+        }
+        //파라미터 생략
+        return matches(query, pos, index + 1);
+    }
+    
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    private static boolean isSingleLine(final String query, final int start) {
+        for (int i = start; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029')
+                return false;
+        }
+        return true;
+    }
+    
+    private enum Type {
+        DIGITS, ONE_OF, REST
+    }
+    
+    private static class Param {
+        
+        private final String       name;
+        private final Type         type;
+        private final List<String> values;
+        
+        private Param(final String name, final Type type, final List<String> values) {
+            this.name = name;
+            this.type = type;
+            this.values = values;
+        }
+        
+    }
+    
+    public static class Builder {
+        
+        private final List<Param> params = new ArrayList<>();
+        
+        private Builder() {
+        }
+        
+        /**
+         * 숫자 값 파라미터(1자리 이상)
+         *
+         * @param name - 파라미터명
+         * @return Builder
+         */
+        public Builder digits(final String name) {
+            params.add(new Param(name, Type.DIGITS, Collections.emptyList()));
+            return this;
+        }
+        
+        /**
+         * 지정한 값 중 하나 또는 빈 값 파라미터
+         *
+         * @param name   - 파라미터명
+         * @param values - 허용 값
+         * @return Builder
+         */
+        public Builder oneOf(final String name, final String... values) {
+            params.add(new Param(name, Type.ONE_OF, Arrays.asList(values)));
+            return this;
+        }
+        
+        /**
+         * 나머지 쿼리 문자열 전체를 값으로 갖는 파라미터, 마지막에만 사용
+         *
+         * @param name - 파라미터명
+         * @return Builder
+         */
+        public Builder rest(final String name) {
+            params.add(new Param(name, Type.REST, Collections.emptyList()));
+            return this;
+        }
+        
+        public QueryPattern build() {
+            return new QueryPattern(Collections.unmodifiableList(new ArrayList<>(params)), false);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,246 @@
+package com.project.alfa.security.route;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 경로 접근 권한 판정, 경로 규칙을 세그먼트 트라이로 한 번 컴파일
+ * 요청마다 경로 세그먼트 수에 비례하는 비용으로 선언 순서상 첫 번째로 일치하는 규칙의 권한 반환
+ * <p>
+ * 경로 패턴 세그먼트: 리터럴, {name}(숫자), *(한 세그먼트), **(나머지 전체, 0개 이상)
+ * 경로는 RegexRequestMatcher와 같이 servletPath + pathInfo 기준
+ */
+public class RouteMatcher {
+    
+    public enum Access {
+        PERMIT_ALL, AUTHENTICATED
+    }
+    
+    private final Node   root;
+    private final Access defaultAccess;
+    
+    private RouteMatcher(final Node root, final Access defaultAccess) {
+        this.root = root;
+        this.defaultAccess = defaultAccess;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * 요청 접근 권한 조회
+     *
+     * @param request
+     * @return 접근 권한, 일치하는 규칙이 없으면 기본 권한
+     */
+    public Access access(final HttpServletRequest request) {
+        String path = getPath(request);
+        Rule   rule = path.startsWith("/") ? find(root, path, 1, request, null) : null;
+        return rule == null ? defaultAccess : rule.access;
+    }
+    
+    /**
+     * 지정한 접근 권한으로 판정되는 요청 RequestMatcher
+     *
+     * @param access - 접근 권한
+     * @return RequestMatcher
+     */
+    public RequestMatcher matcherOf(final Access access) {
+        return request -> access(request) == access;
+    }
+    
+    private static String getPath(final HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo    = request.getPathInfo();
+        if (pathInfo == null)
+            return servletPath == null ? "" : servletPath;
+        return servletPath == null || servletPath.isEmpty() ? pathInfo : servletPath + pathInfo;
+    }
+    
+    /**
+     * 트라이 탐색, 지금까지 찾은 규칙보다 앞선 규칙만 채택
+     *
+     * @param node    - 현재 노드
+     * @param path    - 요청 경로
+     * @param start   - 현재 세그먼트 시작 위치, 경로 길이보다 크면 경로 끝
+     * @param request
+     * @param best    - 지금까지 찾은 규칙
+     * @return 선언 순서상 첫 번째로 일치하는 규칙
+     */
+    private Rule find(final Node node, final String path, final int start, final HttpServletRequest request,
+                      Rule best) {
+        best = first(node.rest, request, best);
+        if (start > path.length())
+            return first(node.rules, request, best);
+        
+        int end = path.indexOf('/', start);
+        if (end < 0)
+            end = path.length();
+        
+        Node literal = node.literals.get(path.substring(start, end));
+        if (literal != null)
+            best = find(literal, path, end + 1, request, best);
+        if (node.digits != null && isDigits(path, start, end))
+            best = find(node.digits, path, end + 1, request, best);
+        if (node.single != null && end > start)
+            best = find(node.single, path, end + 1, request, best);
+        return best;
+    }
+    
+    private static Rule first(final List<Rule> rules, final HttpServletRequest request, final Rule best) {
+        for (Rule rule : rules) {
+            if (best != null && rule.order >= best.order)
+                break;
+            if (rule.matches(request))
+                return rule;
+        }
+        return best;
+    }
+    
+    private static boolean isDigits(final String path, final int start, final int end) {
+        if (end == start)
+            return false;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+        return true;
+    }
+    
+    private static class Node {
+        
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<Rule>        rules    = new ArrayList<>();   //경로가 이 노드에서 끝나는 규칙
+        private final List<Rule>        rest     = new ArrayList<>();   //이 노드 이후 "**" 규칙
+        private       Node              digits;                         //"{name}" 세그먼트
+        private       Node              single;                         //"*" 세그먼트
+        
+    }
+    
+    private static class Rule {
+        
+        private final int          order;   //선언 순서
+        private final Access       access;
+        private final HttpMethod   method;  //null이면 모든 메서드
+        private final QueryPattern query;
+        
+        private Rule(final int order, final Access access, final HttpMethod method, final QueryPattern query) {
+            this.order = order;
+            this.access = access;
+            this.method = method;
+            this.query = query;
+        }
+        
+        private boolean matches(final HttpServletRequest request) {
+            return (method == null || method.matches(request.getMethod())) && query.matches(request.getQueryString());
+        }
+        
+    }
+    
+    public static class Builder {
+        
+        private final Node   root          = new Node();
+        private       int    order;
+        private       Access defaultAccess = Access.PERMIT_ALL;
+        
+        private Builder() {
+        }
+        
+        /**
+         * 모든 사용자 허용 규칙, 경로와 쿼리 문자열이 정확히 일치하는 경우만 적용(regexMatchers 대응)
+         *
+         * @param method   - HTTP 메서드
+         * @param query    - 쿼리 문자열 패턴
+         * @param patterns - 경로 패턴
+         * @return Builder
+         */
+        public Builder permitAll(final HttpMethod method, final QueryPattern query, final String... patterns) {
+            return add(Access.PERMIT_ALL, method, query, false, patterns);
+        }
+        
+        /**
+         * 모든 사용자 허용 규칙, 모든 메서드와 쿼리 문자열, 끝의 '/' 무시(mvcMatchers 대응)
+         *
+         * @param patterns - 경로 패턴
+         * @return Builder
+         */
+        public Builder permitAll(final String... patterns) {
+            return add(Access.PERMIT_ALL, null, QueryPattern.ANY, true, patterns);
+        }
+        
+        /**
+         * 인증 사용자 허용 규칙, 모든 메서드와 쿼리 문자열, 끝의 '/' 무시(mvcMatchers 대응)
+         *
+         * @param patterns - 경로 패턴
+         * @return Builder
+         */
+        public Builder authenticated(final String... patterns) {
+            return add(Access.AUTHENTICATED, null, QueryPattern.ANY, true, patterns);
+        }
+        
+        /**
+         * 일치하는 규칙이 없는 요청의 접근 권한
+         *
+         * @param access - 접근 권한
+         * @return Builder
+         */
+        public Builder anyRequest(final Access access) {
+            this.defaultAccess = access;
+            return this;
+        }
+        
+        public RouteMatcher build() {
+            return new RouteMatcher(root, defaultAccess);
+        }
+        
+        private Builder add(final Access access, final HttpMethod method, final QueryPattern query,
+                            final boolean optionalTrailingSlash, final String... patterns) {
+            for (String pattern : patterns) {
+                if (!pattern.startsWith("/"))
+                    throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+                
+                Rule rule = new Rule(order, access, method, query);
+                if (optionalTrailingSlash && pattern.length() > 1 && !pattern.endsWith("/") && !pattern.endsWith("**"))
+                    add(pattern + "/", rule);
+                add(pattern, rule);
+            }
+            order++;
+            return this;
+        }
+        
+        private void add(final String pattern, final Rule rule) {
+            String[] segments = pattern.substring(1).split("/", -1);
+            Node     node     = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.equals("**")) {
+                    if (i != segments.length - 1)
+                        throw new IllegalArgumentException("'**' must be the last segment: " + pattern);
+                    node.rest.add(rule);
+                    return;
+                }
+                if (segment.equals("*")) {
+                    if (node.single == null)
+                        node.single = new Node();
+                    node = node.single;
+                } else if (segment.startsWith("{") && segment.endsWith("}")) {
+                    if (node.digits == null)
+                        node.digits = new Node();
+                    node = node.digits;
+                } else
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+            }
+            node.rules.add(rule);
+        }
+        
+    }
+    
+}
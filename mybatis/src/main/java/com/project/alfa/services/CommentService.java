@@ -1,6 +1,7 @@
 package com.project.alfa.services;
 
 import com.project.alfa.aop.annotation.LockAop;
+import com.project.alfa.aop.annotation.OptimisticLockAop;
 import com.project.alfa.entities.Comment;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.ErrorCode;
@@ -70,7 +71,7 @@ public class CommentService {
      *
      * @param dto - 댓글 수정 정보 DTO
      */
-    @LockAop
+    @OptimisticLockAop
     @Transactional
     public void update(final CommentRequestDto dto) {
         //수정 권한 검증
@@ -82,7 +83,7 @@ public class CommentService {
         boolean flag = false;
         
         Comment.CommentBuilder paramBuilder = Comment.builder();
-        paramBuilder.id(dto.getId()).writerId(dto.getWriterId()).postId(dto.getPostId());
+        paramBuilder.id(dto.getId()).writerId(dto.getWriterId()).postId(dto.getPostId()).version(comment.getVersion());
         
         //내용 변경
         if (!comment.getContent().equals(dto.getContent())) {
@@ -103,7 +104,7 @@ public class CommentService {
      * @param id       - PK
      * @param writerId - 작성자 FK
      */
-    @LockAop
+    @LockAop(key = "'comment:' + #id", failFast = true)
     @Transactional
     public void delete(final Long id, final Long writerId) {
         //삭제 권한 검증
@@ -118,7 +119,7 @@ public class CommentService {
      * @param ids      - PK 목록
      * @param writerId - 작성자 FK
      */
-    @LockAop
+    @LockAop(key = "#ids.!['comment:' + #this]", failFast = true)
     @Transactional
     public void deleteAll(final List<Long> ids, final Long writerId) {
         //삭제 권한 검증
@@ -0,0 +1,331 @@
+package com.project.alfa.services;
+
+import com.project.alfa.entities.FileBlob;
+import com.project.alfa.entities.StorageTask;
+import com.project.alfa.entities.StorageTaskType;
+import com.project.alfa.entities.UploadFile;
+import com.project.alfa.repositories.FileBlobRepository;
+import com.project.alfa.utils.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * 첨부파일 내용 주소 저장(중복 제거)
+ * 내용 해시(SHA-256)가 같은 첨부파일은 하나의 저장 객체를 참조하고, 마지막 참조가 해제될 때 저장 객체 삭제
+ * 참조 획득/해제는 교착 상태를 피하기 위해 항상 내용 해시 순서로 처리
+ * <p>
+ * 저장소 입출력은 DB 트랜잭션 밖에서 처리
+ * - 저장: 트랜잭션 전에 임시 경로에 업로드 -> 첨부파일 정보와 저장소 작업(이동/삭제)을 한 트랜잭션으로 커밋
+ * -> 커밋 후 임시 파일을 저장 경로로 이동, 롤백 시 임시 파일 삭제
+ * - 삭제: 참조 해제와 저장소 삭제 작업을 한 트랜잭션으로 커밋, 실제 삭제는 StorageTaskService에서 비동기 처리
+ */
+@Slf4j
+@Service
+@Transactional
+public class FileBlobService {
+    
+    private final FileBlobRepository fileBlobRepository;
+    private final StorageTaskService storageTaskService;
+    private final FileUtil           fileUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    
+    public FileBlobService(final FileBlobRepository fileBlobRepository,
+                           final StorageTaskService storageTaskService,
+                           final FileUtil fileUtil,
+                           final PlatformTransactionManager transactionManager) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.storageTaskService = storageTaskService;
+        this.fileUtil = fileUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+    
+    /**
+     * 다중 파일 저장, 업로드 전에 내용 해시를 계산하여 이미 저장된 내용이면 업로드 생략
+     * 새 내용만 임시 경로에 업로드한 후 첨부파일 정보 저장 작업과 함께 커밋
+     *
+     * @param multipartFiles
+     * @param saver          - 첨부파일 정보 저장 작업, 저장소 작업과 같은 트랜잭션에서 실행
+     * @return 첨부파일 정보 저장 작업 결과
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public <T> T storeFiles(final List<MultipartFile> multipartFiles, final Function<List<UploadFile>, T> saver) {
+        List<MultipartFile> files   = multipartFiles.stream().filter(file -> !file.isEmpty()).collect(toList());
+        List<UploadFile>    digests = fileUtil.digestFiles(files);
+        
+        Map<String, List<Integer>> indexes = new TreeMap<>();
+        for (int i = 0; i < digests.size(); i++)
+            indexes.computeIfAbsent(digests.get(i).getContentHash(), key -> new ArrayList<>()).add(i);
+        
+        Set<String> storedHashes = readOnlyTransactionTemplate.execute(
+                status -> indexes.keySet().stream()
+                                 .filter(contentHash -> fileBlobRepository.findById(contentHash).isPresent())
+                                 .collect(toSet()));
+        Set<String>  stagedHashes = new HashSet<>();
+        List<String> stagingPaths = new ArrayList<>();
+        while (true) {
+            //이미 저장된 내용을 제외하고 임시 경로에 업로드
+            List<MultipartFile> uploads = new ArrayList<>();
+            List<UploadFile>    targets = new ArrayList<>();
+            for (Map.Entry<String, List<Integer>> entry : indexes.entrySet())
+                if (!storedHashes.contains(entry.getKey()) && stagedHashes.add(entry.getKey())) {
+                    uploads.add(files.get(entry.getValue().get(0)));
+                    targets.add(digests.get(entry.getValue().get(0)));
+                }
+            if (!uploads.isEmpty()) {
+                try {
+                    fileUtil.stageFiles(uploads, targets);
+                } catch (RuntimeException e) {
+                    deleteStagedFiles(stagingPaths);
+                    throw e;
+                }
+                targets.forEach(target -> stagingPaths.add(fileUtil.getStagingFilePath(target)));
+            }
+            
+            List<StorageTask> storageTasks = new ArrayList<>();
+            try {
+                T result = transactionTemplate.execute(status -> {
+                    UploadFile[] uploadFiles = new UploadFile[digests.size()];
+                    Set<String>  removed     = new TreeSet<>();
+                    for (Map.Entry<String, List<Integer>> entry : indexes.entrySet()) {
+                        List<Integer> sameContent = entry.getValue();
+                        UploadFile    digest      = digests.get(sameContent.get(0));
+                        FileBlob      blob        = acquire(digest, sameContent.size());
+                        boolean       created     = blob.getRefCount() == sameContent.size();
+                        
+                        if (stagedHashes.contains(entry.getKey()))
+                            storageTasks.add(created
+                                             ? storageTaskService.promoteTask(fileUtil.getStagingFilePath(digest),
+                                                                              digest.getStoreFilePath())
+                                             : storageTaskService.deleteTask(fileUtil.getStagingFilePath(digest)));
+                        else if (created)
+                            removed.add(entry.getKey());
+                        for (int i : sameContent)
+                            uploadFiles[i] = toUploadFile(digests.get(i), blob);
+                    }
+                    if (!removed.isEmpty())
+                        throw new BlobRemovedException(removed);
+                    
+                    T saved = saver.apply(Arrays.asList(uploadFiles));
+                    storageTaskService.saveAll(storageTasks);
+                    return saved;
+                });
+                afterCompletion(storageTasks, stagingPaths);
+                return result;
+            } catch (BlobRemovedException e) {
+                //사전 조회 이후 마지막 참조가 해제되어 삭제된 저장 객체는 업로드 후 다시 시도
+                log.debug("File blobs removed before acquire, retry with upload: {}", e.getContentHashes());
+                storedHashes.removeAll(e.getContentHashes());
+            } catch (RuntimeException e) {
+                deleteStagedFiles(stagingPaths);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * 스트림 파일 저장, 임시 경로에 업로드하면서 내용 해시를 계산하고 첨부파일 정보 저장 작업과 함께 커밋
+     * 이미 저장된 내용이면 임시 파일은 삭제 작업으로 정리
+     *
+     * @param originalFilename - 원본 파일명
+     * @param contentType      - Content-Type
+     * @param inputStream      - 파일 내용 스트림
+     * @param saver            - 첨부파일 정보 저장 작업, 저장소 작업과 같은 트랜잭션에서 실행
+     * @return 첨부파일 정보 저장 작업 결과
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public <T> T storeFile(final String originalFilename, final String contentType, final InputStream inputStream,
+                           final Function<UploadFile, T> saver) {
+        UploadFile   uploadFile   = fileUtil.stageFile(originalFilename, contentType, inputStream);
+        List<String> stagingPaths = Collections.singletonList(fileUtil.getStagingFilePath(uploadFile));
+        
+        List<StorageTask> storageTasks = new ArrayList<>();
+        try {
+            T result = transactionTemplate.execute(status -> {
+                FileBlob blob = acquire(uploadFile, 1);
+                storageTasks.add(blob.getRefCount() == 1
+                                 ? storageTaskService.promoteTask(stagingPaths.get(0), uploadFile.getStoreFilePath())
+                                 : storageTaskService.deleteTask(stagingPaths.get(0)));
+                
+                T saved = saver.apply(toUploadFile(uploadFile, blob));
+                storageTaskService.saveAll(storageTasks);
+                return saved;
+            });
+            afterCompletion(storageTasks, stagingPaths);
+            return result;
+        } catch (RuntimeException e) {
+            deleteStagedFiles(stagingPaths);
+            throw e;
+        }
+    }
+    
+    /**
+     * Presigned URL 업로드 확정, 저장소 조회 후 첨부파일 정보 저장 작업과 함께 커밋
+     * 발급 이후 날짜가 바뀌었으면 커밋 후 오늘 날짜 경로로 이동
+     *
+     * @param postId        - 게시글 FK
+     * @param storeFilePath - 발급받은 저장 경로
+     * @param saver         - 첨부파일 정보 저장 작업, 저장소 작업과 같은 트랜잭션에서 실행
+     * @return 첨부파일 정보 저장 작업 결과
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public <T> T confirmFile(final Long postId, final String storeFilePath, final Function<UploadFile, T> saver) {
+        UploadFile uploadFile = fileUtil.confirmUpload(postId, storeFilePath);
+        
+        List<StorageTask> storageTasks = new ArrayList<>();
+        if (!uploadFile.getStoreFilePath().equals(storeFilePath))
+            storageTasks.add(storageTaskService.promoteTask(storeFilePath, uploadFile.getStoreFilePath()));
+        
+        T result = transactionTemplate.execute(status -> {
+            T saved = saver.apply(uploadFile);
+            storageTaskService.saveAll(storageTasks);
+            return saved;
+        });
+        //롤백 시 업로드된 파일은 다시 확정할 수 있도록 유지
+        afterCompletion(storageTasks, Collections.emptyList());
+        return result;
+    }
+    
+    /**
+     * 첨부파일 저장 객체 참조 해제, 마지막 참조였던 저장 객체만 삭제 작업 기록
+     * 내용 해시가 없거나(Presigned 업로드, 기존 첨부파일) 등록되지 않은 첨부파일은 저장 파일 삭제 작업 기록
+     *
+     * @param uploadFiles - 업로드 파일 정보 목록
+     */
+    public void deleteFiles(final List<? extends UploadFile> uploadFiles) {
+        Map<String, List<UploadFile>> sameContents = new TreeMap<>();
+        List<UploadFile>              deletes      = new ArrayList<>();
+        for (UploadFile uploadFile : uploadFiles)
+            if (uploadFile.getContentHash() == null)
+                deletes.add(uploadFile);
+            else
+                sameContents.computeIfAbsent(uploadFile.getContentHash(), key -> new ArrayList<>()).add(uploadFile);
+        
+        for (Map.Entry<String, List<UploadFile>> entry : sameContents.entrySet()) {
+            if (fileBlobRepository.release(entry.getKey(), entry.getValue().size()) == 0)
+                deletes.addAll(entry.getValue());
+            else if (fileBlobRepository.deleteIfUnreferenced(entry.getKey()))
+                deletes.add(entry.getValue().get(0));
+        }
+        
+        storageTaskService.saveAll(deletes.stream()
+                                          .map(uploadFile -> storageTaskService.deleteTask(
+                                                  uploadFile.getStoreFilePath()))
+                                          .collect(toList()));
+    }
+    
+    /**
+     * 저장 객체 참조 획득
+     *
+     * @param uploadFile - 업로드 파일 정보(내용 해시, 새 저장 경로)
+     * @param count      - 획득할 참조 수
+     * @return 저장 객체 정보, 참조 수가 count와 같으면 새로 등록된 저장 객체
+     */
+    private FileBlob acquire(final UploadFile uploadFile, final int count) {
+        String contentHash = uploadFile.getContentHash();
+        fileBlobRepository.acquire(contentHash, uploadFile.getStoreFilePath(), uploadFile.getFileSize(), count);
+        return fileBlobRepository.findById(contentHash).orElseThrow(
+                () -> new IllegalStateException("Could not found 'FileBlob' by contentHash: " + contentHash));
+    }
+    
+    /**
+     * 트랜잭션 진행 중이면 완료 후, 아니면 즉시 임시 파일 처리
+     * 커밋: 이동 작업 즉시 실행(실패한 작업은 StorageTaskService에서 재시도), 롤백: 임시 파일 삭제
+     *
+     * @param storageTasks - 저장된 저장소 작업 목록
+     * @param stagingPaths - 임시 경로 목록
+     */
+    private void afterCompletion(final List<StorageTask> storageTasks, final List<String> stagingPaths) {
+        List<StorageTask> promotes = storageTasks.stream()
+                                                 .filter(task -> task.getType() == StorageTaskType.PROMOTE)
+                                                 .collect(toList());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            storageTaskService.executeNow(promotes);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == STATUS_COMMITTED)
+                    storageTaskService.executeNow(promotes);
+                else
+                    deleteStagedFiles(stagingPaths);
+            }
+        });
+    }
+    
+    /**
+     * 임시 파일 삭제, 실패한 파일은 경고만 남김
+     *
+     * @param stagingPaths - 임시 경로 목록
+     */
+    private void deleteStagedFiles(final List<String> stagingPaths) {
+        if (stagingPaths.isEmpty())
+            return;
+        try {
+            fileUtil.deleteFilesByPaths(stagingPaths);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete staged files: {}, {}", stagingPaths, e.getMessage());
+        }
+    }
+    
+    /**
+     * 업로드 파일 정보 -> 저장 객체를 참조하는 업로드 파일 정보 변환
+     *
+     * @param uploadFile - 업로드 파일 정보
+     * @param blob       - 저장 객체 정보
+     * @return 업로드 파일 정보
+     */
+    private static UploadFile toUploadFile(final UploadFile uploadFile, final FileBlob blob) {
+        String storeFilePath = blob.getStoreFilePath();
+        return new UploadFile(uploadFile.getOriginalFilename(),
+                              storeFilePath.substring(storeFilePath.lastIndexOf('/') + 1),
+                              storeFilePath,
+                              blob.getFileSize(),
+                              blob.getContentHash()) {};
+    }
+    
+    /**
+     * 사전 조회 이후 참조 획득 전에 삭제된 저장 객체, 업로드하지 않은 내용이 새로 등록된 경우
+     */
+    private static class BlobRemovedException extends RuntimeException {
+        
+        private final Set<String> contentHashes;
+        
+        private BlobRemovedException(final Set<String> contentHashes) {
+            super("File blobs removed before acquire: " + contentHashes);
+            this.contentHashes = contentHashes;
+        }
+        
+        private Set<String> getContentHashes() {
+            return contentHashes;
+        }
+        
+    }
+    
+}
@@ -2,12 +2,14 @@ package com.project.alfa.services;
 
 import com.project.alfa.aop.annotation.LockAop;
 import com.project.alfa.entities.AuthInfo;
+import com.project.alfa.entities.MailTaskType;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.ErrorCode;
 import com.project.alfa.error.exception.InvalidValueException;
 import com.project.alfa.repositories.MemberRepository;
+import com.project.alfa.security.UserDetailsCache;
 import com.project.alfa.services.dto.MemberInfoResponseDto;
 import com.project.alfa.services.dto.MemberJoinRequestDto;
 import com.project.alfa.services.dto.MemberUpdateRequestDto;
@@ -31,6 +33,9 @@ public class MemberService {
     private final MemberRepository memberRepository;
     private final PasswordEncoder  passwordEncoder;
     private final EmailSender      emailSender;
+    private final MailTaskService  mailTaskService;
+    private final JwtService       jwtService;
+    private final UserDetailsCache userDetailsCache;
     
     /**
      * 회원 가입
@@ -67,10 +72,11 @@ public class MemberService {
         
         memberRepository.save(member);
         
-        //가입 인증 메일 전송
-        emailSender.sendVerificationEmail(member.getUsername(),
-                                          member.getAuthInfo().getEmailAuthToken(),
-                                          member.getAuthInfo().getEmailAuthExpireTime());
+        //가입 인증 메일 발송 작업 기록, 커밋 후 발송
+        mailTaskService.enqueue(MailTaskType.VERIFICATION,
+                                emailSender.createVerificationEmail(member.getUsername(),
+                                                                    member.getAuthInfo().getEmailAuthToken(),
+                                                                    member.getAuthInfo().getEmailAuthExpireTime()));
         
         return member.getId();
     }
@@ -82,7 +88,7 @@ public class MemberService {
      * @param authToken - 인증 토큰
      * @param authTime  - 인증 시간
      */
-    @LockAop
+    @LockAop(key = "'member:' + #username.toLowerCase()")
     @Transactional
     public void verifyEmailAuth(final String username, final String authToken, final LocalDateTime authTime) {
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
@@ -101,6 +107,8 @@ public class MemberService {
                              .orElseThrow(() -> new EntityNotFoundException("Could not found 'Member' by id: " + id))
                              .getAuthInfo().isAuth())
             resendVerifyEmail(username);
+        else
+            invalidateAuthentication(member.getUsername());
     }
     
     /**
@@ -108,13 +116,17 @@ public class MemberService {
      *
      * @param username - 메일 주소
      */
-    @LockAop
+    @LockAop(key = "'member:' + #username.toLowerCase()")
     @Transactional
     public void resendVerifyEmail(final String username) {
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
                                         .orElseThrow(() -> new EntityNotFoundException(
                                                 "Could not found 'Member' by username: " + username));
         
+        //발송 제한 중이면 기존 인증 토큰과 발송(대기)된 인증 메일 유지
+        if (!mailTaskService.tryAcquire(MailTaskType.VERIFICATION, member.getUsername()))
+            return;
+        
         String        authToken  = UUID.randomUUID().toString();    //새로운 인증 토큰
         LocalDateTime expireTime = LocalDateTime.now().withNano(0).plusMinutes(MAX_EXPIRE_TIME);    //새로운 인증 만료 제한 시간
         
@@ -127,9 +139,11 @@ public class MemberService {
                              .build();
         
         memberRepository.update(param);
+        invalidateAuthentication(member.getUsername());
         
-        //인증 메일 재전송
-        emailSender.sendVerificationEmail(username, authToken, expireTime);
+        //인증 메일 재발송 작업 기록, 커밋 후 발송
+        mailTaskService.enqueue(MailTaskType.VERIFICATION,
+                                emailSender.createVerificationEmail(username, authToken, expireTime));
     }
     
     /**
@@ -137,7 +151,7 @@ public class MemberService {
      *
      * @param username - 메일 주소
      */
-    @LockAop
+    @LockAop(key = "'member:' + #username.toLowerCase()")
     @Transactional
     public void findPassword(final String username) {
         Member member = memberRepository.findByUsername(username.toLowerCase(), false)
@@ -147,15 +161,21 @@ public class MemberService {
         //이메일 인증 여부 확인
         isVerifiedEmail(member.getUsername(), member.getAuthInfo().isAuth());
         
+        //발송 제한 중이면 발송(대기)된 메일 유지
+        if (!mailTaskService.tryAcquire(MailTaskType.PASSWORD_RESET, member.getUsername()))
+            return;
+        
         //임시 비밀번호 생성 및 반영
         String tempPassword = RandomGenerator.randomPassword(20);
         memberRepository.update(Member.builder()
                                       .id(member.getId())
                                       .password(passwordEncoder.encode(tempPassword))
                                       .build());
+        invalidateAllSessions(member.getUsername());
         
-        //비밀번호 찾기 결과 메일 전송
-        emailSender.sendPasswordResetEmail(member.getUsername(), tempPassword);
+        //비밀번호 찾기 결과 메일 발송 작업 기록, 커밋 후 발송하고 실패하면 같은 임시 비밀번호로 재시도
+        mailTaskService.enqueue(MailTaskType.PASSWORD_RESET,
+                                emailSender.createPasswordResetEmail(member.getUsername(), tempPassword));
     }
     
     /**
@@ -187,7 +207,7 @@ public class MemberService {
      *
      * @param dto - 계정 수정 정보 DTO
      */
-    @LockAop
+    @LockAop(key = "'member:' + #dto.id")
     @Transactional
     public void update(final MemberUpdateRequestDto dto) {
         Member member = memberRepository.findById(dto.getId(), false)
@@ -204,7 +224,7 @@ public class MemberService {
                                             ErrorCode.PASSWORD_DO_NOT_MATCH);
         
         Member.MemberBuilder paramBuilder = Member.builder();
-        paramBuilder.id(dto.getId());
+        paramBuilder.id(dto.getId()).version(member.getVersion());
         
         //닉네임 변경
         if (!member.getNickname().equals(dto.getNickname())) {
@@ -243,6 +263,12 @@ public class MemberService {
         //변경될 값이 있는 지 확인
         if (flag)
             memberRepository.update(param);
+        
+        //비밀번호가 변경된 경우 모든 기기 로그아웃, 토큰 클레임(닉네임)이 변경된 경우 발급된 토큰 무효화
+        if (param.getPassword() != null)
+            invalidateAllSessions(member.getUsername());
+        else if (param.getNickname() != null)
+            invalidateAuthentication(member.getUsername());
     }
     
     /**
@@ -251,7 +277,7 @@ public class MemberService {
      * @param id       - PK
      * @param password - 비밀번호
      */
-    @LockAop
+    @LockAop(key = "'member:' + #id")
     @Transactional
     public void delete(final Long id, final String password) {
         Member member = memberRepository.findById(id, false)
@@ -264,6 +290,27 @@ public class MemberService {
                                             ErrorCode.PASSWORD_DO_NOT_MATCH);
         
         memberRepository.deleteById(member.getId());
+        invalidateAllSessions(member.getUsername());
+    }
+    
+    /**
+     * 계정 정보 변경 시 캐싱된 인증 정보 제거 및 발급된 JWT 토큰 클레임 무효화
+     *
+     * @param username - 아이디
+     */
+    private void invalidateAuthentication(final String username) {
+        userDetailsCache.evict(username);
+        jwtService.revokeTokens(username);
+    }
+    
+    /**
+     * 비밀번호 변경, 회원 탈퇴 시 캐싱된 인증 정보 제거 및 모든 기기 로그아웃
+     *
+     * @param username - 아이디
+     */
+    private void invalidateAllSessions(final String username) {
+        userDetailsCache.evict(username);
+        jwtService.revokeAllTokens(username);
     }
     
     //==================== 검증 메서드 ====================//
@@ -0,0 +1,286 @@
+package com.project.alfa.services;
+
+import com.project.alfa.aop.lock.LockProvider;
+import com.project.alfa.entities.StorageTask;
+import com.project.alfa.repositories.AttachmentRepository;
+import com.project.alfa.repositories.FileBlobRepository;
+import com.project.alfa.repositories.StorageTaskRepository;
+import com.project.alfa.services.dto.OrphanSweepResultDto;
+import com.project.alfa.utils.FileUtil;
+import com.project.alfa.utils.storage.ListedObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 참조되지 않는(고아) 저장 파일 정리 작업
+ * 업로드 후 커밋 전 장애 등으로 남은 파일을 날짜 폴더(저장 경로, 임시 경로) 단위로 병렬 조회하여
+ * 첨부파일, 저장 객체, 저장소 작업 어디에서도 참조하지 않고 유예 기간이 지난 파일만 삭제
+ * 조회 페이지 단위로 참조 여부를 일괄 조회하고, 삭제 사이에 대기하여 저장소/DB 부하 분산
+ * dry-run이면 삭제 없이 결과만 보고
+ */
+@Slf4j
+@Service
+public class OrphanSweepService {
+    
+    private static final String LOCK_KEY = "lock:orphan-sweep";
+    
+    @Value("${sweep.grace-period}")
+    private long    gracePeriod;
+    @Value("${sweep.threads}")
+    private int     threads;
+    @Value("${sweep.page-size}")
+    private int     pageSize;
+    @Value("${sweep.delete-interval}")
+    private long    deleteInterval;
+    @Value("${sweep.dry-run}")
+    private boolean dryRun;
+    @Value("${sweep.report-size}")
+    private int     reportSize;
+    
+    private final AttachmentRepository  attachmentRepository;
+    private final FileBlobRepository    fileBlobRepository;
+    private final StorageTaskRepository storageTaskRepository;
+    private final FileUtil              fileUtil;
+    private final LockProvider          lockProvider;
+    private final TransactionTemplate   readOnlyTransactionTemplate;
+    
+    private volatile OrphanSweepResultDto lastResult;
+    
+    public OrphanSweepService(final AttachmentRepository attachmentRepository,
+                              final FileBlobRepository fileBlobRepository,
+                              final StorageTaskRepository storageTaskRepository,
+                              final FileUtil fileUtil,
+                              final LockProvider lockProvider,
+                              final PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.fileBlobRepository = fileBlobRepository;
+        this.storageTaskRepository = storageTaskRepository;
+        this.fileUtil = fileUtil;
+        this.lockProvider = lockProvider;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+    
+    /**
+     * 유예 기간이 지난 고아 파일 정기 정리, 다른 노드가 정리 중이면 건너뜀
+     */
+    @Scheduled(cron = "${sweep.cron}")
+    public void scheduledSweep() {
+        LocalDateTime modifiedBefore = LocalDateTime.now().minus(Duration.ofMillis(gracePeriod));
+        if (!lockProvider.runExclusively(LOCK_KEY, () -> sweep(modifiedBefore, dryRun)))
+            log.info("[OrphanSweep] Skipped, another node holds the lock");
+    }
+    
+    /**
+     * 기준 일시 이전에 수정된 고아 파일 정리
+     *
+     * @param modifiedBefore - 유예 기간 기준 일시
+     * @param dryRun         - 삭제 없이 보고만 할지 여부
+     * @return 정리 결과 DTO
+     */
+    public OrphanSweepResultDto sweep(final LocalDateTime modifiedBefore, final boolean dryRun) {
+        long startTime = System.currentTimeMillis();
+        
+        Instant      cutoff  = modifiedBefore.atZone(ZoneId.systemDefault()).toInstant();
+        List<String> folders = fileUtil.listDateFolders(modifiedBefore.toLocalDate());
+        SweepReport  report  = new SweepReport(reportSize);
+        
+        if (!folders.isEmpty()) {
+            AtomicInteger   sequence = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, folders.size()), runnable -> {
+                Thread thread = new Thread(runnable, "orphan-sweep-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> futures = new ArrayList<>(folders.size());
+                for (String folder : folders)
+                    futures.add(executor.submit(() -> sweepFolder(folder, cutoff, dryRun, report)));
+                for (int i = 0; i < futures.size(); i++)
+                    awaitFolder(folders.get(i), futures.get(i), report);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        
+        OrphanSweepResultDto result = report.toResult(modifiedBefore, dryRun, folders.size(),
+                                                      System.currentTimeMillis() - startTime);
+        lastResult = result;
+        log.info("[OrphanSweep] Completed: modifiedBefore={}, dryRun={}, folders={}, failedFolders={}, scanned={}, " +
+                 "orphans={}, orphanBytes={}, deleted={}, failed={}, elapsed={}ms", modifiedBefore, dryRun,
+                 result.getFolders(), result.getFailedFolders(), result.getScannedObjects(), result.getOrphanObjects(),
+                 result.getOrphanBytes(), result.getDeletedObjects(), result.getFailedObjects(),
+                 result.getElapsedMillis());
+        if (dryRun && !result.getOrphanSamples().isEmpty())
+            log.info("[OrphanSweep] Dry-run orphan samples: {}", result.getOrphanSamples());
+        return result;
+    }
+    
+    /**
+     * 최근 정리 결과 조회
+     *
+     * @return 정리 결과 DTO
+     */
+    public OrphanSweepResultDto getLastResult() {
+        return lastResult;
+    }
+    
+    //==================== 폴더 처리 메서드 ====================//
+    
+    /**
+     * 날짜 폴더 정리, 조회 페이지마다 참조 여부를 일괄 조회하여 고아 파일 삭제
+     *
+     * @param folder - 날짜 폴더 객체 키
+     * @param cutoff - 유예 기간 기준 시각
+     * @param dryRun - 삭제 없이 보고만 할지 여부
+     * @param report - 정리 결과 집계
+     */
+    private void sweepFolder(final String folder, final Instant cutoff, final boolean dryRun,
+                             final SweepReport report) {
+        fileUtil.listFiles(folder, pageSize, objects -> {
+            report.scannedObjects.addAndGet(objects.size());
+            
+            List<ListedObject> candidates = objects.stream()
+                                                   .filter(object -> object.getLastModified().isBefore(cutoff))
+                                                   .collect(toList());
+            if (candidates.isEmpty())
+                return true;
+            
+            List<String>       keys       = candidates.stream().map(ListedObject::getKey).collect(toList());
+            Set<String>        referenced = readOnlyTransactionTemplate.execute(status -> findReferencedPaths(keys));
+            List<ListedObject> orphans = candidates.stream()
+                                                   .filter(object -> referenced == null
+                                                                     || !referenced.contains(object.getKey()))
+                                                   .collect(toList());
+            if (orphans.isEmpty())
+                return true;
+            
+            report.addOrphans(orphans);
+            if (dryRun)
+                return true;
+            
+            List<String> orphanKeys = orphans.stream().map(ListedObject::getKey).collect(toList());
+            try {
+                fileUtil.deleteFilesByPaths(orphanKeys);
+                report.deletedObjects.addAndGet(orphanKeys.size());
+            } catch (RuntimeException e) {
+                log.warn("[OrphanSweep] Failed to delete: folder={}, size={}, {}", folder, orphanKeys.size(),
+                         e.getMessage());
+                report.failedObjects.addAndGet(orphanKeys.size());
+            }
+            return pause();
+        });
+    }
+    
+    /**
+     * 저장 경로 목록 중 참조 중인 저장 경로 조회
+     * 첨부파일(삭제된 첨부파일 포함), 저장 객체, 처리 전 저장소 작업(이동 전 임시 경로 포함)
+     *
+     * @param keys - 저장 경로 목록
+     * @return 참조 중인 저장 경로
+     */
+    private Set<String> findReferencedPaths(final List<String> keys) {
+        Set<String> referenced = new HashSet<>(attachmentRepository.findAllStoreFilePaths(keys));
+        referenced.addAll(fileBlobRepository.findAllStoreFilePaths(keys));
+        for (StorageTask storageTask : storageTaskRepository.findAllByPaths(keys)) {
+            referenced.add(storageTask.getSourcePath());
+            if (storageTask.getTargetPath() != null)
+                referenced.add(storageTask.getTargetPath());
+        }
+        return referenced;
+    }
+    
+    private void awaitFolder(final String folder, final Future<?> future, final SweepReport report) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.failedFolders.incrementAndGet();
+        } catch (ExecutionException e) {
+            log.warn("[OrphanSweep] Failed to sweep folder: {}, {}", folder, e.getCause().getMessage());
+            report.failedFolders.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 삭제 사이 대기, 저장소/DB 부하 분산
+     *
+     * @return 계속 진행 여부
+     */
+    private boolean pause() {
+        if (deleteInterval <= 0)
+            return !Thread.currentThread().isInterrupted();
+        try {
+            Thread.sleep(deleteInterval);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[OrphanSweep] Interrupted, stop sweeping");
+            return false;
+        }
+    }
+    
+    /**
+     * 폴더별 작업 스레드가 공유하는 정리 결과 집계
+     */
+    private static class SweepReport {
+        
+        private final AtomicInteger failedFolders  = new AtomicInteger();
+        private final AtomicLong    scannedObjects = new AtomicLong();
+        private final AtomicLong    orphanObjects  = new AtomicLong();
+        private final AtomicLong    orphanBytes    = new AtomicLong();
+        private final AtomicLong    deletedObjects = new AtomicLong();
+        private final AtomicLong    failedObjects  = new AtomicLong();
+        private final int           sampleSize;
+        private final List<String>  orphanSamples  = new ArrayList<>();
+        
+        private SweepReport(final int sampleSize) {
+            this.sampleSize = sampleSize;
+        }
+        
+        private void addOrphans(final List<ListedObject> orphans) {
+            orphanObjects.addAndGet(orphans.size());
+            for (ListedObject orphan : orphans)
+                orphanBytes.addAndGet(orphan.getSize());
+            synchronized (orphanSamples) {
+                for (int i = 0; i < orphans.size() && orphanSamples.size() < sampleSize; i++)
+                    orphanSamples.add(orphans.get(i).getKey());
+            }
+        }
+        
+        private OrphanSweepResultDto toResult(final LocalDateTime modifiedBefore, final boolean dryRun,
+                                              final int folders, final long elapsedMillis) {
+            List<String> samples;
+            synchronized (orphanSamples) {
+                samples = Collections.unmodifiableList(new ArrayList<>(orphanSamples));
+            }
+            return new OrphanSweepResultDto(modifiedBefore, dryRun, folders, failedFolders.get(),
+                                            scannedObjects.get(), orphanObjects.get(), orphanBytes.get(),
+                                            deletedObjects.get(), failedObjects.get(), samples, elapsedMillis);
+        }
+        
+    }
+    
+}
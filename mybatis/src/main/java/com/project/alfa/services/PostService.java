@@ -1,6 +1,7 @@
 package com.project.alfa.services;
 
 import com.project.alfa.aop.annotation.LockAop;
+import com.project.alfa.aop.annotation.OptimisticLockAop;
 import com.project.alfa.entities.Post;
 import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
@@ -136,7 +137,7 @@ public class PostService {
      *
      * @param dto - 게시글 수정 정보 DTO
      */
-    @LockAop
+    @OptimisticLockAop
     @Transactional
     public void update(final PostRequestDto dto) {
         //수정 권한 검증
@@ -148,7 +149,7 @@ public class PostService {
         boolean flag = false;
         
         Post.PostBuilder paramBuilder = Post.builder();
-        paramBuilder.id(dto.getId()).writerId(dto.getWriterId());
+        paramBuilder.id(dto.getId()).writerId(dto.getWriterId()).version(post.getVersion());
         
         //제목 변경
         if (!post.getTitle().equals(dto.getTitle())) {
@@ -187,7 +188,7 @@ public class PostService {
      * @param id       - PK
      * @param writerId - 작성자 FK
      */
-    @LockAop
+    @LockAop(key = "'post:' + #id", failFast = true)
     @Transactional
     public void delete(final Long id, final Long writerId) {
         //삭제 권한 검증
@@ -202,7 +203,7 @@ public class PostService {
      * @param ids      - PK 목록
      * @param writerId - 작성자 FK
      */
-    @LockAop
+    @LockAop(key = "#ids.!['post:' + #this]", failFast = true)
     @Transactional
     public void deleteAll(final List<Long> ids, final Long writerId) {
         //삭제 권한 검증
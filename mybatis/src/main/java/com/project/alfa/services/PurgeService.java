@@ -0,0 +1,241 @@
+package com.project.alfa.services;
+
+import com.project.alfa.aop.lock.LockProvider;
+import com.project.alfa.entities.Attachment;
+import com.project.alfa.repositories.AttachmentRepository;
+import com.project.alfa.repositories.CommentRepository;
+import com.project.alfa.repositories.PostRepository;
+import com.project.alfa.services.dto.PurgeResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 소프트 삭제(delete_yn = 1)된 게시글/댓글/첨부파일 영구 삭제 작업
+ * 청크 단위의 짧은 트랜잭션으로 자식(첨부파일, 댓글) -> 부모(게시글) 순서로 삭제
+ */
+@Slf4j
+@Service
+public class PurgeService {
+    
+    private static final String LOCK_KEY = "lock:purge";
+    
+    @Value("${purge.retention-days}")
+    private long retentionDays;
+    @Value("${purge.chunk-size}")
+    private int  chunkSize;
+    @Value("${purge.chunk-interval}")
+    private long chunkInterval;
+    
+    private final AttachmentRepository attachmentRepository;
+    private final CommentRepository    commentRepository;
+    private final PostRepository       postRepository;
+    private final FileBlobService      fileBlobService;
+    private final LockProvider         lockProvider;
+    private final TransactionTemplate  transactionTemplate;
+    
+    private final AtomicLong totalPurgedAttachments = new AtomicLong();
+    private final AtomicLong totalPurgedComments    = new AtomicLong();
+    private final AtomicLong totalPurgedPosts       = new AtomicLong();
+    
+    private volatile PurgeResultDto lastResult;
+    
+    public PurgeService(final AttachmentRepository attachmentRepository,
+                        final CommentRepository commentRepository,
+                        final PostRepository postRepository,
+                        final FileBlobService fileBlobService,
+                        final LockProvider lockProvider,
+                        final PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.fileBlobService = fileBlobService;
+        this.lockProvider = lockProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * 보관 기간이 지난 소프트 삭제 데이터 정기 영구 삭제, 노드 간 락으로 단일 실행
+     */
+    @Scheduled(cron = "${purge.cron}")
+    public void scheduledPurge() {
+        boolean executed = lockProvider.runExclusively(
+                LOCK_KEY, () -> purge(LocalDateTime.now().minusDays(retentionDays)));
+        if (!executed)
+            log.info("[Purge] Skipped, another node holds the lock");
+    }
+    
+    /**
+     * 기준 일시 이전에 소프트 삭제된 데이터 영구 삭제
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @return 영구 삭제 결과 DTO
+     */
+    public PurgeResultDto purge(final LocalDateTime deletedBefore) {
+        long startTime = System.currentTimeMillis();
+        
+        long attachments = purgeAttachments(deletedBefore);
+        long comments    = purgeComments(deletedBefore);
+        long posts       = purgePosts(deletedBefore);
+        
+        PurgeResultDto result = new PurgeResultDto(deletedBefore, attachments, comments, posts,
+                                                   System.currentTimeMillis() - startTime);
+        lastResult = result;
+        log.info("[Purge] Completed: deletedBefore={}, attachments={}, comments={}, posts={}, elapsed={}ms",
+                 deletedBefore, attachments, comments, posts, result.getElapsedMillis());
+        return result;
+    }
+    
+    /**
+     * 최근 영구 삭제 결과 조회
+     *
+     * @return 영구 삭제 결과 DTO
+     */
+    public PurgeResultDto getLastResult() {
+        return lastResult;
+    }
+    
+    /**
+     * 누적 첨부파일 영구 삭제 개수 조회
+     *
+     * @return 누적 영구 삭제 개수
+     */
+    public long getTotalPurgedAttachments() {
+        return totalPurgedAttachments.get();
+    }
+    
+    /**
+     * 누적 댓글 영구 삭제 개수 조회
+     *
+     * @return 누적 영구 삭제 개수
+     */
+    public long getTotalPurgedComments() {
+        return totalPurgedComments.get();
+    }
+    
+    /**
+     * 누적 게시글 영구 삭제 개수 조회
+     *
+     * @return 누적 영구 삭제 개수
+     */
+    public long getTotalPurgedPosts() {
+        return totalPurgedPosts.get();
+    }
+    
+    //==================== 청크 처리 메서드 ====================//
+    
+    /**
+     * 첨부파일 영구 삭제, 저장 객체 참조 해제와 정보 삭제를 같은 트랜잭션에서 처리
+     * 이미 삭제된 첨부파일은 삭제 시점에 참조를 해제했으므로 삭제된 게시글의 첨부파일만 참조 해제
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @return 영구 삭제 개수
+     */
+    private long purgeAttachments(final LocalDateTime deletedBefore) {
+        long count = 0;
+        while (true) {
+            List<Attachment> attachments = transactionTemplate.execute(
+                    status -> attachmentRepository.findAllToPurge(deletedBefore, chunkSize));
+            if (attachments == null || attachments.isEmpty())
+                break;
+            
+            List<Attachment> releases = attachments.stream()
+                                                   .filter(attachment -> !attachment.isDeleteYn())
+                                                   .collect(toList());
+            List<Long>       ids      = attachments.stream().map(Attachment::getId).collect(toList());
+            transactionTemplate.executeWithoutResult(status -> {
+                fileBlobService.deleteFiles(releases);
+                attachmentRepository.purgeAllByIds(ids);
+            });
+            
+            count += ids.size();
+            totalPurgedAttachments.addAndGet(ids.size());
+            log.info("[Purge] Attachments chunk: size={}, total={}", ids.size(), count);
+            if (ids.size() < chunkSize || !pause())
+                break;
+        }
+        return count;
+    }
+    
+    /**
+     * 댓글 영구 삭제
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @return 영구 삭제 개수
+     */
+    private long purgeComments(final LocalDateTime deletedBefore) {
+        long count = 0;
+        while (true) {
+            Integer size = transactionTemplate.execute(status -> {
+                List<Long> ids = commentRepository.findAllIdsToPurge(deletedBefore, chunkSize);
+                if (!ids.isEmpty())
+                    commentRepository.purgeAllByIds(ids);
+                return ids.size();
+            });
+            if (size == null || size == 0)
+                break;
+            
+            count += size;
+            totalPurgedComments.addAndGet(size);
+            log.info("[Purge] Comments chunk: size={}, total={}", size, count);
+            if (size < chunkSize || !pause())
+                break;
+        }
+        return count;
+    }
+    
+    /**
+     * 게시글 영구 삭제, 남아있는 댓글/첨부파일이 없는 게시글만 대상
+     *
+     * @param deletedBefore - 보관 기간 기준 일시
+     * @return 영구 삭제 개수
+     */
+    private long purgePosts(final LocalDateTime deletedBefore) {
+        long count = 0;
+        while (true) {
+            Integer size = transactionTemplate.execute(status -> {
+                List<Long> ids = postRepository.findAllIdsToPurge(deletedBefore, chunkSize);
+                if (!ids.isEmpty())
+                    postRepository.permanentlyDeleteAllByIds(ids);
+                return ids.size();
+            });
+            if (size == null || size == 0)
+                break;
+            
+            count += size;
+            totalPurgedPosts.addAndGet(size);
+            log.info("[Purge] Posts chunk: size={}, total={}", size, count);
+            if (size < chunkSize || !pause())
+                break;
+        }
+        return count;
+    }
+    
+    /**
+     * 청크 사이 대기, DB 부하 분산
+     *
+     * @return 계속 진행 여부
+     */
+    private boolean pause() {
+        if (chunkInterval <= 0)
+            return true;
+        try {
+            Thread.sleep(chunkInterval);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[Purge] Interrupted, stop purging");
+            return false;
+        }
+    }
+    
+}
@@ -0,0 +1,28 @@
+package com.project.alfa.services.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class PurgeResultDto {
+    
+    private final LocalDateTime deletedBefore;      //보관 기간 기준 일시
+    private final long          purgedAttachments;  //영구 삭제된 첨부파일 수
+    private final long          purgedComments;     //영구 삭제된 댓글 수
+    private final long          purgedPosts;        //영구 삭제된 게시글 수
+    private final long          elapsedMillis;      //소요 시간(ms)
+    
+    public PurgeResultDto(final LocalDateTime deletedBefore,
+                          final long purgedAttachments,
+                          final long purgedComments,
+                          final long purgedPosts,
+                          final long elapsedMillis) {
+        this.deletedBefore = deletedBefore;
+        this.purgedAttachments = purgedAttachments;
+        this.purgedComments = purgedComments;
+        this.purgedPosts = purgedPosts;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+}
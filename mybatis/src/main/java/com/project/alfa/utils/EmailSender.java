@@ -2,17 +2,20 @@ package com.project.alfa.utils;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
-@EnableAsync
 @RequiredArgsConstructor
 public class EmailSender {
     
@@ -24,52 +27,86 @@ public class EmailSender {
     private final JavaMailSender mailSender;
     
     /**
-     * 인증 메일 전송
+     * 인증 메일 생성
      *
      * @param email      - 메일 주소
      * @param authToken  - 인증 토큰
      * @param expireTime - 인증 만료 제한 시간
+     * @return 메일 객체
      */
-    @Async
-    public void sendVerificationEmail(final String email, final String authToken, final LocalDateTime expireTime) {
-        SimpleMailMessage smm = createMailMessage(email);
-        smm.setSubject("이메일 인증");
-        smm.setText("계정 인증을 완료하기 위해 제한 시간 내 다음 링크를 클릭해주세요.\n" +
-                    "인증 만료 제한 시간: " + expireTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")) +
-                    "\n" +
-                    url + "/verify-email?email=" + email + "&authToken=" + authToken);
-        
-        mailSender.send(smm);
+    public SimpleMailMessage createVerificationEmail(final String email,
+                                                     final String authToken,
+                                                     final LocalDateTime expireTime) {
+        return createMailMessage(email, "이메일 인증",
+                                 "계정 인증을 완료하기 위해 제한 시간 내 다음 링크를 클릭해주세요.\n" +
+                                 "인증 만료 제한 시간: " +
+                                 expireTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss")) + "\n" +
+                                 url + "/verify-email?email=" + email + "&authToken=" + authToken);
     }
     
     /**
-     * 비밀번호 찾기 결과 메일 전송
+     * 비밀번호 찾기 결과 메일 생성
      *
      * @param email        - 메일 주소
      * @param tempPassword - 임시 비밀번호
+     * @return 메일 객체
      */
-    @Async
-    public void sendPasswordResetEmail(final String email, final String tempPassword) {
-        SimpleMailMessage smm = createMailMessage(email);
-        smm.setSubject("비밀번호 찾기 결과");
-        smm.setText("입력하신 정보로 찾은 계정의 임시 비밀번호는 다음과 같습니다.\n" +
-                    "임시 비밀번호: " + tempPassword + "\n" +
-                    "임시 비밀번호로 로그인한 다음 비밀번호를 변경해주세요.");
-        
-        mailSender.send(smm);
+    public SimpleMailMessage createPasswordResetEmail(final String email, final String tempPassword) {
+        return createMailMessage(email, "비밀번호 찾기 결과",
+                                 "입력하신 정보로 찾은 계정의 임시 비밀번호는 다음과 같습니다.\n" +
+                                 "임시 비밀번호: " + tempPassword + "\n" +
+                                 "임시 비밀번호로 로그인한 다음 비밀번호를 변경해주세요.");
     }
     
     /**
      * 메일 객체(SimpleMailMessage) 생성
      *
-     * @param email - 메일 주소
+     * @param email   - 메일 주소
+     * @param subject - 제목
+     * @param text    - 본문
      * @return 메일 객체
      */
-    private SimpleMailMessage createMailMessage(final String email) {
+    public SimpleMailMessage createMailMessage(final String email, final String subject, final String text) {
         SimpleMailMessage smm = new SimpleMailMessage();
         smm.setFrom(fromAddress);
         smm.setTo(email);
+        smm.setSubject(subject);
+        smm.setText(text);
         return smm;
     }
     
+    /**
+     * 다중 메일 전송, 하나의 SMTP 연결로 순서대로 전송
+     * 개별 전송 실패 시 해당 메일만, 메일 변환/연결 단계 실패 시 개별 전송으로 실패한 메일만 특정하여 반환
+     *
+     * @param messages - 메일 객체 목록
+     * @return 전송 실패한 메일 객체와 원인
+     */
+    public Map<SimpleMailMessage, Exception> sendAll(final List<SimpleMailMessage> messages) {
+        if (messages.isEmpty())
+            return Collections.emptyMap();
+        try {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+            return Collections.emptyMap();
+        } catch (MailSendException e) {
+            Map<SimpleMailMessage, Exception> failed = new LinkedHashMap<>();
+            for (Map.Entry<Object, Exception> entry : e.getFailedMessages().entrySet())
+                if (entry.getKey() instanceof SimpleMailMessage)
+                    failed.put((SimpleMailMessage) entry.getKey(), entry.getValue());
+            //실패 메일을 특정할 수 없는 경우 전체 실패
+            if (failed.isEmpty())
+                for (SimpleMailMessage message : messages)
+                    failed.put(message, e);
+            return failed;
+        } catch (MailException e) {
+            //잘못된 주소, 인증 실패 등 메일 변환/연결 단계 오류
+            if (messages.size() == 1)
+                return Collections.singletonMap(messages.get(0), e);
+            Map<SimpleMailMessage, Exception> failed = new LinkedHashMap<>();
+            for (SimpleMailMessage message : messages)
+                failed.putAll(sendAll(Collections.singletonList(message)));
+            return failed;
+        }
+    }
+    
 }
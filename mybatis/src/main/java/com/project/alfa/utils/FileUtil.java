@@ -1,109 +1,305 @@
 package com.project.alfa.utils;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.services.s3.model.S3Object;
 import com.project.alfa.entities.UploadFile;
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
 import com.project.alfa.services.dto.AttachmentResponseDto;
-import lombok.RequiredArgsConstructor;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
+import com.project.alfa.utils.storage.ListedObject;
+import com.project.alfa.utils.storage.StorageBackend;
+import com.project.alfa.utils.storage.StoredObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
-@Profile("!test")
+/**
+ * 첨부파일 저장, 저장 경로(객체 키) 규칙과 검증을 담당하고 실제 입출력은 StorageBackend에 위임
+ * 객체 키: 업로드 경로/yyyyMMdd/저장 파일명, 커밋 전 임시 경로는 업로드 경로/staging/yyyyMMdd/저장 파일명
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
-public class FileUtil {
-
-//    @Value("${file.upload.location}")
-//    private String fileDir;
+public class FileUtil implements DisposableBean {
     
-    @Value("${aws.s3.bucket}")
-    private String bucket;
     @Value("${aws.s3.upload-dir}")
-    private String uploadDir;
+    private String   uploadDir;
+    @Value("${aws.s3.stream.max-file-size}")
+    private DataSize maxStreamFileSize;
+    @Value("${aws.s3.presigned.expiration}")
+    private long     presignedExpiration;
+    
+    private static final String POST_ID_METADATA           = "post-id";             //업로드 대상 게시글 FK
+    private static final String ORIGINAL_FILENAME_METADATA = "original-filename";   //원본 파일명(URL 인코딩)
+    private static final String STAGING_DIR                = "staging";             //커밋 전 업로드 경로
+    private static final int    DIGEST_BUFFER_SIZE         = 64 * 1024;
+    private static final char[] HEX                        = "0123456789abcdef".toCharArray();
+    
+    private final StorageBackend     storageBackend;
+    private final ThreadPoolExecutor executor;
     
-    private final AmazonS3 amazonS3;
+    /**
+     * @param storageBackend - 첨부파일 저장소
+     * @param threads        - 파일 업로드 스레드 수
+     * @param queueCapacity  - 대기 큐 크기, 초과 시 요청 스레드에서 직접 업로드
+     */
+    public FileUtil(final StorageBackend storageBackend,
+                    @Value("${aws.s3.io.threads}") final int threads,
+                    @Value("${aws.s3.io.queue-capacity}") final int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        
+        this.storageBackend = storageBackend;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               runnable -> {
+                                                   Thread thread = new Thread(runnable, "storage-io-"
+                                                                                        + sequence.incrementAndGet());
+                                                   thread.setDaemon(true);
+                                                   return thread;
+                                               },
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+    }
     
     /**
-     * 다중 파일 업로드
+     * 다중 파일 내용 해시(SHA-256) 계산, 전용 스레드 풀에서 병렬 처리
+     * 저장하지 않고 새 저장 경로와 내용 해시를 포함한 업로드 파일 정보만 생성
      *
      * @param multipartFiles
-     * @return 업로드 파일 정보 목록
+     * @return 업로드 파일 정보 목록, 순서는 multipartFiles와 같음
      */
-    public List<UploadFile> storeFiles(final List<MultipartFile> multipartFiles) {
-        List<UploadFile> uploadFiles = new ArrayList<>();
+    public List<UploadFile> digestFiles(final List<MultipartFile> multipartFiles) {
+        List<Future<UploadFile>> futures = new ArrayList<>(multipartFiles.size());
         for (MultipartFile multipartFile : multipartFiles)
-            if (!multipartFile.isEmpty())
-                uploadFiles.add(storeFile(multipartFile));
+            futures.add(executor.submit(() -> digestFile(multipartFile)));
+        
+        List<UploadFile> uploadFiles = new ArrayList<>(futures.size());
+        for (Future<UploadFile> future : futures)
+            uploadFiles.add(getResult(future));
         return uploadFiles;
     }
     
     /**
-     * 단일 파일 업로드
+     * 다중 파일 업로드, 전용 스레드 풀에서 병렬 업로드
+     * 하나라도 실패하면 이미 업로드된 파일을 삭제(보상)하고 모든 실패를 모아 예외 발생
      *
-     * @param multipartFile
-     * @return 업로드 파일 정보
+     * @param multipartFiles
+     * @param uploadFiles    - 업로드 파일 정보 목록, 순서는 multipartFiles와 같음
      */
-    public UploadFile storeFile(final MultipartFile multipartFile) {
-        if (multipartFile.isEmpty())
-            return null;
-        
-        String originalFilename = multipartFile.getOriginalFilename();
-        String storeFilename    = generateStoreFilename(originalFilename);
-        String today            = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        
-        //로컬 저장
-//        String storeFilePath = getUploadPath(today) + File.separator + storeFilename;
-//        File   uploadFile    = new File(storeFilePath);
-        
-        //AWS S3 저장
-        String storeFilePath = uploadDir + "/" + today + "/" + storeFilename;
+    public void storeFiles(final List<MultipartFile> multipartFiles, final List<UploadFile> uploadFiles) {
+        List<String> storeFilePaths = new ArrayList<>(uploadFiles.size());
+        for (UploadFile uploadFile : uploadFiles)
+            storeFilePaths.add(uploadFile.getStoreFilePath());
+        storeObjects(multipartFiles, storeFilePaths);
+    }
+    
+    /**
+     * 다중 파일 임시 경로 업로드, 전용 스레드 풀에서 병렬 업로드
+     * 하나라도 실패하면 이미 업로드된 파일을 삭제(보상)하고 모든 실패를 모아 예외 발생
+     *
+     * @param multipartFiles
+     * @param uploadFiles    - 업로드 파일 정보 목록, 순서는 multipartFiles와 같음
+     */
+    public void stageFiles(final List<MultipartFile> multipartFiles, final List<UploadFile> uploadFiles) {
+        List<String> stagingFilePaths = new ArrayList<>(uploadFiles.size());
+        for (UploadFile uploadFile : uploadFiles)
+            stagingFilePaths.add(getStagingFilePath(uploadFile));
+        storeObjects(multipartFiles, stagingFilePaths);
+    }
+    
+    /**
+     * 스트림 파일 임시 경로 업로드, 요청 본문을 임시 파일 없이 저장소로 전송하면서 내용 해시(SHA-256) 계산
+     *
+     * @param originalFilename - 원본 파일명
+     * @param contentType      - Content-Type
+     * @param inputStream      - 파일 내용 스트림
+     * @return 업로드 파일 정보, 저장 경로는 이동할 경로
+     */
+    public UploadFile stageFile(final String originalFilename, final String contentType,
+                                final InputStream inputStream) {
+        String        storeFilename = generateStoreFilename(originalFilename);
+        String        storeFilePath = generateStoreFilePath(storeFilename);
+        MessageDigest digest        = newDigest();
         
         try {
-            //로컬 저장
-//            multipartFile.transferTo(uploadFile);
-            
-            //AWS S3 저장
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType(multipartFile.getContentType());
-            metadata.setContentLength(multipartFile.getSize());
-            amazonS3.putObject(new PutObjectRequest(bucket, storeFilePath, multipartFile.getInputStream(), metadata));
+            long fileSize = storageBackend.store(toStagingFilePath(storeFilePath), contentType,
+                                                 new DigestInputStream(inputStream, digest),
+                                                 maxStreamFileSize.toBytes());
+            return new UploadFile(originalFilename, storeFilename, storeFilePath, fileSize,
+                                  toHex(digest.digest())) {};
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+    }
+    
+    /**
+     * 업로드용 Presigned URL 발급, 클라이언트가 애플리케이션 서버를 거치지 않고 저장소에 직접 업로드
+     * 게시글 FK와 원본 파일명을 사용자 메타데이터로 포함하여 업로드 확정 시 검증
+     *
+     * @param postId           - 게시글 FK
+     * @param originalFilename - 원본 파일명
+     * @param contentType      - Content-Type
+     * @return Presigned 업로드 정보
+     */
+    public PresignedUploadResponseDto generateUploadUrl(final Long postId, final String originalFilename,
+                                                        final String contentType) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put(POST_ID_METADATA, String.valueOf(postId));
+        metadata.put(ORIGINAL_FILENAME_METADATA, encode(originalFilename));
         
-        return new UploadFile(originalFilename, storeFilename, storeFilePath, multipartFile.getSize()) {};
+        return storageBackend.generateUploadUrl(generateStoreFilePath(generateStoreFilename(originalFilename)),
+                                                contentType, metadata,
+                                                new Date(System.currentTimeMillis() + presignedExpiration));
     }
     
     /**
-     * 업로드 파일 다중 삭제
+     * Presigned URL 업로드 확정, 업로드된 객체의 정보만 조회하여 업로드 파일 정보 생성
+     * 발급 이후 날짜가 바뀌었으면 저장 경로는 다운로드 경로 규칙(생성일 폴더)에 맞는 오늘 날짜 경로(이동은 호출한 쪽에서 처리)
+     *
+     * @param postId        - 게시글 FK
+     * @param storeFilePath - 발급받은 저장 경로
+     * @return 업로드 파일 정보
+     */
+    public UploadFile confirmUpload(final Long postId, final String storeFilePath) {
+        if (!storeFilePath.matches(Pattern.quote(uploadDir) + "/\\d{8}/[0-9a-f]{32}\\.[^/]+"))
+            throw new InvalidValueException("Invalid upload path: " + storeFilePath, ErrorCode.INVALID_UPLOAD);
+        String storeFilename = storeFilePath.substring(storeFilePath.lastIndexOf('/') + 1);
+        
+        StoredObject object = storageBackend.getObject(storeFilePath);
+        if (object == null)
+            throw new InvalidValueException("Upload not found: " + storeFilePath, ErrorCode.INVALID_UPLOAD);
+        if (!String.valueOf(postId).equals(object.getMetadata().get(POST_ID_METADATA)))
+            throw new InvalidValueException("Upload is not for this post: " + storeFilePath, ErrorCode.INVALID_UPLOAD);
+        if (object.getSize() > maxStreamFileSize.toBytes()) {
+            storageBackend.delete(storeFilePath);
+            throw new InvalidValueException("File size exceeds " + maxStreamFileSize.toBytes() + " bytes.",
+                                            ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+        
+        String originalFilename = decode(object.getMetadata().get(ORIGINAL_FILENAME_METADATA));
+        return new UploadFile(originalFilename, storeFilename, generateStoreFilePath(storeFilename), object.getSize(),
+                              null) {};
+    }
+    
+    /**
+     * 임시 경로의 파일을 저장 경로로 이동, 이미 이동된 파일이면 무시
+     *
+     * @param sourcePath - 임시 경로
+     * @param targetPath - 저장 경로
+     */
+    public void promoteFile(final String sourcePath, final String targetPath) {
+        try {
+            storageBackend.move(sourcePath, targetPath);
+        } catch (RuntimeException e) {
+            //재시도 중 이전 시도가 이미 이동을 완료한 경우
+            if (storageBackend.getObject(sourcePath) == null && storageBackend.getObject(targetPath) != null)
+                return;
+            throw e;
+        }
+    }
+    
+    /**
+     * 임시 경로(객체 키) 조회: 업로드 경로/staging/yyyyMMdd/저장 파일명
+     *
+     * @param uploadFile - 업로드 파일 정보
+     * @return 임시 경로
+     */
+    public String getStagingFilePath(final UploadFile uploadFile) {
+        return toStagingFilePath(uploadFile.getStoreFilePath());
+    }
+    
+    /**
+     * 업로드 파일 다중 삭제, 저장소 일괄 삭제(S3: DeleteObjects 최대 1000개씩)
+     * 모든 파일 삭제를 시도한 후 실패를 모아 예외 발생
      *
      * @param uploadFiles - 업로드 파일 정보 목록
      */
     public void deleteFiles(final List<UploadFile> uploadFiles) {
-        if (uploadFiles.isEmpty())
-            return;
-        for (UploadFile uploadFile : uploadFiles) {
-            //로컬 삭제
-//            String uploadedDate = uploadFile.getCreatedDate().toLocalDate().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-//            deleteFile(uploadedDate, uploadFile.getStoreFilename());
-            
-            //AWS S3 삭제
-            deleteFile(uploadFile);
-        }
+        List<String> storeFilePaths = new ArrayList<>(uploadFiles.size());
+        for (UploadFile uploadFile : uploadFiles)
+            storeFilePaths.add(uploadFile.getStoreFilePath());
+        deleteFilesByPaths(storeFilePaths);
+    }
+    
+    /**
+     * 날짜 폴더 목록 조회, 저장 경로와 임시 경로의 yyyyMMdd 폴더 중 기준 날짜 이전(포함) 폴더
+     *
+     * @param until - 기준 날짜
+     * @return 날짜 폴더 객체 키 목록
+     */
+    public List<String> listDateFolders(final LocalDate until) {
+        List<String> folders = new ArrayList<>();
+        for (String prefix : Arrays.asList(uploadDir, uploadDir + "/" + STAGING_DIR))
+            for (String name : storageBackend.listFolders(prefix)) {
+                if (name.length() != 8)
+                    continue;
+                try {
+                    if (!LocalDate.parse(name, DateTimeFormatter.BASIC_ISO_DATE).isAfter(until))
+                        folders.add(prefix + "/" + name);
+                } catch (DateTimeParseException e) {
+                    //날짜 폴더가 아닌 폴더(staging 등) 제외
+                }
+            }
+        return folders;
+    }
+    
+    /**
+     * 폴더 하위 파일 목록을 페이지 단위로 조회
+     *
+     * @param folder   - 폴더 객체 키
+     * @param pageSize - 페이지 크기
+     * @param consumer - 페이지 처리, false를 반환하면 조회 중단
+     */
+    public void listFiles(final String folder, final int pageSize, final Predicate<List<ListedObject>> consumer) {
+        storageBackend.listObjects(folder, pageSize, consumer);
+    }
+    
+    /**
+     * 저장 경로 기준 파일 다중 삭제, 저장소 일괄 삭제(S3: DeleteObjects 최대 1000개씩)
+     * 모든 파일 삭제를 시도한 후 실패를 모아 예외 발생
+     *
+     * @param storeFilePaths - 저장 경로 목록
+     */
+    public void deleteFilesByPaths(final List<String> storeFilePaths) {
+        List<String> keys = new ArrayList<>(storeFilePaths.size());
+        for (String storeFilePath : storeFilePaths)
+            if (storeFilePath != null && !storeFilePath.trim().isEmpty())
+                keys.add(storeFilePath);
+        if (!keys.isEmpty())
+            storageBackend.deleteAll(keys);
     }
     
     /**
@@ -114,114 +310,242 @@ public class FileUtil {
     public void deleteFile(final UploadFile uploadFile) {
         if (uploadFile.getStoreFilePath() == null || uploadFile.getStoreFilePath().trim().isEmpty())
             return;
-        
-        //로컬 삭제
-//        String uploadedDate = uploadFile.getCreatedDate().toLocalDate().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-//        deleteFile(uploadedDate, uploadFile.getStoreFilename());
-        
-        //AWS S3 삭제
-        amazonS3.deleteObject(bucket, uploadFile.getStoreFilePath());
+        storageBackend.delete(uploadFile.getStoreFilePath());
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
     }
     
     /**
-     * 첨부파일 정보 DTO 리소스 변환
+     * 첨부파일 정보 DTO 리소스 변환, 저장 경로로 이동하기 전이면 임시 경로에서 조회
      *
      * @param dto - 업로드 파일 정보
      * @return
      */
     public Resource readAttachmentFileAsResource(final AttachmentResponseDto dto) {
-        //로컬 리소스
-//        String uploadedDate  = dto.getCreatedDate().toLocalDate().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-//        String storeFilename = dto.getStoreFilename();
-//        Path   filePath      = Paths.get(fileDir, uploadedDate, storeFilename);
-//
-//        try {
-//            UrlResource resource = new UrlResource(filePath.toUri());
-//            if (!resource.exists() || !resource.isFile())
-//                throw new RuntimeException("File not found: " + filePath.toString());
-//
-//            return resource;
-//        } catch (MalformedURLException e) {
-//            throw new RuntimeException("File not found: " + filePath.toString(), e);
-//        }
-        
-        //AWS S3 리소스
-        String uploadedDate  = dto.getCreatedDate().toLocalDate().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String storeFilename = dto.getStoreFilename();
-        String filePath      = uploadDir + "/" + uploadedDate + "/" + storeFilename;
+        return readWithStagingFallback(dto.getStoreFilePath(), storageBackend::read);
+    }
+    
+    /**
+     * 첨부파일 정보 DTO 범위 리소스 변환, 요청 범위만 조회(S3: Range GET), 저장 경로로 이동하기 전이면 임시 경로에서 조회
+     *
+     * @param dto   - 업로드 파일 정보
+     * @param start - 시작 위치(byte, 포함)
+     * @param end   - 끝 위치(byte, 포함)
+     * @return
+     */
+    public Resource readAttachmentFileAsResource(final AttachmentResponseDto dto, final long start, final long end) {
+        return readWithStagingFallback(dto.getStoreFilePath(), key -> storageBackend.read(key, start, end));
+    }
+    
+    /**
+     * 다운로드용 Presigned URL 발급, 클라이언트가 저장소에서 직접 다운로드
+     * 저장 경로로 이동하기 전이면 임시 경로로 발급
+     *
+     * @param dto - 업로드 파일 정보
+     * @return Presigned 다운로드 URL
+     */
+    public URL generateDownloadUrl(final AttachmentResponseDto dto) {
+        String contentDisposition = ContentDisposition.attachment()
+                                                      .filename(encode(dto.getOriginalFilename()))
+                                                      .build()
+                                                      .toString();
+        String key         = dto.getStoreFilePath();
+        String stagingPath = toStagingFilePath(key);
+        if (storageBackend.getObject(key) == null && storageBackend.getObject(stagingPath) != null)
+            key = stagingPath;
+        return storageBackend.generateDownloadUrl(key, contentDisposition,
+                                                  new Date(System.currentTimeMillis() + presignedExpiration));
+    }
+    
+    /**
+     * 저장 경로 조회, 실패하면 임시 경로에서 조회
+     * 같은 내용의 저장 객체 정보는 커밋 직후부터 참조되지만, 임시 파일은 커밋 후(실패하면 재시도 시) 저장 경로로 이동
+     *
+     * @param storeFilePath - 저장 경로
+     * @param reader        - 객체 키 조회
+     * @return 리소스
+     */
+    private Resource readWithStagingFallback(final String storeFilePath, final Function<String, Resource> reader) {
+        try {
+            return reader.apply(storeFilePath);
+        } catch (RuntimeException e) {
+            String stagingPath = toStagingFilePath(storeFilePath);
+            if (storageBackend.getObject(stagingPath) != null)
+                return reader.apply(stagingPath);
+            //조회 중에 이동이 완료된 경우
+            if (storageBackend.getObject(storeFilePath) != null)
+                return reader.apply(storeFilePath);
+            throw e;
+        }
+    }
+    
+    /**
+     * 다중 파일 업로드, 전용 스레드 풀에서 병렬 업로드
+     * 하나라도 실패하면 이미 업로드된 파일을 삭제(보상)하고 모든 실패를 모아 예외 발생
+     *
+     * @param multipartFiles
+     * @param keys           - 객체 키 목록, 순서는 multipartFiles와 같음
+     */
+    private void storeObjects(final List<MultipartFile> multipartFiles, final List<String> keys) {
+        List<Future<String>> futures = new ArrayList<>(multipartFiles.size());
+        for (int i = 0; i < multipartFiles.size(); i++) {
+            MultipartFile multipartFile = multipartFiles.get(i);
+            String        key           = keys.get(i);
+            futures.add(executor.submit(() -> storeObject(multipartFile, key)));
+        }
         
-        if (!amazonS3.doesObjectExist(bucket, filePath))
-            throw new RuntimeException("File not found: " + filePath);
-        S3Object            s3Object = amazonS3.getObject(bucket, filePath);
-        InputStreamResource resource = new InputStreamResource(s3Object.getObjectContent());
+        List<String>     storedKeys = new ArrayList<>(futures.size());
+        RuntimeException failure    = null;
+        for (Future<String> future : futures)
+            try {
+                storedKeys.add(getResult(future));
+            } catch (RuntimeException e) {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
         
-        return resource;
+        if (failure != null) {
+            //보상: 업로드에 성공한 파일 삭제
+            try {
+                deleteFilesByPaths(storedKeys);
+            } catch (RuntimeException e) {
+                log.warn("Failed to clean up uploaded files: {}", e.getMessage());
+                failure.addSuppressed(e);
+            }
+            throw failure;
+        }
     }
     
     /**
-     * 저장 파일명 생성
+     * 단일 파일 업로드
      *
-     * @param filename - 원본 파일명
-     * @return 저장 파일명
+     * @param multipartFile
+     * @param key           - 객체 키
+     * @return 객체 키
      */
-    private String generateStoreFilename(final String filename) {
-        String uuid = UUID.randomUUID().toString().replaceAll("-", "");
-        String ext  = StringUtils.getFilenameExtension(filename);
-        return uuid + "." + ext;
+    private String storeObject(final MultipartFile multipartFile, final String key) {
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            storageBackend.storeSized(key, multipartFile.getContentType(), inputStream, multipartFile.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return key;
     }
     
     /**
-     * 업로드 경로
+     * 단일 파일 내용 해시(SHA-256) 계산
      *
-     * @return 업로드 경로
+     * @param multipartFile
+     * @return 업로드 파일 정보
      */
-//    private String getUploadPath() {
-//        return makeDirectories(fileDir);
-//    }
+    private UploadFile digestFile(final MultipartFile multipartFile) {
+        MessageDigest digest = newDigest();
+        byte[]        buffer = new byte[DIGEST_BUFFER_SIZE];
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0)
+                digest.update(buffer, 0, read);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        
+        String originalFilename = multipartFile.getOriginalFilename();
+        String storeFilename    = generateStoreFilename(originalFilename);
+        return new UploadFile(originalFilename, storeFilename, generateStoreFilePath(storeFilename),
+                              multipartFile.getSize(), toHex(digest.digest())) {};
+    }
     
     /**
-     * 업로드 경로
+     * 업로드 결과 조회, 업로드 중 발생한 예외는 그대로 전달
      *
-     * @param addPath - 추가 경로
-     * @return 업로드 경로
+     * @param future - 업로드 작업
+     * @return 작업 결과
      */
-//    private String getUploadPath(final String addPath) {
-//        return makeDirectories(fileDir + File.separator + addPath);
-//    }
+    private <T> T getResult(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while uploading files.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static String toHex(final byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+    
+    private static String encode(final String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Filename encoding failed: " + value, e);
+        }
+    }
+    
+    private static String decode(final String value) {
+        if (value == null)
+            throw new InvalidValueException("Original filename is missing.", ErrorCode.INVALID_UPLOAD);
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Filename decoding failed: " + value, e);
+        }
+    }
     
     /**
-     * 업로드 경로 폴더 생성
+     * 저장 경로(객체 키) 생성, 오늘 날짜 폴더
      *
-     * @param path - 대상 업로드 경로
-     * @return 업로드 경로
+     * @param storeFilename - 저장 파일명
+     * @return 저장 경로
      */
-//    private String makeDirectories(final String path) {
-//        File dir = new File(path);
-//        if (!dir.exists())
-//            dir.mkdirs();
-//        return dir.getPath();
-//    }
+    private String generateStoreFilePath(final String storeFilename) {
+        return uploadDir + "/" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "/"
+               + storeFilename;
+    }
     
     /**
-     * 파일 삭제
+     * 저장 경로 -> 임시 경로 변환
      *
-     * @param addPath  - 추가 경로
-     * @param filename - 저장 파일명
+     * @param storeFilePath - 저장 경로
+     * @return 임시 경로
      */
-//    private void deleteFile(final String addPath, final String filename) {
-//        String filePath = Paths.get(fileDir, addPath, filename).toString();
-//        deleteFile(filePath);
-//    }
+    private String toStagingFilePath(final String storeFilePath) {
+        return uploadDir + "/" + STAGING_DIR + storeFilePath.substring(uploadDir.length());
+    }
     
     /**
-     * 파일 삭제
+     * 저장 파일명 생성
      *
-     * @param filePath - 업로드 파일 경로
+     * @param filename - 원본 파일명
+     * @return 저장 파일명
      */
-//    private void deleteFile(final String filePath) {
-//        File file = new File(filePath);
-//        if (file.exists())
-//            file.delete();
-//    }
+    private String generateStoreFilename(final String filename) {
+        String uuid = UUID.randomUUID().toString().replaceAll("-", "");
+        String ext  = StringUtils.getFilenameExtension(filename);
+        return uuid + "." + ext;
+    }
     
 }
@@ -0,0 +1,23 @@
+package com.project.alfa.utils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class RetryBackoff {
+    
+    private static final int MAX_SHIFT = 20;    //실패 횟수가 커져도 시프트 오버플로 없이 최대 재시도 간격 유지
+    
+    /**
+     * 다음 시도 일시, 실패 횟수에 따른 지수 백오프(최대 재시도 간격 제한)
+     *
+     * @param attempts      - 이전 실패 횟수
+     * @param retryDelay    - 첫 재시도 간격(ms)
+     * @param maxRetryDelay - 최대 재시도 간격(ms)
+     * @return 다음 시도 일시
+     */
+    public static LocalDateTime nextAttemptTime(final int attempts, final long retryDelay, final long maxRetryDelay) {
+        long delay = Math.min(retryDelay << Math.min(attempts, MAX_SHIFT), maxRetryDelay);
+        return LocalDateTime.now().plus(Duration.ofMillis(delay));
+    }
+    
+}
@@ -0,0 +1,128 @@
+package com.project.alfa.utils.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 로컬 파일 구간 리소스, 힙 버퍼 복사 없이 전송할 수 있도록 파일 경로와 구간만 보관
+ * 서블릿 컨테이너가 sendfile을 지원하면(Tomcat NIO/NIO2) 요청 속성으로 전송을 위임하여 커널에서 소켓으로 직접 전송
+ * 지원하지 않으면 FileChannel 위치 지정 읽기로 구간만 스트림으로 제공
+ */
+public class FileRegionResource extends AbstractResource {
+    
+    private static final String SENDFILE_SUPPORT_ATTR  = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR    = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR      = "org.apache.tomcat.sendfile.end";
+    
+    private final Path path;
+    private final long position;    //시작 위치(byte)
+    private final long count;       //크기(byte)
+    
+    public FileRegionResource(final Path path, final long position, final long count) {
+        this.path = path;
+        this.position = position;
+        this.count = count;
+    }
+    
+    /**
+     * 컨테이너 sendfile 전송 요청, 성공 시 응답 본문을 쓰지 않아야 함(Content-Length 필수)
+     *
+     * @param request
+     * @return sendfile 전송 여부
+     */
+    public boolean sendfile(final HttpServletRequest request) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR)))
+            return false;
+        try {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toFile().getCanonicalPath());
+        } catch (IOException e) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_START_ATTR, position);
+        request.setAttribute(SENDFILE_END_ATTR, position + count);
+        return true;
+    }
+    
+    @Override
+    public String getDescription() {
+        return "File region [" + path + ", " + position + "+" + count + "]";
+    }
+    
+    @Override
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+    
+    @Override
+    public long contentLength() {
+        return count;
+    }
+    
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new RegionInputStream(FileChannel.open(path, StandardOpenOption.READ), position, position + count);
+    }
+    
+    /**
+     * 파일 구간 입력 스트림, 채널 위치를 바꾸지 않는 위치 지정 읽기
+     */
+    private static class RegionInputStream extends InputStream {
+        
+        private final FileChannel channel;
+        private final long        end;
+        private       long        position;
+        
+        private RegionInputStream(final FileChannel channel, final long position, final long end) {
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+        
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (position >= end)
+                return -1;
+            
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (read > 0)
+                position += read;
+            return read;
+        }
+        
+        @Override
+        public long skip(final long n) {
+            long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            return skipped;
+        }
+        
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+        
+    }
+    
+}
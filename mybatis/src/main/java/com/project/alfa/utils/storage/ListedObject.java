@@ -0,0 +1,23 @@
+package com.project.alfa.utils.storage;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 목록 조회된 객체 정보
+ */
+@Getter
+public class ListedObject {
+    
+    private final String  key;            //객체 키
+    private final long    size;           //크기(byte)
+    private final Instant lastModified;   //최종 수정 시각
+    
+    public ListedObject(final String key, final long size, final Instant lastModified) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+    
+}
@@ -0,0 +1,22 @@
+package com.project.alfa.utils.storage;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 저장된 객체 정보
+ */
+@Getter
+public class StoredObject {
+    
+    private final long                size;       //크기(byte)
+    private final Map<String, String> metadata;   //사용자 메타데이터
+    
+    public StoredObject(final long size, final Map<String, String> metadata) {
+        this.size = size;
+        this.metadata = metadata == null ? Collections.emptyMap() : metadata;
+    }
+    
+}
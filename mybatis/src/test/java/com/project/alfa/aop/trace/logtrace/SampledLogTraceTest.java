@@ -0,0 +1,122 @@
+package com.project.alfa.aop.trace.logtrace;
+
+import com.project.alfa.aop.trace.TraceStatus;
+import lombok.SneakyThrows;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SampledLogTraceTest {
+    
+    SampledLogTrace logTrace;
+    
+    @AfterEach
+    void destroy() {
+        logTrace.destroy();
+    }
+    
+    private JoinPoint joinPoint(final String message) {
+        Signature signature = mock(Signature.class);
+        when(signature.toShortString()).thenReturn(message);
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    private void awaitExported(final long count) {
+        for (int i = 0; i < 50 && logTrace.getExportedCount() < count; i++)
+            Thread.sleep(100);
+    }
+    
+    @Test
+    @DisplayName("샘플링된 트레이스 내보내기, 구간별 히스토그램 기록")
+    void sampled() {
+        //Given
+        logTrace = new SampledLogTrace(1, 16, 100, 10);
+        
+        //When
+        TraceStatus root  = logTrace.begin(joinPoint("Service.root()"));
+        TraceStatus child = logTrace.begin(joinPoint("Repository.child()"));
+        logTrace.end(child);
+        logTrace.exception(root, new IllegalStateException());
+        awaitExported(1);
+        
+        //Then
+        assertThat(root.isSampled()).isTrue();
+        assertThat(root.getDepth()).isZero();
+        assertThat(child.getDepth()).isEqualTo(1);
+        assertThat(root.getElapsedNanos()).isGreaterThanOrEqualTo(child.getElapsedNanos());
+        assertThat(root.getException()).isEqualTo(new IllegalStateException().toString());
+        assertThat(logTrace.getExportedCount()).isEqualTo(1);
+        assertThat(logTrace.getHistogram("Service.root()").getCount()).isEqualTo(1);
+        assertThat(logTrace.getHistogram("Repository.child()").getCount()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("샘플링되지 않은 트레이스는 시그니처 조회와 기록 없음")
+    void unsampled() {
+        //Given
+        logTrace = new SampledLogTrace(0, 16, 100, 10);
+        JoinPoint joinPoint = joinPoint("Service.root()");
+        
+        //When
+        TraceStatus root  = logTrace.begin(joinPoint);
+        TraceStatus child = logTrace.begin(joinPoint);
+        logTrace.end(child);
+        logTrace.end(root);
+        
+        //Then
+        assertThat(root).isSameAs(TraceStatus.UNSAMPLED);
+        assertThat(child).isSameAs(TraceStatus.UNSAMPLED);
+        verify(joinPoint, never()).getSignature();
+        assertThat(logTrace.getHistogram("Service.root()")).isNull();
+    }
+    
+    @Test
+    @DisplayName("트레이스당 최대 구간 수 초과분은 기록하지 않음")
+    void truncated() {
+        //Given
+        logTrace = new SampledLogTrace(1, 1, 100, 10);
+        
+        //When
+        TraceStatus root  = logTrace.begin(joinPoint("Service.root()"));
+        TraceStatus child = logTrace.begin(joinPoint("Repository.child()"));
+        logTrace.end(child);
+        logTrace.end(root);
+        awaitExported(1);
+        
+        //Then
+        assertThat(root.isSampled()).isTrue();
+        assertThat(child.isSampled()).isFalse();
+        assertThat(logTrace.getTruncatedCount()).isEqualTo(1);
+        assertThat(logTrace.getHistogram("Service.root()").getCount()).isEqualTo(1);
+        assertThat(logTrace.getHistogram("Repository.child()")).isNull();
+    }
+    
+    @Test
+    @DisplayName("구간 버퍼 재사용, 다음 트레이스도 루트부터 기록")
+    void reuseSpans() {
+        //Given
+        logTrace = new SampledLogTrace(1, 16, 100, 10);
+        TraceStatus first = logTrace.begin(joinPoint("Service.first()"));
+        logTrace.end(first);
+        
+        //When
+        TraceStatus second = logTrace.begin(joinPoint("Service.second()"));
+        logTrace.end(second);
+        awaitExported(2);
+        
+        //Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getDepth()).isZero();
+        assertThat(logTrace.getHistogram("Service.first()").getCount()).isEqualTo(1);
+        assertThat(logTrace.getHistogram("Service.second()").getCount()).isEqualTo(1);
+    }
+    
+}
@@ -1,12 +1,12 @@
 package com.project.alfa.config.security;
 
+import com.project.alfa.config.SecurityConfig;
+import com.project.alfa.security.route.RouteMatcher;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
-import static org.springframework.http.HttpMethod.GET;
-
 @TestConfiguration("SecurityConfig")
 public class TestSecurityConfig {
     
@@ -15,11 +15,8 @@ public class TestSecurityConfig {
         http.csrf().disable();
         
         http.authorizeRequests()
-            .regexMatchers(GET, "/api/posts/(?:\\d+)?$", "/api/posts/\\d+/attachments$", "/api/posts/\\d+/attachments/\\d+/download$").permitAll()
-            .regexMatchers(GET, "/api/posts\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)(&?(?:condition=(title|content|titleOrContent|writer)?)?)(&?(?:keyword=.*)?)$").permitAll()
-            .regexMatchers(GET, "/api/posts/\\d+/comments\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)$").permitAll()
-            .mvcMatchers("/api/members", "/api/members/forgot-password").permitAll()
-            .mvcMatchers("/api/members/**", "/logout", "/api/posts/**", "/api/posts/*/comments/**", "/api/comments/**").authenticated()
+            .requestMatchers(SecurityConfig.authorizationRoutes().matcherOf(RouteMatcher.Access.AUTHENTICATED))
+            .authenticated()
             .anyRequest().permitAll();
         
         return http.build();
@@ -3,9 +3,11 @@ package com.project.alfa.controllers.api;
 import com.google.common.net.HttpHeaders;
 import com.google.gson.Gson;
 import com.project.alfa.config.security.TestSecurityConfig;
+import com.project.alfa.config.security.WithCustomMockUser;
 import com.project.alfa.entities.Attachment;
 import com.project.alfa.services.AttachmentService;
 import com.project.alfa.services.dto.AttachmentResponseDto;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
 import com.project.alfa.utils.FileUtil;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -22,16 +25,22 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -128,4 +137,218 @@ class AttachmentApiControllerTest {
         verify(fileUtil, times(1)).readAttachmentFileAsResource(any(AttachmentResponseDto.class));
     }
     
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("첨부파일 다운로드, 범위 요청")
+    void downloadFile_range() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        Long   fileId;
+        do {
+            postId = random.nextLong();
+            fileId = random.nextLong();
+        } while (postId < 0 || fileId < 0);
+        
+        when(fileUtil.readAttachmentFileAsResource(any(AttachmentResponseDto.class), anyLong(), anyLong()))
+                .thenReturn(new ByteArrayResource(new byte[100]));
+        
+        //When
+        ResultActions actions = mockMvc.perform(get("/api/posts/{postId}/attachments/{fileId}/download", postId, fileId)
+                                                        .header(HttpHeaders.RANGE, "bytes=100-199")
+                                                        .accept(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE));
+        
+        //Then
+        actions.andExpect(status().isPartialContent())
+               .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                                          "bytes 100-199/" + attachments.get(0).getFileSize()))
+               .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+               .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+               .andDo(print());
+        
+        verify(fileUtil, times(1)).readAttachmentFileAsResource(any(AttachmentResponseDto.class), eq(100L),
+                                                                eq(199L));
+        verify(fileUtil, never()).readAttachmentFileAsResource(any(AttachmentResponseDto.class));
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("첨부파일 다운로드, 만족할 수 없는 범위")
+    void downloadFile_rangeNotSatisfiable() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        Long   fileId;
+        do {
+            postId = random.nextLong();
+            fileId = random.nextLong();
+        } while (postId < 0 || fileId < 0);
+        long fileSize = attachments.get(0).getFileSize();
+        
+        //When
+        ResultActions actions = mockMvc.perform(get("/api/posts/{postId}/attachments/{fileId}/download", postId, fileId)
+                                                        .header(HttpHeaders.RANGE, "bytes=" + fileSize + "-")
+                                                        .accept(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE));
+        
+        //Then
+        actions.andExpect(status().isRequestedRangeNotSatisfiable())
+               .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize))
+               .andDo(print());
+        
+        verifyNoInteractions(fileUtil);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("첨부파일 다운로드, ETag 일치")
+    void downloadFile_notModified() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        Long   fileId;
+        do {
+            postId = random.nextLong();
+            fileId = random.nextLong();
+        } while (postId < 0 || fileId < 0);
+        String eTag = "\"" + attachments.get(0).getStoreFilename() + "\"";
+        
+        //When
+        ResultActions actions = mockMvc.perform(get("/api/posts/{postId}/attachments/{fileId}/download", postId, fileId)
+                                                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                                                        .accept(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE));
+        
+        //Then
+        actions.andExpect(status().isNotModified())
+               .andExpect(header().string(HttpHeaders.ETAG, eTag))
+               .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+               .andDo(print());
+        
+        verifyNoInteractions(fileUtil);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @WithCustomMockUser
+    @DisplayName("첨부파일 업로드")
+    void uploadFile() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        do {
+            postId = random.nextLong();
+        } while (postId < 0);
+        byte[] content = UUID.randomUUID().toString().getBytes();
+        
+        when(attachmentService.saveFile(anyLong(), anyLong(), anyString(), anyString(), any(InputStream.class)))
+                .thenReturn(1L);
+        
+        //When
+        ResultActions actions = mockMvc.perform(post("/api/posts/{postId}/attachments", postId)
+                                                        .param("filename", "test.txt")
+                                                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                                                        .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                                                        .content(content));
+        
+        //Then
+        actions.andExpect(status().isOk())
+               .andExpect(content().string("1"))
+               .andDo(print());
+        
+        verify(attachmentService, times(1)).saveFile(eq(postId), eq(1L), eq("test.txt"), eq("text/plain"),
+                                                     any(InputStream.class));
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @WithCustomMockUser
+    @DisplayName("첨부파일 Presigned 업로드 URL 발급")
+    void generateUploadUrl() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        do {
+            postId = random.nextLong();
+        } while (postId < 0);
+        PresignedUploadResponseDto dto = new PresignedUploadResponseDto(
+                "upload/20240101/" + UUID.randomUUID().toString().replaceAll("-", "") + ".txt",
+                "https://bucket.s3.amazonaws.com/upload?X-Amz-Signature=signature",
+                Collections.singletonMap("Content-Type", "text/plain"), System.currentTimeMillis());
+        
+        when(attachmentService.generateUploadUrl(anyLong(), anyLong(), anyString(), anyString())).thenReturn(dto);
+        
+        //When
+        ResultActions actions = mockMvc.perform(post("/api/posts/{postId}/attachments/presigned", postId)
+                                                        .param("filename", "test.txt")
+                                                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE));
+        
+        //Then
+        actions.andExpect(status().isOk())
+               .andExpect(content().json(gson.toJson(dto)))
+               .andDo(print());
+        
+        verify(attachmentService, times(1)).generateUploadUrl(eq(postId), eq(1L), eq("test.txt"), eq("text/plain"));
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @WithCustomMockUser
+    @DisplayName("Presigned URL 업로드 확정")
+    void confirmFile() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        do {
+            postId = random.nextLong();
+        } while (postId < 0);
+        String storeFilePath = "upload/20240101/" + UUID.randomUUID().toString().replaceAll("-", "") + ".txt";
+        
+        when(attachmentService.confirmFile(anyLong(), anyLong(), anyString())).thenReturn(1L);
+        
+        //When
+        ResultActions actions = mockMvc.perform(post("/api/posts/{postId}/attachments/confirm", postId)
+                                                        .param("storeFilePath", storeFilePath)
+                                                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE));
+        
+        //Then
+        actions.andExpect(status().isOk())
+               .andExpect(content().string("1"))
+               .andDo(print());
+        
+        verify(attachmentService, times(1)).confirmFile(eq(postId), eq(1L), eq(storeFilePath));
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("첨부파일 다운로드 리다이렉트")
+    void redirectDownload() {
+        //Given
+        Random random = new Random();
+        Long   postId;
+        Long   fileId;
+        do {
+            postId = random.nextLong();
+            fileId = random.nextLong();
+        } while (postId < 0 || fileId < 0);
+        URL url = new URL("https://bucket.s3.amazonaws.com/upload?X-Amz-Signature=signature");
+        
+        when(fileUtil.generateDownloadUrl(any(AttachmentResponseDto.class))).thenReturn(url);
+        
+        //When
+        ResultActions actions = mockMvc.perform(get("/api/posts/{postId}/attachments/{fileId}/redirect", postId, fileId)
+                                                        .contentType(MediaType.APPLICATION_JSON_VALUE));
+        
+        //Then
+        actions.andExpect(status().isFound())
+               .andExpect(redirectedUrl(url.toString()))
+               .andDo(print());
+        
+        verify(attachmentService, times(1)).findFileById(anyLong());
+        verify(fileUtil, times(1)).generateDownloadUrl(any(AttachmentResponseDto.class));
+    }
+    
 }
\ No newline at end of file
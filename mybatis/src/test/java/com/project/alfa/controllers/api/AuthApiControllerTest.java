@@ -61,8 +61,8 @@ class AuthApiControllerTest {
                                  .withIssuer("issuer")
                                  .sign(Algorithm.HMAC256("secret"));
         
-        when(jwtService.refreshAccessToken(anyString(), any(UserDetails.class))).thenReturn(responseAccessToken);
-        when(jwtService.generateRefreshToken(any(UserDetails.class))).thenReturn(responseRefreshToken);
+        when(jwtService.rotateRefreshToken(anyString(), any(UserDetails.class))).thenReturn(responseRefreshToken);
+        when(jwtService.generateAccessToken(any(UserDetails.class))).thenReturn(responseAccessToken);
         when(jwtService.getExpirationFromToken(anyString())).thenReturn(refreshExpirationMillis / 1000);
     }
     
@@ -91,8 +91,8 @@ class AuthApiControllerTest {
                .andExpect(content().string("Access Token refresh complete."))
                .andDo(print());
         
-        verify(jwtService, times(1)).refreshAccessToken(anyString(), any(UserDetails.class));
-        verify(jwtService, times(1)).generateRefreshToken(any(UserDetails.class));
+        verify(jwtService, times(1)).rotateRefreshToken(anyString(), any(UserDetails.class));
+        verify(jwtService, times(1)).generateAccessToken(any(UserDetails.class));
         verify(jwtService, times(1)).getExpirationFromToken(anyString());
     }
     
@@ -121,8 +121,8 @@ class AuthApiControllerTest {
                .andExpect(content().string("Access Token refresh complete."))
                .andDo(print());
         
-        verify(jwtService, times(1)).refreshAccessToken(anyString(), any(UserDetails.class));
-        verify(jwtService, times(1)).generateRefreshToken(any(UserDetails.class));
+        verify(jwtService, times(1)).rotateRefreshToken(anyString(), any(UserDetails.class));
+        verify(jwtService, times(1)).generateAccessToken(any(UserDetails.class));
         verify(jwtService, times(1)).getExpirationFromToken(anyString());
     }
     
@@ -153,8 +153,8 @@ class AuthApiControllerTest {
                .andExpect(content().string("Access Token refresh complete."))
                .andDo(print());
         
-        verify(jwtService, times(1)).refreshAccessToken(anyString(), any(UserDetails.class));
-        verify(jwtService, times(1)).generateRefreshToken(any(UserDetails.class));
+        verify(jwtService, times(1)).rotateRefreshToken(anyString(), any(UserDetails.class));
+        verify(jwtService, times(1)).generateAccessToken(any(UserDetails.class));
         verify(jwtService, times(1)).getExpirationFromToken(anyString());
     }
     
@@ -175,8 +175,8 @@ class AuthApiControllerTest {
                .andExpect(content().string("Refresh Token is missing."))
                .andDo(print());
         
-        verify(jwtService, never()).refreshAccessToken(anyString(), any(UserDetails.class));
-        verify(jwtService, never()).generateRefreshToken(any(UserDetails.class));
+        verify(jwtService, never()).rotateRefreshToken(anyString(), any(UserDetails.class));
+        verify(jwtService, never()).generateAccessToken(any(UserDetails.class));
         verify(jwtService, never()).getExpirationFromToken(anyString());
     }
     
@@ -13,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +25,7 @@ import java.util.Random;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Import(TestConfig.class)
 @SpringBootTest
@@ -639,6 +641,30 @@ class PostRepositoryTest {
         assertThat(findPost.isNoticeYn()).isTrue();
     }
     
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("게시글 수정, 버전 불일치")
+    void update_staleVersion() {
+        //Given
+        List<Member> writers = dummy.createMembers(1, true);
+        Post         post    = dummy.createPosts(writers, 1, true).get(0);
+        Long         id      = post.getId();
+        Long         version = postMapper.findById(id).getVersion();
+        
+        postRepository.update(Post.builder().id(id).writerId(post.getWriterId())
+                                  .title(dummy.generateRandomString(10)).version(version).build());
+        
+        Post param = Post.builder().id(id).writerId(post.getWriterId())
+                         .title(dummy.generateRandomString(20)).version(version).build();
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> postRepository.update(param))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(postMapper.findById(id).getVersion()).isEqualTo(version + 1);
+    }
+    
     @SneakyThrows(InterruptedException.class)
     @Test
     @DisplayName("PK로 엔티티 존재 여부 확인")
@@ -0,0 +1,240 @@
+package com.project.alfa.security.ratelimit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+    
+    static final int MAX_BODY_SIZE = 256;
+    
+    RateLimitFilter rateLimitFilter;
+    
+    @BeforeEach
+    void setup() {
+        RateLimitProperties.Endpoint login = new RateLimitProperties.Endpoint();
+        login.setMethod("POST");
+        login.setPath("/login");
+        login.setUsernameField("username");
+        login.setPerIp(bandwidth(3));
+        login.setPerUsername(bandwidth(2));
+        
+        RateLimitProperties.Endpoint verifyEmail = new RateLimitProperties.Endpoint();
+        verifyEmail.setMethod("GET");
+        verifyEmail.setPath("/verify-email");
+        verifyEmail.setUsernameParameter("email");
+        verifyEmail.setPerUsername(bandwidth(1));
+        
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBodySize(MAX_BODY_SIZE);
+        properties.getEndpoints().put("login", login);
+        properties.getEndpoints().put("verify-email", verifyEmail);
+        
+        rateLimitFilter = new RateLimitFilter(new LocalRateLimiter(100), properties);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("아이디별 요청 제한 초과")
+    void doFilter_perUsername() {
+        //Given
+        filter(loginRequest("127.0.0.1", "user1@mail.com"));
+        filter(loginRequest("127.0.0.1", "USER1@mail.com"));
+        
+        //When
+        MockHttpServletResponse response = filter(loginRequest("127.0.0.1", "user1@mail.com"));
+        
+        //Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(response.getContentAsString()).contains("C008");
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("IP별 요청 제한 초과")
+    void doFilter_perIp() {
+        //Given
+        filter(loginRequest("127.0.0.1", "user1@mail.com"));
+        filter(loginRequest("127.0.0.1", "user2@mail.com"));
+        filter(loginRequest("127.0.0.1", "user3@mail.com"));
+        
+        //When
+        MockHttpServletResponse response      = filter(loginRequest("127.0.0.1", "user4@mail.com"));
+        MockHttpServletResponse otherResponse = filter(loginRequest("127.0.0.2", "user4@mail.com"));
+        
+        //Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(otherResponse.getStatus()).isEqualTo(200);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("요청 제한, 거부된 요청은 다른 버킷의 토큰을 차감하지 않음")
+    void doFilter_rejectedNotConsumed() {
+        //Given
+        filter(loginRequest("127.0.0.1", "user1@mail.com"));
+        filter(loginRequest("127.0.0.1", "user1@mail.com"));
+        filter(loginRequest("127.0.0.1", "user1@mail.com"));
+        
+        //When
+        MockHttpServletResponse response = filter(loginRequest("127.0.0.1", "user2@mail.com"));
+        
+        //Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("요청 제한, 본문은 이후 필터에서 다시 읽을 수 있음")
+    void doFilter_bodyReadable() {
+        //Given
+        MockHttpServletRequest request = loginRequest("127.0.0.1", "user1@mail.com");
+        MockFilterChain        chain   = new MockFilterChain();
+        
+        //When
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        
+        //Then
+        String body = StreamUtils.copyToString(chain.getRequest().getInputStream(), StandardCharsets.UTF_8);
+        assertThat(body).contains("user1@mail.com");
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("요청 제한, 최대 크기를 넘는 본문은 보관하지 않고 IP별 제한만 적용, 본문은 그대로 전달")
+    void doFilter_bodyTooLarge() {
+        //Given
+        String                 padding = String.join("", Collections.nCopies(MAX_BODY_SIZE, "a"));
+        MockHttpServletRequest request = loginRequest("127.0.0.1", "user1@mail.com", padding);
+        MockFilterChain        chain   = new MockFilterChain();
+        filter(loginRequest("127.0.0.1", "user1@mail.com", padding));
+        filter(loginRequest("127.0.0.1", "user1@mail.com", padding));
+        
+        //When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, chain);
+        
+        //Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("요청 제한, 본문 길이를 알 수 없으면 최대 크기까지만 보관하고 나머지는 원본에서 이어 읽음")
+    void doFilter_bodyTruncated() {
+        //Given
+        String                 padding = String.join("", Collections.nCopies(MAX_BODY_SIZE, "a"));
+        MockHttpServletRequest request = loginRequest("127.0.0.1", "user1@mail.com", padding);
+        byte[]                 content = request.getContentAsByteArray();
+        //Content-Length 없이 전송(chunked)된 요청
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setServletPath("/login");
+        chunked.setRemoteAddr("127.0.0.1");
+        chunked.setContent(content);
+        MockFilterChain chain = new MockFilterChain();
+        
+        //When
+        rateLimitFilter.doFilter(chunked, new MockHttpServletResponse(), chain);
+        
+        //Then
+        String body = StreamUtils.copyToString(chain.getRequest().getInputStream(), StandardCharsets.UTF_8);
+        assertThat(chain.getRequest()).isInstanceOf(CachedBodyHttpServletRequest.class);
+        assertThat(((CachedBodyHttpServletRequest) chain.getRequest()).getBody()).isNull();
+        assertThat(body).isEqualTo(new String(content, StandardCharsets.UTF_8));
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("요청 제한, Content-Length보다 긴 본문도 최대 크기까지 보관")
+    void doFilter_contentLengthUnderstated() {
+        //Given
+        MockHttpServletRequest request     = loginRequest("127.0.0.1", "user1@mail.com");
+        byte[]                 content     = request.getContentAsByteArray();
+        MockHttpServletRequest understated = new MockHttpServletRequest("POST", "/login") {
+            @Override
+            public long getContentLengthLong() {
+                return 1;
+            }
+        };
+        understated.setServletPath("/login");
+        understated.setRemoteAddr("127.0.0.1");
+        understated.setContent(content);
+        MockFilterChain chain = new MockFilterChain();
+        
+        //When
+        rateLimitFilter.doFilter(understated, new MockHttpServletResponse(), chain);
+        
+        //Then
+        assertThat(chain.getRequest()).isInstanceOf(CachedBodyHttpServletRequest.class);
+        assertThat(((CachedBodyHttpServletRequest) chain.getRequest()).getBody())
+                .isEqualTo(new String(content, StandardCharsets.UTF_8));
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("요청 제한, 요청 파라미터 아이디 및 제한 대상이 아닌 요청")
+    void doFilter_parameter() {
+        //Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/verify-email");
+        request.setServletPath("/verify-email");
+        request.setParameter("email", "user1@mail.com");
+        filter(request);
+        
+        //When
+        MockHttpServletResponse response      = filter(request);
+        MockHttpServletResponse otherResponse = filter(new MockHttpServletRequest("GET", "/api/posts"));
+        
+        //Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(otherResponse.getStatus()).isEqualTo(200);
+    }
+    
+    @SneakyThrows(Exception.class)
+    private MockHttpServletResponse filter(final MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+    
+    private static MockHttpServletRequest loginRequest(final String ip, final String username) {
+        return loginRequest(ip, username, "Password1!@");
+    }
+    
+    private static MockHttpServletRequest loginRequest(final String ip, final String username,
+                                                       final String password) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}")
+                                   .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+    
+    private static RateLimitProperties.Bandwidth bandwidth(final int capacity) {
+        RateLimitProperties.Bandwidth bandwidth = new RateLimitProperties.Bandwidth();
+        bandwidth.setCapacity(capacity);
+        bandwidth.setPeriod(Duration.ofHours(1));
+        return bandwidth;
+    }
+    
+}
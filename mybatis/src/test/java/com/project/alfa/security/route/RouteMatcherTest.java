@@ -0,0 +1,149 @@
+package com.project.alfa.security.route;
+
+import com.project.alfa.config.SecurityConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RegexRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.project.alfa.security.route.RouteMatcher.Access.AUTHENTICATED;
+import static com.project.alfa.security.route.RouteMatcher.Access.PERMIT_ALL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMatcherTest {
+    
+    RouteMatcher routeMatcher = SecurityConfig.authorizationRoutes();
+    
+    //기존 regexMatchers 허용 규칙
+    List<RequestMatcher> legacyPermitAll = Arrays.asList(
+            new RegexRequestMatcher("/api/posts/(?:\\d+)?$", "GET"),
+            new RegexRequestMatcher("/api/posts/\\d+/attachments$", "GET"),
+            new RegexRequestMatcher("/api/posts/\\d+/attachments/\\d+/download$", "GET"),
+            new RegexRequestMatcher("/api/posts\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)(&?(?:condition=(title|content|titleOrContent|writer)?)?)(&?(?:keyword=.*)?)$", "GET"),
+            new RegexRequestMatcher("/api/posts/\\d+/comments\\??(&?(?:page=\\d+)?)(&?(?:size=\\d+)?)$", "GET"),
+            new AntPathRequestMatcher("/api/members"),
+            new AntPathRequestMatcher("/api/members/forgot-password"));
+    
+    //기존 mvcMatchers 인증 규칙
+    List<RequestMatcher> legacyAuthenticated = Arrays.asList(
+            new AntPathRequestMatcher("/api/members/**"),
+            new AntPathRequestMatcher("/logout"),
+            new AntPathRequestMatcher("/api/posts/**"),
+            new AntPathRequestMatcher("/api/posts/*/comments/**"),
+            new AntPathRequestMatcher("/api/comments/**"),
+            new AntPathRequestMatcher("/api/auth/refresh"));
+    
+    @Test
+    @DisplayName("기존 regexMatchers/mvcMatchers 규칙과 같은 판정")
+    void access_equivalentToLegacyRules() {
+        //Given
+        String[][] requests = {
+                {"GET", "/api/posts", null},
+                {"GET", "/api/posts", ""},
+                {"GET", "/api/posts", "page=1&size=10"},
+                {"GET", "/api/posts", "page=1&size=10&condition=titleOrContent&keyword=hello&x=1"},
+                {"GET", "/api/posts", "condition=title"},
+                {"GET", "/api/posts", "condition=&keyword="},
+                {"GET", "/api/posts", "condition=unknown"},
+                {"GET", "/api/posts", "size=10&page=1"},
+                {"GET", "/api/posts", "page=a"},
+                {"GET", "/api/posts", "writer=1"},
+                {"GET", "/api/posts/", null},
+                {"GET", "/api/posts/1", null},
+                {"GET", "/api/posts/1", "page=1"},
+                {"GET", "/api/posts/abc", null},
+                {"GET", "/api/posts/1/attachments", null},
+                {"GET", "/api/posts/1/attachments/2/download", null},
+                {"GET", "/api/posts/1/attachments/x/download", null},
+                {"GET", "/api/posts/1/comments", null},
+                {"GET", "/api/posts/1/comments", "page=0&size=5"},
+                {"GET", "/api/posts/1/comments", "sort=id"},
+                {"GET", "/api/posts/1/comments/2", null},
+                {"GET", "/api/posts/writer", "page=0"},
+                {"POST", "/api/posts", null},
+                {"PUT", "/api/posts/1", null},
+                {"DELETE", "/api/posts/1", null},
+                {"POST", "/api/posts/1/comments", null},
+                {"GET", "/api/comments/writer", null},
+                {"PATCH", "/api/comments/1", null},
+                {"POST", "/api/members", null},
+                {"POST", "/api/members/forgot-password", null},
+                {"GET", "/api/members", null},
+                {"PUT", "/api/members/1", null},
+                {"POST", "/logout", null},
+                {"POST", "/api/auth/refresh", null},
+                {"POST", "/login", null},
+                {"GET", "/verify-email", "email=user1@mail.com"},
+                {"GET", "/", null},
+                {"GET", "/api", null},
+        };
+        
+        for (String[] values : requests) {
+            //When
+            MockHttpServletRequest request = request(values[0], values[1], values[2]);
+            
+            //Then
+            assertThat(routeMatcher.access(request)).as("%s %s?%s", values[0], values[1], values[2])
+                                                    .isEqualTo(legacyAccess(request));
+        }
+    }
+    
+    @Test
+    @DisplayName("mvcMatchers 대응 규칙, 끝의 '/' 무시")
+    void access_trailingSlash() {
+        //Given
+        MockHttpServletRequest members = request("POST", "/api/members/", null);
+        MockHttpServletRequest logout  = request("POST", "/logout/", null);
+        MockHttpServletRequest refresh = request("POST", "/api/auth/refresh/", null);
+        
+        //When
+        RouteMatcher.Access membersAccess = routeMatcher.access(members);
+        RouteMatcher.Access logoutAccess  = routeMatcher.access(logout);
+        RouteMatcher.Access refreshAccess = routeMatcher.access(refresh);
+        
+        //Then
+        assertThat(membersAccess).isEqualTo(PERMIT_ALL);
+        assertThat(logoutAccess).isEqualTo(AUTHENTICATED);
+        assertThat(refreshAccess).isEqualTo(AUTHENTICATED);
+    }
+    
+    @Test
+    @DisplayName("선언 순서상 먼저 선언된 규칙 우선")
+    void access_declarationOrder() {
+        //Given
+        RouteMatcher matcher = RouteMatcher.builder()
+                                           .authenticated("/a/**")
+                                           .permitAll("/a/b")
+                                           .anyRequest(PERMIT_ALL)
+                                           .build();
+        
+        //When
+        RouteMatcher.Access access = matcher.access(request("GET", "/a/b", null));
+        
+        //Then
+        assertThat(access).isEqualTo(AUTHENTICATED);
+    }
+    
+    private RouteMatcher.Access legacyAccess(final MockHttpServletRequest request) {
+        for (RequestMatcher matcher : legacyPermitAll)
+            if (matcher.matches(request))
+                return PERMIT_ALL;
+        for (RequestMatcher matcher : legacyAuthenticated)
+            if (matcher.matches(request))
+                return AUTHENTICATED;
+        return PERMIT_ALL;
+    }
+    
+    private static MockHttpServletRequest request(final String method, final String path, final String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setQueryString(query);
+        return request;
+    }
+    
+}
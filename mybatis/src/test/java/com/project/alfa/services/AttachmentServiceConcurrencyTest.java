@@ -2,6 +2,7 @@ package com.project.alfa.services;
 
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Attachment;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
@@ -43,8 +44,8 @@ import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -65,11 +66,14 @@ class AttachmentServiceConcurrencyTest {
     @Autowired
     FileUtil             fileUtil;
     @Autowired
+    StorageTaskService   storageTaskService;
+    @Autowired
     DummyGenerator       dummy;
     @Value("${file.upload.location}")
     String               fileDir;
     String uploadPath;
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         uploadPath = fileDir + File.separator + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
@@ -80,6 +84,7 @@ class AttachmentServiceConcurrencyTest {
             memberRepository.deleteAll();
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     private List<Attachment> uploadFilesToAttachmentsAndSave(final Long postId, final List<UploadFile> uploadFiles) {
@@ -131,7 +136,8 @@ class AttachmentServiceConcurrencyTest {
                     multipartFiles.add(multipartFile);
                 }
                 
-                List<UploadFile> uploadFiles = fileUtil.storeFiles(multipartFiles);
+                List<UploadFile> uploadFiles = fileUtil.digestFiles(multipartFiles);
+                fileUtil.storeFiles(multipartFiles, uploadFiles);
                 List<Attachment> attachments = uploadFilesToAttachmentsAndSave(postIdRef.get(), uploadFiles);
                 attachmentsRef.set(attachments);
             } catch (InterruptedException e) {
@@ -160,6 +166,7 @@ class AttachmentServiceConcurrencyTest {
         }
         countDownLatch.await();
         executorService.shutdown();
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
         
         //Then
         List<Attachment> findAttachments = attachmentMapper.findAllByIds(ids);
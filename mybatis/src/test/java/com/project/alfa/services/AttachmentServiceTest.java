@@ -3,13 +3,18 @@ package com.project.alfa.services;
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
 import com.project.alfa.entities.Attachment;
+import com.project.alfa.entities.FileBlob;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
 import com.project.alfa.entities.UploadFile;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.repositories.FileBlobRepository;
+import com.project.alfa.repositories.MemberRepository;
 import com.project.alfa.repositories.mybatis.AttachmentMapper;
 import com.project.alfa.services.dto.AttachmentResponseDto;
+import com.project.alfa.services.dto.PresignedUploadResponseDto;
 import com.project.alfa.utils.FileUtil;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,10 +30,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
@@ -45,15 +55,21 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class AttachmentServiceTest {
     
     @Autowired
-    AttachmentService attachmentService;
+    AttachmentService  attachmentService;
     @Autowired
-    AttachmentMapper  attachmentMapper;
+    AttachmentMapper   attachmentMapper;
     @Autowired
-    FileUtil          fileUtil;
+    FileBlobRepository fileBlobRepository;
     @Autowired
-    DummyGenerator    dummy;
+    MemberRepository   memberRepository;
+    @Autowired
+    FileUtil           fileUtil;
+    @Autowired
+    StorageTaskService storageTaskService;
+    @Autowired
+    DummyGenerator     dummy;
     @Value("${file.upload.location}")
-    String            fileDir;
+    String             fileDir;
     String uploadPath;
     
     @BeforeEach
@@ -103,6 +119,7 @@ class AttachmentServiceTest {
         
         //When
         List<Long> ids = attachmentService.saveAllFiles(postId, multipartFiles);
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
         
         //Then
         List<Attachment> findAttachments = attachmentMapper.findAll().stream()
@@ -123,6 +140,40 @@ class AttachmentServiceTest {
         }
     }
     
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("첨부파일 다중 저장, 같은 내용의 파일은 하나의 저장 파일 참조")
+    void saveAll_sameContent() {
+        //Given
+        List<Member> writers  = dummy.createMembers(1, true);
+        Post         post     = dummy.createPosts(writers, 1, true).get(0);
+        Long         postId   = post.getId();
+        Long         writerId = writers.get(0).getId();
+        byte[]       content  = UUID.randomUUID().toString().getBytes();
+        
+        List<MultipartFile> multipartFiles = new ArrayList<>();
+        for (int i = 1; i <= 3; i++)
+            multipartFiles.add(new MockMultipartFile("filename" + i, "originalFilename" + i + ".txt",
+                                                     "text/plain", content));
+        
+        //When
+        List<Long> ids = new ArrayList<>(attachmentService.saveAllFiles(postId, multipartFiles));
+        ids.add(attachmentService.saveFile(postId, writerId, "originalFilename.txt", "text/plain",
+                                           new ByteArrayInputStream(content)));
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        List<Attachment> findAttachments = attachmentMapper.findAllByIds(ids);
+        Attachment       first           = findAttachments.get(0);
+        FileBlob         blob            = fileBlobRepository.findById(first.getContentHash()).get();
+        
+        assertThat(findAttachments).hasSize(4);
+        assertThat(findAttachments).extracting(Attachment::getStoreFilePath).containsOnly(first.getStoreFilePath());
+        assertThat(blob.getRefCount()).isEqualTo(4L);
+        assertThat(blob.getStoreFilePath()).isEqualTo(first.getStoreFilePath());
+        assertThat(new File(getStoreFilePath(first.getStoreFilename()))).exists();
+    }
+    
     @Test
     @DisplayName("첨부파일 다중 저장, 존재하지 않는 게시글")
     void saveAll_unknownPost() {
@@ -148,6 +199,149 @@ class AttachmentServiceTest {
                 .hasMessage("Could not found 'Post' by id: " + postId);
     }
     
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("첨부파일 스트림 저장")
+    void saveFile() {
+        //Given
+        List<Member> writers  = dummy.createMembers(1, true);
+        Post         post     = dummy.createPosts(writers, 1, true).get(0);
+        Long         postId   = post.getId();
+        Long         writerId = writers.get(0).getId();
+        byte[]       content  = UUID.randomUUID().toString().getBytes();
+        
+        //When
+        Long id = attachmentService.saveFile(postId, writerId, "originalFilename.txt", "text/plain",
+                                             new ByteArrayInputStream(content));
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        Attachment findAttachment = attachmentMapper.findById(id);
+        
+        assertThat(findAttachment.getPostId()).isEqualTo(postId);
+        assertThat(findAttachment.getOriginalFilename()).isEqualTo("originalFilename.txt");
+        assertThat(findAttachment.getFileSize()).isEqualTo(content.length);
+        assertThat(new File(getStoreFilePath(findAttachment.getStoreFilename()))).exists();
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("첨부파일 스트림 저장, 작성자가 아닌 회원")
+    void saveFile_notWriter() {
+        //Given
+        List<Member> writers     = dummy.createMembers(2, true);
+        Post         post        = dummy.createPosts(writers.subList(0, 1), 1, true).get(0);
+        Long         postId      = post.getId();
+        Long         otherUserId = writers.get(1).getId();
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> attachmentService.saveFile(postId, otherUserId, "originalFilename.txt", "text/plain",
+                                                            new ByteArrayInputStream(new byte[1])))
+                .isInstanceOf(InvalidValueException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.NOT_WRITER_OF_POST)
+                .hasMessage("Member do not have access.");
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("첨부파일 스트림 저장, 탈퇴한 작성자")
+    void saveFile_deletedWriter() {
+        //Given
+        List<Member> writers  = dummy.createMembers(1, true);
+        Post         post     = dummy.createPosts(writers, 1, true).get(0);
+        Long         postId   = post.getId();
+        Long         writerId = writers.get(0).getId();
+        memberRepository.deleteById(writerId);
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> attachmentService.saveFile(postId, writerId, "originalFilename.txt", "text/plain",
+                                                            new ByteArrayInputStream(new byte[1])))
+                .isInstanceOf(InvalidValueException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.NOT_WRITER_OF_POST)
+                .hasMessage("Member do not have access.");
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("Presigned URL 업로드 확정")
+    void confirmFile() {
+        //Given
+        List<Member> writers  = dummy.createMembers(1, true);
+        Post         post     = dummy.createPosts(writers, 1, true).get(0);
+        Long         postId   = post.getId();
+        Long         writerId = writers.get(0).getId();
+        byte[]       content  = UUID.randomUUID().toString().getBytes();
+        
+        PresignedUploadResponseDto dto = attachmentService.generateUploadUrl(postId, writerId, "originalFilename.txt",
+                                                                             "text/plain");
+        Files.write(Paths.get(URI.create(dto.getUrl())), content);
+        
+        //When
+        Long id = attachmentService.confirmFile(postId, writerId, dto.getStoreFilePath());
+        
+        //Then
+        Attachment findAttachment = attachmentMapper.findById(id);
+        
+        assertThat(findAttachment.getPostId()).isEqualTo(postId);
+        assertThat(findAttachment.getOriginalFilename()).isEqualTo("originalFilename.txt");
+        assertThat(findAttachment.getFileSize()).isEqualTo(content.length);
+        assertThat(new File(getStoreFilePath(findAttachment.getStoreFilename()))).exists();
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("Presigned URL 업로드 확정, 다른 게시글로 발급받은 경로")
+    void confirmFile_otherPost() {
+        //Given
+        List<Member> writers     = dummy.createMembers(1, true);
+        List<Post>   posts       = dummy.createPosts(writers, 2, true);
+        Long         postId      = posts.get(0).getId();
+        Long         otherPostId = posts.get(1).getId();
+        Long         writerId    = writers.get(0).getId();
+        
+        PresignedUploadResponseDto dto = attachmentService.generateUploadUrl(postId, writerId, "originalFilename.txt",
+                                                                             "text/plain");
+        Files.write(Paths.get(URI.create(dto.getUrl())), new byte[1]);
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> attachmentService.confirmFile(otherPostId, writerId, dto.getStoreFilePath()))
+                .isInstanceOf(InvalidValueException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_UPLOAD)
+                .hasMessage("Upload is not for this post: " + dto.getStoreFilePath());
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("Presigned URL 업로드 확정, 이미 확정된 업로드")
+    void confirmFile_alreadyConfirmed() {
+        //Given
+        List<Member> writers  = dummy.createMembers(1, true);
+        Long         postId   = dummy.createPosts(writers, 1, true).get(0).getId();
+        Long         writerId = writers.get(0).getId();
+        
+        PresignedUploadResponseDto dto = attachmentService.generateUploadUrl(postId, writerId, "originalFilename.txt",
+                                                                             "text/plain");
+        Files.write(Paths.get(URI.create(dto.getUrl())), UUID.randomUUID().toString().getBytes());
+        
+        //When
+        Long id = attachmentService.confirmFile(postId, writerId, dto.getStoreFilePath());
+        
+        //Then
+        assertThatThrownBy(() -> attachmentService.confirmFile(postId, writerId, dto.getStoreFilePath()))
+                .isInstanceOf(InvalidValueException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_UPLOAD)
+                .hasMessage("Upload already confirmed: " + dto.getStoreFilePath());
+        assertThat(attachmentMapper.findAllByPost(postId)).extracting("id").containsExactly(id);
+        assertThat(new File(getStoreFilePath(dto.getStoreFilePath().substring(
+                dto.getStoreFilePath().lastIndexOf('/') + 1)))).exists();
+    }
+    
     @SneakyThrows(InterruptedException.class)
     @Test
     @DisplayName("PK로 첨부파일 상세 정보 조회")
@@ -240,12 +434,14 @@ class AttachmentServiceTest {
                                                                     UUID.randomUUID().toString().getBytes());
             multipartFiles.add(multipartFile);
         }
-        List<UploadFile> uploadFiles = fileUtil.storeFiles(multipartFiles);
+        List<UploadFile> uploadFiles = fileUtil.digestFiles(multipartFiles);
+        fileUtil.storeFiles(multipartFiles, uploadFiles);
         List<Attachment> attachments = uploadFilesToAttachmentsAndSave(postId, uploadFiles);
         List<Long>       ids         = attachments.stream().map(Attachment::getId).collect(toList());
         
         //When
         attachmentService.deleteAllFilesByIds(ids, postId);
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
         
         //Then
         List<Attachment> findAttachments = attachmentMapper.findAllByIds(ids);
@@ -259,4 +455,42 @@ class AttachmentServiceTest {
         }
     }
     
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("첨부파일 다중 삭제, 같은 내용의 첨부파일이 남아 있으면 저장 파일 유지")
+    void deleteAllFilesByIds_sameContent() {
+        //Given
+        List<Member> writers     = dummy.createMembers(1, true);
+        List<Post>   posts       = dummy.createPosts(writers, 2, true);
+        Long         postId      = posts.get(0).getId();
+        Long         otherPostId = posts.get(1).getId();
+        byte[]       content     = UUID.randomUUID().toString().getBytes();
+        
+        List<Long> ids      = attachmentService.saveAllFiles(postId, Collections.singletonList(
+                new MockMultipartFile("filename", "originalFilename.txt", "text/plain", content)));
+        List<Long> otherIds = attachmentService.saveAllFiles(otherPostId, Collections.singletonList(
+                new MockMultipartFile("filename", "otherFilename.txt", "text/plain", content)));
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        Attachment attachment    = attachmentMapper.findById(ids.get(0));
+        String     contentHash   = attachment.getContentHash();
+        String     storeFilePath = getStoreFilePath(attachment.getStoreFilename());
+        
+        //When
+        attachmentService.deleteAllFilesByIds(ids, postId);
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        assertThat(new File(storeFilePath)).exists();
+        assertThat(fileBlobRepository.findById(contentHash).get().getRefCount()).isEqualTo(1L);
+        
+        //When
+        attachmentService.deleteAllFilesByIds(otherIds, otherPostId);
+        storageTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        assertThat(new File(storeFilePath)).doesNotExist();
+        assertThat(fileBlobRepository.findById(contentHash)).isEmpty();
+    }
+    
 }
\ No newline at end of file
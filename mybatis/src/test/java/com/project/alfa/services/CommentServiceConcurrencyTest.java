@@ -2,11 +2,13 @@ package com.project.alfa.services;
 
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Comment;
 import com.project.alfa.entities.Member;
 import com.project.alfa.entities.Post;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.repositories.AttachmentRepository;
 import com.project.alfa.repositories.CommentRepository;
 import com.project.alfa.repositories.MemberRepository;
 import com.project.alfa.repositories.PostRepository;
@@ -21,14 +23,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -37,8 +43,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -47,32 +53,37 @@ class CommentServiceConcurrencyTest {
     static final int THREAD_COUNT = 100;
     
     @Autowired
-    CommentService    commentService;
+    CommentService       commentService;
     @Autowired
-    CommentRepository commentRepository;
+    CommentRepository    commentRepository;
     @Autowired
-    MemberRepository  memberRepository;
+    MemberRepository     memberRepository;
     @Autowired
-    PostRepository    postRepository;
+    PostRepository       postRepository;
     @Autowired
-    CommentMapper     commentMapper;
+    AttachmentRepository attachmentRepository;
     @Autowired
-    DummyGenerator    dummy;
+    CommentMapper        commentMapper;
+    @Autowired
+    DummyGenerator       dummy;
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         ExecutorService executorService = Executors.newFixedThreadPool(1);
         executorService.execute(() -> {
+            attachmentRepository.deleteAll();
             commentRepository.deleteAll();
             postRepository.deleteAll();
             memberRepository.deleteAll();
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     @SneakyThrows(InterruptedException.class)
     @Test
-    @DisplayName("댓글 정보 수정, 멀티 스레드 락 적용")
+    @DisplayName("댓글 정보 수정, 멀티 스레드 낙관적 락 적용")
     void update_multiThreads() {
         //Given
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT + 1);
@@ -81,6 +92,7 @@ class CommentServiceConcurrencyTest {
         AtomicLong              idRef            = new AtomicLong();
         AtomicLong              writerIdRef      = new AtomicLong();
         AtomicLong              postIdRef        = new AtomicLong();
+        AtomicLong              beforeVersionRef = new AtomicLong();
         AtomicReference<String> beforeContentRef = new AtomicReference<>();
         
         executorService.execute(() -> {
@@ -91,6 +103,7 @@ class CommentServiceConcurrencyTest {
                 idRef.set(comment.getId());
                 writerIdRef.set(comment.getWriterId());
                 postIdRef.set(comment.getPostId());
+                beforeVersionRef.set(commentMapper.findById(comment.getId()).getVersion());
                 beforeContentRef.set(comment.getContent());
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
@@ -103,33 +116,50 @@ class CommentServiceConcurrencyTest {
         Long   id            = idRef.get();
         Long   writerId      = writerIdRef.get();
         Long   postId        = postIdRef.get();
+        long   beforeVersion = beforeVersionRef.get();
         String beforeContent = beforeContentRef.get();
         
         String afterContent;
         do {
             afterContent = dummy.generateRandomString(dummy.generateRandomNumber(1, 100));
-        } while (beforeContent.equals(afterContent));
-        
-        CommentRequestDto dto = new CommentRequestDto(id, writerId, postId, afterContent);
+        } while (beforeContent.startsWith(afterContent));
         
         //When
+        AtomicInteger successCount    = new AtomicInteger();
+        AtomicInteger conflictCount   = new AtomicInteger();
+        Set<String>   updatedContents = ConcurrentHashMap.newKeySet();
+        long          startTime       = System.currentTimeMillis();
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
+            //스레드마다 다른 내용으로 수정, 성공한 수정마다 버전 증가
+            CommentRequestDto dto = new CommentRequestDto(id, writerId, postId, afterContent + "-" + i);
             executorService.execute(() -> {
                 try {
                     commentService.update(dto);
+                    updatedContents.add(dto.getContent());
+                    successCount.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    conflictCount.incrementAndGet();
+                    log.info("[{}-thread] 재시도 횟수 초과: {}", threadIndex, e.getMessage());
                 } finally {
                     countDownLatch.countDown();
                 }
             });
         }
         countDownLatch.await();
+        log.info("{} threads, {} succeeded, elapsed: {}ms",
+                 THREAD_COUNT, successCount.get(), System.currentTimeMillis() - startTime);
         executorService.shutdown();
         
         //Then
         Comment findComment = commentMapper.findById(id);
         
-        assertThat(findComment.getContent()).isEqualTo(afterContent);
+        //재시도 횟수를 초과한 충돌 외의 실패 없음
+        assertThat(successCount.get()).isPositive();
+        assertThat(successCount.get() + conflictCount.get()).isEqualTo(THREAD_COUNT);
+        //갱신 손실 없음: 성공한 수정마다 버전이 한 번씩 증가하고, 최종 내용은 성공한 수정 중 하나
+        assertThat(findComment.getVersion()).isEqualTo(beforeVersion + successCount.get());
+        assertThat(updatedContents).contains(findComment.getContent());
         assertThat(findComment.getContent()).isNotEqualTo(beforeContent);
     }
     
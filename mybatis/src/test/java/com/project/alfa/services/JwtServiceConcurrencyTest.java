@@ -1,9 +1,9 @@
 package com.project.alfa.services;
 
-import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.config.security.WithCustomMockUser;
+import com.project.alfa.error.exception.InvalidValueException;
 import com.project.alfa.security.CustomUserDetails;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -22,20 +22,22 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 @Slf4j
 @Import(EmbeddedRedisConfig.class)
-@SpringBootTest
+@SpringBootTest(properties = "lock.provider=redis")
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class JwtServiceConcurrencyTest {
     
-    static final int    THREAD_COUNT = 100;
-    static final String USERNAME_KEY = "USERNAME";
+    static final int    THREAD_COUNT         = 100;
+    static final String USERNAME_KEY         = "USERNAME";
+    static final String FAMILY_KEY           = "FAMILY";
+    static final String REFRESH_TOKEN_PREFIX = "refresh-token:";
     @Value("${jwt.secret}")
     String secret;
     @Value("${jwt.issuer}")
@@ -53,7 +55,7 @@ class JwtServiceConcurrencyTest {
     
     @SneakyThrows(InterruptedException.class)
     @Test
-    @DisplayName("JWT Refresh 토큰 생성, 멀티 스레드 락 적용")
+    @DisplayName("JWT Refresh 토큰 생성, 멀티 스레드 기기별 토큰 패밀리 저장")
     @WithCustomMockUser
     void generateRefreshToken_multiThreads() {
         //Given
@@ -63,17 +65,50 @@ class JwtServiceConcurrencyTest {
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
                                                                                  .getAuthentication()
                                                                                  .getPrincipal();
+        long beforeSize = redisTemplate.opsForHash().size(refreshTokenKey(userDetails));
         
-        AtomicReference<String> refreshTokenRef = new AtomicReference<>();
+        //When
+        for (int i = 0; i < THREAD_COUNT; i++)
+            executorService.execute(() -> {
+                try {
+                    jwtService.generateRefreshToken(userDetails);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        countDownLatch.await();
+        executorService.shutdown();
+        
+        //Then
+        long afterSize = redisTemplate.opsForHash().size(refreshTokenKey(userDetails));
+        
+        assertThat(afterSize - beforeSize).isEqualTo(THREAD_COUNT);
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("JWT Refresh 토큰 교체, 멀티 스레드 같은 토큰으로 한 번만 교체")
+    @WithCustomMockUser
+    void rotateRefreshToken_multiThreads() {
+        //Given
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch  countDownLatch  = new CountDownLatch(THREAD_COUNT);
+        
+        CustomUserDetails userDetails  = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                  .getAuthentication()
+                                                                                  .getPrincipal();
+        String            refreshToken = jwtService.generateRefreshToken(userDetails);
+        AtomicInteger     successCount = new AtomicInteger();
         
         //When
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
             executorService.execute(() -> {
                 try {
-                    refreshTokenRef.set(jwtService.generateRefreshToken(userDetails));
-                } catch (RuntimeException e) {
-                    log.info("[{}-thread] 락 획득 실패: {}", threadIndex, e.getMessage());
+                    jwtService.rotateRefreshToken(refreshToken, userDetails);
+                    successCount.incrementAndGet();
+                } catch (InvalidValueException e) {
+                    log.info("[{}-thread] 토큰 교체 실패: {}", threadIndex, e.getMessage());
                 } finally {
                     countDownLatch.countDown();
                 }
@@ -82,36 +117,25 @@ class JwtServiceConcurrencyTest {
         countDownLatch.await();
         executorService.shutdown();
         
-        String refreshToken = refreshTokenRef.get();
-        
         //Then
-        String username = JWT.require(algorithm)
-                             .withIssuer(issuer)
-                             .build()
-                             .verify(refreshToken)
-                             .getClaim(USERNAME_KEY)
-                             .asString();
-        String storedRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
-        
-        assertThat(userDetails.getUsername()).isEqualTo(username);
-        assertThat(refreshToken).isEqualTo(storedRefreshToken);
+        assertThat(successCount.get()).isEqualTo(1);
     }
     
     @SneakyThrows(InterruptedException.class)
     @Test
-    @DisplayName("Redis 서버에서 JWT Refresh 토큰 삭제, 멀티 스레드 락 적용")
+    @DisplayName("Redis 서버에서 JWT Refresh 토큰 삭제, 멀티 스레드")
     @WithCustomMockUser
     void deleteRefreshToken_multiThreads() {
         //Given
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
         CountDownLatch  countDownLatch  = new CountDownLatch(THREAD_COUNT);
         
-        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
-                                                                                 .getAuthentication()
-                                                                                 .getPrincipal();
-        String refreshToken             = jwtService.generateRefreshToken(userDetails);
-        String beforeStoredRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
-        if (!refreshToken.equals(beforeStoredRefreshToken))
+        CustomUserDetails userDetails  = (CustomUserDetails) SecurityContextHolder.getContext()
+                                                                                  .getAuthentication()
+                                                                                  .getPrincipal();
+        String            refreshToken = jwtService.generateRefreshToken(userDetails);
+        String            family       = jwtService.verifyToken(refreshToken).getClaim(FAMILY_KEY).asString();
+        if (!redisTemplate.opsForHash().hasKey(refreshTokenKey(userDetails), family))
             fail("Invalid Value");
         
         //When
@@ -127,9 +151,11 @@ class JwtServiceConcurrencyTest {
         executorService.shutdown();
         
         //Then
-        String afterStoredRefreshToken = redisTemplate.opsForValue().get(userDetails.getUsername());
-        
-        assertThat(afterStoredRefreshToken).isNull();
+        assertThat(redisTemplate.opsForHash().hasKey(refreshTokenKey(userDetails), family)).isFalse();
+    }
+    
+    private static String refreshTokenKey(final CustomUserDetails userDetails) {
+        return REFRESH_TOKEN_PREFIX + userDetails.getUsername().toLowerCase();
     }
     
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package com.project.alfa.services;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.MailTask;
+import com.project.alfa.entities.MailTaskType;
+import com.project.alfa.repositories.MailTaskRepository;
+import com.project.alfa.utils.EmailSender;
+import com.project.alfa.utils.MailContentCipher;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestConfig.class)
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MailTaskServiceTest {
+    
+    @RegisterExtension
+    static GreenMailExtension greenMailExtension = new GreenMailExtension(new ServerSetup(3025, null, "smtp"))
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("springboot", "secret"))
+            .withPerMethodLifecycle(true);
+    
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MailTaskService            mailTaskService;
+    @Autowired
+    MailTaskRepository         mailTaskRepository;
+    @Autowired
+    EmailSender                emailSender;
+    @Autowired
+    MailContentCipher          mailContentCipher;
+    TransactionTemplate        newTransactionTemplate;
+    
+    @BeforeEach
+    void setup() {
+        newTransactionTemplate = new TransactionTemplate(transactionManager);
+        newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    private void enqueue(final String recipient, final String text) {
+        mailTaskService.enqueue(MailTaskType.VERIFICATION, emailSender.createMailMessage(recipient, "subject", text));
+    }
+    
+    private List<MailTask> findAllCommitted() {
+        return newTransactionTemplate.execute(status -> mailTaskRepository.findAll());
+    }
+    
+    @SneakyThrows(MessagingException.class)
+    @Test
+    @DisplayName("메일 발송 작업 처리")
+    void processTasks() {
+        //Given
+        for (int i = 1; i <= 3; i++)
+            enqueue("user" + i + "@mail.com", "text" + i);
+        long sentCount = mailTaskService.getSentCount();
+        
+        //When
+        int count = mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        greenMailExtension.waitForIncomingEmail(5000, 3);
+        MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
+        
+        assertThat(count).isEqualTo(3);
+        assertThat(receivedMessages).hasSize(3);
+        assertThat(receivedMessages[0].getRecipients(Message.RecipientType.TO)[0].toString())
+                .isEqualTo("user1@mail.com");
+        assertThat(mailTaskRepository.findAll()).isEmpty();
+        assertThat(mailTaskService.getSentCount() - sentCount).isEqualTo(3);
+    }
+    
+    @Test
+    @DisplayName("메일 발송 작업 처리, 즉시 발송 유예 시간 이전")
+    void processTasks_notDue() {
+        //Given
+        enqueue("user1@mail.com", "text");
+        
+        //When
+        int count = mailTaskService.processTasks(LocalDateTime.now());
+        
+        //Then
+        List<MailTask> mailTasks = mailTaskRepository.findAll();
+        
+        assertThat(count).isZero();
+        assertThat(greenMailExtension.getReceivedMessages()).isEmpty();
+        assertThat(mailTasks).hasSize(1);
+        assertThat(mailTasks.get(0).getAttempts()).isZero();
+    }
+    
+    @Test
+    @DisplayName("메일 발송 작업 처리, 실패한 메일만 재시도 예약")
+    void processTasks_retry() {
+        //Given
+        enqueue("user1@mail.com", "text");
+        enqueue("<invalid@mail.com", "text");
+        String content = mailTaskRepository.findAll().get(1).getContent();
+        
+        //When
+        int count = mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        greenMailExtension.waitForIncomingEmail(5000, 1);
+        List<MailTask> mailTasks = mailTaskRepository.findAll();
+        
+        assertThat(count).isEqualTo(1);
+        assertThat(greenMailExtension.getReceivedMessages()).hasSize(1);
+        assertThat(mailTasks).hasSize(1);
+        assertThat(mailTasks.get(0).getRecipient()).isEqualTo("<invalid@mail.com");
+        assertThat(mailTasks.get(0).getAttempts()).isEqualTo(1);
+        assertThat(mailTasks.get(0).getNextAttemptTime()).isAfter(LocalDateTime.now());
+        assertThat(mailTasks.get(0).getLeaseExpireTime()).isNull();
+        assertThat(mailTasks.get(0).getContent()).isEqualTo(content);   //재시도는 기록한 내용 그대로 발송
+    }
+    
+    @SneakyThrows({InterruptedException.class, MessagingException.class})
+    @Test
+    @DisplayName("메일 발송 작업 기록, 커밋 후 즉시 발송")
+    void enqueue_afterCommit() {
+        //When
+        newTransactionTemplate.executeWithoutResult(status -> enqueue("user1@mail.com", "text"));
+        
+        //Then
+        greenMailExtension.waitForIncomingEmail(5000, 1);
+        MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
+        //발송 스레드에서 완료 기록(작업 삭제)까지 대기
+        List<MailTask> mailTasks = findAllCommitted();
+        for (int i = 0; i < 50 && !mailTasks.isEmpty(); i++) {
+            Thread.sleep(100);
+            mailTasks = findAllCommitted();
+        }
+        
+        assertThat(receivedMessages).hasSize(1);
+        assertThat(receivedMessages[0].getRecipients(Message.RecipientType.TO)[0].toString())
+                .isEqualTo("user1@mail.com");
+        assertThat(mailTasks).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("메일 발송 작업 기록, 같은 주소/유형의 발송 대기 작업 병합")
+    void enqueue_coalesce() {
+        //Given
+        enqueue("user1@mail.com", "text1");
+        
+        //When
+        enqueue("user1@mail.com", "text2");
+        mailTaskService.enqueue(MailTaskType.PASSWORD_RESET,
+                                emailSender.createMailMessage("user1@mail.com", "subject", "text3"));
+        
+        //Then
+        List<MailTask> mailTasks = mailTaskRepository.findAll();
+        
+        assertThat(mailTasks).hasSize(2);
+        assertThat(mailTasks).extracting(MailTask::getContent).doesNotContain("text2", "text3");  //본문 암호화
+        assertThat(mailTasks).extracting(mailTask -> mailContentCipher.decrypt(mailTask.getContent()))
+                             .containsExactly("text2", "text3");
+    }
+    
+    @Test
+    @DisplayName("메일 발송 작업 처리, 다른 곳에서 선점한 작업은 발송하지 않음")
+    void processTasks_claimed() {
+        //Given
+        enqueue("user1@mail.com", "text");
+        Long id = mailTaskRepository.findAll().get(0).getId();
+        mailTaskRepository.claim(id, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5));
+        
+        //When
+        int count = mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
+        
+        //Then
+        List<MailTask> mailTasks = mailTaskRepository.findAll();
+        
+        assertThat(count).isZero();
+        assertThat(greenMailExtension.waitForIncomingEmail(1000, 1)).isFalse();
+        assertThat(mailTasks).hasSize(1);
+        assertThat(mailTasks.get(0).getAttempts()).isZero();
+    }
+    
+    @Test
+    @DisplayName("메일 발송 작업 기록, 롤백 시 발송하지 않음")
+    void enqueue_rollback() {
+        //When
+        newTransactionTemplate.executeWithoutResult(status -> {
+            enqueue("user1@mail.com", "text");
+            status.setRollbackOnly();
+        });
+        
+        //Then
+        assertThat(greenMailExtension.waitForIncomingEmail(1000, 1)).isFalse();
+        assertThat(mailTaskRepository.findAll()).isEmpty();
+    }
+    
+}
@@ -5,8 +5,12 @@ import com.icegreen.greenmail.junit5.GreenMailExtension;
 import com.icegreen.greenmail.util.ServerSetup;
 import com.project.alfa.config.DummyGenerator;
 import com.project.alfa.config.TestConfig;
+import com.project.alfa.config.redis.EmbeddedRedisConfig;
 import com.project.alfa.entities.Member;
+import com.project.alfa.repositories.AttachmentRepository;
+import com.project.alfa.repositories.CommentRepository;
 import com.project.alfa.repositories.MemberRepository;
+import com.project.alfa.repositories.PostRepository;
 import com.project.alfa.repositories.mybatis.MemberMapper;
 import com.project.alfa.services.dto.MemberUpdateRequestDto;
 import lombok.SneakyThrows;
@@ -26,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.mail.Message;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -39,8 +44,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
-@Import(TestConfig.class)
-@SpringBootTest
+@Import({TestConfig.class, EmbeddedRedisConfig.class})
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -54,23 +59,34 @@ class MemberServiceConcurrencyTest {
             .withPerMethodLifecycle(true);
     
     @Autowired
-    MemberService    memberService;
+    MemberService        memberService;
     @Autowired
-    MemberRepository memberRepository;
+    AttachmentRepository attachmentRepository;
     @Autowired
-    PasswordEncoder  passwordEncoder;
+    CommentRepository    commentRepository;
     @Autowired
-    MemberMapper     memberMapper;
+    PostRepository       postRepository;
     @Autowired
-    DummyGenerator   dummy;
+    MemberRepository     memberRepository;
+    @Autowired
+    PasswordEncoder      passwordEncoder;
+    @Autowired
+    MemberMapper         memberMapper;
+    @Autowired
+    DummyGenerator       dummy;
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         ExecutorService executorService = Executors.newFixedThreadPool(1);
         executorService.execute(() -> {
+            attachmentRepository.deleteAll();
+            commentRepository.deleteAll();
+            postRepository.deleteAll();
             memberRepository.deleteAll();
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     @SneakyThrows(InterruptedException.class)
@@ -188,9 +204,12 @@ class MemberServiceConcurrencyTest {
         assertThat(findMember.getPassword()).isNotEqualTo(passwordEncoder.encode(password));
         assertThat(passwordEncoder.matches("Password1!@", findMember.getPassword())).isFalse();
         
-        assertThat(receivedMessages).hasSize(mailCount);
+        //병합되어 발송 전에 삭제된 작업은 발송하지 않고, 마지막으로 발급한 임시 비밀번호는 전송됨
+        assertThat(receivedMessages).isNotEmpty().hasSizeLessThanOrEqualTo(mailCount);
         assertThat(findMember.getUsername())
                 .isEqualTo(receivedMessages[0].getRecipients(Message.RecipientType.TO)[0].toString());
+        assertThat(receivedMessages).anyMatch(message -> passwordEncoder.matches(getTempPassword(message),
+                                                                                 findMember.getPassword()));
     }
     
     @SneakyThrows(InterruptedException.class)
@@ -225,11 +244,14 @@ class MemberServiceConcurrencyTest {
                                                                 "Password2!@", "Password2!@");
         
         //When
+        AtomicInteger successCount = new AtomicInteger();
+        long          startTime    = System.currentTimeMillis();
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
             executorService.execute(() -> {
                 try {
                     memberService.update(dto);
+                    successCount.incrementAndGet();
                 } catch (RuntimeException e) {
                     log.info("[{}-thread] 락 획득 실패: {}", threadIndex, e.getMessage());
                 } finally {
@@ -238,6 +260,8 @@ class MemberServiceConcurrencyTest {
             });
         }
         countDownLatch.await();
+        log.info("{} threads, {} succeeded, elapsed: {}ms",
+                 THREAD_COUNT, successCount.get(), System.currentTimeMillis() - startTime);
         executorService.shutdown();
         
         //Then
@@ -294,4 +318,12 @@ class MemberServiceConcurrencyTest {
         assertThat(memberMapper.findByIdAndDeleteYn(id, false)).isNull();
     }
     
+    @SneakyThrows({MessagingException.class, IOException.class})
+    private static String getTempPassword(final MimeMessage message) {
+        String content = message.getContent().toString();
+        String prefix  = "임시 비밀번호: ";
+        int    start   = content.indexOf(prefix) + prefix.length();
+        return content.substring(start, content.indexOf('\n', start)).trim();
+    }
+    
 }
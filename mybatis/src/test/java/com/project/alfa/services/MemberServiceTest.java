@@ -10,6 +10,7 @@ import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.ErrorCode;
 import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.security.UserDetailsCache;
 import com.project.alfa.repositories.mybatis.MemberMapper;
 import com.project.alfa.services.dto.MemberInfoResponseDto;
 import com.project.alfa.services.dto.MemberJoinRequestDto;
@@ -22,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,6 +38,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
 
 @Import(TestConfig.class)
 @SpringBootTest
@@ -50,13 +53,19 @@ class MemberServiceTest {
             .withPerMethodLifecycle(true);
     
     @Autowired
-    MemberService   memberService;
+    MemberService      memberService;
     @Autowired
-    PasswordEncoder passwordEncoder;
+    MailTaskService    mailTaskService;
     @Autowired
-    MemberMapper    memberMapper;
+    PasswordEncoder    passwordEncoder;
     @Autowired
-    DummyGenerator  dummy;
+    MemberMapper       memberMapper;
+    @Autowired
+    DummyGenerator     dummy;
+    @Autowired
+    UserDetailsService userDetailsService;
+    @Autowired
+    UserDetailsCache   userDetailsCache;
     
     @SneakyThrows(MessagingException.class)
     @Test
@@ -69,6 +78,7 @@ class MemberServiceTest {
         Long id = memberService.join(dto);
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = memberMapper.findById(id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -218,6 +228,7 @@ class MemberServiceTest {
         memberService.verifyEmailAuth(member.getUsername(), otherAuthToken, LocalDateTime.now());
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = memberMapper.findById(id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -250,6 +261,7 @@ class MemberServiceTest {
                                       expireTime.plusSeconds(1));
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = memberMapper.findById(id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -279,6 +291,7 @@ class MemberServiceTest {
         memberService.findPassword(member.getUsername());
         
         //Then
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = memberMapper.findById(id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -309,6 +322,7 @@ class MemberServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AUTH_NOT_COMPLETED)
                 .hasMessage("Email is not verified.");
         
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        findMember       = memberMapper.findById(id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -424,6 +438,29 @@ class MemberServiceTest {
         assertThat(beforeMember.getSignature()).isNotEqualTo(dto.getSignature());
     }
     
+    @Test
+    @DisplayName("정보 수정, 캐싱된 인증 정보 제거")
+    void update_evictUserDetails() {
+        //Given
+        Member member = dummy.createMembers(1, true).get(0);
+        Long   id     = member.getId();
+        memberMapper.authenticateEmail(member.getUsername(),
+                                       member.getAuthInfo().getEmailAuthToken(),
+                                       LocalDateTime.now());    //이메일 인증
+        userDetailsService.loadUserByUsername(member.getUsername());
+        if (userDetailsCache.get(member.getUsername()) == null)
+            fail("Invalid Value");
+        
+        MemberUpdateRequestDto dto = new MemberUpdateRequestDto(id, "Password1!@", "user2", "Signature",
+                                                                "Password2!@", "Password2!@");
+        
+        //When
+        memberService.update(dto);
+        
+        //Then
+        assertThat(userDetailsCache.get(member.getUsername())).isNull();
+    }
+    
     @SneakyThrows({InterruptedException.class, MessagingException.class})
     @Test
     @DisplayName("정보 수정, 미인증 상태")
@@ -445,6 +482,7 @@ class MemberServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AUTH_NOT_COMPLETED)
                 .hasMessage("Email is not verified.");
         
+        mailTaskService.processTasks(LocalDateTime.now().plusDays(1));
         greenMailExtension.waitForIncomingEmail(5000, 1);
         Member        afterMember      = memberMapper.findById(id);
         MimeMessage[] receivedMessages = greenMailExtension.getReceivedMessages();
@@ -8,6 +8,8 @@ import com.project.alfa.entities.Post;
 import com.project.alfa.entities.Role;
 import com.project.alfa.error.exception.EntityNotFoundException;
 import com.project.alfa.error.exception.InvalidValueException;
+import com.project.alfa.repositories.AttachmentRepository;
+import com.project.alfa.repositories.CommentRepository;
 import com.project.alfa.repositories.MemberRepository;
 import com.project.alfa.repositories.PostRepository;
 import com.project.alfa.repositories.mybatis.MemberMapper;
@@ -23,14 +25,18 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -40,7 +46,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Slf4j
 @Import({TestConfig.class, EmbeddedRedisConfig.class})
-@SpringBootTest
+@SpringBootTest(properties = "lock.provider=redis")
 @Transactional
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -49,33 +55,41 @@ class PostServiceConcurrencyTest {
     static final int THREAD_COUNT = 100;
     
     @Autowired
-    PostService      postService;
+    PostService          postService;
     @Autowired
-    PostRepository   postRepository;
+    PostRepository       postRepository;
     @Autowired
-    MemberRepository memberRepository;
+    MemberRepository     memberRepository;
     @Autowired
-    PostMapper       postMapper;
+    CommentRepository    commentRepository;
     @Autowired
-    MemberMapper     memberMapper;
+    AttachmentRepository attachmentRepository;
     @Autowired
-    DummyGenerator   dummy;
+    PostMapper           postMapper;
     @Autowired
-    CacheManager     cacheManager;
+    MemberMapper         memberMapper;
+    @Autowired
+    DummyGenerator       dummy;
+    @Autowired
+    CacheManager         cacheManager;
     
+    @SneakyThrows(InterruptedException.class)
     @BeforeEach
     void setup() {
         ExecutorService executorService = Executors.newFixedThreadPool(1);
         executorService.execute(() -> {
+            attachmentRepository.deleteAll();
+            commentRepository.deleteAll();
             postRepository.deleteAll();
             memberRepository.deleteAll();
         });
         executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     @SneakyThrows(InterruptedException.class)
     @Test
-    @DisplayName("게시글 정보 수정, 멀티 스레드 락 적용")
+    @DisplayName("게시글 정보 수정, 멀티 스레드 낙관적 락 적용")
     void update_multiThreads() {
         //Given
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT + 1);
@@ -91,7 +105,7 @@ class PostServiceConcurrencyTest {
                                           .role(Role.ADMIN) //게시글 작성 시 공지 여부 설정을 위한 계정 '관리자' 권한 부여
                                           .build());
                 Post post = dummy.createPosts(writers, 1, true).get(0);
-                postRef.set(post);
+                postRef.set(postMapper.findById(post.getId()));
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
             } finally {
@@ -101,6 +115,8 @@ class PostServiceConcurrencyTest {
         countDownLatch.await(1, TimeUnit.SECONDS);
         
         Long    id             = postRef.get().getId();
+        Long    writerId       = postRef.get().getWriterId();
+        Long    beforeVersion  = postRef.get().getVersion();
         String  beforeTitle    = postRef.get().getTitle();
         String  beforeContent  = postRef.get().getContent();
         boolean beforeNoticeYn = postRef.get().isNoticeYn();
@@ -110,31 +126,44 @@ class PostServiceConcurrencyTest {
         do {
             afterTile = dummy.generateRandomString(dummy.generateRandomNumber(1, 100));
             afterContent = dummy.generateRandomString(dummy.generateRandomNumber(100, 500));
-        } while (beforeTitle.equals(afterTile) || beforeContent.equals(afterContent));
-        
-        PostRequestDto dto = new PostRequestDto(id, postRef.get().getWriterId(), afterTile, afterContent, true);
+        } while (beforeTitle.startsWith(afterTile) || beforeContent.equals(afterContent));
         
         //When
+        AtomicInteger successCount  = new AtomicInteger();
+        AtomicInteger conflictCount = new AtomicInteger();
+        Set<String>   updatedTitles = ConcurrentHashMap.newKeySet();
+        long          startTime     = System.currentTimeMillis();
         for (int i = 0; i < THREAD_COUNT; i++) {
             int threadIndex = i;
+            //스레드마다 다른 제목으로 수정, 성공한 수정마다 버전 증가
+            PostRequestDto dto = new PostRequestDto(id, writerId, afterTile + "-" + i, afterContent, true);
             executorService.execute(() -> {
                 try {
                     postService.update(dto);
-                } catch (RuntimeException e) {
-                    log.info("[{}-thread] 락 획득 실패: {}", threadIndex, e.getMessage());
+                    updatedTitles.add(dto.getTitle());
+                    successCount.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    conflictCount.incrementAndGet();
+                    log.info("[{}-thread] 재시도 횟수 초과: {}", threadIndex, e.getMessage());
                 } finally {
                     countDownLatch.countDown();
                 }
             });
         }
         countDownLatch.await();
+        log.info("{} threads, {} succeeded, elapsed: {}ms",
+                 THREAD_COUNT, successCount.get(), System.currentTimeMillis() - startTime);
         executorService.shutdown();
         
         //Then
         Post findPost = postMapper.findById(id);
         
-        assertThat(findPost.getTitle()).isEqualTo(afterTile);
-        assertThat(findPost.getTitle()).isNotEqualTo(beforeTitle);
+        //재시도 횟수를 초과한 충돌 외의 실패 없음
+        assertThat(successCount.get()).isPositive();
+        assertThat(successCount.get() + conflictCount.get()).isEqualTo(THREAD_COUNT);
+        //갱신 손실 없음: 성공한 수정마다 버전이 한 번씩 증가하고, 최종 제목은 성공한 수정 중 하나
+        assertThat(findPost.getVersion()).isEqualTo(beforeVersion + successCount.get());
+        assertThat(updatedTitles).contains(findPost.getTitle());
         assertThat(findPost.getContent()).isEqualTo(afterContent);
         assertThat(findPost.getContent()).isNotEqualTo(beforeContent);
         assertThat(beforeNoticeYn).isFalse();
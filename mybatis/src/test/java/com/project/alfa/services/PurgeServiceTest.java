@@ -0,0 +1,108 @@
+package com.project.alfa.services;
+
+import com.project.alfa.config.DummyGenerator;
+import com.project.alfa.config.TestConfig;
+import com.project.alfa.entities.Attachment;
+import com.project.alfa.entities.Comment;
+import com.project.alfa.entities.Member;
+import com.project.alfa.entities.Post;
+import com.project.alfa.repositories.mybatis.AttachmentMapper;
+import com.project.alfa.repositories.mybatis.CommentMapper;
+import com.project.alfa.repositories.mybatis.PostMapper;
+import com.project.alfa.services.dto.PurgeResultDto;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestConfig.class)
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PurgeServiceTest {
+    
+    @Autowired
+    PurgeService     purgeService;
+    @Autowired
+    PostMapper       postMapper;
+    @Autowired
+    CommentMapper    commentMapper;
+    @Autowired
+    AttachmentMapper attachmentMapper;
+    @Autowired
+    DummyGenerator   dummy;
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("소프트 삭제 데이터 영구 삭제, 자식 -> 부모 순서")
+    void purge() {
+        //Given
+        List<Member> writers     = dummy.createMembers(1, true);
+        List<Post>   posts       = dummy.createPosts(writers, 2, true);
+        Post         deletedPost = posts.get(0);
+        Post         alivePost   = posts.get(1);
+        
+        List<Comment> comments = dummy.createComments(writers, posts.subList(0, 1), 5, true);
+        comments.addAll(dummy.createComments(writers, posts.subList(1, 2), 5, true));
+        List<Attachment> attachments = dummy.createAttachments(posts.subList(0, 1), 3, true);
+        attachments.addAll(dummy.createAttachments(posts.subList(1, 2), 3, true));
+        
+        postMapper.deleteById(deletedPost.getId(), deletedPost.getWriterId());
+        Comment    deletedComment    = comments.get(5);
+        Attachment deletedAttachment = attachments.get(3);
+        commentMapper.deleteById(deletedComment.getId(), deletedComment.getWriterId());
+        attachmentMapper.deleteById(deletedAttachment.getId(), deletedAttachment.getPostId());
+        
+        //When
+        PurgeResultDto result = purgeService.purge(LocalDateTime.now().plusMinutes(1));
+        
+        //Then
+        assertThat(result.getPurgedPosts()).isGreaterThanOrEqualTo(1);
+        assertThat(result.getPurgedComments()).isGreaterThanOrEqualTo(6);
+        assertThat(result.getPurgedAttachments()).isGreaterThanOrEqualTo(4);
+        
+        assertThat(postMapper.findById(deletedPost.getId())).isNull();
+        assertThat(postMapper.findById(alivePost.getId())).isNotNull();
+        for (Comment comment : comments) {
+            boolean purged = comment.getPostId().equals(deletedPost.getId())
+                             || comment.getId().equals(deletedComment.getId());
+            assertThat(commentMapper.findById(comment.getId()) == null).isEqualTo(purged);
+        }
+        for (Attachment attachment : attachments) {
+            boolean purged = attachment.getPostId().equals(deletedPost.getId())
+                             || attachment.getId().equals(deletedAttachment.getId());
+            assertThat(attachmentMapper.findById(attachment.getId()) == null).isEqualTo(purged);
+        }
+    }
+    
+    @SneakyThrows(InterruptedException.class)
+    @Test
+    @DisplayName("소프트 삭제 데이터 영구 삭제, 보관 기간 미경과")
+    void purge_withinRetention() {
+        //Given
+        List<Member> writers = dummy.createMembers(1, true);
+        Post         post    = dummy.createPosts(writers, 1, true).get(0);
+        postMapper.deleteById(post.getId(), post.getWriterId());
+        
+        //When
+        purgeService.purge(LocalDateTime.now().minusDays(1));
+        
+        //Then
+        Post findPost = postMapper.findById(post.getId());
+        
+        assertThat(findPost).isNotNull();
+        assertThat(findPost.isDeleteYn()).isTrue();
+    }
+    
+}
@@ -0,0 +1,191 @@
+package com.project.alfa.utils.storage;
+
+import com.project.alfa.error.exception.ErrorCode;
+import com.project.alfa.error.exception.InvalidValueException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageBackendTest {
+    
+    @TempDir
+    Path root;
+    
+    LocalStorageBackend storageBackend;
+    
+    @BeforeEach
+    void setup() {
+        storageBackend = new LocalStorageBackend(root.toString());
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("파일 저장 및 조회")
+    void storeAndRead() {
+        //Given
+        byte[] content = content(3 * 1024 * 1024 + 1);
+        
+        //When
+        long size = storageBackend.store("/20240101/file.txt", "text/plain", new ByteArrayInputStream(content), 0);
+        
+        //Then
+        Resource resource = storageBackend.read("/20240101/file.txt");
+        
+        assertThat(size).isEqualTo(content.length);
+        assertThat(resource).isInstanceOf(FileRegionResource.class);
+        assertThat(resource.contentLength()).isEqualTo(content.length);
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(inputStream)).isEqualTo(content);
+        }
+        assertThat(Files.list(root.resolve("20240101"))).hasSize(1);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("파일 범위 조회")
+    void read_range() {
+        //Given
+        byte[] content = content(1024);
+        storageBackend.store("/20240101/file.txt", "text/plain", new ByteArrayInputStream(content), 0);
+        
+        //When
+        Resource resource = storageBackend.read("/20240101/file.txt", 100, 199);
+        
+        //Then
+        assertThat(resource.contentLength()).isEqualTo(100);
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(inputStream)).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+        }
+    }
+    
+    @Test
+    @DisplayName("최대 크기 초과, 임시 파일 삭제")
+    void store_sizeExceeded() {
+        //Given
+        byte[] content = content(4 * 1024 * 1024);
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> storageBackend.store("/20240101/file.txt", "text/plain",
+                                                      new ByteArrayInputStream(content), 1024 * 1024))
+                .isInstanceOf(InvalidValueException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FILE_SIZE_EXCEEDED);
+        
+        assertThat(root.resolve("20240101")).isEmptyDirectory();
+    }
+    
+    @Test
+    @DisplayName("루트 디렉토리 밖을 가리키는 키")
+    void store_invalidKey() {
+        //Given
+        byte[] content = content(1);
+        
+        //When
+        
+        //Then
+        assertThatThrownBy(() -> storageBackend.store("/../file.txt", "text/plain", new ByteArrayInputStream(content),
+                                                      0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid storage key: /../file.txt");
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("파일 삭제")
+    void delete() {
+        //Given
+        storageBackend.store("/20240101/file.txt", "text/plain", new ByteArrayInputStream(content(1)), 0);
+        
+        //When
+        storageBackend.delete("/20240101/file.txt");
+        
+        //Then
+        assertThat(storageBackend.getObject("/20240101/file.txt")).isNull();
+        assertThat(root.resolve("20240101/file.txt")).doesNotExist();
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("폴더 및 객체 목록 페이지 조회")
+    void listObjects() {
+        //Given
+        for (int i = 1; i <= 5; i++)
+            storageBackend.store("/20240101/file" + i + ".txt", "text/plain", new ByteArrayInputStream(content(i)), 0);
+        storageBackend.store("/20240102/file.txt", "text/plain", new ByteArrayInputStream(content(1)), 0);
+        
+        //When
+        List<String>             folders = storageBackend.listFolders("");
+        List<List<ListedObject>> pages   = new ArrayList<>();
+        storageBackend.listObjects("/20240101", 2, pages::add);
+        
+        //Then
+        assertThat(folders).containsExactly("20240101", "20240102");
+        assertThat(pages).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(pages.stream().flatMap(List::stream).map(ListedObject::getKey))
+                .containsExactlyInAnyOrder("/20240101/file1.txt", "/20240101/file2.txt", "/20240101/file3.txt",
+                                           "/20240101/file4.txt", "/20240101/file5.txt");
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("sendfile 지원 컨테이너, 요청 속성으로 전송 위임")
+    void sendfile() {
+        //Given
+        storageBackend.store("/20240101/file.txt", "text/plain", new ByteArrayInputStream(content(1024)), 0);
+        FileRegionResource     resource = (FileRegionResource) storageBackend.read("/20240101/file.txt", 100, 199);
+        MockHttpServletRequest request  = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        
+        //When
+        boolean sendfile = resource.sendfile(request);
+        
+        //Then
+        assertThat(sendfile).isTrue();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(root.resolve("20240101/file.txt").toFile().getCanonicalPath());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(200L);
+    }
+    
+    @SneakyThrows(Exception.class)
+    @Test
+    @DisplayName("sendfile 미지원 컨테이너")
+    void sendfile_unsupported() {
+        //Given
+        storageBackend.store("/20240101/file.txt", "text/plain", new ByteArrayInputStream(content(1024)), 0);
+        FileRegionResource     resource = (FileRegionResource) storageBackend.read("/20240101/file.txt");
+        MockHttpServletRequest request  = new MockHttpServletRequest();
+        
+        //When
+        boolean sendfile = resource.sendfile(request);
+        
+        //Then
+        assertThat(sendfile).isFalse();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+    }
+    
+    private static byte[] content(final int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++)
+            content[i] = (byte) i;
+        return content;
+    }
+    
+}
@@ -0,0 +1,188 @@
+package com.project.alfa.utils.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.project.alfa.entities.UploadFile;
+import com.project.alfa.utils.FileUtil;
+import com.project.alfa.utils.S3StreamUploader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class S3StorageBackendTest {
+    
+    static final int PART_SIZE = 5 * 1024 * 1024;
+    
+    AmazonS3         amazonS3;
+    S3StreamUploader s3StreamUploader;
+    S3StorageBackend storageBackend;
+    FileUtil         fileUtil;
+    
+    @BeforeEach
+    void setup() {
+        amazonS3 = mock(AmazonS3.class);
+        s3StreamUploader = new S3StreamUploader(amazonS3, PART_SIZE, 2, 8, 2, 1000);
+        storageBackend = new S3StorageBackend(amazonS3, s3StreamUploader, "bucket");
+        fileUtil = new FileUtil(storageBackend, 4, 16);
+    }
+    
+    @AfterEach
+    void clear() {
+        fileUtil.destroy();
+        s3StreamUploader.destroy();
+    }
+    
+    private List<MultipartFile> createMultipartFiles(final int size) {
+        List<MultipartFile> multipartFiles = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            multipartFiles.add(new MockMultipartFile("filename" + i, "originalFilename" + i + ".txt", "text/plain",
+                                                     new byte[1024]));
+        return multipartFiles;
+    }
+    
+    private List<UploadFile> createUploadFiles(final int size) {
+        List<UploadFile> uploadFiles = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            uploadFiles.add(new UploadFile("originalFilename" + i + ".txt", "file" + i + ".txt",
+                                           "/20240101/file" + i + ".txt", 1024L, null) {});
+        return uploadFiles;
+    }
+    
+    private List<String> createKeys(final int size) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            keys.add("/20240101/file" + i + ".txt");
+        return keys;
+    }
+    
+    private static List<String> keysOf(final DeleteObjectsRequest request) {
+        return request.getKeys().stream().map(DeleteObjectsRequest.KeyVersion::getKey).collect(toList());
+    }
+    
+    @Test
+    @DisplayName("다중 파일 업로드, 파일별로 병렬 업로드")
+    void storeFiles_parallel() {
+        //Given
+        int                            total      = 4;
+        CountDownLatch                 latch      = new CountDownLatch(total);
+        ConcurrentLinkedQueue<Boolean> concurrent = new ConcurrentLinkedQueue<>();
+        when(amazonS3.putObject(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+            //모든 업로드가 동시에 진행 중이어야 대기 해제
+            latch.countDown();
+            concurrent.add(latch.await(5, TimeUnit.SECONDS));
+            return new PutObjectResult();
+        });
+        
+        //When
+        fileUtil.storeFiles(createMultipartFiles(total), createUploadFiles(total));
+        
+        //Then
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(amazonS3, times(total)).putObject(captor.capture());
+        verify(amazonS3, never()).deleteObjects(any(DeleteObjectsRequest.class));
+        
+        assertThat(concurrent).hasSize(total).containsOnly(true);
+        assertThat(captor.getAllValues().stream().map(PutObjectRequest::getKey))
+                .containsExactlyInAnyOrderElementsOf(createKeys(total));
+    }
+    
+    @Test
+    @DisplayName("다중 파일 업로드, 하나라도 실패하면 업로드에 성공한 파일 삭제(보상)")
+    void storeFiles_compensate() {
+        //Given
+        int    total     = 4;
+        String failedKey = "/20240101/file1.txt";
+        when(amazonS3.putObject(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+            PutObjectRequest request = invocation.getArgument(0);
+            if (request.getKey().equals(failedKey))
+                throw new AmazonS3Exception("Internal Error");
+            return new PutObjectResult();
+        });
+        
+        //When
+        assertThatThrownBy(() -> fileUtil.storeFiles(createMultipartFiles(total), createUploadFiles(total)))
+                .isInstanceOf(AmazonS3Exception.class);
+        
+        //Then
+        ArgumentCaptor<DeleteObjectsRequest> captor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(amazonS3, times(total)).putObject(any(PutObjectRequest.class));
+        verify(amazonS3, times(1)).deleteObjects(captor.capture());
+        
+        List<String> storedKeys = createKeys(total);
+        storedKeys.remove(failedKey);
+        
+        assertThat(keysOf(captor.getValue())).containsExactlyInAnyOrderElementsOf(storedKeys);
+    }
+    
+    @Test
+    @DisplayName("다중 삭제, DeleteObjects 요청당 최대 1000개씩 일괄 삭제")
+    void deleteAll_batches() {
+        //Given
+        List<String> keys = createKeys(2500);
+        
+        //When
+        fileUtil.deleteFilesByPaths(keys);
+        
+        //Then
+        ArgumentCaptor<DeleteObjectsRequest> captor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(amazonS3, times(3)).deleteObjects(captor.capture());
+        List<DeleteObjectsRequest> requests = captor.getAllValues();
+        
+        assertThat(requests).extracting(request -> request.getKeys().size()).containsExactly(1000, 1000, 500);
+        assertThat(requests).allMatch(DeleteObjectsRequest::getQuiet);
+        assertThat(requests.stream().flatMap(request -> keysOf(request).stream())).containsExactlyElementsOf(keys);
+    }
+    
+    @Test
+    @DisplayName("다중 삭제, 실패한 요청이 있어도 모든 요청을 시도한 후 실패를 모아 예외 발생")
+    void deleteAll_multiObjectDeleteException() {
+        //Given
+        List<String> keys = createKeys(2500);
+        
+        MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+        error.setKey(keys.get(1));
+        error.setCode("AccessDenied");
+        error.setMessage("Access Denied");
+        MultiObjectDeleteException multiObjectDeleteException = new MultiObjectDeleteException(
+                Collections.singletonList(error), Collections.emptyList());
+        AmazonS3Exception amazonS3Exception = new AmazonS3Exception("Internal Error");
+        
+        when(amazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenThrow(multiObjectDeleteException)
+                                                                      .thenReturn(null)
+                                                                      .thenThrow(amazonS3Exception);
+        
+        //When
+        Throwable thrown = catchThrowable(() -> fileUtil.deleteFilesByPaths(keys));
+        
+        //Then
+        verify(amazonS3, times(3)).deleteObjects(any(DeleteObjectsRequest.class));
+        
+        assertThat(thrown).isSameAs(multiObjectDeleteException);
+        assertThat(thrown.getSuppressed()).containsExactly(amazonS3Exception);
+        assertThat(multiObjectDeleteException.getErrors()).extracting(MultiObjectDeleteException.DeleteError::getKey)
+                                                          .containsExactly(keys.get(1));
+    }
+    
+}